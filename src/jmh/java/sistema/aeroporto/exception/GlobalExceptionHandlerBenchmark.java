@@ -0,0 +1,47 @@
+package sistema.aeroporto.exception;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Montagem das respostas de erro: a criação da exceção de negócio (com
+ * stack trace) e o corpo devolvido pelo handler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final RuntimeException regraDeNegocio = new SomenteAgendadoException();
+    private final RuntimeException naoEncontrado = new NotFoundVooException();
+
+    @Benchmark
+    public ResponseEntity<?> regraDeNegocio() {
+        return handler.handleBusinessRule(regraDeNegocio);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> naoEncontrado() {
+        return handler.handleNotFound(naoEncontrado);
+    }
+
+    // Caminho completo de uma requisição rejeitada: a exceção é criada a cada vez
+    @Benchmark
+    public ResponseEntity<?> lancarERegraDeNegocio() {
+        return handler.handleBusinessRule(new SomenteAgendadoException());
+    }
+}
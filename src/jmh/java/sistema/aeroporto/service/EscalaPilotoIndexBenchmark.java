@@ -0,0 +1,135 @@
+package sistema.aeroporto.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.VooStatus;
+
+/**
+ * Verificação de conflito de escala pelo índice de intervalos contra a
+ * varredura da lista de voos do piloto usada anteriormente em criarVoo.
+ * O tempo é por consulta.
+ *
+ * 10k pilotos × 1k voos ocupam ~4 GB de heap; tamanhos com -p pilotos=... -p voos=...
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@OperationsPerInvocation(EscalaPilotoIndexBenchmark.CONSULTAS)
+public class EscalaPilotoIndexBenchmark {
+
+    static final int CONSULTAS = 10_000;
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @State(Scope.Benchmark)
+    public static class Escala {
+
+        @Param({ "10000" })
+        int pilotos;
+
+        @Param({ "1000" })
+        int voos;
+
+        EscalaPilotoIndex.Agenda[] agendas;
+        List<List<Voo>> historicos;
+        final int[] pilotoConsulta = new int[CONSULTAS];
+        final LocalDateTime[] partidaConsulta = new LocalDateTime[CONSULTAS];
+
+        @Setup
+        public void carregar() {
+            // Horários compartilhados entre pilotos: cada voo dura 4h, com 6h entre partidas
+            LocalDateTime[] partidas = new LocalDateTime[voos];
+            LocalDateTime[] chegadas = new LocalDateTime[voos];
+            for (int i = 0; i < voos; i++) {
+                partidas[i] = BASE.plusHours(6L * i);
+                chegadas[i] = partidas[i].plusHours(4);
+            }
+
+            agendas = new EscalaPilotoIndex.Agenda[pilotos];
+            historicos = new ArrayList<>(pilotos);
+            long id = 1;
+            for (int p = 0; p < pilotos; p++) {
+                EscalaPilotoIndex.Agenda agenda = new EscalaPilotoIndex.Agenda();
+                List<Voo> historico = new ArrayList<>(voos);
+                for (int i = 0; i < voos; i++, id++) {
+                    agenda.adicionar(new EscalaPilotoIndex.Intervalo(partidas[i], chegadas[i], id));
+                    Voo voo = new Voo();
+                    voo.setId(id);
+                    voo.setHorarioPartidaPrevisto(partidas[i]);
+                    voo.setHorarioChegadaPrevisto(chegadas[i]);
+                    voo.setStatus(VooStatus.AGENDADO);
+                    historico.add(voo);
+                }
+                agendas[p] = agenda;
+                historicos.add(historico);
+            }
+
+            // Consultas deslocadas de 0 a 5h da partida: parte coincide exatamente, parte apenas se sobrepõe
+            SplittableRandom random = new SplittableRandom(42);
+            for (int q = 0; q < CONSULTAS; q++) {
+                pilotoConsulta[q] = random.nextInt(pilotos);
+                partidaConsulta[q] = partidas[random.nextInt(voos)].plusHours(random.nextInt(6));
+            }
+        }
+    }
+
+    @Benchmark
+    public int varreduraPartidaExata(Escala escala) {
+        int conflitos = 0;
+        for (int q = 0; q < CONSULTAS; q++) {
+            LocalDateTime partida = escala.partidaConsulta[q];
+            if (escala.historicos.get(escala.pilotoConsulta[q]).stream()
+                    .anyMatch(v -> partida.equals(v.getHorarioPartidaPrevisto()))) {
+                conflitos++;
+            }
+        }
+        return conflitos;
+    }
+
+    @Benchmark
+    public int varreduraSobreposicao(Escala escala) {
+        int conflitos = 0;
+        for (int q = 0; q < CONSULTAS; q++) {
+            LocalDateTime partida = escala.partidaConsulta[q];
+            LocalDateTime chegada = partida.plusHours(4);
+            if (escala.historicos.get(escala.pilotoConsulta[q]).stream()
+                    .anyMatch(v -> v.getHorarioPartidaPrevisto().isBefore(chegada)
+                            && v.getHorarioChegadaPrevisto().isAfter(partida))) {
+                conflitos++;
+            }
+        }
+        return conflitos;
+    }
+
+    @Benchmark
+    public int indiceIntervalos(Escala escala) {
+        int conflitos = 0;
+        for (int q = 0; q < CONSULTAS; q++) {
+            LocalDateTime partida = escala.partidaConsulta[q];
+            if (escala.agendas[escala.pilotoConsulta[q]].conflita(partida, partida.plusHours(4))) {
+                conflitos++;
+            }
+        }
+        return conflitos;
+    }
+}
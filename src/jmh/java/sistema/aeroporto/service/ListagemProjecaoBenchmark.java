@@ -0,0 +1,157 @@
+package sistema.aeroporto.service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import sistema.aeroporto.AeroportoApplication;
+import sistema.aeroporto.dto.response.PilotoResponse;
+import sistema.aeroporto.dto.response.VooResponse;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+import sistema.aeroporto.util.CpfUtils;
+
+/**
+ * Listagem completa de voos e de pilotos com {@code linhas} linhas em cada
+ * tabela. Os benchmarks "...Entidades" medem a implementação anterior
+ * (entidades carregadas e copiadas por toResponse) como referência; os
+ * demais, a projeção direto nos records de resposta. Com o profiler de GC
+ * o gc.alloc.rate.norm mostra a memória alocada por listagem.
+ *
+ * ./mvnw -Pjmh verify -Djmh.args="ListagemProjecaoBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class ListagemProjecaoBenchmark {
+
+    private static final LocalDateTime INICIO = LocalDate.of(2025, 1, 1).atStartOfDay();
+
+    @State(Scope.Benchmark)
+    public static class Aplicacao {
+
+        @Param({ "100000" })
+        int linhas;
+
+        ConfigurableApplicationContext contexto;
+        VooService vooService;
+        PilotoService pilotoService;
+        VooRepository vooRepository;
+        PilotoRepository pilotoRepository;
+        TransactionTemplate leitura;
+
+        @Setup(Level.Trial)
+        public void iniciar() {
+            SpringApplication aplicacao = new SpringApplication(AeroportoApplication.class);
+            aplicacao.setWebApplicationType(WebApplicationType.NONE);
+            contexto = aplicacao.run("--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                    "--spring.devtools.restart.enabled=false", "--aeroporto.agendador.habilitado=false");
+            vooService = contexto.getBean(VooService.class);
+            pilotoService = contexto.getBean(PilotoService.class);
+            vooRepository = contexto.getBean(VooRepository.class);
+            pilotoRepository = contexto.getBean(PilotoRepository.class);
+            // Mesma transação somente leitura que os métodos de listagem dos serviços usam
+            leitura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+            leitura.setReadOnly(true);
+            popular();
+        }
+
+        // Direto por JDBC em lotes: a carga não é o que se mede. Cada voo com um piloto próprio
+        private void popular() {
+            JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+            List<Long> companhias = contexto.getBean(CompanhiaAereaRepository.class).findAll().stream()
+                    .map(CompanhiaAerea::getId).toList();
+
+            List<Object[]> pilotos = new ArrayList<>();
+            List<Object[]> voos = new ArrayList<>();
+            for (int i = 0; i < linhas; i++) {
+                long piloto = 100_000_000L + i;
+                LocalDateTime partida = INICIO.plusMinutes(i * 5L);
+                pilotos.add(new Object[] { piloto, "Piloto " + i, 25 + i % 40, i % 2 == 0 ? "M" : "F",
+                        String.format("%011d", 50_000_000_000L + i), Date.valueOf(LocalDate.of(2026, 1, 1)),
+                        "PB" + i });
+                voos.add(new Object[] { 100_000_000L + i, piloto, companhias.get(i % companhias.size()), "PB" + i,
+                        "SBGR", "SBRJ", Timestamp.valueOf(partida), Timestamp.valueOf(partida.plusHours(1)) });
+                if (voos.size() == 10_000) {
+                    inserir(jdbc, pilotos, voos);
+                    pilotos.clear();
+                    voos.clear();
+                }
+            }
+            inserir(jdbc, pilotos, voos);
+        }
+
+        private static void inserir(JdbcTemplate jdbc, List<Object[]> pilotos, List<Object[]> voos) {
+            jdbc.batchUpdate("""
+                    INSERT INTO piloto (id, nome, idade, genero, cpf, data_renovacao, matricula, habilitacao,
+                        status, versao)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, 'PLA', 'ATIVO', 0)
+                    """, pilotos);
+            jdbc.batchUpdate("""
+                    INSERT INTO voo (id, piloto_id, companhia_id, codigo, origem, destino,
+                        horario_partida_previsto, horario_chegada_previsto, status, versao)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'AGENDADO', 0)
+                    """, voos);
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() {
+            contexto.close();
+        }
+    }
+
+    @Benchmark
+    public List<VooResponse> voos(Aplicacao estado) {
+        return estado.vooService.listarTodos();
+    }
+
+    @Benchmark
+    public List<VooResponse> voosEntidades(Aplicacao estado) {
+        return estado.leitura.execute(status -> estado.vooRepository.findAll().stream()
+                .map(estado.vooService::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<PilotoResponse> pilotos(Aplicacao estado) {
+        return estado.pilotoService.listarTodosPilotos();
+    }
+
+    // Conversão anterior de PilotoService.listarTodosPilotos
+    @Benchmark
+    public List<PilotoResponse> pilotosEntidades(Aplicacao estado) {
+        return estado.leitura.execute(status -> estado.pilotoRepository.findAll().stream()
+                .map(p -> new PilotoResponse(p.getId(), p.getNome(), p.getIdade(), p.getGenero(),
+                        CpfUtils.formatar(p.getCpf()), p.getDataRenovacao(), p.getMatricula(), p.getHabilitacao(),
+                        p.getStatus().name()))
+                .toList());
+    }
+}
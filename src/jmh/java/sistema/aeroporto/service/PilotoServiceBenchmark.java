@@ -0,0 +1,120 @@
+package sistema.aeroporto.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import sistema.aeroporto.AeroportoApplication;
+import sistema.aeroporto.dto.request.PilotoRequest;
+import sistema.aeroporto.dto.response.PilotoResponse;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.repository.PilotoRepository;
+
+/**
+ * Cadastro de piloto pelo PilotoService contra o H2 em memória da aplicação,
+ * com {@code existentes} pilotos já gravados. Um cadastro em massa escala de
+ * forma linear se o tempo por cadastro não cresce com o tamanho da tabela.
+ *
+ * ./mvnw -Pjmh verify -Djmh.args="PilotoServiceBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PilotoServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Aplicacao {
+
+        @Param({ "0", "20000", "80000" })
+        int existentes;
+
+        ConfigurableApplicationContext contexto;
+        PilotoService pilotoService;
+
+        // Base dos CPFs gerados, longe dos CPFs da carga inicial
+        long sequencia = 300_000_000L;
+
+        @Setup(Level.Trial)
+        public void iniciar() {
+            SpringApplication aplicacao = new SpringApplication(AeroportoApplication.class);
+            aplicacao.setWebApplicationType(WebApplicationType.NONE);
+            contexto = aplicacao.run("--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                    "--spring.devtools.restart.enabled=false");
+            pilotoService = contexto.getBean(PilotoService.class);
+            popular(contexto.getBean(PilotoRepository.class));
+        }
+
+        private void popular(PilotoRepository repository) {
+            List<Piloto> lote = new ArrayList<>();
+            for (int i = 0; i < existentes; i++) {
+                Piloto p = new Piloto();
+                p.setNome("Piloto existente " + i);
+                p.setCpf(cpf(sequencia++));
+                p.setMatricula("JMH" + i);
+                p.setStatus(PilotoStatus.ATIVO);
+                lote.add(p);
+                if (lote.size() == 1_000) {
+                    repository.saveAll(lote);
+                    lote.clear();
+                }
+            }
+            repository.saveAll(lote);
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() {
+            contexto.close();
+        }
+
+        PilotoRequest proximo() {
+            return new PilotoRequest("Piloto JMH", 40, "M", cpf(sequencia++), null, "ATPL", "ATIVO");
+        }
+
+        // CPF válido a partir dos 9 primeiros dígitos
+        private static String cpf(long base) {
+            int[] digitos = new int[11];
+            String texto = String.format("%09d", base);
+            for (int i = 0; i < 9; i++) {
+                digitos[i] = texto.charAt(i) - '0';
+            }
+            for (int dv = 9; dv < 11; dv++) {
+                int soma = 0;
+                for (int i = 0; i < dv; i++) {
+                    soma += digitos[i] * (dv + 1 - i);
+                }
+                int resto = soma % 11;
+                digitos[dv] = resto < 2 ? 0 : 11 - resto;
+            }
+            StringBuilder cpf = new StringBuilder(11);
+            for (int d : digitos) {
+                cpf.append(d);
+            }
+            return cpf.toString();
+        }
+    }
+
+    @Benchmark
+    public PilotoResponse salvarPiloto(Aplicacao estado) {
+        return estado.pilotoService.salvarPiloto(estado.proximo());
+    }
+}
@@ -0,0 +1,131 @@
+package sistema.aeroporto.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import sistema.aeroporto.AeroportoApplication;
+import sistema.aeroporto.dto.response.PontualidadeCompanhiaResponse;
+import sistema.aeroporto.dto.response.PontualidadeRotaResponse;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+
+/**
+ * Pontualidade por companhia e por rota de um mês, com {@code voos} voos
+ * concluídos distribuídos por dez anos de histórico no H2 em memória da
+ * aplicação. Com o índice de cobertura o tempo acompanha os voos do período
+ * consultado, não o tamanho da tabela.
+ *
+ * ./mvnw -Pjmh verify -Djmh.args="PontualidadeServiceBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class PontualidadeServiceBenchmark {
+
+    private static final String[] AEROPORTOS = { "SBGR", "SBRJ", "SBBR", "SBSP", "SBPA", "SBCF", "SBSV", "SBRF" };
+
+    private static final LocalDateTime INICIO = LocalDate.of(2015, 1, 1).atStartOfDay();
+
+    @State(Scope.Benchmark)
+    public static class Aplicacao {
+
+        @Param({ "100000", "1000000" })
+        int voos;
+
+        ConfigurableApplicationContext contexto;
+        PontualidadeService pontualidadeService;
+        LocalDate mesDe;
+        LocalDate mesAte;
+
+        @Setup(Level.Trial)
+        public void iniciar() {
+            SpringApplication aplicacao = new SpringApplication(AeroportoApplication.class);
+            aplicacao.setWebApplicationType(WebApplicationType.NONE);
+            contexto = aplicacao.run("--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                    "--spring.devtools.restart.enabled=false", "--aeroporto.agendador.habilitado=false");
+            pontualidadeService = contexto.getBean(PontualidadeService.class);
+            popular();
+            // Um mês no meio do histórico
+            mesDe = LocalDate.of(2020, 6, 1);
+            mesAte = LocalDate.of(2020, 6, 30);
+        }
+
+        // Direto por JDBC em lotes: a carga não é o que se mede
+        private void popular() {
+            JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+            List<Long> companhias = contexto.getBean(CompanhiaAereaRepository.class).findAll().stream()
+                    .map(CompanhiaAerea::getId).toList();
+            Long piloto = contexto.getBean(PilotoRepository.class).findAll().get(0).getId();
+            long passoMinutos = 10L * 365 * 24 * 60 / voos;
+            SplittableRandom aleatorio = new SplittableRandom(42);
+
+            List<Object[]> lote = new ArrayList<>();
+            for (int i = 0; i < voos; i++) {
+                LocalDateTime partida = INICIO.plusMinutes(i * passoMinutos);
+                LocalDateTime chegada = partida.plusHours(2);
+                int origem = aleatorio.nextInt(AEROPORTOS.length);
+                int destino = (origem + 1 + aleatorio.nextInt(AEROPORTOS.length - 1)) % AEROPORTOS.length;
+                lote.add(new Object[] { 100_000_000L + i, piloto, companhias.get(i % companhias.size()),
+                        "PB" + i, AEROPORTOS[origem], AEROPORTOS[destino],
+                        Timestamp.valueOf(partida), Timestamp.valueOf(chegada),
+                        Timestamp.valueOf(partida.plusMinutes(aleatorio.nextInt(-5, 60))),
+                        Timestamp.valueOf(chegada.plusMinutes(aleatorio.nextInt(-10, 60))) });
+                if (lote.size() == 10_000) {
+                    inserir(jdbc, lote);
+                    lote.clear();
+                }
+            }
+            inserir(jdbc, lote);
+        }
+
+        private static void inserir(JdbcTemplate jdbc, List<Object[]> lote) {
+            jdbc.batchUpdate("""
+                    INSERT INTO voo (id, piloto_id, companhia_id, codigo, origem, destino,
+                        horario_partida_previsto, horario_chegada_previsto, horario_partida_real,
+                        horario_chegada_real, status, versao)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'CONCLUIDO', 0)
+                    """, lote);
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() {
+            contexto.close();
+        }
+    }
+
+    @Benchmark
+    public List<PontualidadeCompanhiaResponse> porCompanhiaNoMes(Aplicacao estado) {
+        return estado.pontualidadeService.porCompanhia(estado.mesDe, estado.mesAte);
+    }
+
+    @Benchmark
+    public List<PontualidadeRotaResponse> porRotaNoMes(Aplicacao estado) {
+        return estado.pontualidadeService.porRota(estado.mesDe, estado.mesAte);
+    }
+}
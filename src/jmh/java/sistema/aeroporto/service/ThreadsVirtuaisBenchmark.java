@@ -0,0 +1,189 @@
+package sistema.aeroporto.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import sistema.aeroporto.AeroportoApplication;
+import sistema.aeroporto.dto.request.VooRequest;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Carga HTTP em POST /api/voos e GET /api/voos/{id} com a aplicação numa
+ * porta livre, atendendo em threads da plataforma (pool do Tomcat) ou em
+ * threads virtuais. Cada thread do JMH é um cliente com uma requisição em
+ * andamento; o padrão de 256 passa do pool de 200 threads do Tomcat. O
+ * SampleTime relata a vazão e os percentis de latência (p50, p99).
+ *
+ * O modo virtual exige Java 21 (compilação e execução):
+ *
+ * ./mvnw -Pjava21,jmh verify -Djmh.args="ThreadsVirtuaisBenchmark"
+ *
+ * No Java 17 só o modo da plataforma roda: -Djmh.args="ThreadsVirtuaisBenchmark -p modo=plataforma"
+ *
+ * Concorrência com -t, conexões do Hikari com -p pool=...
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ThreadsVirtuaisBenchmark {
+
+    private static final int PILOTOS = 200;
+    private static final int VOOS = 2_000;
+
+    @State(Scope.Benchmark)
+    public static class Aplicacao {
+
+        @Param({ "plataforma", "virtual" })
+        String modo;
+
+        @Param({ "20" })
+        int pool;
+
+        ConfigurableApplicationContext contexto;
+        HttpClient cliente;
+        JsonMapper jsonMapper;
+        String base;
+        List<Long> pilotos;
+        Long companhia;
+        List<Long> voos;
+        LocalDateTime inicio;
+        final AtomicInteger criados = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void iniciar() {
+            boolean virtual = modo.equals("virtual");
+            // Sem esta checagem o Spring Boot ignora a propriedade no Java 17 e mede threads da plataforma
+            if (virtual && Runtime.version().feature() < 21) {
+                throw new IllegalStateException("Threads virtuais exigem Java 21 (atual: " + Runtime.version() + ")");
+            }
+            contexto = SpringApplication.run(AeroportoApplication.class,
+                    "--spring.jpa.show-sql=false", "--logging.level.root=WARN", "--server.port=0",
+                    "--spring.devtools.restart.enabled=false", "--aeroporto.agendador.habilitado=false",
+                    "--spring.datasource.url=jdbc:h2:mem:carga-" + modo + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                    "--spring.datasource.hikari.maximum-pool-size=" + pool,
+                    "--spring.datasource.hikari.minimum-idle=" + pool,
+                    "--spring.threads.virtual.enabled=" + virtual);
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            base = "http://localhost:" + porta + "/api/voos";
+            jsonMapper = contexto.getBean(JsonMapper.class);
+            cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            inicio = LocalDateTime.now().plusDays(1);
+            popular();
+        }
+
+        private void popular() {
+            List<Piloto> novosPilotos = new ArrayList<>();
+            for (int i = 0; i < PILOTOS; i++) {
+                Piloto p = new Piloto();
+                p.setNome("Piloto carga " + i);
+                p.setCpf(String.format("%011d", i));
+                p.setMatricula("CARGA" + i);
+                p.setStatus(PilotoStatus.ATIVO);
+                novosPilotos.add(p);
+            }
+            List<Piloto> salvos = contexto.getBean(PilotoRepository.class).saveAll(novosPilotos);
+            pilotos = salvos.stream().map(Piloto::getId).toList();
+
+            CompanhiaAerea c = new CompanhiaAerea();
+            c.setNome("Companhia carga");
+            c.setCnpj("00000000000000");
+            c.setDataFundacao(LocalDate.of(2000, 1, 1));
+            c.setStatus(CompanhiaAereaStatus.ATIVA);
+            c = contexto.getBean(CompanhiaAereaRepository.class).save(c);
+            companhia = c.getId();
+
+            // Voos consultados pelo GET, anos à frente dos criados pelo POST
+            List<Voo> novosVoos = new ArrayList<>();
+            LocalDateTime consulta = inicio.plusYears(10);
+            for (int i = 0; i < VOOS; i++) {
+                Voo v = new Voo();
+                v.setPiloto(salvos.get(i % PILOTOS));
+                v.setCompanhia(c);
+                v.setCodigo("G" + i);
+                v.setOrigem("SBGR");
+                v.setDestino("SBRJ");
+                v.setHorarioPartidaPrevisto(consulta.plusHours(6L * (i / PILOTOS)));
+                v.setHorarioChegadaPrevisto(consulta.plusHours(6L * (i / PILOTOS) + 2));
+                v.setStatus(VooStatus.AGENDADO);
+                novosVoos.add(v);
+            }
+            voos = contexto.getBean(VooRepository.class).saveAll(novosVoos).stream().map(Voo::getId).toList();
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+
+        int enviar(HttpRequest requisicao, int statusEsperado) throws IOException, InterruptedException {
+            int status = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+            // Uma resposta de erro invalida a medição em vez de entrar na média como requisição rápida
+            if (status != statusEsperado) {
+                throw new IllegalStateException("HTTP " + status + " em " + requisicao.uri());
+            }
+            return status;
+        }
+    }
+
+    @Benchmark
+    public int criar(Aplicacao aplicacao) throws IOException, InterruptedException {
+        // Um voo a cada 6 h por piloto: nenhum conflito de escala
+        int i = aplicacao.criados.getAndIncrement();
+        LocalDateTime partida = aplicacao.inicio.plusHours(6L * (i / PILOTOS));
+        VooRequest request = new VooRequest(aplicacao.pilotos.get(i % PILOTOS), aplicacao.companhia, "V" + i,
+                "SBGR", "SBRJ", partida, partida.plusHours(2));
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(aplicacao.base))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(aplicacao.jsonMapper.writeValueAsBytes(request)))
+                .build();
+        return aplicacao.enviar(requisicao, 201);
+    }
+
+    @Benchmark
+    public int consultar(Aplicacao aplicacao) throws IOException, InterruptedException {
+        Long id = aplicacao.voos.get(ThreadLocalRandom.current().nextInt(aplicacao.voos.size()));
+        return aplicacao.enviar(HttpRequest.newBuilder(URI.create(aplicacao.base + "/" + id)).GET().build(), 200);
+    }
+}
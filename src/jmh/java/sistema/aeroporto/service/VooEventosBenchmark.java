@@ -0,0 +1,152 @@
+package sistema.aeroporto.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import sistema.aeroporto.config.EventosProperties;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.VooStatus;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Publicação de mudanças de status com milhares de assinantes SSE, alguns
+ * deles travados (o envio bloqueia até o timeout de escrita e falha). O
+ * tempo medido é o da thread que publica (a do VooService), com os eventos
+ * espaçados pela taxa informada; o contador "entregues" soma os envios que
+ * chegaram aos assinantes saudáveis em cada iteração.
+ *
+ * Ajustável com -p assinantes=... -p travados=... -p taxa=... (eventos/s)
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class VooEventosBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Eventos {
+
+        @Param({ "5000" })
+        int assinantes;
+
+        @Param({ "8" })
+        int travados;
+
+        @Param({ "100" })
+        int taxa;
+
+        VooEventosService service;
+        final LongAdder entregues = new LongAdder();
+        final CompanhiaAerea companhia = new CompanhiaAerea();
+        long intervalo;
+        long proximo;
+        long sequencia;
+
+        @Setup(Level.Trial)
+        public void iniciar() {
+            service = new VooEventosService();
+            EventosProperties properties = new EventosProperties();
+            properties.setHeartbeat(Duration.ofHours(1));
+            ReflectionTestUtils.setField(service, "eventosProperties", properties);
+            ReflectionTestUtils.setField(service, "jsonMapper", JsonMapper.builder().build());
+            service.iniciar();
+
+            for (int i = 0; i < assinantes; i++) {
+                boolean travado = i < travados;
+                service.registrar(new SseEmitter() {
+                    @Override
+                    public void send(SseEventBuilder builder) throws IOException {
+                        if (travado) {
+                            // Socket sem leitura: a escrita bloqueia até o timeout e falha
+                            try {
+                                Thread.sleep(20_000);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            throw new IOException("timeout de escrita");
+                        }
+                        entregues.increment();
+                    }
+
+                    @Override
+                    public void complete() {
+                    }
+                }, VooEventosService.Filtro.de(null, null, null));
+            }
+            companhia.setId(1L);
+            intervalo = TimeUnit.SECONDS.toNanos(1) / taxa;
+            proximo = System.nanoTime();
+        }
+
+        // Fora da medição: espera a vez do próximo evento na taxa informada
+        @Setup(Level.Invocation)
+        public void aguardarVez() {
+            proximo += intervalo;
+            long espera = proximo - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() {
+            service.encerrar();
+        }
+
+        Voo proximoVoo() {
+            long n = sequencia++;
+            Voo voo = new Voo();
+            voo.setId(n);
+            voo.setCodigo("BM" + n);
+            voo.setCompanhia(companhia);
+            voo.setOrigem("SBGR");
+            voo.setDestino("SBRJ");
+            voo.setStatus(VooStatus.VOANDO);
+            return voo;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Entregas {
+
+        public long entregues;
+
+        long antes;
+
+        @Setup(Level.Iteration)
+        public void zerar(Eventos eventos) {
+            antes = eventos.entregues.sum();
+            entregues = 0;
+        }
+    }
+
+    @Benchmark
+    public void publicar(Eventos eventos, Entregas entregas) {
+        eventos.service.publicar(eventos.proximoVoo(), VooStatus.AGENDADO);
+        // Envios feitos pelas threads do pool desde o início da iteração
+        entregas.entregues = eventos.entregues.sum() - entregas.antes;
+    }
+}
@@ -0,0 +1,130 @@
+package sistema.aeroporto.service;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import sistema.aeroporto.AeroportoApplication;
+import sistema.aeroporto.dto.request.VooRequest;
+import sistema.aeroporto.dto.response.VooLoteResponse;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Criação de voos pelo lote (VooLoteService.criarLote) sobre o H2 em memória
+ * da aplicação. O tempo é por voo, comparável ao criarVoo do
+ * {@link VooServiceBenchmark}, que grava um voo por chamada.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(VooLoteBenchmark.VOOS)
+public class VooLoteBenchmark {
+
+    static final int VOOS = 2_000;
+
+    private static final int PILOTOS = 200;
+
+    @State(Scope.Benchmark)
+    public static class Aplicacao {
+
+        ConfigurableApplicationContext contexto;
+        VooLoteService vooLoteService;
+        JsonMapper jsonMapper;
+        List<Long> pilotos;
+        Long companhia;
+        LocalDateTime base;
+        int sequencia;
+        byte[] corpo;
+
+        @Setup(Level.Trial)
+        public void iniciar() {
+            SpringApplication aplicacao = new SpringApplication(AeroportoApplication.class);
+            aplicacao.setWebApplicationType(WebApplicationType.NONE);
+            contexto = aplicacao.run("--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                    "--spring.devtools.restart.enabled=false", "--aeroporto.agendador.habilitado=false");
+            vooLoteService = contexto.getBean(VooLoteService.class);
+            jsonMapper = contexto.getBean(JsonMapper.class);
+            pilotos = criarPilotos(contexto.getBean(PilotoRepository.class));
+            companhia = criarCompanhia(contexto.getBean(CompanhiaAereaRepository.class));
+            base = LocalDateTime.now().plusDays(1);
+        }
+
+        // Fora da medição: o corpo de cada chamada tem códigos novos e horários sem conflito na escala
+        @Setup(Level.Invocation)
+        public void montarCorpo() {
+            List<VooRequest> voos = new ArrayList<>(VOOS);
+            for (int i = 0; i < VOOS; i++) {
+                int n = sequencia++;
+                LocalDateTime partida = base.plusHours(6L * (n / PILOTOS));
+                voos.add(new VooRequest(pilotos.get(n % PILOTOS), companhia, "LT" + n, "SBGR", "SBRJ",
+                        partida, partida.plusHours(2)));
+            }
+            corpo = jsonMapper.writeValueAsBytes(voos);
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() {
+            contexto.close();
+        }
+
+        private static List<Long> criarPilotos(PilotoRepository repository) {
+            List<Piloto> novos = new ArrayList<>();
+            for (int i = 0; i < PILOTOS; i++) {
+                Piloto p = new Piloto();
+                p.setNome("Piloto lote " + i);
+                p.setCpf(String.format("%011d", i));
+                p.setMatricula("LOTE" + i);
+                p.setStatus(PilotoStatus.ATIVO);
+                novos.add(p);
+            }
+            return repository.saveAll(novos).stream().map(Piloto::getId).toList();
+        }
+
+        private static Long criarCompanhia(CompanhiaAereaRepository repository) {
+            CompanhiaAerea c = new CompanhiaAerea();
+            c.setNome("Companhia lote");
+            c.setCnpj("00000000000000");
+            c.setDataFundacao(LocalDate.of(2000, 1, 1));
+            c.setStatus(CompanhiaAereaStatus.ATIVA);
+            return repository.save(c).getId();
+        }
+    }
+
+    @Benchmark
+    public List<VooLoteResponse> criarLote(Aplicacao estado) {
+        List<VooLoteResponse> resultado = estado.vooLoteService.criarLote(new ByteArrayInputStream(estado.corpo));
+        // Uma linha rejeitada mediria menos trabalho que o informado
+        if (resultado.stream().anyMatch(r -> r.id() == null)) {
+            throw new IllegalStateException("Linhas rejeitadas no lote");
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,134 @@
+package sistema.aeroporto.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistema.aeroporto.dto.response.CompanhiaAereaResponse;
+import sistema.aeroporto.dto.response.PilotoResponse;
+import sistema.aeroporto.dto.response.VooResponse;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Escrita e leitura de uma listagem de {@code voos} voos em cada formato
+ * que a API negocia pelo Accept. O tamanho do corpo, puro e com gzip, é
+ * impresso ao preparar cada formato.
+ *
+ * ./mvnw -Pjmh verify -Djmh.args="VooSerializacaoBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VooSerializacaoBenchmark {
+
+    private static final String[] AEROPORTOS = { "SBGR", "SBRJ", "SBBR", "SBSP", "SBPA", "SBCF", "SBSV", "SBRF" };
+
+    private static final String[] STATUS = { "AGENDADO", "EM_VOO", "CONCLUIDO", "CANCELADO" };
+
+    private static final TypeReference<List<VooResponse>> LISTA = new TypeReference<>() {
+    };
+
+    @State(Scope.Benchmark)
+    public static class Listagem {
+
+        @Param({ "10000" })
+        int voos;
+
+        @Param({ "json", "cbor", "smile" })
+        String formato;
+
+        ObjectMapper mapper;
+        List<VooResponse> lista;
+        byte[] corpo;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            mapper = switch (formato) {
+                case "cbor" -> CBORMapper.builder().build();
+                case "smile" -> SmileMapper.builder().build();
+                default -> JsonMapper.builder().build();
+            };
+            lista = gerar(voos);
+            corpo = mapper.writeValueAsBytes(lista);
+            System.out.printf("%n%s: %d bytes, %d bytes com gzip%n", formato, corpo.length, gzip(corpo).length);
+        }
+    }
+
+    // Poucos pilotos e companhias repetidos entre os voos, como numa listagem real
+    private static List<VooResponse> gerar(int voos) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<PilotoResponse> pilotos = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            pilotos.add(new PilotoResponse((long) i + 1, "Piloto " + i, 30 + i % 30, i % 2 == 0 ? "M" : "F",
+                    String.format("%011d", 10_000_000_000L + i), LocalDate.of(2025, 1 + i % 12, 1),
+                    String.format("MAT%05d", i), "PLA", "ATIVO"));
+        }
+        List<CompanhiaAereaResponse> companhias = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            companhias.add(new CompanhiaAereaResponse((long) i + 1, "Companhia " + i,
+                    String.format("%014d", 10_000_000_000_000L + i), LocalDate.of(1990 + i, 1, 1), i % 2 == 0,
+                    "ATIVA"));
+        }
+        LocalDateTime inicio = LocalDate.of(2025, 1, 1).atStartOfDay();
+        List<VooResponse> lista = new ArrayList<>(voos);
+        for (int i = 0; i < voos; i++) {
+            LocalDateTime partida = inicio.plusMinutes(random.nextInt(525_600));
+            LocalDateTime chegada = partida.plusMinutes(60 + random.nextInt(300));
+            String status = STATUS[random.nextInt(STATUS.length)];
+            boolean partiu = status.equals("EM_VOO") || status.equals("CONCLUIDO");
+            lista.add(new VooResponse((long) i + 1, pilotos.get(random.nextInt(pilotos.size())),
+                    companhias.get(random.nextInt(companhias.size())), String.format("AB%04d", i % 10_000),
+                    AEROPORTOS[random.nextInt(AEROPORTOS.length)], AEROPORTOS[random.nextInt(AEROPORTOS.length)],
+                    partida, chegada, partiu ? partida.plusMinutes(random.nextInt(60)) : null,
+                    status.equals("CONCLUIDO") ? chegada.plusMinutes(random.nextInt(90)) : null,
+                    status.equals("CANCELADO") ? "Condições meteorológicas" : null, status));
+        }
+        return lista;
+    }
+
+    private static byte[] gzip(byte[] dados) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] escrever(Listagem listagem) {
+        return listagem.mapper.writeValueAsBytes(listagem.lista);
+    }
+
+    @Benchmark
+    public List<VooResponse> ler(Listagem listagem) {
+        return listagem.mapper.readValue(listagem.corpo, LISTA);
+    }
+}
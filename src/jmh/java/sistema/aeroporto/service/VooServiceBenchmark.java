@@ -0,0 +1,155 @@
+package sistema.aeroporto.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import sistema.aeroporto.AeroportoApplication;
+import sistema.aeroporto.dto.request.VooRequest;
+import sistema.aeroporto.dto.response.VooResponse;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+
+/**
+ * Caminhos quentes do VooService: a conversão para VooResponse (feita em toda
+ * listagem) e a criação de voo completa contra o H2 em memória da aplicação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VooServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Conversao {
+
+        final VooService vooService = new VooService();
+        Voo voo;
+
+        @Setup
+        public void preparar() {
+            Piloto piloto = new Piloto();
+            piloto.setId(1L);
+            piloto.setNome("Piloto benchmark");
+            piloto.setCpf("52998224725");
+            piloto.setMatricula("BENCH1");
+            piloto.setIdade(45);
+            piloto.setHabilitacao("PLA");
+            piloto.setStatus(PilotoStatus.ATIVO);
+
+            CompanhiaAerea companhia = new CompanhiaAerea();
+            companhia.setId(1L);
+            companhia.setNome("Companhia benchmark");
+            companhia.setCnpj("47001880000184");
+            companhia.setDataFundacao(LocalDate.of(2000, 1, 1));
+            companhia.setStatus(CompanhiaAereaStatus.ATIVA);
+
+            voo = new Voo();
+            voo.setId(1L);
+            voo.setPiloto(piloto);
+            voo.setCompanhia(companhia);
+            voo.setCodigo("BM1");
+            voo.setOrigem("SBGR");
+            voo.setDestino("SBRJ");
+            voo.setHorarioPartidaPrevisto(LocalDateTime.of(2030, 1, 1, 8, 0));
+            voo.setHorarioChegadaPrevisto(LocalDateTime.of(2030, 1, 1, 9, 0));
+            voo.setStatus(VooStatus.AGENDADO);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Aplicacao {
+
+        private static final int PILOTOS = 200;
+
+        ConfigurableApplicationContext contexto;
+        VooService vooService;
+        List<Long> pilotos;
+        Long companhia;
+        LocalDateTime base;
+        int sequencia;
+
+        @Setup(Level.Trial)
+        public void iniciar() {
+            SpringApplication aplicacao = new SpringApplication(AeroportoApplication.class);
+            aplicacao.setWebApplicationType(WebApplicationType.NONE);
+            contexto = aplicacao.run("--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                    "--spring.devtools.restart.enabled=false");
+            vooService = contexto.getBean(VooService.class);
+            pilotos = criarPilotos(contexto.getBean(PilotoRepository.class));
+            companhia = criarCompanhia(contexto.getBean(CompanhiaAereaRepository.class));
+            base = LocalDateTime.now().plusDays(1);
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() {
+            contexto.close();
+        }
+
+        // Código único e horário sem conflito na escala do piloto a cada chamada
+        VooRequest proximo() {
+            int n = sequencia++;
+            LocalDateTime partida = base.plusHours(6L * (n / PILOTOS));
+            return new VooRequest(pilotos.get(n % PILOTOS), companhia, "JM" + n, "SBGR", "SBRJ",
+                    partida, partida.plusHours(2));
+        }
+
+        private static List<Long> criarPilotos(PilotoRepository repository) {
+            List<Piloto> novos = new ArrayList<>();
+            for (int i = 0; i < PILOTOS; i++) {
+                Piloto p = new Piloto();
+                p.setNome("Piloto JMH " + i);
+                p.setCpf(String.format("%011d", i));
+                p.setMatricula("JMH" + i);
+                p.setStatus(PilotoStatus.ATIVO);
+                novos.add(p);
+            }
+            return repository.saveAll(novos).stream().map(Piloto::getId).toList();
+        }
+
+        private static Long criarCompanhia(CompanhiaAereaRepository repository) {
+            CompanhiaAerea c = new CompanhiaAerea();
+            c.setNome("Companhia JMH");
+            c.setCnpj("00000000000000");
+            c.setDataFundacao(LocalDate.of(2000, 1, 1));
+            c.setStatus(CompanhiaAereaStatus.ATIVA);
+            return repository.save(c).getId();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public VooResponse toResponse(Conversao estado) {
+        return estado.vooService.toResponse(estado.voo);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public VooResponse criarVoo(Aplicacao estado) {
+        return estado.vooService.criarVoo(estado.proximo());
+    }
+}
@@ -0,0 +1,141 @@
+package sistema.aeroporto.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validação e formatação de CPF e CNPJ, com e sem máscara, como chegam
+ * nas requisições de cadastro. Os benchmarks "...Regex" medem a
+ * implementação anterior, baseada em expressões regulares, como referência.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentoBenchmark {
+
+    // Estados separados para que cada benchmark varie só o próprio documento
+    @State(Scope.Benchmark)
+    public static class Cpf {
+
+        @Param({ "52998224725", "529.982.247-25" })
+        public String valor;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Cnpj {
+
+        @Param({ "47001880000184", "47.001.880/0001-84" })
+        public String valor;
+    }
+
+    // Implementação anterior de CpfUtils/CnpjUtils
+    static final class Regex {
+
+        static boolean validarCpf(String cpf) {
+            cpf = cpf.replaceAll("\\D", "");
+            if (cpf.length() != 11 || cpf.matches("(\\d)\\1{10}")) {
+                return false;
+            }
+            int soma = 0;
+            int peso = 10;
+            for (int i = 0; i < 9; i++) {
+                soma += Character.getNumericValue(cpf.charAt(i)) * peso--;
+            }
+            int primeiroDV = 11 - (soma % 11);
+            primeiroDV = (primeiroDV > 9) ? 0 : primeiroDV;
+            soma = 0;
+            peso = 11;
+            for (int i = 0; i < 10; i++) {
+                soma += Character.getNumericValue(cpf.charAt(i)) * peso--;
+            }
+            int segundoDV = 11 - (soma % 11);
+            segundoDV = (segundoDV > 9) ? 0 : segundoDV;
+            return cpf.charAt(9) == Character.forDigit(primeiroDV, 10)
+                    && cpf.charAt(10) == Character.forDigit(segundoDV, 10);
+        }
+
+        static String formatarCpf(String cpf) {
+            return cpf.replaceAll("\\D", "").replaceAll("(\\d{3})(\\d{3})(\\d{3})(\\d{2})", "$1.$2.$3-$4");
+        }
+
+        static boolean validarCnpj(String cnpj) {
+            cnpj = cnpj.replaceAll("\\D", "");
+            if (cnpj.length() != 14 || cnpj.chars().distinct().count() == 1) {
+                return false;
+            }
+            int[] peso1 = { 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+            int[] peso2 = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+            int soma = 0;
+            for (int i = 0; i < 12; i++) {
+                soma += Character.getNumericValue(cnpj.charAt(i)) * peso1[i];
+            }
+            int mod = soma % 11;
+            int digito1 = (mod < 2) ? 0 : 11 - mod;
+            soma = 0;
+            for (int i = 0; i < 13; i++) {
+                soma += Character.getNumericValue(cnpj.charAt(i)) * peso2[i];
+            }
+            mod = soma % 11;
+            int digito2 = (mod < 2) ? 0 : 11 - mod;
+            return digito1 == Character.getNumericValue(cnpj.charAt(12))
+                    && digito2 == Character.getNumericValue(cnpj.charAt(13));
+        }
+
+        static String formatarCnpj(String cnpj) {
+            return cnpj.replaceAll("\\D", "")
+                    .replaceAll("(\\d{2})(\\d{3})(\\d{3})(\\d{4})(\\d{2})", "$1.$2.$3/$4-$5");
+        }
+    }
+
+    @Benchmark
+    public boolean validarCpfRegex(Cpf cpf) {
+        return Regex.validarCpf(cpf.valor);
+    }
+
+    @Benchmark
+    public String formatarCpfRegex(Cpf cpf) {
+        return Regex.formatarCpf(cpf.valor);
+    }
+
+    @Benchmark
+    public boolean validarCnpjRegex(Cnpj cnpj) {
+        return Regex.validarCnpj(cnpj.valor);
+    }
+
+    @Benchmark
+    public String formatarCnpjRegex(Cnpj cnpj) {
+        return Regex.formatarCnpj(cnpj.valor);
+    }
+
+    @Benchmark
+    public boolean validarCpf(Cpf cpf) {
+        return CpfUtils.validarCpf(cpf.valor);
+    }
+
+    @Benchmark
+    public String formatarCpf(Cpf cpf) {
+        return CpfUtils.formatar(cpf.valor);
+    }
+
+    @Benchmark
+    public boolean validarCnpj(Cnpj cnpj) {
+        return CnpjUtils.validarCnpj(cnpj.valor);
+    }
+
+    @Benchmark
+    public String formatarCnpj(Cnpj cnpj) {
+        return CnpjUtils.formatar(cnpj.valor);
+    }
+}
@@ -7,6 +7,7 @@ import java.util.List;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import sistema.aeroporto.model.CompanhiaAerea;
 import sistema.aeroporto.model.Piloto;
@@ -33,7 +34,9 @@ public class DataSeeder implements ApplicationRunner {
         this.vooRepository       = vooRepository;
     }
 
+    // Transação de escrita: a contagem é feita no banco principal, não na réplica
     @Override
+    @Transactional
     public void run(ApplicationArguments args) {
         if (companhiaRepository.count() > 0) {
             System.out.println(">>> Banco já possui dados. Seed ignorado.");
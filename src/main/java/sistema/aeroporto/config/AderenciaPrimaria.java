@@ -0,0 +1,95 @@
+package sistema.aeroporto.config;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Leitura das próprias escritas com réplica: depois do commit de uma
+ * transação de escrita, as leituras da mesma thread vão para o banco
+ * principal durante {@code aeroporto.replica.aderencia}. Numa requisição
+ * HTTP o prazo também vai num cookie, e as requisições seguintes do mesmo
+ * cliente que o trazem continuam no banco principal até ele vencer.
+ */
+@Component
+public class AderenciaPrimaria extends OncePerRequestFilter implements TransactionExecutionListener {
+
+    static final String COOKIE = "aeroporto-escrita";
+
+    // Instante (epoch ms) até o qual a thread lê do banco principal
+    private static final ThreadLocal<Long> primariaAte = new ThreadLocal<>();
+
+    @Autowired
+    private ReplicaProperties replicaProperties;
+
+    public static boolean ativa() {
+        Long ate = primariaAte.get();
+        return ate != null && System.currentTimeMillis() < ate;
+    }
+
+    public static void limpar() {
+        primariaAte.remove();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transacao, Throwable falha) {
+        if (falha != null || transacao.isReadOnly()) {
+            return;
+        }
+        long ate = System.currentTimeMillis() + replicaProperties.getAderencia().toMillis();
+        primariaAte.set(ate);
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos
+                && atributos.getResponse() != null && !atributos.getResponse().isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(ate));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, replicaProperties.getAderencia().toSeconds()));
+            atributos.getResponse().addCookie(cookie);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long ate = prazoDoCookie(request);
+        if (ate != null) {
+            primariaAte.set(ate);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // Threads do container atendem outros clientes em seguida
+            primariaAte.remove();
+        }
+    }
+
+    // O valor vem do cliente: nunca além da aderência configurada a partir de agora
+    private Long prazoDoCookie(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return null;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    long limite = System.currentTimeMillis() + replicaProperties.getAderencia().toMillis();
+                    return Math.min(Long.parseLong(cookie.getValue()), limite);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,66 @@
+package sistema.aeroporto.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "aeroporto.agendador")
+public class AgendadorProperties {
+
+    // Liga o acompanhamento dos horários previstos de partida e chegada
+    private boolean habilitado = true;
+
+    // No horário previsto, inicia ou finaliza o voo; desligado, só publica o evento de atraso
+    private boolean transicoesAutomaticas = false;
+
+    // Quanto à frente os prazos ficam em memória; a faixa seguinte é lida na metade deste tempo
+    private Duration horizonte = Duration.ofHours(1);
+
+    // Na inicialização, até quanto para trás os prazos vencidos com a aplicação parada são disparados
+    private Duration retroativo = Duration.ofHours(24);
+
+    // Espera até nova tentativa depois de uma recarga que falhou
+    private Duration reintento = Duration.ofSeconds(30);
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public boolean isTransicoesAutomaticas() {
+        return transicoesAutomaticas;
+    }
+
+    public void setTransicoesAutomaticas(boolean transicoesAutomaticas) {
+        this.transicoesAutomaticas = transicoesAutomaticas;
+    }
+
+    public Duration getHorizonte() {
+        return horizonte;
+    }
+
+    public void setHorizonte(Duration horizonte) {
+        this.horizonte = horizonte;
+    }
+
+    public Duration getRetroativo() {
+        return retroativo;
+    }
+
+    public void setRetroativo(Duration retroativo) {
+        this.retroativo = retroativo;
+    }
+
+    public Duration getReintento() {
+        return reintento;
+    }
+
+    public void setReintento(Duration reintento) {
+        this.reintento = reintento;
+    }
+}
@@ -0,0 +1,33 @@
+package sistema.aeroporto.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "aeroporto.cache")
+public class CadastroCacheProperties {
+
+    // Entradas por cache (pilotos e companhias); cada chave de busca conta como uma entrada
+    private long tamanhoMaximo = 10_000;
+
+    // Tempo máximo de uma entrada no cache, limite para alterações feitas fora da API
+    private Duration expiracao = Duration.ofMinutes(10);
+
+    public long getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public void setTamanhoMaximo(long tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    public Duration getExpiracao() {
+        return expiracao;
+    }
+
+    public void setExpiracao(Duration expiracao) {
+        this.expiracao = expiracao;
+    }
+}
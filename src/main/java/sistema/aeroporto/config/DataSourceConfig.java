@@ -0,0 +1,61 @@
+package sistema.aeroporto.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Banco principal (spring.datasource), réplica de leitura opcional
+ * (aeroporto.replica) e o DataSource usado pela aplicação, que roteia cada
+ * transação para um dos dois. Flyway e Hibernate usam o roteado; fora de
+ * transação somente leitura ele sempre entrega o banco principal.
+ */
+@Configuration(proxyBeanMethods = false)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaria(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primaria");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty("aeroporto.replica.url")
+    public HikariDataSource replica(ReplicaProperties replica,
+            @Qualifier("primaria") HikariDataSource primaria) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(replica.getTamanhoPool());
+        dataSource.setMinimumIdle(replica.getTamanhoPool());
+        dataSource.setConnectionTimeout(primaria.getConnectionTimeout());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    // Sem réplica configurada, as duas rotas apontam para o banco principal
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaria") HikariDataSource primaria,
+            @Qualifier("replica") ObjectProvider<HikariDataSource> replica) {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primaria, replica.getIfAvailable(() -> primaria));
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+}
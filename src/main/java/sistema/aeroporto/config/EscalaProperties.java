@@ -0,0 +1,22 @@
+package sistema.aeroporto.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "aeroporto.escala")
+public class EscalaProperties {
+
+    // Tempo sem uso depois do qual a agenda do piloto é descartada e, se pedida de novo, relida do banco
+    private Duration expiracao = Duration.ofMinutes(30);
+
+    public Duration getExpiracao() {
+        return expiracao;
+    }
+
+    public void setExpiracao(Duration expiracao) {
+        this.expiracao = expiracao;
+    }
+}
@@ -0,0 +1,66 @@
+package sistema.aeroporto.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "aeroporto.eventos")
+public class EventosProperties {
+
+    // Eventos pendentes por assinante; ao estourar, a conexão é encerrada e o cliente reconecta
+    private int capacidadeFila = 256;
+
+    // Threads que escrevem nas conexões; os serviços só enfileiram
+    private int threadsEnvio = 16;
+
+    // Duração máxima de uma conexão antes de o cliente precisar reconectar
+    private Duration timeout = Duration.ofMinutes(30);
+
+    // Tempo máximo de um envio; passado o prazo, o assinante é encerrado e a thread presa é substituída
+    private Duration prazoEnvio = Duration.ofSeconds(5);
+
+    // Intervalo do comentário enviado para manter a conexão e detectar clientes desconectados
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    public int getCapacidadeFila() {
+        return capacidadeFila;
+    }
+
+    public void setCapacidadeFila(int capacidadeFila) {
+        this.capacidadeFila = capacidadeFila;
+    }
+
+    public int getThreadsEnvio() {
+        return threadsEnvio;
+    }
+
+    public void setThreadsEnvio(int threadsEnvio) {
+        this.threadsEnvio = threadsEnvio;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getHeartbeat() {
+        return heartbeat;
+    }
+
+    public void setHeartbeat(Duration heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+
+    public Duration getPrazoEnvio() {
+        return prazoEnvio;
+    }
+
+    public void setPrazoEnvio(Duration prazoEnvio) {
+        this.prazoEnvio = prazoEnvio;
+    }
+}
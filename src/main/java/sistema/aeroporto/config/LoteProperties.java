@@ -0,0 +1,20 @@
+package sistema.aeroporto.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "aeroporto.lote")
+public class LoteProperties {
+
+    // Linhas validadas e gravadas por transação; também é o tamanho do batch JDBC
+    private int tamanho = 500;
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(int tamanho) {
+        this.tamanho = tamanho;
+    }
+}
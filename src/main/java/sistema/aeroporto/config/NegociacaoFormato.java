@@ -0,0 +1,35 @@
+package sistema.aeroporto.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * As respostas de /api/** saem em JSON, CBOR ou Smile conforme o
+ * {@code Accept}, com a mesma ETag fraca. {@code Vary: Accept} faz um cache
+ * compartilhado guardar e revalidar cada formato à parte; o Tomcat acrescenta
+ * por conta própria só o {@code Vary: Accept-Encoding} da compressão.
+ */
+@Component
+public class NegociacaoFormato extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Antes da cadeia: o cabeçalho precisa sair também nos 304 e nas respostas já enviadas em partes
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,36 @@
+package sistema.aeroporto.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "aeroporto.paginacao")
+public class PaginacaoProperties {
+
+    private int tamanhoPadrao = 50;
+    private int tamanhoMaximo = 500;
+
+    // Tamanho efetivo da página: padrão quando não informado, limitado ao máximo configurado
+    public int tamanho(Integer solicitado) {
+        if (solicitado == null || solicitado < 1) {
+            return tamanhoPadrao;
+        }
+        return Math.min(solicitado, tamanhoMaximo);
+    }
+
+    public int getTamanhoPadrao() {
+        return tamanhoPadrao;
+    }
+
+    public void setTamanhoPadrao(int tamanhoPadrao) {
+        this.tamanhoPadrao = tamanhoPadrao;
+    }
+
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public void setTamanhoMaximo(int tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+}
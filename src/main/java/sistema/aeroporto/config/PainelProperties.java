@@ -0,0 +1,44 @@
+package sistema.aeroporto.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "aeroporto.painel")
+public class PainelProperties {
+
+    // Quanto tempo um voo continua no painel depois do horário previsto
+    private Duration janela = Duration.ofHours(2);
+
+    // Painéis de aeroportos mantidos em memória, para partidas e para chegadas
+    private long tamanhoMaximo = 1000;
+
+    // Tempo sem consultas depois do qual o painel é descartado e, se pedido de novo, relido do banco
+    private Duration expiracao = Duration.ofMinutes(30);
+
+    public Duration getJanela() {
+        return janela;
+    }
+
+    public void setJanela(Duration janela) {
+        this.janela = janela;
+    }
+
+    public long getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public void setTamanhoMaximo(long tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    public Duration getExpiracao() {
+        return expiracao;
+    }
+
+    public void setExpiracao(Duration expiracao) {
+        this.expiracao = expiracao;
+    }
+}
@@ -0,0 +1,33 @@
+package sistema.aeroporto.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "aeroporto.pontualidade")
+public class PontualidadeProperties {
+
+    // Atraso de chegada até o qual o voo conta como no horário (padrão do setor: 15 minutos)
+    private Duration tolerancia = Duration.ofMinutes(15);
+
+    // Intervalo entre as conferências dos contadores acumulados contra a tabela de voos
+    private Duration reconciliacao = Duration.ofHours(1);
+
+    public Duration getTolerancia() {
+        return tolerancia;
+    }
+
+    public void setTolerancia(Duration tolerancia) {
+        this.tolerancia = tolerancia;
+    }
+
+    public Duration getReconciliacao() {
+        return reconciliacao;
+    }
+
+    public void setReconciliacao(Duration reconciliacao) {
+        this.reconciliacao = reconciliacao;
+    }
+}
@@ -0,0 +1,65 @@
+package sistema.aeroporto.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "aeroporto.replica")
+public class ReplicaProperties {
+
+    // URL JDBC da réplica de leitura; sem ela, as transações somente leitura também usam o banco principal
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    // Conexões do pool da réplica (fixo, como o do banco principal)
+    private int tamanhoPool = 20;
+
+    // Depois de uma escrita, as leituras do mesmo cliente ficam no banco principal por este tempo,
+    // que deve cobrir o atraso da replicação
+    private Duration aderencia = Duration.ofSeconds(5);
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getTamanhoPool() {
+        return tamanhoPool;
+    }
+
+    public void setTamanhoPool(int tamanhoPool) {
+        this.tamanhoPool = tamanhoPool;
+    }
+
+    public Duration getAderencia() {
+        return aderencia;
+    }
+
+    public void setAderencia(Duration aderencia) {
+        this.aderencia = aderencia;
+    }
+}
@@ -0,0 +1,62 @@
+package sistema.aeroporto.config;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Escolhe o banco de cada conexão: transações somente leitura vão para a
+ * réplica, exceto logo depois de uma escrita do mesmo cliente
+ * ({@link AderenciaPrimaria}); todo o resto vai para o banco principal.
+ *
+ * Precisa ficar atrás de um LazyConnectionDataSourceProxy: o gerenciador de
+ * transações pede a conexão antes de marcar a transação como somente leitura,
+ * e o proxy só a obtém daqui no primeiro comando SQL.
+ *
+ * Leituras que ficam guardadas em memória ou decidem uma ação passam por
+ * {@link #naPrimaria}: na réplica atrasada, leriam a linha de antes da última
+ * escrita.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    enum Destino {
+        PRIMARIA, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> primariaForcada = new ThreadLocal<>();
+
+    public RoteamentoDataSource(DataSource primaria, DataSource replica) {
+        setTargetDataSources(Map.of(Destino.PRIMARIA, primaria, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !AderenciaPrimaria.ativa()
+                && primariaForcada.get() == null
+                ? Destino.REPLICA
+                : Destino.PRIMARIA;
+    }
+
+    /**
+     * Executa a leitura com as conexões vindas do banco principal. Vale para
+     * as transações abertas dentro dela: uma transação já em andamento
+     * continua na conexão que obteve.
+     */
+    public static <T> T naPrimaria(Supplier<T> leitura) {
+        if (primariaForcada.get() != null) {
+            return leitura.get();
+        }
+        primariaForcada.set(Boolean.TRUE);
+        try {
+            return leitura.get();
+        } finally {
+            primariaForcada.remove();
+        }
+    }
+}
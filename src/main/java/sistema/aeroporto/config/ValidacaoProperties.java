@@ -0,0 +1,31 @@
+package sistema.aeroporto.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "aeroporto.validacao")
+public class ValidacaoProperties {
+
+    // Documentos aceitos por requisição de validação em massa
+    private int maximoDocumentos = 100_000;
+
+    // Documentos por consulta IN ao verificar os já cadastrados
+    private int tamanhoConsulta = 1_000;
+
+    public int getMaximoDocumentos() {
+        return maximoDocumentos;
+    }
+
+    public void setMaximoDocumentos(int maximoDocumentos) {
+        this.maximoDocumentos = maximoDocumentos;
+    }
+
+    public int getTamanhoConsulta() {
+        return tamanhoConsulta;
+    }
+
+    public void setTamanhoConsulta(int tamanhoConsulta) {
+        this.tamanhoConsulta = tamanhoConsulta;
+    }
+}
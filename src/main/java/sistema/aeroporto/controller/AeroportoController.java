@@ -0,0 +1,47 @@
+package sistema.aeroporto.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.extensions.Extension;
+import io.swagger.v3.oas.annotations.extensions.ExtensionProperty;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import sistema.aeroporto.config.PaginacaoProperties;
+import sistema.aeroporto.dto.response.PainelVooResponse;
+import sistema.aeroporto.service.PainelAeroportoIndex;
+
+@RestController
+@RequestMapping("/api/aeroportos")
+@Tag(name = "Aeroportos", description = "Painéis de partidas e chegadas por aeroporto")
+public class AeroportoController {
+
+        @Autowired
+        private PainelAeroportoIndex painelAeroportoIndex;
+
+        @Autowired
+        private PaginacaoProperties paginacao;
+
+        @Operation(summary = "Painel de partidas", description = "Voos com origem no aeroporto, ordenados pelo horário de partida previsto, a partir de pouco antes do horário atual. Servido da memória, sem consulta ao banco.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "1")))
+        @ApiResponse(responseCode = "200", description = "Painel retornado com sucesso")
+        @GetMapping("/{icao}/partidas")
+        public ResponseEntity<List<PainelVooResponse>> partidas(
+                        @Parameter(description = "Código ICAO do aeroporto, ex: SBGR") @PathVariable String icao,
+                        @Parameter(description = "Quantidade máxima de voos") @RequestParam(required = false) Integer tamanho) {
+                return ResponseEntity.ok(painelAeroportoIndex.partidas(icao, paginacao.tamanho(tamanho)));
+        }
+
+        @Operation(summary = "Painel de chegadas", description = "Voos com destino no aeroporto, ordenados pelo horário de chegada previsto, a partir de pouco antes do horário atual. Servido da memória, sem consulta ao banco.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "2")))
+        @ApiResponse(responseCode = "200", description = "Painel retornado com sucesso")
+        @GetMapping("/{icao}/chegadas")
+        public ResponseEntity<List<PainelVooResponse>> chegadas(
+                        @Parameter(description = "Código ICAO do aeroporto, ex: SBGR") @PathVariable String icao,
+                        @Parameter(description = "Quantidade máxima de voos") @RequestParam(required = false) Integer tamanho) {
+                return ResponseEntity.ok(painelAeroportoIndex.chegadas(icao, paginacao.tamanho(tamanho)));
+        }
+}
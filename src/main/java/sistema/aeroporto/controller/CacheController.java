@@ -0,0 +1,29 @@
+package sistema.aeroporto.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import sistema.aeroporto.dto.response.CacheEstatisticasResponse;
+import sistema.aeroporto.service.CadastroCache;
+
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Cache", description = "Acompanhamento do cache de pilotos e companhias")
+public class CacheController {
+
+        @Autowired
+        private CadastroCache cadastroCache;
+
+        @Operation(summary = "Estatísticas do cache", description = "Retorna, para os caches de pilotos e companhias, o número de entradas, acertos, faltas, taxa de acerto e remoções por tamanho ou expiração desde a inicialização.")
+        @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+        @GetMapping("/estatisticas")
+        public ResponseEntity<List<CacheEstatisticasResponse>> estatisticas() {
+                return ResponseEntity.ok(cadastroCache.estatisticas());
+        }
+}
@@ -3,6 +3,7 @@ package sistema.aeroporto.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sistema.aeroporto.dto.request.CompanhiaAereaUpdateRequest;
@@ -16,7 +17,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import sistema.aeroporto.dto.request.CompanhiaAereaRequest;
 import sistema.aeroporto.dto.response.CompanhiaAereaResponse;
+import sistema.aeroporto.dto.response.DocumentoValidacaoResponse;
+import sistema.aeroporto.dto.response.PaginaResponse;
 import sistema.aeroporto.service.CompanhiaAereaService;
+import sistema.aeroporto.service.ValidacaoDocumentosService;
+import sistema.aeroporto.util.EtagUtils;
 
 @RestController
 @RequestMapping("/api/companhias")
@@ -26,6 +31,9 @@ public class CompanhiaAereaController {
         @Autowired
         private CompanhiaAereaService companhiaService;
 
+        @Autowired
+        private ValidacaoDocumentosService validacaoDocumentosService;
+
         @Operation(summary = "Cadastrar nova companhia aérea", description = "Cria uma nova companhia no sistema. O CNPJ é validado e deve ser único. O nome também deve ser único.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "1")))
         @ApiResponses({
                         @ApiResponse(responseCode = "201", description = "Companhia cadastrada com sucesso"),
@@ -61,22 +69,32 @@ public class CompanhiaAereaController {
                 return ResponseEntity.noContent().build();
         }
 
-        @Operation(summary = "Listar todas as companhias", description = "Retorna a lista completa de companhias aéreas cadastradas.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "4")))
-        @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso")
+        @Operation(summary = "Listar companhias", description = "Retorna as companhias aéreas cadastradas em páginas ordenadas por ID. Para a próxima página, envie o proximoCursor da resposta anterior.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "4")))
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+                        @ApiResponse(responseCode = "304", description = "Nenhuma companhia mudou desde a ETag enviada"),
+                        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+        })
         @GetMapping
-        public ResponseEntity<List<CompanhiaAereaResponse>> listarTodas() {
-                return ResponseEntity.ok(companhiaService.listarTodasCompanhias());
+        public ResponseEntity<PaginaResponse<CompanhiaAereaResponse>> listarTodas(
+                        @Parameter(description = "Cursor retornado pela página anterior — vazio para a primeira página") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Quantidade de companhias por página") @RequestParam(required = false) Integer tamanho,
+                        @Parameter(description = "ETag recebida antes; se ainda for a atual, a resposta é 304 sem corpo") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+                return EtagUtils.responder(ifNoneMatch, companhiaService.versaoDaListagem(),
+                                () -> companhiaService.listarCompanhiasPaginado(cursor, tamanho));
         }
 
         @Operation(summary = "Buscar companhia por ID", description = "Retorna os dados de uma companhia aérea pelo seu identificador.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "5")))
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Companhia encontrada"),
+                        @ApiResponse(responseCode = "304", description = "Companhia não mudou desde a ETag enviada"),
                         @ApiResponse(responseCode = "404", description = "Companhia não encontrada")
         })
         @GetMapping("/{id}")
         public ResponseEntity<CompanhiaAereaResponse> buscarPorId(
-                        @Parameter(description = "ID da companhia") @PathVariable Long id) {
-                return ResponseEntity.ok(companhiaService.buscarPorId(id));
+                        @Parameter(description = "ID da companhia") @PathVariable Long id,
+                        @Parameter(description = "ETag recebida antes; se ainda for a atual, a resposta é 304 sem corpo") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+                return EtagUtils.responder(ifNoneMatch, companhiaService.versao(id), () -> companhiaService.buscarVersionadoPorId(id));
         }
 
         @Operation(summary = "Buscar companhia por nome", description = "Busca uma companhia aérea pelo nome exato cadastrado.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "6")))
@@ -100,4 +118,14 @@ public class CompanhiaAereaController {
                         @Parameter(description = "CNPJ da companhia. Ex: 63.141.461/0001-02") @PathVariable String cnpj) {
                 return ResponseEntity.ok(companhiaService.buscarPorCnpj(cnpj));
         }
-}
\ No newline at end of file
+
+        @Operation(summary = "Validar CNPJs em massa", description = "Confere os dígitos verificadores e se o CNPJ já está cadastrado, para uma lista de CNPJs com ou sem formatação. Retorna, na mesma ordem, a situação de cada item: VALIDO, INVALIDO ou JA_CADASTRADO.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "8")))
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Situação de cada CNPJ"),
+                        @ApiResponse(responseCode = "400", description = "Quantidade de CNPJs acima do limite")
+        })
+        @PostMapping("/cnpjs/validacao")
+        public ResponseEntity<List<DocumentoValidacaoResponse>> validarCnpjs(@RequestBody List<String> cnpjs) {
+                return ResponseEntity.ok(validacaoDocumentosService.validarCnpjs(cnpjs));
+        }
+}
@@ -3,6 +3,7 @@ package sistema.aeroporto.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sistema.aeroporto.dto.request.PilotoUpdateRequest;
@@ -15,8 +16,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import sistema.aeroporto.dto.request.PilotoRequest;
+import sistema.aeroporto.dto.response.DocumentoValidacaoResponse;
+import sistema.aeroporto.dto.response.PaginaResponse;
 import sistema.aeroporto.dto.response.PilotoResponse;
 import sistema.aeroporto.service.PilotoService;
+import sistema.aeroporto.service.ValidacaoDocumentosService;
+import sistema.aeroporto.util.EtagUtils;
 
 @RestController
 @RequestMapping("/api/pilotos")
@@ -26,6 +31,9 @@ public class PilotoController {
         @Autowired
         private PilotoService pilotoService;
 
+        @Autowired
+        private ValidacaoDocumentosService validacaoDocumentosService;
+
         @Operation(summary = "Cadastrar novo piloto", description = "Cria um novo piloto no sistema. O CPF é validado e deve ser único. A matrícula é gerada automaticamente no formato PIL{ano}{id}.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "1")))
         @ApiResponses({
                         @ApiResponse(responseCode = "201", description = "Piloto cadastrado com sucesso"),
@@ -60,22 +68,32 @@ public class PilotoController {
                 return ResponseEntity.noContent().build();
         }
 
-        @Operation(summary = "Listar todos os pilotos", description = "Retorna a lista completa de pilotos cadastrados no sistema.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "4")))
-        @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso")
+        @Operation(summary = "Listar pilotos", description = "Retorna os pilotos cadastrados em páginas ordenadas por ID. Para a próxima página, envie o proximoCursor da resposta anterior.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "4")))
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+                        @ApiResponse(responseCode = "304", description = "Nenhum piloto mudou desde a ETag enviada"),
+                        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+        })
         @GetMapping
-        public ResponseEntity<List<PilotoResponse>> listarTodos() {
-                return ResponseEntity.ok(pilotoService.listarTodosPilotos());
+        public ResponseEntity<PaginaResponse<PilotoResponse>> listarTodos(
+                        @Parameter(description = "Cursor retornado pela página anterior — vazio para a primeira página") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Quantidade de pilotos por página") @RequestParam(required = false) Integer tamanho,
+                        @Parameter(description = "ETag recebida antes; se ainda for a atual, a resposta é 304 sem corpo") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+                return EtagUtils.responder(ifNoneMatch, pilotoService.versaoDaListagem(),
+                                () -> pilotoService.listarPilotosPaginado(cursor, tamanho));
         }
 
         @Operation(summary = "Buscar piloto por ID", description = "Retorna os dados de um piloto específico pelo seu identificador.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "5")))
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Piloto encontrado"),
+                        @ApiResponse(responseCode = "304", description = "Piloto não mudou desde a ETag enviada"),
                         @ApiResponse(responseCode = "404", description = "Piloto não encontrado")
         })
         @GetMapping("/{id}")
         public ResponseEntity<PilotoResponse> buscarPorId(
-                        @Parameter(description = "ID do piloto") @PathVariable Long id) {
-                return ResponseEntity.ok(pilotoService.buscarPorId(id));
+                        @Parameter(description = "ID do piloto") @PathVariable Long id,
+                        @Parameter(description = "ETag recebida antes; se ainda for a atual, a resposta é 304 sem corpo") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+                return EtagUtils.responder(ifNoneMatch, pilotoService.versao(id), () -> pilotoService.buscarVersionadoPorId(id));
         }
 
         @Operation(summary = "Buscar piloto por CPF", description = "Busca um piloto pelo CPF. Envie apenas os números, sem pontos ou traço.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "6")))
@@ -99,4 +117,14 @@ public class PilotoController {
                         @Parameter(description = "Matrícula do piloto. Ex: PIL20260001") @PathVariable String matricula) {
                 return ResponseEntity.ok(pilotoService.buscarPorMatricula(matricula));
         }
-}
\ No newline at end of file
+
+        @Operation(summary = "Validar CPFs em massa", description = "Confere os dígitos verificadores e se o CPF já está cadastrado, para uma lista de CPFs com ou sem formatação. Retorna, na mesma ordem, a situação de cada item: VALIDO, INVALIDO ou JA_CADASTRADO.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "8")))
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Situação de cada CPF"),
+                        @ApiResponse(responseCode = "400", description = "Quantidade de CPFs acima do limite")
+        })
+        @PostMapping("/cpfs/validacao")
+        public ResponseEntity<List<DocumentoValidacaoResponse>> validarCpfs(@RequestBody List<String> cpfs) {
+                return ResponseEntity.ok(validacaoDocumentosService.validarCpfs(cpfs));
+        }
+}
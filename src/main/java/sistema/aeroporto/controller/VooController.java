@@ -1,14 +1,24 @@
 package sistema.aeroporto.controller;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.extensions.Extension;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.extensions.ExtensionProperty;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -16,8 +26,20 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import sistema.aeroporto.dto.request.VooRequest;
 import sistema.aeroporto.dto.request.VooUpdateRequest;
+import sistema.aeroporto.dto.response.PaginaResponse;
+import sistema.aeroporto.dto.response.PontualidadeAcumuladaResponse;
+import sistema.aeroporto.dto.response.PontualidadeCompanhiaResponse;
+import sistema.aeroporto.dto.response.PontualidadeRotaResponse;
+import sistema.aeroporto.dto.response.VooLoteResponse;
 import sistema.aeroporto.dto.response.VooResponse;
+import sistema.aeroporto.dto.response.VooResumoResponse;
+import sistema.aeroporto.service.PontualidadeService;
+import sistema.aeroporto.service.VooBuscaService;
+import sistema.aeroporto.service.VooEventosService;
+import sistema.aeroporto.service.VooExportacaoService;
+import sistema.aeroporto.service.VooLoteService;
 import sistema.aeroporto.service.VooService;
+import sistema.aeroporto.util.EtagUtils;
 
 @RestController
 @RequestMapping("/api/voos")
@@ -27,6 +49,21 @@ public class VooController {
     @Autowired
     private VooService vooService;
 
+    @Autowired
+    private VooLoteService vooLoteService;
+
+    @Autowired
+    private VooExportacaoService vooExportacaoService;
+
+    @Autowired
+    private VooEventosService vooEventosService;
+
+    @Autowired
+    private VooBuscaService vooBuscaService;
+
+    @Autowired
+    private PontualidadeService pontualidadeService;
+
     @Operation(summary = "Criar novo voo", description = "Cadastra um novo voo no sistema. Requer piloto ativo, companhia ativa, código único e horário de partida no futuro.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "1")))
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Voo criado com sucesso"),
@@ -38,6 +75,17 @@ public class VooController {
         return ResponseEntity.status(201).body(vooService.criarVoo(request));
     }
 
+    @Operation(summary = "Criar voos em lote", description = "Cadastra uma lista de voos com as mesmas regras da criação individual. O corpo é processado em blocos e cada linha recebe seu resultado (CRIADO ou REJEITADO com o motivo).", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "11")))
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Array JSON de voos", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = VooRequest.class))))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lote processado — veja o status de cada linha"),
+            @ApiResponse(responseCode = "400", description = "Corpo não é um array JSON de voos")
+    })
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<VooLoteResponse>> criarLote(InputStream corpo) {
+        return ResponseEntity.ok(vooLoteService.criarLote(corpo));
+    }
+
     @Operation(summary = "Atualizar dados do voo", description = "Atualiza horário de partida real, horário de chegada real e/ou status do voo.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "2")))
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Voo atualizado com sucesso"),
@@ -86,22 +134,97 @@ public class VooController {
         return ResponseEntity.ok(vooService.cancelarVoo(vooId, motivoCancelamento));
     }
 
-    @Operation(summary = "Listar todos os voos", description = "Retorna a lista completa de voos cadastrados.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "6")))
-    @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso")
+    @Operation(summary = "Listar voos", description = "Retorna os voos cadastrados em páginas ordenadas por ID. Para a próxima página, envie o proximoCursor da resposta anterior.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "6")))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Nenhum voo, piloto ou companhia mudou desde a ETag enviada"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
     @GetMapping
-    public ResponseEntity<List<VooResponse>> listarTodos() {
-        return ResponseEntity.ok(vooService.listarTodos());
+    public ResponseEntity<PaginaResponse<VooResponse>> listarTodos(
+            @Parameter(description = "Cursor retornado pela página anterior — vazio para a primeira página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de voos por página") @RequestParam(required = false) Integer tamanho,
+            @Parameter(description = "ETag recebida antes; se ainda for a atual, a resposta é 304 sem corpo") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return EtagUtils.responder(ifNoneMatch, vooService.versaoDaListagem(),
+                () -> vooService.listarPaginado(cursor, tamanho));
     }
 
     @Operation(summary = "Buscar voo por ID", description = "Retorna os detalhes completos de um voo específico.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "7")))
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Voo encontrado"),
+            @ApiResponse(responseCode = "304", description = "O voo, seu piloto e sua companhia não mudaram desde a ETag enviada"),
             @ApiResponse(responseCode = "404", description = "Voo não encontrado")
     })
     @GetMapping("/{id}")
     public ResponseEntity<VooResponse> buscarPorId(
-            @Parameter(description = "ID do voo") @PathVariable Long id) {
-        return ResponseEntity.ok(vooService.buscarPorId(id));
+            @Parameter(description = "ID do voo") @PathVariable Long id,
+            @Parameter(description = "ETag recebida antes; se ainda for a atual, a resposta é 304 sem corpo") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return EtagUtils.responder(ifNoneMatch, vooService.versao(id), () -> vooService.buscarVersionadoPorId(id));
+    }
+
+    @Operation(summary = "Buscar voos por filtros", description = "Combina filtros opcionais de origem, destino, período de partida, status, companhia e piloto numa única consulta. Retorna um resumo de cada voo (piloto e companhia só pelo ID), ordenado e paginado por cursor: para a próxima página, envie o proximoCursor da resposta anterior com os mesmos filtros e ordenação.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "14")))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Status, ordenação ou cursor inválidos")
+    })
+    @GetMapping("/busca")
+    public ResponseEntity<PaginaResponse<VooResumoResponse>> buscar(
+            @Parameter(description = "Aeroporto de origem (ICAO)") @RequestParam(required = false) String origem,
+            @Parameter(description = "Aeroporto de destino (ICAO)") @RequestParam(required = false) String destino,
+            @Parameter(description = "Partida a partir desta data (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataPartidaDe,
+            @Parameter(description = "Partida até esta data (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataPartidaAte,
+            @Parameter(description = "Um ou mais status, separados por vírgula") @RequestParam(required = false) List<String> status,
+            @Parameter(description = "ID da companhia aérea") @RequestParam(required = false) Long companhiaId,
+            @Parameter(description = "ID do piloto") @RequestParam(required = false) Long pilotoId,
+            @Parameter(description = "Ordenação: partida (padrão), -partida, id ou -id") @RequestParam(required = false) String ordenacao,
+            @Parameter(description = "Cursor retornado pela página anterior — vazio para a primeira página") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de voos por página") @RequestParam(required = false) Integer tamanho) {
+        VooBuscaService.Filtro filtro = VooBuscaService.Filtro.de(origem, destino, dataPartidaDe, dataPartidaAte,
+                status, companhiaId, pilotoId);
+        return ResponseEntity.ok(vooBuscaService.buscar(filtro, ordenacao, cursor, tamanho));
+    }
+
+    @Operation(summary = "Pontualidade por companhia", description = "Para cada companhia: voos concluídos, quantos chegaram dentro da tolerância (aeroporto.pontualidade.tolerancia, padrão 15 minutos), o percentual no horário e o atraso médio de partida e de chegada em minutos. Período opcional pela data de partida prevista.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "15")))
+    @ApiResponse(responseCode = "200", description = "Uma linha por companhia com voos concluídos no período")
+    @GetMapping("/pontualidade/companhias")
+    public ResponseEntity<List<PontualidadeCompanhiaResponse>> pontualidadePorCompanhia(
+            @Parameter(description = "Partida prevista a partir desta data (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @Parameter(description = "Partida prevista até esta data (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+        return ResponseEntity.ok(pontualidadeService.porCompanhia(de, ate));
+    }
+
+    @Operation(summary = "Pontualidade por rota", description = "Mesmos indicadores da pontualidade por companhia, agrupados por origem e destino.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "16")))
+    @ApiResponse(responseCode = "200", description = "Uma linha por rota com voos concluídos no período")
+    @GetMapping("/pontualidade/rotas")
+    public ResponseEntity<List<PontualidadeRotaResponse>> pontualidadePorRota(
+            @Parameter(description = "Partida prevista a partir desta data (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @Parameter(description = "Partida prevista até esta data (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+        return ResponseEntity.ok(pontualidadeService.porRota(de, ate));
+    }
+
+    @Operation(summary = "Pontualidade acumulada por companhia", description = "Indicadores de todo o histórico de cada companhia, lidos de contadores atualizados a cada início, finalização e cancelamento de voo: além dos indicadores da pontualidade por período, voos que partiram, cancelados e a distribuição do atraso de chegada em faixas (até 15, 30, 60 e 120 minutos e acima).", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "17")))
+    @ApiResponse(responseCode = "200", description = "Uma linha por companhia com voos movimentados")
+    @GetMapping("/pontualidade/acumulada/companhias")
+    public ResponseEntity<List<PontualidadeAcumuladaResponse>> pontualidadeAcumuladaPorCompanhia() {
+        return ResponseEntity.ok(pontualidadeService.acumuladaPorCompanhia());
+    }
+
+    @Operation(summary = "Pontualidade acumulada de uma companhia", description = "Mesmos indicadores acumulados, de uma única companhia.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "18")))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Indicadores acumulados da companhia"),
+            @ApiResponse(responseCode = "404", description = "Companhia não encontrada")
+    })
+    @GetMapping("/pontualidade/acumulada/companhias/{companhiaId}")
+    public ResponseEntity<PontualidadeAcumuladaResponse> pontualidadeAcumuladaDaCompanhia(
+            @Parameter(description = "ID da companhia aérea") @PathVariable Long companhiaId) {
+        return ResponseEntity.ok(pontualidadeService.acumuladaDaCompanhia(companhiaId));
+    }
+
+    @Operation(summary = "Pontualidade acumulada por rota", description = "Indicadores acumulados agrupados por origem e destino.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "19")))
+    @ApiResponse(responseCode = "200", description = "Uma linha por rota com voos movimentados")
+    @GetMapping("/pontualidade/acumulada/rotas")
+    public ResponseEntity<List<PontualidadeAcumuladaResponse>> pontualidadeAcumuladaPorRota() {
+        return ResponseEntity.ok(pontualidadeService.acumuladaPorRota());
     }
 
     @Operation(summary = "Buscar voos por status", description = "Filtra voos pelo status atual. Valores aceitos: AGENDADO, EM_VOO, CONCLUIDO, CANCELADO.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "8")))
@@ -127,4 +250,31 @@ public class VooController {
             @Parameter(description = "ID da companhia aérea") @PathVariable Long companhiaId) {
         return ResponseEntity.ok(vooService.buscarPorCompanhia(companhiaId));
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Exportar voos", description = "Exporta todos os voos em NDJSON (um voo por linha, mesmo formato da API) ou CSV. As linhas são enviadas conforme são lidas do banco, sem carregar a tabela inteira em memória.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "12")))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+            @ApiResponse(responseCode = "400", description = "Formato inválido")
+    })
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @Parameter(description = "Formato do arquivo: ndjson ou csv") @RequestParam(defaultValue = "ndjson") String formato) {
+        VooExportacaoService.Formato escolhido = VooExportacaoService.Formato.de(formato);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(escolhido.getContentType() + ";charset=UTF-8"))
+                .body(saida -> vooExportacaoService.exportar(escolhido, saida));
+    }
+
+    @Operation(summary = "Acompanhar mudanças de status", description = "Abre um stream Server-Sent Events que recebe um evento \"status\" a cada início, finalização, cancelamento ou atualização de status de voo, e um evento \"atraso\" quando um voo chega ao horário previsto de partida ou chegada sem ter sido iniciado ou finalizado. Filtros opcionais por novo status, companhia e aeroporto (origem ou destino). Clientes lentos são desconectados e devem reconectar.", extensions = @Extension(properties = @ExtensionProperty(name = "x-order", value = "13")))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream aberto"),
+            @ApiResponse(responseCode = "400", description = "Status inválido")
+    })
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos(
+            @Parameter(description = "Somente voos que passaram para este status") @RequestParam(required = false) String status,
+            @Parameter(description = "Somente voos desta companhia") @RequestParam(required = false) Long companhiaId,
+            @Parameter(description = "Somente voos com origem ou destino neste aeroporto (ICAO)") @RequestParam(required = false) String icao) {
+        return vooEventosService.assinar(VooEventosService.Filtro.de(status, companhiaId, icao));
+    }
+}
@@ -0,0 +1,10 @@
+package sistema.aeroporto.dto.response;
+
+public record CacheEstatisticasResponse(
+        String nome,
+        long tamanho,
+        long acertos,
+        long faltas,
+        double taxaAcerto,
+        long remocoes) {
+}
@@ -2,6 +2,9 @@ package sistema.aeroporto.dto.response;
 
 import java.time.LocalDate;
 
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.util.CnpjUtils;
+
 public record CompanhiaAereaResponse(
         Long id,
         String nome,
@@ -9,4 +12,11 @@ public record CompanhiaAereaResponse(
         LocalDate dataFundacao,
         Boolean seguroAeronave,
         String status) {
-}
\ No newline at end of file
+
+    // Usado pela projeção das listagens (select new): CNPJ formatado como em CompanhiaAereaService e status
+    // como enum
+    public CompanhiaAereaResponse(Long id, String nome, String cnpj, LocalDate dataFundacao, Boolean seguroAeronave,
+            CompanhiaAereaStatus status) {
+        this(id, nome, CnpjUtils.formatar(cnpj), dataFundacao, seguroAeronave, status == null ? null : status.name());
+    }
+}
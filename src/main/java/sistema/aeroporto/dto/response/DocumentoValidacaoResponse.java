@@ -0,0 +1,7 @@
+package sistema.aeroporto.dto.response;
+
+// Situação: VALIDO, INVALIDO ou JA_CADASTRADO
+public record DocumentoValidacaoResponse(
+        String documento,
+        String situacao) {
+}
@@ -0,0 +1,26 @@
+package sistema.aeroporto.dto.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+import sistema.aeroporto.util.CursorUtils;
+
+public record PaginaResponse<T>(
+        List<T> itens,
+        String proximoCursor) {
+
+    // Monta a página a partir de até (tamanho + 1) linhas: a linha extra só indica que há próxima página
+    public static <E, T> PaginaResponse<T> de(List<E> linhas, int tamanho,
+            Function<E, T> conversor, Function<E, Long> id) {
+        return comCursor(linhas, tamanho, conversor, ultima -> CursorUtils.codificar(id.apply(ultima)));
+    }
+
+    // Mesmo que de(), com o cursor montado a partir da última linha da página (ordenações além do id)
+    public static <E, T> PaginaResponse<T> comCursor(List<E> linhas, int tamanho,
+            Function<E, T> conversor, Function<E, String> cursor) {
+        boolean temProxima = linhas.size() > tamanho;
+        List<E> pagina = temProxima ? linhas.subList(0, tamanho) : linhas;
+        String proximoCursor = temProxima ? cursor.apply(pagina.get(tamanho - 1)) : null;
+        return new PaginaResponse<>(pagina.stream().map(conversor).toList(), proximoCursor);
+    }
+}
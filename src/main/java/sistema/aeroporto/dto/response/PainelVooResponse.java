@@ -0,0 +1,14 @@
+package sistema.aeroporto.dto.response;
+
+import java.time.LocalDateTime;
+
+public record PainelVooResponse(
+        Long id,
+        String codigo,
+        String origem,
+        String destino,
+        String companhia,
+        LocalDateTime horarioPrevisto,
+        LocalDateTime horarioReal,
+        String status) {
+}
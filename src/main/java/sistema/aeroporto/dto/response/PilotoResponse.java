@@ -2,6 +2,9 @@ package sistema.aeroporto.dto.response;
 
 import java.time.LocalDate;
 
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.util.CpfUtils;
+
 public record PilotoResponse(
         Long id,
         String nome,
@@ -12,4 +15,11 @@ public record PilotoResponse(
         String matricula,
         String habilitacao,
         String status) {
-}
\ No newline at end of file
+
+    // Usado pela projeção das listagens (select new): CPF formatado como em PilotoService e status como enum
+    public PilotoResponse(Long id, String nome, Integer idade, String genero, String cpf, LocalDate dataRenovacao,
+            String matricula, String habilitacao, PilotoStatus status) {
+        this(id, nome, idade, genero, CpfUtils.formatar(cpf), dataRenovacao, matricula, habilitacao,
+                status == null ? null : status.name());
+    }
+}
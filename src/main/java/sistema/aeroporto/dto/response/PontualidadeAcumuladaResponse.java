@@ -0,0 +1,36 @@
+package sistema.aeroporto.dto.response;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import sistema.aeroporto.model.ContadorPontualidade;
+
+// Indicadores de todo o histórico de uma companhia (companhiaId) ou de uma rota (origem e destino).
+// O atraso médio de partida considera todos os voos que partiram, inclusive os cancelados depois
+public record PontualidadeAcumuladaResponse(
+        Long companhiaId,
+        String companhiaNome,
+        String origem,
+        String destino,
+        PontualidadeIndicadores indicadores,
+        long partidas,
+        long cancelados,
+        Map<String, Long> atrasosChegada) {
+
+    public static PontualidadeAcumuladaResponse de(ContadorPontualidade c, String companhiaNome) {
+        Map<String, Long> faixas = new LinkedHashMap<>();
+        faixas.put("ate15", c.getChegadaAte15());
+        faixas.put("ate30", c.getChegadaAte30());
+        faixas.put("ate60", c.getChegadaAte60());
+        faixas.put("ate120", c.getChegadaAte120());
+        faixas.put("acima120", c.getChegadaAcima120());
+        PontualidadeIndicadores indicadores = PontualidadeIndicadores.de(c.getConcluidos(), c.getNoHorario(),
+                media(c.getSomaAtrasoPartida(), c.getPartidas()), media(c.getSomaAtrasoChegada(), c.getConcluidos()));
+        return new PontualidadeAcumuladaResponse(c.getCompanhiaId(), companhiaNome, c.getOrigem(), c.getDestino(),
+                indicadores, c.getPartidas(), c.getCancelados(), faixas);
+    }
+
+    private static Double media(long soma, long quantidade) {
+        return quantidade == 0 ? null : (double) soma / quantidade;
+    }
+}
@@ -0,0 +1,18 @@
+package sistema.aeroporto.dto.response;
+
+public record PontualidadeCompanhiaResponse(
+        Long companhiaId,
+        String companhiaNome,
+        PontualidadeIndicadores indicadores) {
+
+    // Linha do GROUP BY (select new); o nome vem depois, do cache de companhias
+    public PontualidadeCompanhiaResponse(Long companhiaId, Long voos, Long noHorario, Double mediaPartidaSegundos,
+            Double mediaChegadaSegundos) {
+        this(companhiaId, null,
+                PontualidadeIndicadores.de(voos, noHorario, mediaPartidaSegundos, mediaChegadaSegundos));
+    }
+
+    public PontualidadeCompanhiaResponse comNome(String nome) {
+        return new PontualidadeCompanhiaResponse(companhiaId, nome, indicadores);
+    }
+}
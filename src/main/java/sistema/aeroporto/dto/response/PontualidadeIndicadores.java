@@ -0,0 +1,24 @@
+package sistema.aeroporto.dto.response;
+
+// Indicadores de pontualidade de um grupo de voos concluídos; atrasos negativos são adiantamentos
+public record PontualidadeIndicadores(
+        long voosConcluidos,
+        long noHorario,
+        double percentualNoHorario,
+        Double atrasoMedioPartidaMinutos,
+        Double atrasoMedioChegadaMinutos) {
+
+    // A partir dos agregados do banco: contagens e médias em segundos
+    public static PontualidadeIndicadores de(Long voos, Long noHorario, Double mediaPartidaSegundos,
+            Double mediaChegadaSegundos) {
+        long total = voos == null ? 0 : voos;
+        long pontuais = noHorario == null ? 0 : noHorario;
+        double percentual = total == 0 ? 0 : Math.round(pontuais * 10_000.0 / total) / 100.0;
+        return new PontualidadeIndicadores(total, pontuais, percentual, minutos(mediaPartidaSegundos),
+                minutos(mediaChegadaSegundos));
+    }
+
+    private static Double minutos(Double segundos) {
+        return segundos == null ? null : Math.round(segundos * 100.0 / 60) / 100.0;
+    }
+}
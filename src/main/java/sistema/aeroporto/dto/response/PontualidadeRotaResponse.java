@@ -0,0 +1,14 @@
+package sistema.aeroporto.dto.response;
+
+public record PontualidadeRotaResponse(
+        String origem,
+        String destino,
+        PontualidadeIndicadores indicadores) {
+
+    // Linha do GROUP BY (select new)
+    public PontualidadeRotaResponse(String origem, String destino, Long voos, Long noHorario,
+            Double mediaPartidaSegundos, Double mediaChegadaSegundos) {
+        this(origem, destino,
+                PontualidadeIndicadores.de(voos, noHorario, mediaPartidaSegundos, mediaChegadaSegundos));
+    }
+}
@@ -0,0 +1,14 @@
+package sistema.aeroporto.dto.response;
+
+import java.time.LocalDateTime;
+
+public record VooEventoResponse(
+        Long id,
+        String codigo,
+        String statusAnterior,
+        String status,
+        Long companhiaId,
+        String origem,
+        String destino,
+        LocalDateTime horario) {
+}
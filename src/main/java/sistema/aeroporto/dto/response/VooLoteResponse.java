@@ -0,0 +1,17 @@
+package sistema.aeroporto.dto.response;
+
+public record VooLoteResponse(
+        int linha,
+        String codigo,
+        Long id,
+        String status,
+        String mensagem) {
+
+    public static VooLoteResponse criado(int linha, String codigo, Long id) {
+        return new VooLoteResponse(linha, codigo, id, "CRIADO", null);
+    }
+
+    public static VooLoteResponse rejeitado(int linha, String codigo, String mensagem) {
+        return new VooLoteResponse(linha, codigo, null, "REJEITADO", mensagem);
+    }
+}
@@ -1,7 +1,12 @@
 package sistema.aeroporto.dto.response;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.model.enums.VooStatus;
+
 public record VooResponse(
         Long id,
         PilotoResponse piloto,
@@ -15,4 +20,27 @@ public record VooResponse(
         LocalDateTime horarioChegadaReal,
         String motivoCancelamento,
         String status) {
-}
\ No newline at end of file
+
+    // Usado pela projeção das listagens (select new), que não monta objetos aninhados: as colunas do
+    // piloto e da companhia vêm na mesma linha, nulas quando o voo não tem um deles. CPF e CNPJ sem
+    // formatação, como em VooService.toResponse
+    public VooResponse(Long id, String codigo, String origem, String destino,
+            LocalDateTime horarioPartidaPrevisto, LocalDateTime horarioChegadaPrevisto,
+            LocalDateTime horarioPartidaReal, LocalDateTime horarioChegadaReal, String motivoCancelamento,
+            VooStatus status,
+            Long pilotoId, String pilotoNome, Integer pilotoIdade, String pilotoGenero, String pilotoCpf,
+            LocalDate pilotoDataRenovacao, String pilotoMatricula, String pilotoHabilitacao,
+            PilotoStatus pilotoStatus,
+            Long companhiaId, String companhiaNome, String companhiaCnpj, LocalDate companhiaDataFundacao,
+            Boolean companhiaSeguroAeronave, CompanhiaAereaStatus companhiaStatus) {
+        this(id,
+                pilotoId == null ? null
+                        : new PilotoResponse(pilotoId, pilotoNome, pilotoIdade, pilotoGenero, pilotoCpf,
+                                pilotoDataRenovacao, pilotoMatricula, pilotoHabilitacao, pilotoStatus.name()),
+                companhiaId == null ? null
+                        : new CompanhiaAereaResponse(companhiaId, companhiaNome, companhiaCnpj,
+                                companhiaDataFundacao, companhiaSeguroAeronave, companhiaStatus.name()),
+                codigo, origem, destino, horarioPartidaPrevisto, horarioChegadaPrevisto, horarioPartidaReal,
+                horarioChegadaReal, motivoCancelamento, status == null ? null : status.name());
+    }
+}
@@ -0,0 +1,26 @@
+package sistema.aeroporto.dto.response;
+
+import java.time.LocalDateTime;
+
+import sistema.aeroporto.model.enums.VooStatus;
+
+// Voo da busca: só colunas da tabela voo, sem carregar piloto e companhia
+public record VooResumoResponse(
+        Long id,
+        String codigo,
+        String origem,
+        String destino,
+        LocalDateTime horarioPartidaPrevisto,
+        LocalDateTime horarioChegadaPrevisto,
+        String status,
+        Long pilotoId,
+        Long companhiaId) {
+
+    // Usado pela projeção da consulta (select new), que entrega o status como enum
+    public VooResumoResponse(Long id, String codigo, String origem, String destino,
+            LocalDateTime horarioPartidaPrevisto, LocalDateTime horarioChegadaPrevisto, VooStatus status,
+            Long pilotoId, Long companhiaId) {
+        this(id, codigo, origem, destino, horarioPartidaPrevisto, horarioChegadaPrevisto,
+                status == null ? null : status.name(), pilotoId, companhiaId);
+    }
+}
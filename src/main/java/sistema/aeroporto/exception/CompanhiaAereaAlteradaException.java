@@ -0,0 +1,8 @@
+package sistema.aeroporto.exception;
+
+public class CompanhiaAereaAlteradaException extends RuntimeException {
+
+    public CompanhiaAereaAlteradaException() {
+        super("Companhia aérea foi alterada por outra operação, tente novamente");
+    }
+}
@@ -0,0 +1,8 @@
+package sistema.aeroporto.exception;
+
+public class CursorInvalidoException extends RuntimeException {
+
+    public CursorInvalidoException() {
+        super("Cursor de paginação inválido");
+    }
+}
@@ -0,0 +1,8 @@
+package sistema.aeroporto.exception;
+
+public class FormatoExportacaoInvalidoException extends RuntimeException {
+
+    public FormatoExportacaoInvalidoException() {
+        super("Formato de exportação inválido: use ndjson ou csv");
+    }
+}
@@ -1,15 +1,36 @@
 package sistema.aeroporto.exception;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @RestControllerAdvice(basePackages = "sistema.aeroporto.controller")
 public class GlobalExceptionHandler {
 
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        // Um contador por tipo de exceção, registrado na primeira ocorrência
+        private final Map<Class<?>, Counter> contadores = new ConcurrentHashMap<>();
+
+        private void contar(RuntimeException ex, HttpStatus status) {
+                contadores.computeIfAbsent(ex.getClass(), tipo -> Counter.builder("aeroporto.excecoes")
+                                .description("Exceções de negócio devolvidas pela API")
+                                .tag("excecao", tipo.getSimpleName())
+                                .tag("status", String.valueOf(status.value()))
+                                .register(meterRegistry))
+                                .increment();
+        }
+
         // 404 - Não encontrados
         @ExceptionHandler({
                         NotFoundCompanhiaAereaException.class,
@@ -17,6 +38,7 @@ public class GlobalExceptionHandler {
                         NotFoundVooException.class
         })
         public ResponseEntity<?> handleNotFound(RuntimeException ex) {
+                contar(ex, HttpStatus.NOT_FOUND);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
                                 "status", 404,
                                 "message", ex.getMessage()));
@@ -28,6 +50,7 @@ public class GlobalExceptionHandler {
                         CnpjJaCadastradoException.class,
                         CodigoVooExistenteException.class,
                         CodigoVooObrigatorioException.class,
+                        CompanhiaAereaAlteradaException.class,
                         CompanhiaNaoAtivaException.class,
                         CpfInvalidoException.class,
                         CpfJaCadastradoException.class,
@@ -40,19 +63,38 @@ public class GlobalExceptionHandler {
                         NomeObrigatorioException.class,
                         OrigemDestinoIguaisException.class,
                         OrigemDestinoObrigatorioException.class,
+                        PilotoAlteradoException.class,
                         PilotoInativoException.class,
                         PilotoObrigatorioException.class,
                         PilotoOutroVooException.class,
                         SemPilotoException.class,
                         SomenteAgendadoException.class,
-                        SomenteEmVooException.class
+                        SomenteEmVooException.class,
+                        VooAlteradoException.class
         })
         public ResponseEntity<?> handleBusinessRule(RuntimeException ex) {
+                contar(ex, HttpStatus.CONFLICT);
                 return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
                                 "status", 409,
                                 "message", ex.getMessage()));
         }
 
+        // 400 - Parâmetros de consulta inválidos
+        @ExceptionHandler({
+                        CursorInvalidoException.class,
+                        LoteInvalidoException.class,
+                        FormatoExportacaoInvalidoException.class,
+                        LimiteDocumentosExcedidoException.class,
+                        OrdenacaoInvalidaException.class,
+                        StatusVooInvalidoException.class
+        })
+        public ResponseEntity<?> handleBadRequest(RuntimeException ex) {
+                contar(ex, HttpStatus.BAD_REQUEST);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                                "status", 400,
+                                "message", ex.getMessage()));
+        }
+
         @ExceptionHandler(MethodArgumentNotValidException.class)
         public ResponseEntity<?> handleValidation(MethodArgumentNotValidException ex) {
                 String mensagem = ex.getBindingResult()
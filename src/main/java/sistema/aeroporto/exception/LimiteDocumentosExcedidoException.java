@@ -0,0 +1,8 @@
+package sistema.aeroporto.exception;
+
+public class LimiteDocumentosExcedidoException extends RuntimeException {
+
+    public LimiteDocumentosExcedidoException(int maximo) {
+        super("Envie no máximo " + maximo + " documentos por validação");
+    }
+}
@@ -0,0 +1,8 @@
+package sistema.aeroporto.exception;
+
+public class LoteInvalidoException extends RuntimeException {
+
+    public LoteInvalidoException() {
+        super("Corpo do lote inválido: envie um array JSON de voos");
+    }
+}
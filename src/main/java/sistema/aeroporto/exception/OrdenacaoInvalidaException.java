@@ -0,0 +1,8 @@
+package sistema.aeroporto.exception;
+
+public class OrdenacaoInvalidaException extends RuntimeException {
+
+    public OrdenacaoInvalidaException() {
+        super("Ordenação inválida: use partida, -partida, id ou -id");
+    }
+}
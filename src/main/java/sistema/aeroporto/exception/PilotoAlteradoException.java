@@ -0,0 +1,8 @@
+package sistema.aeroporto.exception;
+
+public class PilotoAlteradoException extends RuntimeException {
+
+    public PilotoAlteradoException() {
+        super("Piloto foi alterado por outra operação, tente novamente");
+    }
+}
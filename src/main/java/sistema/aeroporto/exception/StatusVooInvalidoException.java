@@ -0,0 +1,8 @@
+package sistema.aeroporto.exception;
+
+public class StatusVooInvalidoException extends RuntimeException {
+
+    public StatusVooInvalidoException() {
+        super("Status de voo inválido: use AGENDADO, VOANDO, CANCELADO ou CONCLUIDO");
+    }
+}
@@ -0,0 +1,8 @@
+package sistema.aeroporto.exception;
+
+public class VooAlteradoException extends RuntimeException {
+
+    public VooAlteradoException() {
+        super("Voo foi alterado por outra operação, tente novamente");
+    }
+}
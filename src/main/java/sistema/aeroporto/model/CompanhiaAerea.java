@@ -25,6 +25,10 @@ public class CompanhiaAerea {
     @Enumerated(EnumType.STRING)
     private CompanhiaAereaStatus status;
 
+    // Controle de concorrência otimista e ETag: incrementada a cada alteração
+    @Version
+    private Long versao;
+
     @OneToMany(mappedBy = "companhia")
     private List<Voo> voos;
 
@@ -75,4 +79,12 @@ public class CompanhiaAerea {
     public void setStatus(CompanhiaAereaStatus status) {
         this.status = status;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
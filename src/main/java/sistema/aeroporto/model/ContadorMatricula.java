@@ -0,0 +1,29 @@
+package sistema.aeroporto.model;
+
+import jakarta.persistence.*;
+
+// Último número de matrícula de piloto reservado em cada ano
+@Entity
+public class ContadorMatricula {
+
+    @Id
+    private Integer ano;
+
+    private Long ultimo;
+
+    public Integer getAno() {
+        return ano;
+    }
+
+    public void setAno(Integer ano) {
+        this.ano = ano;
+    }
+
+    public Long getUltimo() {
+        return ultimo;
+    }
+
+    public void setUltimo(Long ultimo) {
+        this.ultimo = ultimo;
+    }
+}
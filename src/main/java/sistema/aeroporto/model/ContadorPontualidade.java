@@ -0,0 +1,193 @@
+package sistema.aeroporto.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Contadores de pontualidade acumulados de uma companhia ou de uma rota,
+ * atualizados na mesma transação das transições de status do voo. Atrasos
+ * em segundos; as faixas de atraso de chegada são exclusivas e somam
+ * {@code concluidos}.
+ */
+@Entity
+public class ContadorPontualidade {
+
+    // Limites superiores, em minutos, das faixas de atraso de chegada; acima do último, chegadaAcima120
+    public static final int[] FAIXAS_MINUTOS = { 15, 30, 60, 120 };
+
+    // "companhia:<id>" ou "rota:<origem>-<destino>"
+    @Id
+    @Column(length = 30)
+    private String chave;
+
+    private Long companhiaId;
+
+    @Column(length = 4)
+    private String origem;
+
+    @Column(length = 4)
+    private String destino;
+
+    private long partidas;
+    private long somaAtrasoPartida;
+    private long concluidos;
+    private long noHorario;
+    private long somaAtrasoChegada;
+    private long chegadaAte15;
+    private long chegadaAte30;
+    private long chegadaAte60;
+    private long chegadaAte120;
+    private long chegadaAcima120;
+    private long cancelados;
+
+    public ContadorPontualidade() {
+    }
+
+    // Contadores zerados de uma chave sem voos
+    public ContadorPontualidade(String chave, Long companhiaId, String origem, String destino) {
+        this.chave = chave;
+        this.companhiaId = companhiaId;
+        this.origem = origem;
+        this.destino = destino;
+    }
+
+    // Contagens de uma companhia calculadas na tabela de voos (select new)
+    public ContadorPontualidade(Long companhiaId, Long partidas, Long somaAtrasoPartida, Long concluidos,
+            Long noHorario, Long somaAtrasoChegada, Long chegadaAte15, Long chegadaAte30, Long chegadaAte60,
+            Long chegadaAte120, Long chegadaAcima120, Long cancelados) {
+        this.chave = chaveCompanhia(companhiaId);
+        this.companhiaId = companhiaId;
+        preencher(partidas, somaAtrasoPartida, concluidos, noHorario, somaAtrasoChegada, chegadaAte15, chegadaAte30,
+                chegadaAte60, chegadaAte120, chegadaAcima120, cancelados);
+    }
+
+    // Contagens de uma rota calculadas na tabela de voos (select new)
+    public ContadorPontualidade(String origem, String destino, Long partidas, Long somaAtrasoPartida,
+            Long concluidos, Long noHorario, Long somaAtrasoChegada, Long chegadaAte15, Long chegadaAte30,
+            Long chegadaAte60, Long chegadaAte120, Long chegadaAcima120, Long cancelados) {
+        this.chave = chaveRota(origem, destino);
+        this.origem = origem;
+        this.destino = destino;
+        preencher(partidas, somaAtrasoPartida, concluidos, noHorario, somaAtrasoChegada, chegadaAte15, chegadaAte30,
+                chegadaAte60, chegadaAte120, chegadaAcima120, cancelados);
+    }
+
+    private void preencher(Long partidas, Long somaAtrasoPartida, Long concluidos, Long noHorario,
+            Long somaAtrasoChegada, Long chegadaAte15, Long chegadaAte30, Long chegadaAte60, Long chegadaAte120,
+            Long chegadaAcima120, Long cancelados) {
+        this.partidas = valor(partidas);
+        this.somaAtrasoPartida = valor(somaAtrasoPartida);
+        this.concluidos = valor(concluidos);
+        this.noHorario = valor(noHorario);
+        this.somaAtrasoChegada = valor(somaAtrasoChegada);
+        this.chegadaAte15 = valor(chegadaAte15);
+        this.chegadaAte30 = valor(chegadaAte30);
+        this.chegadaAte60 = valor(chegadaAte60);
+        this.chegadaAte120 = valor(chegadaAte120);
+        this.chegadaAcima120 = valor(chegadaAcima120);
+        this.cancelados = valor(cancelados);
+    }
+
+    private static long valor(Long valor) {
+        return valor == null ? 0 : valor;
+    }
+
+    // Índice da faixa do atraso de chegada; chegadas adiantadas ficam na primeira
+    public static int faixa(long atrasoSegundos) {
+        for (int i = 0; i < FAIXAS_MINUTOS.length; i++) {
+            if (atrasoSegundos <= FAIXAS_MINUTOS[i] * 60L) {
+                return i;
+            }
+        }
+        return FAIXAS_MINUTOS.length;
+    }
+
+    public static String chaveCompanhia(Long companhiaId) {
+        return "companhia:" + companhiaId;
+    }
+
+    public static String chaveRota(String origem, String destino) {
+        return "rota:" + origem + "-" + destino;
+    }
+
+    // Mesmas contagens; as somas de atraso podem diferir em até 1 s por voo, pelo arredondamento
+    // das diferenças de horário no banco (frações de segundo) e na aplicação
+    public boolean confere(ContadorPontualidade outro) {
+        return partidas == outro.partidas
+                && concluidos == outro.concluidos
+                && noHorario == outro.noHorario
+                && chegadaAte15 == outro.chegadaAte15
+                && chegadaAte30 == outro.chegadaAte30
+                && chegadaAte60 == outro.chegadaAte60
+                && chegadaAte120 == outro.chegadaAte120
+                && chegadaAcima120 == outro.chegadaAcima120
+                && cancelados == outro.cancelados
+                && Math.abs(somaAtrasoPartida - outro.somaAtrasoPartida) <= partidas
+                && Math.abs(somaAtrasoChegada - outro.somaAtrasoChegada) <= concluidos;
+    }
+
+    public void copiar(ContadorPontualidade outro) {
+        preencher(outro.partidas, outro.somaAtrasoPartida, outro.concluidos, outro.noHorario, outro.somaAtrasoChegada,
+                outro.chegadaAte15, outro.chegadaAte30, outro.chegadaAte60, outro.chegadaAte120, outro.chegadaAcima120,
+                outro.cancelados);
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public Long getCompanhiaId() {
+        return companhiaId;
+    }
+
+    public String getOrigem() {
+        return origem;
+    }
+
+    public String getDestino() {
+        return destino;
+    }
+
+    public long getPartidas() {
+        return partidas;
+    }
+
+    public long getSomaAtrasoPartida() {
+        return somaAtrasoPartida;
+    }
+
+    public long getConcluidos() {
+        return concluidos;
+    }
+
+    public long getNoHorario() {
+        return noHorario;
+    }
+
+    public long getSomaAtrasoChegada() {
+        return somaAtrasoChegada;
+    }
+
+    public long getChegadaAte15() {
+        return chegadaAte15;
+    }
+
+    public long getChegadaAte30() {
+        return chegadaAte30;
+    }
+
+    public long getChegadaAte60() {
+        return chegadaAte60;
+    }
+
+    public long getChegadaAte120() {
+        return chegadaAte120;
+    }
+
+    public long getChegadaAcima120() {
+        return chegadaAcima120;
+    }
+
+    public long getCancelados() {
+        return cancelados;
+    }
+}
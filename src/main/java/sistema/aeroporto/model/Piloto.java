@@ -35,6 +35,10 @@ public class Piloto {
     @Enumerated(EnumType.STRING)
     private PilotoStatus status;
 
+    // Controle de concorrência otimista e ETag: incrementada a cada alteração
+    @Version
+    private Long versao;
+
     @OneToMany(mappedBy = "piloto")
     private List<Voo> voos;
 
@@ -110,4 +114,11 @@ public class Piloto {
         this.status = status;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
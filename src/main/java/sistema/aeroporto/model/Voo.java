@@ -8,14 +8,17 @@ import sistema.aeroporto.model.enums.VooStatus;
 @Entity
 public class Voo {
 
+    // Sequência com alocação em blocos (pooled): o id é conhecido antes do INSERT,
+    // o que permite ao Hibernate agrupar as inserções em batches JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "voo_seq")
+    @SequenceGenerator(name = "voo_seq", sequenceName = "voo_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Piloto piloto;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private CompanhiaAerea companhia;
 
     @Column(length = 10)
@@ -38,6 +41,10 @@ public class Voo {
     @Enumerated(EnumType.STRING)
     private VooStatus status;
 
+    // Controle de concorrência otimista: incrementada a cada alteração do voo
+    @Version
+    private Long versao;
+
     public Long getId() {
         return id;
     }
@@ -134,4 +141,12 @@ public class Voo {
         this.motivoCancelamento = motivoCancelamento;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
 }
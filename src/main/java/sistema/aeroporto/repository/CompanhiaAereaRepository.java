@@ -1,9 +1,16 @@
 package sistema.aeroporto.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import sistema.aeroporto.dto.response.CompanhiaAereaResponse;
 import sistema.aeroporto.model.CompanhiaAerea;
 
 public interface CompanhiaAereaRepository extends JpaRepository<CompanhiaAerea, Long> {
@@ -14,9 +21,36 @@ public interface CompanhiaAereaRepository extends JpaRepository<CompanhiaAerea,
     // Verifica se já existe uma companhia com o mesmo CNPJ
     boolean existsByCnpj(String cnpj);
 
+    // CNPJs já cadastrados dentre os informados, em uma única consulta
+    @Query("SELECT c.cnpj FROM CompanhiaAerea c WHERE c.cnpj IN :cnpjs")
+    Set<String> findCnpjsExistentes(@Param("cnpjs") Collection<String> cnpjs);
+
     // Busca por nome
     Optional<CompanhiaAerea> findByNome(String nome);
 
     // Busca por CNPJ
     Optional<CompanhiaAerea> findByCnpj(String cnpj);
-}
\ No newline at end of file
+
+    // Listagens direto no CompanhiaAereaResponse, como em PilotoRepository.RESPONSE
+    String RESPONSE = """
+            SELECT new sistema.aeroporto.dto.response.CompanhiaAereaResponse(c.id, c.nome, c.cnpj, c.dataFundacao,
+                c.seguroAeronave, c.status)
+            FROM CompanhiaAerea c
+            """;
+
+    @Query(RESPONSE)
+    List<CompanhiaAereaResponse> listarTodos();
+
+    // Paginação por cursor: próxima página a partir do último id, usando o índice da chave primária
+    @Query(RESPONSE + "WHERE c.id > :id ORDER BY c.id")
+    List<CompanhiaAereaResponse> listarAPartirDe(@Param("id") Long id, Limit limit);
+
+    // ETag da companhia, sem carregar a linha
+    @Query("SELECT c.versao FROM CompanhiaAerea c WHERE c.id = :id")
+    Optional<Long> findVersao(@Param("id") Long id);
+
+    // ETag das listagens, como em PilotoRepository.findVersaoDaTabela
+    @Query("SELECT CONCAT(str(COUNT(c)), '.', str(COALESCE(SUM(c.versao), 0)), '.', str(COALESCE(MAX(c.id), 0)))"
+            + " FROM CompanhiaAerea c")
+    String findVersaoDaTabela();
+}
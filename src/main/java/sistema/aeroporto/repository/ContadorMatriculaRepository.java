@@ -0,0 +1,21 @@
+package sistema.aeroporto.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import sistema.aeroporto.model.ContadorMatricula;
+
+public interface ContadorMatriculaRepository extends JpaRepository<ContadorMatricula, Integer> {
+
+    // Avança o contador do ano; a linha fica bloqueada até o fim da transação
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ContadorMatricula c SET c.ultimo = c.ultimo + :quantidade WHERE c.ano = :ano")
+    int reservar(@Param("ano") Integer ano, @Param("quantidade") long quantidade);
+
+    // Primeiro contador do ano; falha pela chave primária se outra instância já o criou
+    @Modifying
+    @Query("INSERT INTO ContadorMatricula (ano, ultimo) VALUES (:ano, :ultimo)")
+    int criar(@Param("ano") Integer ano, @Param("ultimo") long ultimo);
+}
@@ -0,0 +1,111 @@
+package sistema.aeroporto.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+import sistema.aeroporto.model.ContadorPontualidade;
+
+public interface ContadorPontualidadeRepository extends JpaRepository<ContadorPontualidade, String> {
+
+    // Contagens recalculadas na tabela voo, na ordem do construtor de ContadorPontualidade. Diferenças
+    // de horário em segundos pelo banco; as faixas seguem ContadorPontualidade.FAIXAS_MINUTOS
+    String CONTAGENS = """
+            SUM(CASE WHEN v.horarioPartidaReal IS NOT NULL THEN 1 ELSE 0 END),
+            SUM((v.horarioPartidaReal - v.horarioPartidaPrevisto) BY SECOND),
+            SUM(CASE WHEN v.status = sistema.aeroporto.model.enums.VooStatus.CONCLUIDO
+                AND v.horarioChegadaReal IS NOT NULL THEN 1 ELSE 0 END),
+            SUM(CASE WHEN v.status = sistema.aeroporto.model.enums.VooStatus.CONCLUIDO
+                AND (v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND <= :tolerancia THEN 1 ELSE 0 END),
+            SUM(CASE WHEN v.status = sistema.aeroporto.model.enums.VooStatus.CONCLUIDO
+                THEN (v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND ELSE 0 END),
+            SUM(CASE WHEN v.status = sistema.aeroporto.model.enums.VooStatus.CONCLUIDO
+                AND (v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND <= 900 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN v.status = sistema.aeroporto.model.enums.VooStatus.CONCLUIDO
+                AND (v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND > 900
+                AND (v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND <= 1800 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN v.status = sistema.aeroporto.model.enums.VooStatus.CONCLUIDO
+                AND (v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND > 1800
+                AND (v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND <= 3600 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN v.status = sistema.aeroporto.model.enums.VooStatus.CONCLUIDO
+                AND (v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND > 3600
+                AND (v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND <= 7200 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN v.status = sistema.aeroporto.model.enums.VooStatus.CONCLUIDO
+                AND (v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND > 7200 THEN 1 ELSE 0 END),
+            SUM(CASE WHEN v.status = sistema.aeroporto.model.enums.VooStatus.CANCELADO THEN 1 ELSE 0 END))
+            FROM Voo v
+            """;
+
+    // Incrementos das transições de status, na transação do voo; a linha fica bloqueada até o commit.
+    // Retornam 0 se a chave ainda não tem linha
+    @Modifying
+    @Query("""
+            UPDATE ContadorPontualidade c SET c.partidas = c.partidas + 1,
+                c.somaAtrasoPartida = c.somaAtrasoPartida + :atraso
+            WHERE c.chave = :chave
+            """)
+    int registrarPartida(@Param("chave") String chave, @Param("atraso") long atrasoSegundos);
+
+    // Com sinal negativo desfaz a chegada de um voo concluído que foi cancelado
+    @Modifying
+    @Query("""
+            UPDATE ContadorPontualidade c SET c.concluidos = c.concluidos + :sinal,
+                c.noHorario = c.noHorario + :noHorario,
+                c.somaAtrasoChegada = c.somaAtrasoChegada + :atraso,
+                c.chegadaAte15 = c.chegadaAte15 + CASE WHEN :faixa = 0 THEN :sinal ELSE 0 END,
+                c.chegadaAte30 = c.chegadaAte30 + CASE WHEN :faixa = 1 THEN :sinal ELSE 0 END,
+                c.chegadaAte60 = c.chegadaAte60 + CASE WHEN :faixa = 2 THEN :sinal ELSE 0 END,
+                c.chegadaAte120 = c.chegadaAte120 + CASE WHEN :faixa = 3 THEN :sinal ELSE 0 END,
+                c.chegadaAcima120 = c.chegadaAcima120 + CASE WHEN :faixa = 4 THEN :sinal ELSE 0 END
+            WHERE c.chave = :chave
+            """)
+    int registrarChegada(@Param("chave") String chave, @Param("sinal") long sinal,
+            @Param("noHorario") long noHorario, @Param("atraso") long atrasoSegundos, @Param("faixa") int faixa);
+
+    @Modifying
+    @Query("UPDATE ContadorPontualidade c SET c.cancelados = c.cancelados + 1 WHERE c.chave = :chave")
+    int registrarCancelamento(@Param("chave") String chave);
+
+    // Primeira linha da chave, zerada (DEFAULT 0 das colunas), na transação de quem chamou. Nativa: o
+    // ON DUPLICATE KEY (MySQL e H2 no modo MySQL) não existe no JPQL. Se outra transação já criou a
+    // chave, não altera nada e não falha; se ela ainda não confirmou, espera pelo lock da linha
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO contador_pontualidade (chave, companhia_id, origem, destino)
+            VALUES (:chave, :companhiaId, :origem, :destino)
+            ON DUPLICATE KEY UPDATE chave = chave
+            """)
+    int criar(@Param("chave") String chave, @Param("companhiaId") Long companhiaId, @Param("origem") String origem,
+            @Param("destino") String destino);
+
+    // Reconciliação: a linha fica bloqueada enquanto é recalculada, então nenhum incremento se perde
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ContadorPontualidade c WHERE c.chave = :chave")
+    Optional<ContadorPontualidade> bloquear(@Param("chave") String chave);
+
+    // Recontagem completa: percorre toda a tabela voo. Voos sem companhia contam só na rota
+    @Query("SELECT new sistema.aeroporto.model.ContadorPontualidade(v.companhia.id, " + CONTAGENS
+            + "WHERE v.companhia.id IS NOT NULL GROUP BY v.companhia.id")
+    List<ContadorPontualidade> recontarPorCompanhia(@Param("tolerancia") long toleranciaSegundos);
+
+    @Query("SELECT new sistema.aeroporto.model.ContadorPontualidade(v.origem, v.destino, " + CONTAGENS
+            + "GROUP BY v.origem, v.destino")
+    List<ContadorPontualidade> recontarPorRota(@Param("tolerancia") long toleranciaSegundos);
+
+    // Recontagem de uma chave, pelos índices de companhia e de origem
+    @Query("SELECT new sistema.aeroporto.model.ContadorPontualidade(v.companhia.id, " + CONTAGENS
+            + "WHERE v.companhia.id = :companhiaId GROUP BY v.companhia.id")
+    Optional<ContadorPontualidade> recontarCompanhia(@Param("companhiaId") Long companhiaId,
+            @Param("tolerancia") long toleranciaSegundos);
+
+    @Query("SELECT new sistema.aeroporto.model.ContadorPontualidade(v.origem, v.destino, " + CONTAGENS
+            + "WHERE v.origem = :origem AND v.destino = :destino GROUP BY v.origem, v.destino")
+    Optional<ContadorPontualidade> recontarRota(@Param("origem") String origem, @Param("destino") String destino,
+            @Param("tolerancia") long toleranciaSegundos);
+}
@@ -1,9 +1,16 @@
 package sistema.aeroporto.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import sistema.aeroporto.dto.response.PilotoResponse;
 import sistema.aeroporto.model.Piloto;
 
 public interface PilotoRepository extends JpaRepository<Piloto, Long> {
@@ -17,9 +24,41 @@ public interface PilotoRepository extends JpaRepository<Piloto, Long> {
     // Método para verificar existência de CPF
     boolean existsByCpf(String cpf);
 
+    // CPFs já cadastrados dentre os informados, em uma única consulta
+    @Query("SELECT p.cpf FROM Piloto p WHERE p.cpf IN :cpfs")
+    Set<String> findCpfsExistentes(@Param("cpfs") Collection<String> cpfs);
+
     // Método para buscar piloto por matrícula
     Optional<Piloto> findByMatricula(String matricula);
 
     // Método para verificar existência de matrícula
     boolean existsByMatricula(String matricula);
+
+    // Maior id de piloto (0 sem pilotos), lido direto do índice da chave primária
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Piloto p")
+    long findMaiorId();
+
+    // Listagens direto no PilotoResponse, sem entidades gerenciadas nem a cópia por toResponse
+    String RESPONSE = """
+            SELECT new sistema.aeroporto.dto.response.PilotoResponse(p.id, p.nome, p.idade, p.genero, p.cpf,
+                p.dataRenovacao, p.matricula, p.habilitacao, p.status)
+            FROM Piloto p
+            """;
+
+    @Query(RESPONSE)
+    List<PilotoResponse> listarTodos();
+
+    // Paginação por cursor: próxima página a partir do último id, usando o índice da chave primária
+    @Query(RESPONSE + "WHERE p.id > :id ORDER BY p.id")
+    List<PilotoResponse> listarAPartirDe(@Param("id") Long id, Limit limit);
+
+    // ETag do piloto, sem carregar a linha
+    @Query("SELECT p.versao FROM Piloto p WHERE p.id = :id")
+    Optional<Long> findVersao(@Param("id") Long id);
+
+    // ETag das listagens: muda a cada inclusão (maior id), remoção (contagem) ou alteração (soma das
+    // versões, que só crescem). Lida de idx_piloto_versao, sem visitar a tabela
+    @Query("SELECT CONCAT(str(COUNT(p)), '.', str(COALESCE(SUM(p.versao), 0)), '.', str(COALESCE(MAX(p.id), 0)))"
+            + " FROM Piloto p")
+    String findVersaoDaTabela();
 }
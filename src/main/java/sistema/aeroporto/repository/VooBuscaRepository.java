@@ -0,0 +1,17 @@
+package sistema.aeroporto.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import sistema.aeroporto.dto.response.VooResumoResponse;
+import sistema.aeroporto.model.Voo;
+
+// Fragmento do VooRepository com a busca por filtros combinados (VooEspecificacoes)
+public interface VooBuscaRepository {
+
+    // Um único SELECT com os filtros no WHERE, devolvendo só as colunas do resumo
+    List<VooResumoResponse> buscarResumos(Specification<Voo> filtros, Sort ordem, Limit limite);
+}
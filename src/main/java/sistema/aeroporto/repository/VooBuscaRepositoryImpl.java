@@ -0,0 +1,52 @@
+package sistema.aeroporto.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import sistema.aeroporto.dto.response.VooResumoResponse;
+import sistema.aeroporto.model.Voo;
+
+public class VooBuscaRepositoryImpl implements VooBuscaRepository {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Override
+    public List<VooResumoResponse> buscarResumos(Specification<Voo> filtros, Sort ordem, Limit limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<VooResumoResponse> consulta = cb.createQuery(VooResumoResponse.class);
+        Root<Voo> voo = consulta.from(Voo.class);
+
+        // piloto.id e companhia.id são as chaves estrangeiras da própria tabela: não geram JOIN
+        consulta.select(cb.construct(VooResumoResponse.class,
+                voo.get("id"),
+                voo.get("codigo"),
+                voo.get("origem"),
+                voo.get("destino"),
+                voo.get("horarioPartidaPrevisto"),
+                voo.get("horarioChegadaPrevisto"),
+                voo.get("status"),
+                voo.get("piloto").get("id"),
+                voo.get("companhia").get("id")));
+
+        Predicate where = filtros.toPredicate(voo, consulta, cb);
+        if (where != null) {
+            consulta.where(where);
+        }
+        consulta.orderBy(QueryUtils.toOrders(ordem, voo, cb));
+
+        return entityManager.createQuery(consulta)
+                .setMaxResults(limite.max())
+                .getResultList();
+    }
+}
@@ -0,0 +1,87 @@
+package sistema.aeroporto.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.VooStatus;
+
+/**
+ * Filtros da busca de voos ({@link VooBuscaRepository}). Filtro com valor nulo
+ * não restringe nada, então a busca monta a combinação que o cliente pediu
+ * e o banco recebe um único WHERE. Cada filtro é prefixo de um índice que
+ * termina no horário de partida (origem, destino, status, piloto, companhia),
+ * de modo que filtro + faixa de datas ou ordenação por partida seguem o índice.
+ */
+public final class VooEspecificacoes {
+
+    private VooEspecificacoes() {
+    }
+
+    public static Specification<Voo> origem(String origem) {
+        return origem == null ? Specification.unrestricted()
+                : (voo, consulta, cb) -> cb.equal(voo.get("origem"), origem);
+    }
+
+    public static Specification<Voo> destino(String destino) {
+        return destino == null ? Specification.unrestricted()
+                : (voo, consulta, cb) -> cb.equal(voo.get("destino"), destino);
+    }
+
+    public static Specification<Voo> status(Collection<VooStatus> status) {
+        return status == null || status.isEmpty() ? Specification.unrestricted()
+                : (voo, consulta, cb) -> voo.get("status").in(status);
+    }
+
+    public static Specification<Voo> piloto(Long pilotoId) {
+        return pilotoId == null ? Specification.unrestricted()
+                : (voo, consulta, cb) -> cb.equal(voo.get("piloto").get("id"), pilotoId);
+    }
+
+    public static Specification<Voo> companhia(Long companhiaId) {
+        return companhiaId == null ? Specification.unrestricted()
+                : (voo, consulta, cb) -> cb.equal(voo.get("companhia").get("id"), companhiaId);
+    }
+
+    // Partida em [de, ate)
+    public static Specification<Voo> partidaEntre(LocalDateTime de, LocalDateTime ate) {
+        return (voo, consulta, cb) -> {
+            if (de == null && ate == null) {
+                return null;
+            }
+            if (de == null) {
+                return cb.lessThan(voo.get("horarioPartidaPrevisto"), ate);
+            }
+            if (ate == null) {
+                return cb.greaterThanOrEqualTo(voo.get("horarioPartidaPrevisto"), de);
+            }
+            return cb.and(cb.greaterThanOrEqualTo(voo.get("horarioPartidaPrevisto"), de),
+                    cb.lessThan(voo.get("horarioPartidaPrevisto"), ate));
+        };
+    }
+
+    // Paginação por cursor na ordenação por id: depois (ou antes, se decrescente) do último id
+    public static Specification<Voo> aposId(Long id, boolean decrescente) {
+        return id == null ? Specification.unrestricted()
+                : (voo, consulta, cb) -> decrescente ? cb.lessThan(voo.get("id"), id)
+                        : cb.greaterThan(voo.get("id"), id);
+    }
+
+    // Paginação por cursor na ordenação por (partida, id), com o id desempatando. A condição
+    // "partida >= p" isolada do OR é a que permite ao banco percorrer o índice por faixa
+    public static Specification<Voo> aposPartida(LocalDateTime partida, Long id, boolean decrescente) {
+        if (partida == null) {
+            return Specification.unrestricted();
+        }
+        return (voo, consulta, cb) -> {
+            if (decrescente) {
+                return cb.and(cb.lessThanOrEqualTo(voo.get("horarioPartidaPrevisto"), partida),
+                        cb.or(cb.lessThan(voo.get("horarioPartidaPrevisto"), partida), cb.lessThan(voo.get("id"), id)));
+            }
+            return cb.and(cb.greaterThanOrEqualTo(voo.get("horarioPartidaPrevisto"), partida),
+                    cb.or(cb.greaterThan(voo.get("horarioPartidaPrevisto"), partida), cb.greaterThan(voo.get("id"), id)));
+        };
+    }
+}
@@ -1,29 +1,179 @@
 package sistema.aeroporto.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+import sistema.aeroporto.dto.response.PontualidadeCompanhiaResponse;
+import sistema.aeroporto.dto.response.PontualidadeRotaResponse;
+import sistema.aeroporto.dto.response.VooResponse;
 import sistema.aeroporto.model.Voo;
 import sistema.aeroporto.model.enums.VooStatus;
 
-public interface VooRepository extends JpaRepository<Voo, Long> {
+/**
+ * Piloto e companhia são LAZY em {@link Voo}; as consultas que carregam o
+ * voo para montar o VooResponse trazem ambos no mesmo SELECT pelo grafo
+ * "piloto, companhia", evitando um SELECT extra por linha. As listagens
+ * projetam as colunas direto no VooResponse (ver {@link #RESPONSE}).
+ */
+public interface VooRepository extends JpaRepository<Voo, Long>, VooBuscaRepository {
 
-    // Método para buscar voos por destino
-    List<Voo> findByDestino(String destino);
+    @Override
+    @EntityGraph(attributePaths = { "piloto", "companhia" })
+    List<Voo> findAll();
 
-    // Método para buscar voos por origem
-    List<Voo> findByOrigem(String origem);
+    @Override
+    @EntityGraph(attributePaths = { "piloto", "companhia" })
+    Optional<Voo> findById(Long id);
 
-    // Método para buscar voos por status
-    List<Voo> findByStatus(VooStatus status);
+    // Carga dos painéis: faixa de idx_voo_origem_partida / idx_voo_destino_partida a partir do horário.
+    // O painel só mostra o nome da companhia
+    @EntityGraph(attributePaths = { "companhia" })
+    List<Voo> findByOrigemAndHorarioPartidaPrevistoGreaterThanEqual(String origem, LocalDateTime de);
 
-    // Método para buscar voos por companhia aérea
-    List<Voo> findByCompanhia_Id(Long idCompanhia);
+    @EntityGraph(attributePaths = { "companhia" })
+    List<Voo> findByDestinoAndHorarioPartidaPrevistoGreaterThanEqual(String destino, LocalDateTime de);
 
-    // Método para buscar voos por piloto
-    List<Voo> findByPiloto_Id(Long idPiloto);
+    // Método para buscar voos do piloto em determinados status (só horários, sem associações)
+    List<Voo> findByPiloto_IdAndStatusIn(Long idPiloto, Collection<VooStatus> status);
+
+    // Prazos do AgendadorVoos: voos com partida ou chegada prevista na faixa, sem associações
+    List<Voo> findByStatusAndHorarioPartidaPrevistoBetween(VooStatus status, LocalDateTime de, LocalDateTime ate);
+
+    List<Voo> findByStatusInAndHorarioChegadaPrevistoBetween(Collection<VooStatus> status, LocalDateTime de,
+            LocalDateTime ate);
 
     // Método para verificar existência de código de voo
     boolean existsByCodigo(String codigo);
+
+    // Códigos já cadastrados dentre os informados, em uma única consulta
+    @Query("SELECT v.codigo FROM Voo v WHERE v.codigo IN :codigos")
+    Set<String> findCodigosExistentes(@Param("codigos") Collection<String> codigos);
+
+    // Listagens direto no VooResponse: só as colunas da resposta, sem entidades gerenciadas (e o
+    // snapshot de cada uma para o dirty checking) nem a cópia por toResponse
+    String RESPONSE = """
+            SELECT new sistema.aeroporto.dto.response.VooResponse(v.id, v.codigo, v.origem, v.destino,
+                v.horarioPartidaPrevisto, v.horarioChegadaPrevisto, v.horarioPartidaReal, v.horarioChegadaReal,
+                v.motivoCancelamento, v.status,
+                p.id, p.nome, p.idade, p.genero, p.cpf, p.dataRenovacao, p.matricula, p.habilitacao, p.status,
+                c.id, c.nome, c.cnpj, c.dataFundacao, c.seguroAeronave, c.status)
+            FROM Voo v LEFT JOIN v.piloto p LEFT JOIN v.companhia c
+            """;
+
+    @Query(RESPONSE)
+    List<VooResponse> listarTodos();
+
+    @Query(RESPONSE + "WHERE v.status = :status")
+    List<VooResponse> listarPorStatus(@Param("status") VooStatus status);
+
+    // fk(): filtro pela chave estrangeira da tabela voo (índice), não pelo id da linha do JOIN
+    @Query(RESPONSE + "WHERE fk(v.piloto) = :pilotoId")
+    List<VooResponse> listarPorPiloto(@Param("pilotoId") Long pilotoId);
+
+    @Query(RESPONSE + "WHERE fk(v.companhia) = :companhiaId")
+    List<VooResponse> listarPorCompanhia(@Param("companhiaId") Long companhiaId);
+
+    // Paginação por cursor: próxima página a partir do último id, usando o índice da chave primária
+    @Query(RESPONSE + "WHERE v.id > :id ORDER BY v.id")
+    List<VooResponse> listarAPartirDe(@Param("id") Long id, Limit limit);
+
+    // ETag do voo: versões do voo, do piloto e da companhia, que formam o VooResponse, sem carregar
+    // as linhas. Mesmo formato de VooService.versao(Voo)
+    @Query("""
+            SELECT CONCAT(str(v.versao), '.', str(COALESCE(p.versao, 0)), '.', str(COALESCE(c.versao, 0)))
+            FROM Voo v LEFT JOIN v.piloto p LEFT JOIN v.companhia c
+            WHERE v.id = :id
+            """)
+    Optional<String> findVersao(@Param("id") Long id);
+
+    // ETag das listagens, como em PilotoRepository.findVersaoDaTabela
+    @Query("SELECT CONCAT(str(COUNT(v)), '.', str(COALESCE(SUM(v.versao), 0)), '.', str(COALESCE(MAX(v.id), 0)))"
+            + " FROM Voo v")
+    String findVersaoDaTabela();
+
+    // Exportação: percorre todos os voos por cursor JDBC, sem montar a lista em memória.
+    // Deve ser consumido dentro de uma transação e fechado ao final (try-with-resources).
+    @EntityGraph(attributePaths = { "piloto", "companhia" })
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT v FROM Voo v ORDER BY v.id")
+    Stream<Voo> streamTodos();
+
+    // Pontualidade dos voos concluídos com partida prevista em [de, ate), só com linhas de resumo.
+    // As diferenças de horário são calculadas pelo banco, em segundos. Todas as colunas lidas estão
+    // em idx_voo_pontualidade: a faixa é percorrida no índice, sem visitar a tabela
+    @Query("""
+            SELECT new sistema.aeroporto.dto.response.PontualidadeCompanhiaResponse(v.companhia.id, COUNT(v),
+                SUM(CASE WHEN (v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND <= :tolerancia
+                    THEN 1 ELSE 0 END),
+                AVG((v.horarioPartidaReal - v.horarioPartidaPrevisto) BY SECOND),
+                AVG((v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND))
+            FROM Voo v
+            WHERE v.status = sistema.aeroporto.model.enums.VooStatus.CONCLUIDO
+                AND v.horarioPartidaPrevisto >= :de AND v.horarioPartidaPrevisto < :ate
+            GROUP BY v.companhia.id
+            ORDER BY v.companhia.id
+            """)
+    List<PontualidadeCompanhiaResponse> pontualidadePorCompanhia(@Param("de") LocalDateTime de,
+            @Param("ate") LocalDateTime ate, @Param("tolerancia") long toleranciaSegundos);
+
+    @Query("""
+            SELECT new sistema.aeroporto.dto.response.PontualidadeRotaResponse(v.origem, v.destino, COUNT(v),
+                SUM(CASE WHEN (v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND <= :tolerancia
+                    THEN 1 ELSE 0 END),
+                AVG((v.horarioPartidaReal - v.horarioPartidaPrevisto) BY SECOND),
+                AVG((v.horarioChegadaReal - v.horarioChegadaPrevisto) BY SECOND))
+            FROM Voo v
+            WHERE v.status = sistema.aeroporto.model.enums.VooStatus.CONCLUIDO
+                AND v.horarioPartidaPrevisto >= :de AND v.horarioPartidaPrevisto < :ate
+            GROUP BY v.origem, v.destino
+            ORDER BY v.origem, v.destino
+            """)
+    List<PontualidadeRotaResponse> pontualidadePorRota(@Param("de") LocalDateTime de,
+            @Param("ate") LocalDateTime ate, @Param("tolerancia") long toleranciaSegundos);
+
+    // Transições de status por compare-and-set: um único UPDATE que só altera o voo se
+    // ele ainda estiver no status esperado. Retornam as linhas afetadas; 0 indica que
+    // outra operação mudou o voo antes. O contexto de persistência é limpo depois do
+    // UPDATE para que o voo lido antes não seja gravado de novo no commit.
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Voo v SET v.status = sistema.aeroporto.model.enums.VooStatus.VOANDO,
+                v.horarioPartidaReal = :horario, v.versao = v.versao + 1
+            WHERE v.id = :id AND v.status = sistema.aeroporto.model.enums.VooStatus.AGENDADO
+            """)
+    int registrarPartida(@Param("id") Long id, @Param("horario") LocalDateTime horario);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Voo v SET v.status = sistema.aeroporto.model.enums.VooStatus.CONCLUIDO,
+                v.horarioChegadaReal = :horario, v.versao = v.versao + 1
+            WHERE v.id = :id AND v.status = sistema.aeroporto.model.enums.VooStatus.VOANDO
+            """)
+    int registrarChegada(@Param("id") Long id, @Param("horario") LocalDateTime horario);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Voo v SET v.status = sistema.aeroporto.model.enums.VooStatus.CANCELADO,
+                v.motivoCancelamento = :motivo, v.versao = v.versao + 1
+            WHERE v.id = :id AND v.status = :esperado
+            """)
+    int registrarCancelamento(@Param("id") Long id, @Param("esperado") VooStatus esperado,
+            @Param("motivo") String motivo);
 }
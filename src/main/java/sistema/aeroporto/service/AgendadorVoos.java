@@ -0,0 +1,276 @@
+package sistema.aeroporto.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import sistema.aeroporto.config.AgendadorProperties;
+import sistema.aeroporto.config.RoteamentoDataSource;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.VooRepository;
+import sistema.aeroporto.util.TransacaoUtils;
+
+/**
+ * Acompanha os horários previstos de partida e chegada dos voos sem varrer a
+ * tabela: os prazos das próximas horas ficam numa {@link DelayQueue} e uma
+ * única thread dorme até o mais próximo vencer.
+ *
+ * A fila é preenchida por faixas de horário ({@code horizonte}) com consultas
+ * pelos índices (status, horário previsto): a primeira na inicialização e as
+ * seguintes na metade de cada faixa, por um prazo especial de recarga. Voos
+ * criados ou alterados entram pelo {@link #agendar(Voo)} após o commit, se o
+ * prazo cair na faixa já carregada. O custo acompanha a quantidade de prazos
+ * que vencem, não o tamanho da tabela. A primeira faixa começa
+ * {@code retroativo} antes da inicialização: voos que ficaram AGENDADO ou
+ * VOANDO com o prazo vencido enquanto a aplicação estava parada disparam
+ * assim que carregados. Uma recarga que falha é repetida após
+ * {@code reintento}, sem esperar a metade da faixa.
+ *
+ * No vencimento o voo é relido pela chave primária: se ainda estiver
+ * AGENDADO (partida) ou VOANDO (chegada) e o horário previsto gravado já
+ * passou, publica o evento "atraso" ou, com {@code transicoes-automaticas},
+ * inicia ou finaliza o voo pelo {@link VooService}. Se a transição falhar, o
+ * voo é relido e o atraso só é publicado se ele continuar no mesmo status:
+ * uma transição manual feita no meio tempo não vira um atraso falso.
+ *
+ * Falhas (consulta de recarga, prazo ou transição) são registradas no log e
+ * no contador aeroporto.agendador.falhas, por tipo de prazo.
+ */
+@Component
+public class AgendadorVoos {
+
+    private static final Logger log = LoggerFactory.getLogger(AgendadorVoos.class);
+
+    private static final List<VooStatus> STATUS_ATE_CHEGADA = List.of(VooStatus.AGENDADO, VooStatus.VOANDO);
+
+    @Autowired
+    private VooRepository vooRepository;
+
+    // Lazy: o VooService também depende deste agendador
+    @Lazy
+    @Autowired
+    private VooService vooService;
+
+    @Autowired
+    private VooEventosService vooEventosService;
+
+    @Autowired
+    private AgendadorProperties agendadorProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    enum Tipo {
+        PARTIDA, CHEGADA, RECARGA
+    }
+
+    private record Chave(Tipo tipo, Long vooId) {
+    }
+
+    record Prazo(Tipo tipo, Long vooId, LocalDateTime horario, long vencimento) implements Delayed {
+
+        static Prazo de(Tipo tipo, Long vooId, LocalDateTime horario) {
+            return new Prazo(tipo, vooId, horario, horario.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(vencimento - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed outro) {
+            return Long.compare(vencimento, ((Prazo) outro).vencimento);
+        }
+    }
+
+    private final DelayQueue<Prazo> fila = new DelayQueue<>();
+
+    // Horário vigente de cada prazo na fila; entradas antigas de um voo reagendado são ignoradas
+    private final Map<Chave, LocalDateTime> agendados = new ConcurrentHashMap<>();
+
+    // Fim da faixa já carregada; prazos posteriores entram na próxima recarga
+    private volatile LocalDateTime carregadoAte;
+
+    // Fim da faixa em carga: durante a consulta, voos gravados com prazo até aqui entram pelo agendar()
+    private volatile LocalDateTime aceitoAte;
+
+    private Thread thread;
+
+    @PostConstruct
+    void iniciar() {
+        if (!agendadorProperties.isHabilitado()) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        // A primeira recarga lê também os prazos que venceram com a aplicação parada
+        carregadoAte = agora.minus(agendadorProperties.getRetroativo());
+        aceitoAte = carregadoAte;
+        fila.add(Prazo.de(Tipo.RECARGA, null, agora));
+        thread = new Thread(this::executar, "voo-agendador");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    public int pendentes() {
+        return agendados.size();
+    }
+
+    // Inclui os prazos do voo após o commit da transação corrente
+    public void agendar(Voo voo) {
+        if (thread == null) {
+            return;
+        }
+        Long id = voo.getId();
+        VooStatus status = voo.getStatus();
+        LocalDateTime partida = voo.getHorarioPartidaPrevisto();
+        LocalDateTime chegada = voo.getHorarioChegadaPrevisto();
+        TransacaoUtils.aposCommit(() -> {
+            if (status == VooStatus.AGENDADO) {
+                incluir(Tipo.PARTIDA, id, partida);
+            }
+            if (STATUS_ATE_CHEGADA.contains(status)) {
+                incluir(Tipo.CHEGADA, id, chegada);
+            }
+        });
+    }
+
+    private void incluir(Tipo tipo, Long vooId, LocalDateTime horario) {
+        if (horario == null || horario.isAfter(aceitoAte)) {
+            return;
+        }
+        LocalDateTime anterior = agendados.put(new Chave(tipo, vooId), horario);
+        if (!horario.equals(anterior)) {
+            fila.add(Prazo.de(tipo, vooId, horario));
+        }
+    }
+
+    private void executar() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Prazo prazo;
+            try {
+                prazo = fila.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                if (prazo.tipo() == Tipo.RECARGA) {
+                    recarregar();
+                } else {
+                    vencer(prazo);
+                }
+            } catch (RuntimeException e) {
+                // Falha num prazo (banco indisponível, voo removido) não interrompe os demais
+                falhou(prazo.tipo(), prazo.vooId(), e);
+            }
+        }
+    }
+
+    private void recarregar() {
+        Duration horizonte = agendadorProperties.getHorizonte();
+        LocalDateTime de = carregadoAte;
+        LocalDateTime ate = LocalDateTime.now().plus(horizonte);
+        // Aceita antes de consultar: voo gravado durante a consulta entra pelo agendar()
+        aceitoAte = ate;
+        Duration proxima = agendadorProperties.getReintento();
+        try {
+            for (Voo voo : vooRepository.findByStatusAndHorarioPartidaPrevistoBetween(VooStatus.AGENDADO, de, ate)) {
+                incluir(Tipo.PARTIDA, voo.getId(), voo.getHorarioPartidaPrevisto());
+            }
+            for (Voo voo : vooRepository.findByStatusInAndHorarioChegadaPrevistoBetween(STATUS_ATE_CHEGADA, de, ate)) {
+                incluir(Tipo.CHEGADA, voo.getId(), voo.getHorarioChegadaPrevisto());
+            }
+            // Só avança com as duas consultas feitas; se falharem, a próxima recarga relê a faixa desde "de"
+            carregadoAte = ate;
+            proxima = horizonte.dividedBy(2);
+        } catch (RuntimeException e) {
+            aceitoAte = carregadoAte;
+            throw e;
+        } finally {
+            // Depois de uma falha tenta de novo logo: prazos da faixa não lida venceriam sem ser vistos
+            fila.add(Prazo.de(Tipo.RECARGA, null, LocalDateTime.now().plus(proxima)));
+        }
+    }
+
+    private void vencer(Prazo prazo) {
+        if (!agendados.remove(new Chave(prazo.tipo(), prazo.vooId()), prazo.horario())) {
+            return;
+        }
+        // Status e horário decidem a transição ou o aviso de atraso: lidos do banco principal
+        Voo voo = RoteamentoDataSource.naPrimaria(() -> vooRepository.findById(prazo.vooId())).orElse(null);
+        if (voo == null) {
+            return;
+        }
+        if (prazo.tipo() == Tipo.PARTIDA) {
+            if (atrasado(voo, Tipo.PARTIDA)) {
+                transicionarOuAvisar(voo, Tipo.PARTIDA, () -> vooService.iniciarVoo(voo.getId()));
+            }
+        } else if (atrasado(voo, Tipo.CHEGADA)) {
+            transicionarOuAvisar(voo, Tipo.CHEGADA, () -> vooService.finalizarVoo(voo.getId()));
+        }
+    }
+
+    // Ainda no status anterior ao prazo (AGENDADO na partida, VOANDO na chegada) com o horário vencido
+    private static boolean atrasado(Voo voo, Tipo tipo) {
+        return tipo == Tipo.PARTIDA
+                ? voo.getStatus() == VooStatus.AGENDADO && venceu(voo.getHorarioPartidaPrevisto())
+                : voo.getStatus() == VooStatus.VOANDO && venceu(voo.getHorarioChegadaPrevisto());
+    }
+
+    // Horário lido do banco: se o voo foi reagendado para depois, o prazo novo é que vale
+    private static boolean venceu(LocalDateTime horario) {
+        return horario != null && !horario.isAfter(LocalDateTime.now());
+    }
+
+    void transicionarOuAvisar(Voo voo, Tipo tipo, Runnable transicao) {
+        if (agendadorProperties.isTransicoesAutomaticas()) {
+            try {
+                transicao.run();
+                return;
+            } catch (RuntimeException e) {
+                falhou(tipo, voo.getId(), e);
+            }
+            // Piloto inativo: continua no status e fica sinalizado como atrasado. Transição manual
+            // no meio tempo (VooAlteradoException, status já mudou): não há atraso a publicar
+            Long id = voo.getId();
+            voo = RoteamentoDataSource.naPrimaria(() -> vooRepository.findById(id)).orElse(null);
+            if (voo == null || !atrasado(voo, tipo)) {
+                return;
+            }
+        }
+        vooEventosService.publicarAtraso(voo);
+    }
+
+    private void falhou(Tipo tipo, Long vooId, RuntimeException e) {
+        meterRegistry.counter("aeroporto.agendador.falhas", "tipo", tipo.name(),
+                "excecao", e.getClass().getSimpleName()).increment();
+        if (tipo == Tipo.RECARGA) {
+            log.warn("Falha ao carregar os prazos dos voos; nova tentativa em {}", agendadorProperties.getReintento(), e);
+        } else {
+            log.warn("Falha no prazo de {} do voo {}: {}", tipo, vooId, e.toString());
+        }
+    }
+}
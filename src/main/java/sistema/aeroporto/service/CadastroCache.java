@@ -0,0 +1,200 @@
+package sistema.aeroporto.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import sistema.aeroporto.config.CadastroCacheProperties;
+import sistema.aeroporto.config.RoteamentoDataSource;
+import sistema.aeroporto.dto.response.CacheEstatisticasResponse;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.util.TransacaoUtils;
+
+/**
+ * Cache de leitura de pilotos e companhias, limitado por tamanho e tempo
+ * (aeroporto.cache.*). Cada entidade pode estar em várias chaves (id, CPF,
+ * matrícula, CNPJ, nome); invalidar pelo id remove todas elas. Buscas sem
+ * resultado não ficam no cache, nem as feitas dentro de uma transação, que
+ * podem enxergar dados ainda não confirmados.
+ *
+ * As entidades devolvidas ficam fora de qualquer sessão e são compartilhadas
+ * entre requisições: servem para leitura e como referência em associações,
+ * nunca para alteração. Quem altera ou remove carrega do repositório e chama
+ * invalidarPiloto/invalidarCompanhia depois de gravar; dentro de uma
+ * transação a invalidação se repete após o commit.
+ */
+@Component
+public class CadastroCache {
+
+    private record Chave(String campo, Object valor) {
+    }
+
+    /**
+     * Cache de um tipo de cadastro com o índice das chaves guardadas de cada
+     * id, para invalidar sem percorrer o cache. O contador de invalidações
+     * protege as cargas em andamento: uma carga que começou antes de uma
+     * invalidação pode ter lido a linha antiga e não fica no cache.
+     */
+    private static final class Cadastro<V> {
+
+        private final Cache<Chave, V> cache;
+        private final Function<V, Long> id;
+        private final Map<Long, Set<Chave>> chavesPorId = new ConcurrentHashMap<>();
+        private final AtomicLong invalidacoes = new AtomicLong();
+
+        Cadastro(CadastroCacheProperties properties, Function<V, Long> id) {
+            this.id = id;
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getTamanhoMaximo())
+                    .expireAfterWrite(properties.getExpiracao())
+                    // Síncrono, na remoção da entrada: o índice não guarda chaves de entradas expiradas
+                    .<Chave, V>evictionListener((chave, valor, causa) -> desindexar(chave, valor))
+                    .recordStats()
+                    .build();
+        }
+
+        // A consulta roda fora do mapa do Caffeine: dentro do get(chave, carga) ela prenderia o lock
+        // do bucket, travando invalidações e buscas de outras chaves do mesmo bucket até o banco responder
+        Optional<V> buscar(Chave chave, Supplier<Optional<V>> consulta) {
+            V presente = cache.getIfPresent(chave);
+            if (presente != null) {
+                return Optional.of(presente);
+            }
+            long antes = invalidacoes.get();
+            V carregado = consulta.get().orElse(null);
+            if (carregado == null) {
+                return Optional.empty();
+            }
+            // Indexada antes da verificação: uma invalidação posterior a ela encontra esta chave
+            chavesPorId.computeIfAbsent(id.apply(carregado), i -> ConcurrentHashMap.newKeySet()).add(chave);
+            if (invalidacoes.get() == antes) {
+                cache.put(chave, carregado);
+                // Invalidação entre a verificação e o put: ela não viu a entrada, que sai aqui
+                if (invalidacoes.get() != antes) {
+                    cache.invalidate(chave);
+                }
+            }
+            // A entidade lida fica disponível para quem buscou mesmo quando não pode ficar no cache
+            return Optional.of(carregado);
+        }
+
+        void invalidar(Long valorId) {
+            invalidacoes.incrementAndGet();
+            Set<Chave> chaves = chavesPorId.remove(valorId);
+            if (chaves != null) {
+                cache.invalidateAll(chaves);
+            }
+        }
+
+        private void desindexar(Chave chave, V valor) {
+            if (valor != null) {
+                chavesPorId.computeIfPresent(id.apply(valor), (i, chaves) -> {
+                    chaves.remove(chave);
+                    return chaves.isEmpty() ? null : chaves;
+                });
+            }
+        }
+    }
+
+    @Autowired
+    private PilotoRepository pilotoRepository;
+
+    @Autowired
+    private CompanhiaAereaRepository companhiaAereaRepository;
+
+    @Autowired
+    private CadastroCacheProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cadastro<Piloto> pilotos;
+    private Cadastro<CompanhiaAerea> companhias;
+
+    @PostConstruct
+    void iniciar() {
+        pilotos = new Cadastro<>(properties, Piloto::getId);
+        companhias = new Cadastro<>(properties, CompanhiaAerea::getId);
+        CaffeineCacheMetrics.monitor(meterRegistry, pilotos.cache, "pilotos");
+        CaffeineCacheMetrics.monitor(meterRegistry, companhias.cache, "companhias");
+    }
+
+    public Optional<Piloto> piloto(Long id) {
+        return buscar(pilotos, new Chave("id", id), () -> pilotoRepository.findById(id));
+    }
+
+    public Optional<Piloto> pilotoPorCpf(String cpf) {
+        return buscar(pilotos, new Chave("cpf", cpf), () -> pilotoRepository.findByCpf(cpf));
+    }
+
+    public Optional<Piloto> pilotoPorMatricula(String matricula) {
+        return buscar(pilotos, new Chave("matricula", matricula), () -> pilotoRepository.findByMatricula(matricula));
+    }
+
+    public Optional<CompanhiaAerea> companhia(Long id) {
+        return buscar(companhias, new Chave("id", id), () -> companhiaAereaRepository.findById(id));
+    }
+
+    public Optional<CompanhiaAerea> companhiaPorCnpj(String cnpj) {
+        return buscar(companhias, new Chave("cnpj", cnpj), () -> companhiaAereaRepository.findByCnpj(cnpj));
+    }
+
+    public Optional<CompanhiaAerea> companhiaPorNome(String nome) {
+        return buscar(companhias, new Chave("nome", nome), () -> companhiaAereaRepository.findByNome(nome));
+    }
+
+    public void invalidarPiloto(Long id) {
+        invalidar(pilotos, id);
+    }
+
+    public void invalidarCompanhia(Long id) {
+        invalidar(companhias, id);
+    }
+
+    // Agora e de novo após o commit: entre os dois, uma busca fora da transação ainda lê a linha antiga
+    private static void invalidar(Cadastro<?> cadastro, Long id) {
+        cadastro.invalidar(id);
+        TransacaoUtils.aposCommit(() -> cadastro.invalidar(id));
+    }
+
+    public List<CacheEstatisticasResponse> estatisticas() {
+        return List.of(estatisticas("pilotos", pilotos.cache), estatisticas("companhias", companhias.cache));
+    }
+
+    private static <V> Optional<V> buscar(Cadastro<V> cadastro, Chave chave, Supplier<Optional<V>> consulta) {
+        if (chave.valor() == null) {
+            return Optional.empty();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return consulta.get();
+        }
+        // Do banco principal: a réplica pode devolver a linha de antes da última invalidação,
+        // que ficaria no cache até expirar
+        return cadastro.buscar(chave, () -> RoteamentoDataSource.naPrimaria(consulta));
+    }
+
+    private static CacheEstatisticasResponse estatisticas(String nome, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheEstatisticasResponse(nome, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -2,27 +2,47 @@ package sistema.aeroporto.service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import io.micrometer.core.annotation.Timed;
+import sistema.aeroporto.config.PaginacaoProperties;
 import sistema.aeroporto.dto.request.CompanhiaAereaUpdateRequest;
 import sistema.aeroporto.dto.request.CompanhiaAereaRequest;
 import sistema.aeroporto.dto.response.CompanhiaAereaResponse;
+import sistema.aeroporto.dto.response.PaginaResponse;
 import sistema.aeroporto.exception.CnpjInvalidoException;
 import sistema.aeroporto.exception.CnpjJaCadastradoException;
+import sistema.aeroporto.exception.CompanhiaAereaAlteradaException;
 import sistema.aeroporto.exception.NomeJaCadastradoException;
 import sistema.aeroporto.exception.NotFoundCompanhiaAereaException;
 import sistema.aeroporto.model.CompanhiaAerea;
 import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
 import sistema.aeroporto.repository.CompanhiaAereaRepository;
 import sistema.aeroporto.util.CnpjUtils;
+import sistema.aeroporto.util.CursorUtils;
+import sistema.aeroporto.util.EtagUtils.Versionado;
+import sistema.aeroporto.util.RestricaoUtils;
 
+@Timed(value = "aeroporto.servico", histogram = true)
 @Service
 public class CompanhiaAereaService {
 
     @Autowired
     private CompanhiaAereaRepository companhiaAereaRepository;
 
+    @Autowired
+    private PaginacaoProperties paginacao;
+
+    @Autowired
+    private CadastroCache cadastroCache;
+
     // Converte entity → Response
     private CompanhiaAereaResponse toResponse(CompanhiaAerea c) {
         return new CompanhiaAereaResponse(
@@ -34,49 +54,67 @@ public class CompanhiaAereaService {
                 c.getStatus().name());
     }
 
+    // Sem @Transactional: o CadastroCache fica desligado dentro de transações, e a consulta do
+    // repositório já é somente leitura
     public CompanhiaAereaResponse buscarPorId(Long id) {
-        CompanhiaAerea c = companhiaAereaRepository.findById(id)
+        CompanhiaAerea c = cadastroCache.companhia(id)
                 .orElseThrow(NotFoundCompanhiaAereaException::new);
         return toResponse(c);
     }
 
+    public Optional<String> versao(Long id) {
+        return companhiaAereaRepository.findVersao(id).map(String::valueOf);
+    }
+
+    // Versão da própria companhia devolvida, que pode ter vindo do cache
+    public Versionado<CompanhiaAereaResponse> buscarVersionadoPorId(Long id) {
+        CompanhiaAerea c = cadastroCache.companhia(id)
+                .orElseThrow(NotFoundCompanhiaAereaException::new);
+        return new Versionado<>(toResponse(c), String.valueOf(c.getVersao()));
+    }
+
+    public String versaoDaListagem() {
+        return companhiaAereaRepository.findVersaoDaTabela();
+    }
+
+    @Transactional(readOnly = true)
     public List<CompanhiaAereaResponse> listarTodasCompanhias() {
-        return companhiaAereaRepository.findAll()
-                .stream()
-                .map(this::toResponse)
-                .toList();
+        return companhiaAereaRepository.listarTodos();
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaResponse<CompanhiaAereaResponse> listarCompanhiasPaginado(String cursor, Integer tamanho) {
+        int limite = paginacao.tamanho(tamanho);
+        List<CompanhiaAereaResponse> companhias = companhiaAereaRepository.listarAPartirDe(
+                CursorUtils.decodificar(cursor), Limit.of(limite + 1));
+        return PaginaResponse.de(companhias, limite, Function.identity(), CompanhiaAereaResponse::id);
     }
 
     public CompanhiaAereaResponse buscarPorNome(String nome) {
-        CompanhiaAerea c = companhiaAereaRepository.findByNome(nome)
+        CompanhiaAerea c = cadastroCache.companhiaPorNome(nome)
                 .orElseThrow(NotFoundCompanhiaAereaException::new);
         return toResponse(c);
     }
 
     public CompanhiaAereaResponse buscarPorCnpj(String cnpj) {
-        String cnpjNormalizado = cnpj.replaceAll("\\D", "");
-        CompanhiaAerea c = companhiaAereaRepository.findByCnpj(cnpjNormalizado)
+        String cnpjNormalizado = CnpjUtils.limpar(cnpj);
+        CompanhiaAerea c = cadastroCache.companhiaPorCnpj(cnpjNormalizado)
                 .orElseThrow(NotFoundCompanhiaAereaException::new);
         return toResponse(c);
     }
 
+    @Transactional(readOnly = true)
     public CompanhiaAerea buscarEntidadePorCnpj(String cnpj) {
         return companhiaAereaRepository.findByCnpj(cnpj)
                 .orElseThrow(NotFoundCompanhiaAereaException::new);
     }
 
     public CompanhiaAereaResponse salvarCompanhia(CompanhiaAereaRequest request) {
-        String cnpj = request.cnpj().replaceAll("\\D", "");
+        String cnpj = CnpjUtils.limpar(request.cnpj());
 
         if (!CnpjUtils.validarCnpj(cnpj)) {
             throw new CnpjInvalidoException();
         }
-        if (companhiaAereaRepository.existsByCnpj(cnpj)) {
-            throw new CnpjJaCadastradoException();
-        }
-        if (companhiaAereaRepository.existsByNome(request.nome())) {
-            throw new NomeJaCadastradoException();
-        }
 
         CompanhiaAerea companhia = new CompanhiaAerea();
         companhia.setNome(request.nome());
@@ -90,7 +128,18 @@ public class CompanhiaAereaService {
             companhia.setStatus(CompanhiaAereaStatus.ATIVA);
         }
 
-        return toResponse(companhiaAereaRepository.save(companhia));
+        try {
+            return toResponse(companhiaAereaRepository.saveAndFlush(companhia));
+        } catch (DataIntegrityViolationException e) {
+            // CNPJ e nome duplicados são detectados pelas restrições únicas, sem consulta prévia
+            if (RestricaoUtils.violou(e, "uk_companhia_cnpj")) {
+                throw new CnpjJaCadastradoException();
+            }
+            if (RestricaoUtils.violou(e, "uk_companhia_nome")) {
+                throw new NomeJaCadastradoException();
+            }
+            throw e;
+        }
     }
 
     public void deletarCompanhia(Long id) {
@@ -98,22 +147,30 @@ public class CompanhiaAereaService {
             throw new NotFoundCompanhiaAereaException();
         }
         companhiaAereaRepository.deleteById(id);
+        cadastroCache.invalidarCompanhia(id);
     }
 
     public CompanhiaAereaResponse atualizarCompanhia(Long id, CompanhiaAereaUpdateRequest request) {
         CompanhiaAerea companhia = companhiaAereaRepository.findById(id)
                 .orElseThrow(NotFoundCompanhiaAereaException::new);
 
-        companhiaAereaRepository.findByNome(request.nome())
-                .ifPresent(existente -> {
-                    if (!existente.getId().equals(id)) {
-                        throw new NomeJaCadastradoException();
-                    }
-                });
         companhia.setNome(request.nome());
         companhia.setSeguroAeronave(request.seguroAeronave());
         companhia.setStatus(CompanhiaAereaStatus.valueOf(request.status().toUpperCase()));
 
-        return toResponse(companhiaAereaRepository.save(companhia));
+        CompanhiaAerea salva;
+        try {
+            salva = companhiaAereaRepository.saveAndFlush(companhia);
+        } catch (OptimisticLockingFailureException e) {
+            throw new CompanhiaAereaAlteradaException();
+        } catch (DataIntegrityViolationException e) {
+            // Nome em uso por outra companhia, detectado pela restrição única como em salvarCompanhia
+            if (RestricaoUtils.violou(e, "uk_companhia_nome")) {
+                throw new NomeJaCadastradoException();
+            }
+            throw e;
+        }
+        cadastroCache.invalidarCompanhia(id);
+        return toResponse(salva);
     }
 }
\ No newline at end of file
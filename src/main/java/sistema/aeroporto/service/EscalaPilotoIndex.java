@@ -0,0 +1,229 @@
+package sistema.aeroporto.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import sistema.aeroporto.config.EscalaProperties;
+import sistema.aeroporto.config.RoteamentoDataSource;
+import sistema.aeroporto.exception.PilotoOutroVooException;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.VooRepository;
+import sistema.aeroporto.util.TransacaoUtils;
+
+/**
+ * Índice em memória da escala de cada piloto: para cada piloto guarda os
+ * intervalos [partida, chegada) dos voos que ainda o ocupam (AGENDADO ou
+ * VOANDO), ordenados pelo horário de partida.
+ *
+ * A agenda de um piloto é carregada do banco no primeiro acesso e, a partir
+ * daí, mantida em sincronia pelo {@link VooService} na criação, cancelamento,
+ * finalização e atualização de voos. A carga acontece com o lock da agenda
+ * tomado: uma atualização confirmada durante a carga espera por ela e é
+ * aplicada em seguida. Agendas sem uso por aeroporto.escala.expiracao são
+ * descartadas e relidas no próximo acesso.
+ */
+@Component
+public class EscalaPilotoIndex {
+
+    static final Set<VooStatus> STATUS_OCUPADOS = EnumSet.of(VooStatus.AGENDADO, VooStatus.VOANDO);
+
+    static final Duration DURACAO_PADRAO = Duration.ofHours(4);
+
+    @Autowired
+    private VooRepository vooRepository;
+
+    @Autowired
+    private EscalaProperties escalaProperties;
+
+    // Só por tempo sem uso: uma agenda com o lock tomado acabou de ser acessada e não é descartada
+    // enquanto o dono a usa, o que deixaria outra cópia ser carregada sem a reserva em andamento
+    private Cache<Long, Agenda> agendas;
+
+    @PostConstruct
+    void iniciar() {
+        agendas = Caffeine.newBuilder()
+                .expireAfterAccess(escalaProperties.getExpiracao())
+                .build();
+    }
+
+    // Verifica se o intervalo informado se sobrepõe a algum voo do piloto
+    public boolean temConflito(Long pilotoId, LocalDateTime partida, LocalDateTime chegada) {
+        Agenda agenda = travar(pilotoId);
+        try {
+            return agenda.conflita(partida, chegada);
+        } finally {
+            agenda.lock.unlock();
+        }
+    }
+
+    // Confere o conflito e persiste o voo de forma atômica para o piloto
+    public Voo reservar(Long pilotoId, LocalDateTime partida, LocalDateTime chegada, Supplier<Voo> salvar) {
+        Agenda agenda = travar(pilotoId);
+        try {
+            if (agenda.conflita(partida, chegada)) {
+                throw new PilotoOutroVooException();
+            }
+            Voo salvo = salvar.get();
+            agenda.adicionar(new Intervalo(partida, Intervalo.fim(partida, chegada), salvo.getId()));
+            return salvo;
+        } finally {
+            agenda.lock.unlock();
+        }
+    }
+
+    // Reflete o status do voo na agenda do piloto após o commit da transação corrente: se o
+    // commit falhar, o horário continua ocupado como no banco
+    public void sincronizar(Voo voo) {
+        TransacaoUtils.aposCommit(() -> aplicar(voo));
+    }
+
+    private void aplicar(Voo voo) {
+        if (voo.getPiloto() == null || voo.getHorarioPartidaPrevisto() == null) {
+            return;
+        }
+        Agenda agenda = agendas.getIfPresent(voo.getPiloto().getId());
+        if (agenda == null) {
+            return;
+        }
+        Intervalo intervalo = Intervalo.de(voo);
+        // Com uma carga em andamento, espera por ela: a leitura pode ser anterior ao commit
+        agenda.lock.lock();
+        try {
+            // Ainda não carregada: a carga, posterior ao commit, já lê o novo estado
+            if (!agenda.carregada) {
+                return;
+            }
+            if (STATUS_OCUPADOS.contains(voo.getStatus())) {
+                agenda.adicionar(intervalo);
+            } else {
+                agenda.remover(intervalo);
+            }
+        } finally {
+            agenda.lock.unlock();
+        }
+    }
+
+    // Retira o voo da agenda independentemente do status, ex.: quando a gravação é desfeita
+    public void liberar(Voo voo) {
+        if (voo.getPiloto() == null || voo.getHorarioPartidaPrevisto() == null) {
+            return;
+        }
+        Agenda agenda = agendas.getIfPresent(voo.getPiloto().getId());
+        if (agenda != null) {
+            agenda.lock.lock();
+            try {
+                agenda.remover(Intervalo.de(voo));
+            } finally {
+                agenda.lock.unlock();
+            }
+        }
+    }
+
+    // Devolve a agenda do piloto carregada e com o lock tomado; quem chama libera o lock
+    private Agenda travar(Long pilotoId) {
+        // A agenda entra vazia no cache e é carregada com o próprio lock, não com o do bucket
+        Agenda agenda = agendas.get(pilotoId, id -> new Agenda());
+        agenda.lock.lock();
+        try {
+            if (!agenda.carregada) {
+                // Do banco principal: na réplica atrasada faltariam voos já confirmados
+                List<Voo> voos = RoteamentoDataSource.naPrimaria(
+                        () -> vooRepository.findByPiloto_IdAndStatusIn(pilotoId, STATUS_OCUPADOS));
+                for (Voo voo : voos) {
+                    if (voo.getHorarioPartidaPrevisto() != null) {
+                        agenda.adicionar(Intervalo.de(voo));
+                    }
+                }
+                agenda.carregada = true;
+            }
+            return agenda;
+        } catch (RuntimeException e) {
+            agenda.lock.unlock();
+            throw e;
+        }
+    }
+
+    record Intervalo(LocalDateTime partida, LocalDateTime chegada, Long vooId) {
+
+        static final Comparator<Intervalo> ORDEM = Comparator
+                .comparing(Intervalo::partida)
+                .thenComparing(Intervalo::vooId);
+
+        static Intervalo de(Voo voo) {
+            LocalDateTime partida = voo.getHorarioPartidaPrevisto();
+            return new Intervalo(partida, fim(partida, voo.getHorarioChegadaPrevisto()), voo.getId());
+        }
+
+        // Chegada ausente ou não posterior à partida assume a duração padrão do voo
+        static LocalDateTime fim(LocalDateTime partida, LocalDateTime chegada) {
+            return chegada != null && chegada.isAfter(partida) ? chegada : partida.plus(DURACAO_PADRAO);
+        }
+
+        static Intervalo sonda(LocalDateTime partida) {
+            return new Intervalo(partida, partida, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Intervalos de um piloto ordenados por partida. Como todo voo que se
+     * sobrepõe a [partida, chegada) começa depois de (partida - maiorDuracao),
+     * a verificação percorre apenas a janela limitada por essa duração: uma
+     * busca O(log n) mais os poucos voos vizinhos.
+     */
+    static final class Agenda {
+
+        // Lock explícito: o reservar() grava no banco com o lock tomado, e uma thread virtual
+        // bloqueada em monitor (synchronized) prende a thread da plataforma no JDK 21
+        final ReentrantLock lock = new ReentrantLock();
+
+        private final NavigableSet<Intervalo> intervalos = new TreeSet<>(Intervalo.ORDEM);
+        private Duration maiorDuracao = Duration.ZERO;
+        private boolean carregada;
+
+        boolean conflita(LocalDateTime partida, LocalDateTime chegada) {
+            chegada = Intervalo.fim(partida, chegada);
+            LocalDateTime limite = partida.minus(maiorDuracao);
+            // Percorre para trás a partir do último voo que parte antes da chegada
+            Intervalo existente = intervalos.lower(Intervalo.sonda(chegada));
+            while (existente != null && !existente.partida().isBefore(limite)) {
+                if (existente.chegada().isAfter(partida)) {
+                    return true;
+                }
+                existente = intervalos.lower(existente);
+            }
+            return false;
+        }
+
+        void adicionar(Intervalo intervalo) {
+            intervalos.add(intervalo);
+            Duration duracao = Duration.between(intervalo.partida(), intervalo.chegada());
+            if (duracao.compareTo(maiorDuracao) > 0) {
+                maiorDuracao = duracao;
+            }
+        }
+
+        void remover(Intervalo intervalo) {
+            intervalos.remove(intervalo);
+        }
+
+        int tamanho() {
+            return intervalos.size();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package sistema.aeroporto.service;
+
+import java.time.LocalDate;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import sistema.aeroporto.repository.ContadorMatriculaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+
+/**
+ * Gera a matrícula do piloto (PIL + ano + número de ao menos 4 dígitos) antes
+ * do INSERT, para que o cadastro seja uma única gravação.
+ *
+ * Os números vêm do contador anual em contador_matricula, reservado em blocos
+ * de {@value #BLOCO}: só a primeira matrícula de cada bloco vai ao banco, numa
+ * transação própria e curta, e as demais saem da memória. Várias instâncias
+ * da aplicação recebem blocos disjuntos; números de um bloco não usado até o
+ * fim (reinício, virada do ano) são descartados, como numa sequence.
+ */
+@Component
+public class GeradorMatricula {
+
+    // Mesmo incremento da sequence do id de voo
+    static final int BLOCO = 50;
+
+    @Autowired
+    private ContadorMatriculaRepository contadorMatriculaRepository;
+
+    @Autowired
+    private PilotoRepository pilotoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate novaTransacao;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int ano;
+    private long proximo;
+    private long limite;
+
+    @PostConstruct
+    void iniciar() {
+        novaTransacao = new TransactionTemplate(transactionManager);
+        novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String proxima() {
+        // Lock explícito: a reserva do bloco vai ao banco e, em thread virtual, um monitor
+        // (synchronized) prenderia a thread da plataforma durante a consulta
+        lock.lock();
+        try {
+            int anoAtual = LocalDate.now().getYear();
+            if (anoAtual != ano || proximo > limite) {
+                limite = reservarBloco(anoAtual);
+                proximo = limite - BLOCO + 1;
+                ano = anoAtual;
+            }
+            return "PIL" + ano + String.format("%04d", proximo++);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Retorna o último número do bloco reservado
+    private long reservarBloco(int ano) {
+        try {
+            return novaTransacao.execute(status -> reservarOuCriar(ano));
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância criou o contador do ano ao mesmo tempo; agora ele existe
+            return novaTransacao.execute(status -> reservarOuCriar(ano));
+        }
+    }
+
+    private long reservarOuCriar(int ano) {
+        if (contadorMatriculaRepository.reservar(ano, BLOCO) == 0) {
+            // Primeiro bloco do ano. As matrículas antigas usavam o id do piloto como número,
+            // então começar acima do maior id evita colisão com elas
+            contadorMatriculaRepository.criar(ano, pilotoRepository.findMaiorId() + BLOCO);
+        }
+        return contadorMatriculaRepository.findById(ano).orElseThrow().getUltimo();
+    }
+}
@@ -0,0 +1,240 @@
+package sistema.aeroporto.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import sistema.aeroporto.config.PainelProperties;
+import sistema.aeroporto.config.RoteamentoDataSource;
+import sistema.aeroporto.dto.response.PainelVooResponse;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.repository.VooRepository;
+import sistema.aeroporto.util.TransacaoUtils;
+
+/**
+ * Painéis de partidas e chegadas mantidos em memória por código ICAO
+ * (origem e destino do voo), ordenados pelo horário previsto.
+ *
+ * O painel de um aeroporto é carregado do banco no primeiro acesso, só com
+ * os voos da janela (faixa de idx_voo_origem_partida / idx_voo_destino_partida),
+ * e a partir daí atualizado voo a voo pelo {@link VooService} e pelo
+ * {@link VooLoteService} quando a gravação é confirmada. A carga acontece
+ * com o lock do painel tomado: uma atualização confirmada durante a carga
+ * espera por ela e é aplicada em seguida. A leitura de um painel carregado
+ * não consulta o banco nem toma lock: percorre o mapa ordenado a partir de
+ * (agora - janela) e remove os voos que já saíram da janela.
+ *
+ * Os painéis ficam num cache limitado por quantidade e por tempo sem
+ * acesso: o código na URL é livre, e um painel descartado é apenas lido do
+ * banco de novo no próximo acesso.
+ */
+@Component
+public class PainelAeroportoIndex {
+
+    @Autowired
+    private VooRepository vooRepository;
+
+    @Autowired
+    private PainelProperties painelProperties;
+
+    // Voo mais longo considerado ao carregar as chegadas: o índice é pela partida prevista, e um voo que
+    // partiu antes da janela ainda pode ter a chegada dentro dela
+    static final Duration DURACAO_MAXIMA_VOO = Duration.ofHours(24);
+
+    private Cache<String, Painel> partidas;
+    private Cache<String, Painel> chegadas;
+
+    @PostConstruct
+    void iniciar() {
+        partidas = novoCache();
+        chegadas = novoCache();
+    }
+
+    private Cache<String, Painel> novoCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(painelProperties.getTamanhoMaximo())
+                .expireAfterAccess(painelProperties.getExpiracao())
+                .build();
+    }
+
+    public List<PainelVooResponse> partidas(String icao, int limite) {
+        String codigo = icao.toUpperCase();
+        return painel(partidas, codigo,
+                vooRepository::findByOrigemAndHorarioPartidaPrevistoGreaterThanEqual, Duration.ZERO,
+                Painel::partida).listar(inicioJanela(), limite);
+    }
+
+    public List<PainelVooResponse> chegadas(String icao, int limite) {
+        String codigo = icao.toUpperCase();
+        return painel(chegadas, codigo,
+                vooRepository::findByDestinoAndHorarioPartidaPrevistoGreaterThanEqual, DURACAO_MAXIMA_VOO,
+                Painel::chegada).listar(inicioJanela(), limite);
+    }
+
+    // Reflete o estado do voo nos painéis de origem e destino após o commit da transação corrente
+    public void sincronizar(Voo voo) {
+        TransacaoUtils.aposCommit(() -> aplicar(voo));
+    }
+
+    private void aplicar(Voo voo) {
+        // Painéis ainda não carregados serão lidos do banco já com o novo estado
+        Painel origem = voo.getOrigem() == null ? null : partidas.getIfPresent(voo.getOrigem());
+        if (origem != null) {
+            origem.aplicar(voo.getId(), Painel.partida(voo));
+        }
+        Painel destino = voo.getDestino() == null ? null : chegadas.getIfPresent(voo.getDestino());
+        if (destino != null) {
+            destino.aplicar(voo.getId(), Painel.chegada(voo));
+        }
+    }
+
+    private LocalDateTime inicioJanela() {
+        return LocalDateTime.now().minus(painelProperties.getJanela());
+    }
+
+    private Painel painel(Cache<String, Painel> paineis, String icao,
+            BiFunction<String, LocalDateTime, List<Voo>> consulta, Duration antecedencia,
+            Function<Voo, PainelVooResponse> linha) {
+        // O painel entra vazio no cache e é carregado com o próprio lock, não com o do bucket
+        Painel painel = paineis.get(icao, codigo -> new Painel());
+        if (painel.carregado) {
+            return painel;
+        }
+        painel.lock.lock();
+        try {
+            if (!painel.carregado) {
+                LocalDateTime inicio = inicioJanela();
+                // Do banco principal: na réplica atrasada faltariam alterações já aplicadas aos painéis
+                List<Voo> voos = RoteamentoDataSource.naPrimaria(
+                        () -> consulta.apply(icao, inicio.minus(antecedencia)));
+                for (Voo voo : voos) {
+                    PainelVooResponse entrada = linha.apply(voo);
+                    if (entrada.horarioPrevisto() != null && !entrada.horarioPrevisto().isBefore(inicio)) {
+                        painel.atualizar(voo.getId(), entrada);
+                    }
+                }
+                painel.carregado = true;
+            }
+        } finally {
+            painel.lock.unlock();
+        }
+        return painel;
+    }
+
+    record Posicao(LocalDateTime horario, Long vooId) {
+
+        static final Comparator<Posicao> ORDEM = Comparator
+                .comparing(Posicao::horario)
+                .thenComparing(Posicao::vooId);
+
+        static Posicao sonda(LocalDateTime horario) {
+            return new Posicao(horario, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Voos de um painel ordenados por horário previsto. Escritas são
+     * serializadas no próprio painel para manter o mapa ordenado e o índice
+     * por voo consistentes; leituras usam só o mapa concorrente.
+     */
+    static final class Painel {
+
+        // Como o da Agenda da escala: a carga espera o banco com este lock, e num monitor
+        // a thread virtual que espera prenderia a sua thread da plataforma
+        final ReentrantLock lock = new ReentrantLock();
+
+        private final ConcurrentSkipListMap<Posicao, PainelVooResponse> voos = new ConcurrentSkipListMap<>(Posicao.ORDEM);
+        private final Map<Long, Posicao> posicoes = new ConcurrentHashMap<>();
+        private volatile boolean carregado;
+
+        static PainelVooResponse partida(Voo voo) {
+            return new PainelVooResponse(voo.getId(), voo.getCodigo(), voo.getOrigem(), voo.getDestino(),
+                    voo.getCompanhia() == null ? null : voo.getCompanhia().getNome(),
+                    voo.getHorarioPartidaPrevisto(), voo.getHorarioPartidaReal(), voo.getStatus().name());
+        }
+
+        static PainelVooResponse chegada(Voo voo) {
+            LocalDateTime prevista = voo.getHorarioChegadaPrevisto() != null
+                    ? voo.getHorarioChegadaPrevisto()
+                    : voo.getHorarioPartidaPrevisto();
+            return new PainelVooResponse(voo.getId(), voo.getCodigo(), voo.getOrigem(), voo.getDestino(),
+                    voo.getCompanhia() == null ? null : voo.getCompanhia().getNome(),
+                    prevista, voo.getHorarioChegadaReal(), voo.getStatus().name());
+        }
+
+        // Com uma carga em andamento, espera por ela; ainda não carregado, a carga já lê o novo estado
+        void aplicar(Long vooId, PainelVooResponse entrada) {
+            lock.lock();
+            try {
+                if (carregado) {
+                    atualizar(vooId, entrada);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void atualizar(Long vooId, PainelVooResponse entrada) {
+            lock.lock();
+            try {
+                Posicao anterior = posicoes.remove(vooId);
+                if (anterior != null) {
+                    voos.remove(anterior);
+                }
+                if (entrada.horarioPrevisto() != null) {
+                    Posicao posicao = new Posicao(entrada.horarioPrevisto(), vooId);
+                    voos.put(posicao, entrada);
+                    posicoes.put(vooId, posicao);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<PainelVooResponse> listar(LocalDateTime inicio, int limite) {
+            Posicao corte = Posicao.sonda(inicio);
+            Map.Entry<Posicao, PainelVooResponse> primeiro = voos.firstEntry();
+            if (primeiro != null && Posicao.ORDEM.compare(primeiro.getKey(), corte) < 0) {
+                descartarAntesDe(corte);
+            }
+            // size() do ConcurrentSkipListMap percorre o mapa inteiro, por isso não é usado aqui
+            List<PainelVooResponse> resultado = new ArrayList<>(Math.min(limite, 64));
+            for (PainelVooResponse entrada : voos.tailMap(corte).values()) {
+                if (resultado.size() == limite) {
+                    break;
+                }
+                resultado.add(entrada);
+            }
+            return resultado;
+        }
+
+        private void descartarAntesDe(Posicao corte) {
+            lock.lock();
+            try {
+                ConcurrentNavigableMap<Posicao, PainelVooResponse> antigos = voos.headMap(corte);
+                for (Posicao posicao : antigos.keySet()) {
+                    posicoes.remove(posicao.vooId(), posicao);
+                }
+                antigos.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
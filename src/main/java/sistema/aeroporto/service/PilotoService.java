@@ -2,13 +2,21 @@ package sistema.aeroporto.service;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
+import sistema.aeroporto.config.PaginacaoProperties;
 import sistema.aeroporto.dto.request.PilotoRequest;
 import sistema.aeroporto.dto.request.PilotoUpdateRequest;
+import sistema.aeroporto.dto.response.PaginaResponse;
 import sistema.aeroporto.dto.response.PilotoResponse;
 import sistema.aeroporto.exception.CpfInvalidoException;
 import sistema.aeroporto.exception.CpfJaCadastradoException;
@@ -16,17 +24,31 @@ import sistema.aeroporto.exception.CpfObrigatorioException;
 import sistema.aeroporto.exception.MenorIdadeException;
 import sistema.aeroporto.exception.NomeObrigatorioException;
 import sistema.aeroporto.exception.NotFoundPilotoException;
+import sistema.aeroporto.exception.PilotoAlteradoException;
 import sistema.aeroporto.model.Piloto;
 import sistema.aeroporto.model.enums.PilotoStatus;
 import sistema.aeroporto.repository.PilotoRepository;
 import sistema.aeroporto.util.CpfUtils;
+import sistema.aeroporto.util.CursorUtils;
+import sistema.aeroporto.util.EtagUtils.Versionado;
+import sistema.aeroporto.util.RestricaoUtils;
 
+@Timed(value = "aeroporto.servico", histogram = true)
 @Service
 public class PilotoService {
 
     @Autowired
     private PilotoRepository pilotoRepository;
 
+    @Autowired
+    private PaginacaoProperties paginacao;
+
+    @Autowired
+    private CadastroCache cadastroCache;
+
+    @Autowired
+    private GeradorMatricula geradorMatricula;
+
     // Converte entity → Response
     private PilotoResponse toResponse(Piloto p) {
         return new PilotoResponse(
@@ -41,29 +63,52 @@ public class PilotoService {
                 p.getStatus().name());
     }
 
+    // Sem @Transactional: o CadastroCache fica desligado dentro de transações, e a consulta do
+    // repositório já é somente leitura
     public PilotoResponse buscarPorId(Long id) {
-        return toResponse(pilotoRepository.findById(id)
+        return toResponse(cadastroCache.piloto(id)
                 .orElseThrow(NotFoundPilotoException::new));
     }
 
+    public Optional<String> versao(Long id) {
+        return pilotoRepository.findVersao(id).map(String::valueOf);
+    }
+
+    // Versão do próprio piloto devolvido, que pode ter vindo do cache
+    public Versionado<PilotoResponse> buscarVersionadoPorId(Long id) {
+        Piloto piloto = cadastroCache.piloto(id).orElseThrow(NotFoundPilotoException::new);
+        return new Versionado<>(toResponse(piloto), String.valueOf(piloto.getVersao()));
+    }
+
+    public String versaoDaListagem() {
+        return pilotoRepository.findVersaoDaTabela();
+    }
+
+    @Transactional(readOnly = true)
     public List<PilotoResponse> listarTodosPilotos() {
-        return pilotoRepository.findAll()
-                .stream()
-                .map(this::toResponse)
-                .toList();
+        return pilotoRepository.listarTodos();
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaResponse<PilotoResponse> listarPilotosPaginado(String cursor, Integer tamanho) {
+        int limite = paginacao.tamanho(tamanho);
+        List<PilotoResponse> pilotos = pilotoRepository.listarAPartirDe(
+                CursorUtils.decodificar(cursor), Limit.of(limite + 1));
+        return PaginaResponse.de(pilotos, limite, Function.identity(), PilotoResponse::id);
     }
 
     public PilotoResponse buscarPorCpf(String cpf) {
         String cpfLimpo = CpfUtils.limpar(cpf);
-        return toResponse(pilotoRepository.findByCpf(cpfLimpo)
+        return toResponse(cadastroCache.pilotoPorCpf(cpfLimpo)
                 .orElseThrow(NotFoundPilotoException::new));
     }
 
     public PilotoResponse buscarPorMatricula(String matricula) {
-        return toResponse(pilotoRepository.findByMatricula(matricula)
+        return toResponse(cadastroCache.pilotoPorMatricula(matricula)
                 .orElseThrow(NotFoundPilotoException::new));
     }
 
+    @Transactional(readOnly = true)
     public Piloto buscarEntidadePorCpf(String cpf) {
         String cpfLimpo = CpfUtils.limpar(cpf);
         return pilotoRepository.findByCpf(cpfLimpo)
@@ -86,9 +131,6 @@ public class PilotoService {
         if (!CpfUtils.validarCpf(cpfLimpo)) {
             throw new CpfInvalidoException();
         }
-        if (pilotoRepository.existsByCpf(cpfLimpo)) {
-            throw new CpfJaCadastradoException();
-        }
 
         Piloto piloto = new Piloto();
         piloto.setNome(request.nome());
@@ -97,7 +139,7 @@ public class PilotoService {
         piloto.setCpf(cpfLimpo);
         piloto.setDataRenovacao(LocalDate.now());
         piloto.setHabilitacao(request.habilitacao());
-        piloto.setMatricula(UUID.randomUUID().toString());
+        piloto.setMatricula(geradorMatricula.proxima());
 
         if (request.status() != null && !request.status().isBlank()) {
             piloto.setStatus(PilotoStatus.valueOf(request.status().toUpperCase()));
@@ -105,11 +147,15 @@ public class PilotoService {
             piloto.setStatus(PilotoStatus.ATIVO);
         }
 
-        Piloto saved = pilotoRepository.save(piloto);
-
-        saved.setMatricula("PIL" + LocalDate.now().getYear() + String.format("%04d", saved.getId()));
-
-        return toResponse(pilotoRepository.save(saved));
+        try {
+            return toResponse(pilotoRepository.saveAndFlush(piloto));
+        } catch (DataIntegrityViolationException e) {
+            // CPF duplicado é detectado pela restrição única, sem consulta prévia
+            if (RestricaoUtils.violou(e, "uk_piloto_cpf")) {
+                throw new CpfJaCadastradoException();
+            }
+            throw e;
+        }
     }
 
     public void deletarPiloto(Long id) {
@@ -117,6 +163,7 @@ public class PilotoService {
             throw new NotFoundPilotoException();
         }
         pilotoRepository.deleteById(id);
+        cadastroCache.invalidarPiloto(id);
     }
 
     public PilotoResponse atualizarPiloto(Long id, PilotoUpdateRequest request) {
@@ -128,6 +175,13 @@ public class PilotoService {
         piloto.setGenero(request.genero());
         piloto.setStatus(PilotoStatus.valueOf(request.status().toUpperCase()));
 
-        return toResponse(pilotoRepository.save(piloto));
+        Piloto salvo;
+        try {
+            salvo = pilotoRepository.save(piloto);
+        } catch (OptimisticLockingFailureException e) {
+            throw new PilotoAlteradoException();
+        }
+        cadastroCache.invalidarPiloto(id);
+        return toResponse(salvo);
     }
 }
\ No newline at end of file
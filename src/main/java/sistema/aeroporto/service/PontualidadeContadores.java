@@ -0,0 +1,211 @@
+package sistema.aeroporto.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import sistema.aeroporto.config.PontualidadeProperties;
+import sistema.aeroporto.model.ContadorPontualidade;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.ContadorPontualidadeRepository;
+
+/**
+ * Mantém os contadores de pontualidade de cada companhia e rota em
+ * contador_pontualidade: o {@link VooService} chama os métodos registrar* na
+ * mesma transação que muda o status do voo, nas transições e na atualização
+ * direta, então a leitura dos indicadores acumulados é uma linha por chave,
+ * sem agregar a tabela voo.
+ *
+ * O que os registros não cobrem (volta de status e horários reais editados na
+ * atualização direta, carga por SQL, mudança da tolerância) é corrigido pela
+ * reconciliação:
+ * ao subir a aplicação e a cada {@code aeroporto.pontualidade.reconciliacao}
+ * os contadores são comparados com uma recontagem da tabela voo e as chaves
+ * divergentes são recalculadas com a linha bloqueada. Uma reconciliação que
+ * falha é registrada no log e no contador
+ * aeroporto.pontualidade.reconciliacao.falhas; a próxima tenta de novo.
+ *
+ * Voos sem companhia contam só na rota.
+ */
+@Component
+public class PontualidadeContadores {
+
+    private static final Logger log = LoggerFactory.getLogger(PontualidadeContadores.class);
+
+    @Autowired
+    private ContadorPontualidadeRepository contadorRepository;
+
+    @Autowired
+    private PontualidadeProperties pontualidadeProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transacao;
+    private TransactionTemplate leitura;
+    private Counter divergencias;
+    private Counter falhasReconciliacao;
+    private ScheduledExecutorService reconciliador;
+
+    @PostConstruct
+    void iniciar() {
+        transacao = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        divergencias = meterRegistry.counter("aeroporto.pontualidade.divergencias");
+        falhasReconciliacao = meterRegistry.counter("aeroporto.pontualidade.reconciliacao.falhas");
+    }
+
+    // Depois da carga inicial; a primeira reconciliação preenche os contadores dos voos já existentes
+    @EventListener(ApplicationReadyEvent.class)
+    void agendarReconciliacao() {
+        reconciliarSemFalhar();
+        long intervalo = pontualidadeProperties.getReconciliacao().toMillis();
+        reconciliador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "pontualidade-reconciliacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciliador.scheduleWithFixedDelay(this::reconciliarSemFalhar, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (reconciliador != null) {
+            reconciliador.shutdownNow();
+        }
+    }
+
+    public void registrarPartida(Voo voo) {
+        long atraso = Duration.between(voo.getHorarioPartidaPrevisto(), voo.getHorarioPartidaReal()).getSeconds();
+        atualizar(voo, chave -> contadorRepository.registrarPartida(chave, atraso));
+    }
+
+    public void registrarChegada(Voo voo) {
+        registrarChegada(voo, 1);
+    }
+
+    // Cancelar um voo concluído tira a sua chegada das contas, como na recontagem
+    public void registrarCancelamento(Voo voo, VooStatus anterior) {
+        if (anterior == VooStatus.CANCELADO) {
+            return;
+        }
+        if (anterior == VooStatus.CONCLUIDO && voo.getHorarioChegadaReal() != null) {
+            registrarChegada(voo, -1);
+        }
+        atualizar(voo, contadorRepository::registrarCancelamento);
+    }
+
+    private void registrarChegada(Voo voo, long sinal) {
+        long atraso = Duration.between(voo.getHorarioChegadaPrevisto(), voo.getHorarioChegadaReal()).getSeconds();
+        long noHorario = atraso <= pontualidadeProperties.getTolerancia().toSeconds() ? sinal : 0;
+        int faixa = ContadorPontualidade.faixa(atraso);
+        atualizar(voo, chave -> contadorRepository.registrarChegada(chave, sinal, noHorario, sinal * atraso, faixa));
+    }
+
+    // Mesmo incremento no contador da companhia e no da rota
+    private void atualizar(Voo voo, ToIntFunction<String> incremento) {
+        if (voo.getCompanhia() != null) {
+            Long companhiaId = voo.getCompanhia().getId();
+            atualizar(ContadorPontualidade.chaveCompanhia(companhiaId), companhiaId, null, null, incremento);
+        }
+        atualizar(ContadorPontualidade.chaveRota(voo.getOrigem(), voo.getDestino()), null, voo.getOrigem(),
+                voo.getDestino(), incremento);
+    }
+
+    private void atualizar(String chave, Long companhiaId, String origem, String destino,
+            ToIntFunction<String> incremento) {
+        if (incremento.applyAsInt(chave) == 0) {
+            criar(chave, companhiaId, origem, destino);
+            incremento.applyAsInt(chave);
+        }
+    }
+
+    // Na própria transação do voo, sem outra conexão do pool: criar() não falha com a chave já existente
+    private void criar(String chave, Long companhiaId, String origem, String destino) {
+        contadorRepository.criar(chave, companhiaId, origem, destino);
+    }
+
+    private void reconciliarSemFalhar() {
+        try {
+            reconciliar();
+        } catch (RuntimeException e) {
+            // Banco indisponível: a próxima execução agendada tenta de novo
+            falhasReconciliacao.increment();
+            log.warn("Falha na reconciliação dos contadores de pontualidade", e);
+        }
+    }
+
+    /**
+     * Compara todos os contadores com a recontagem da tabela voo e recalcula
+     * as chaves divergentes. Retorna quantas chaves foram corrigidas.
+     */
+    public int reconciliar() {
+        long tolerancia = pontualidadeProperties.getTolerancia().toSeconds();
+        Map<String, ContadorPontualidade> esperados = new LinkedHashMap<>();
+        Map<String, ContadorPontualidade> atuais = new LinkedHashMap<>();
+        // Comparação numa leitura só (na réplica, se houver); a correção relê tudo no banco principal
+        leitura.executeWithoutResult(status -> {
+            contadorRepository.recontarPorCompanhia(tolerancia).forEach(c -> esperados.put(c.getChave(), c));
+            contadorRepository.recontarPorRota(tolerancia).forEach(c -> esperados.put(c.getChave(), c));
+            contadorRepository.findAll().forEach(c -> atuais.put(c.getChave(), c));
+        });
+
+        // Chaves sem voos na recontagem (voos removidos ou com outra companhia/rota) devem estar zeradas
+        atuais.forEach((chave, atual) -> esperados.putIfAbsent(chave,
+                new ContadorPontualidade(chave, atual.getCompanhiaId(), atual.getOrigem(), atual.getDestino())));
+
+        int corrigidas = 0;
+        for (ContadorPontualidade esperado : esperados.values()) {
+            ContadorPontualidade atual = atuais.get(esperado.getChave());
+            if (atual == null || !atual.confere(esperado)) {
+                corrigir(esperado, tolerancia);
+                corrigidas++;
+            }
+        }
+        if (corrigidas > 0) {
+            divergencias.increment(corrigidas);
+        }
+        return corrigidas;
+    }
+
+    // Recontagem só da chave, com a linha bloqueada: os incrementos concorrentes esperam o commit
+    private void corrigir(ContadorPontualidade esperado, long tolerancia) {
+        String chave = esperado.getChave();
+        Long companhiaId = esperado.getCompanhiaId();
+        transacao.executeWithoutResult(status -> {
+            ContadorPontualidade atual = contadorRepository.bloquear(chave).orElse(null);
+            if (atual == null) {
+                criar(chave, companhiaId, esperado.getOrigem(), esperado.getDestino());
+                atual = contadorRepository.bloquear(chave).orElseThrow();
+            }
+            ContadorPontualidade recontado = (companhiaId != null
+                    ? contadorRepository.recontarCompanhia(companhiaId, tolerancia)
+                    : contadorRepository.recontarRota(esperado.getOrigem(), esperado.getDestino(), tolerancia))
+                    .orElseGet(() -> new ContadorPontualidade(chave, companhiaId, esperado.getOrigem(),
+                            esperado.getDestino()));
+            atual.copiar(recontado);
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package sistema.aeroporto.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Timed;
+import sistema.aeroporto.config.PontualidadeProperties;
+import sistema.aeroporto.dto.response.PontualidadeAcumuladaResponse;
+import sistema.aeroporto.dto.response.PontualidadeCompanhiaResponse;
+import sistema.aeroporto.dto.response.PontualidadeRotaResponse;
+import sistema.aeroporto.exception.NotFoundCompanhiaAereaException;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.ContadorPontualidade;
+import sistema.aeroporto.repository.ContadorPontualidadeRepository;
+import sistema.aeroporto.repository.VooRepository;
+
+/**
+ * Pontualidade (voos concluídos no horário e atraso médio de partida e
+ * chegada) por companhia e por rota. A agregação é feita pelo banco com
+ * GROUP BY sobre um índice de cobertura; só as linhas de resumo chegam à
+ * aplicação. O período filtra pela data de partida prevista e, sem limites,
+ * cobre todo o histórico.
+ *
+ * Os indicadores acumulados (todo o histórico, sem período) vêm dos
+ * contadores mantidos pelo {@link PontualidadeContadores}: uma linha por
+ * companhia ou rota, sem agregar a tabela de voos.
+ *
+ * Os métodos que completam as linhas com o nome da companhia não abrem
+ * transação: o {@link CadastroCache} fica desligado dentro de transações, e
+ * cada nome seria um SELECT. Fora dela, as consultas dos repositórios já
+ * são somente leitura e os nomes vêm do cache.
+ */
+@Timed(value = "aeroporto.servico", histogram = true)
+@Service
+public class PontualidadeService {
+
+    // Limites usados quando o período não é informado, para que a consulta seja sempre por faixa
+    private static final LocalDateTime INICIO = LocalDate.of(1900, 1, 1).atStartOfDay();
+    private static final LocalDateTime FIM = LocalDate.of(9999, 12, 31).atStartOfDay();
+
+    @Autowired
+    private VooRepository vooRepository;
+
+    @Autowired
+    private ContadorPontualidadeRepository contadorRepository;
+
+    @Autowired
+    private CadastroCache cadastroCache;
+
+    @Autowired
+    private PontualidadeProperties pontualidadeProperties;
+
+    public List<PontualidadeCompanhiaResponse> porCompanhia(LocalDate de, LocalDate ate) {
+        return vooRepository.pontualidadePorCompanhia(inicio(de), fim(ate), tolerancia()).stream()
+                .map(linha -> linha.comNome(nomeDaCompanhia(linha.companhiaId())))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<PontualidadeRotaResponse> porRota(LocalDate de, LocalDate ate) {
+        return vooRepository.pontualidadePorRota(inicio(de), fim(ate), tolerancia());
+    }
+
+    public List<PontualidadeAcumuladaResponse> acumuladaPorCompanhia() {
+        return contadorRepository.findAll().stream()
+                .filter(c -> c.getCompanhiaId() != null)
+                .sorted(Comparator.comparing(ContadorPontualidade::getCompanhiaId))
+                .map(c -> PontualidadeAcumuladaResponse.de(c, nomeDaCompanhia(c.getCompanhiaId())))
+                .toList();
+    }
+
+    public PontualidadeAcumuladaResponse acumuladaDaCompanhia(Long companhiaId) {
+        CompanhiaAerea companhia = cadastroCache.companhia(companhiaId)
+                .orElseThrow(NotFoundCompanhiaAereaException::new);
+        String chave = ContadorPontualidade.chaveCompanhia(companhiaId);
+        // Companhia que ainda não teve voos iniciados, finalizados ou cancelados
+        ContadorPontualidade contador = contadorRepository.findById(chave)
+                .orElseGet(() -> new ContadorPontualidade(chave, companhiaId, null, null));
+        return PontualidadeAcumuladaResponse.de(contador, companhia.getNome());
+    }
+
+    @Transactional(readOnly = true)
+    public List<PontualidadeAcumuladaResponse> acumuladaPorRota() {
+        return contadorRepository.findAll().stream()
+                // Só as chaves de rota: uma chave de companhia sem id (gravada pela reconciliação antes de
+                // ignorar voos sem companhia) não tem origem nem destino
+                .filter(c -> c.getCompanhiaId() == null && c.getOrigem() != null && c.getDestino() != null)
+                .sorted(Comparator.comparing(ContadorPontualidade::getOrigem)
+                        .thenComparing(ContadorPontualidade::getDestino))
+                .map(c -> PontualidadeAcumuladaResponse.de(c, null))
+                .toList();
+    }
+
+    private String nomeDaCompanhia(Long companhiaId) {
+        return cadastroCache.companhia(companhiaId).map(CompanhiaAerea::getNome).orElse(null);
+    }
+
+    private static LocalDateTime inicio(LocalDate de) {
+        return de == null ? INICIO : de.atStartOfDay();
+    }
+
+    // Data final inclusiva
+    private static LocalDateTime fim(LocalDate ate) {
+        return ate == null ? FIM : ate.plusDays(1).atStartOfDay();
+    }
+
+    private long tolerancia() {
+        return pontualidadeProperties.getTolerancia().toSeconds();
+    }
+}
@@ -0,0 +1,101 @@
+package sistema.aeroporto.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import sistema.aeroporto.config.ValidacaoProperties;
+import sistema.aeroporto.dto.response.DocumentoValidacaoResponse;
+import sistema.aeroporto.exception.LimiteDocumentosExcedidoException;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.util.CnpjUtils;
+import sistema.aeroporto.util.CpfUtils;
+
+/**
+ * Validação em massa de CPFs de pilotos e CNPJs de companhias antes de uma
+ * importação. Os dígitos verificadores são conferidos em paralelo no pool
+ * fork-join; os documentos válidos são procurados no banco em consultas IN
+ * de até {@code aeroporto.validacao.tamanho-consulta} itens. O resultado tem
+ * a mesma ordem da entrada.
+ */
+@Service
+public class ValidacaoDocumentosService {
+
+    public enum Situacao {
+        VALIDO, INVALIDO, JA_CADASTRADO
+    }
+
+    @Autowired
+    private PilotoRepository pilotoRepository;
+
+    @Autowired
+    private CompanhiaAereaRepository companhiaAereaRepository;
+
+    @Autowired
+    private ValidacaoProperties validacaoProperties;
+
+    public List<DocumentoValidacaoResponse> validarCpfs(List<String> cpfs) {
+        return validar(cpfs, CpfUtils::validarCpf, CpfUtils::limpar, pilotoRepository::findCpfsExistentes);
+    }
+
+    public List<DocumentoValidacaoResponse> validarCnpjs(List<String> cnpjs) {
+        return validar(cnpjs, CnpjUtils::validarCnpj, CnpjUtils::limpar, companhiaAereaRepository::findCnpjsExistentes);
+    }
+
+    private List<DocumentoValidacaoResponse> validar(List<String> documentos, Predicate<String> validador,
+            Function<String, String> limpar, Function<Set<String>, Set<String>> existentes) {
+        if (documentos.size() > validacaoProperties.getMaximoDocumentos()) {
+            throw new LimiteDocumentosExcedidoException(validacaoProperties.getMaximoDocumentos());
+        }
+        List<String> entrada = documentos instanceof RandomAccess ? documentos : new ArrayList<>(documentos);
+
+        // Só CPU: cada posição é escrita por uma única tarefa; null indica documento inválido
+        String[] normalizados = new String[entrada.size()];
+        IntStream.range(0, normalizados.length).parallel().forEach(i -> {
+            String documento = entrada.get(i);
+            if (documento != null && validador.test(documento)) {
+                normalizados[i] = limpar.apply(documento);
+            }
+        });
+
+        Set<String> cadastrados = consultarCadastrados(normalizados, existentes);
+
+        List<DocumentoValidacaoResponse> resultado = new ArrayList<>(normalizados.length);
+        for (int i = 0; i < normalizados.length; i++) {
+            Situacao situacao = normalizados[i] == null ? Situacao.INVALIDO
+                    : cadastrados.contains(normalizados[i]) ? Situacao.JA_CADASTRADO
+                            : Situacao.VALIDO;
+            resultado.add(new DocumentoValidacaoResponse(entrada.get(i), situacao.name()));
+        }
+        return resultado;
+    }
+
+    private Set<String> consultarCadastrados(String[] normalizados, Function<Set<String>, Set<String>> existentes) {
+        int tamanho = validacaoProperties.getTamanhoConsulta();
+        Set<String> cadastrados = new HashSet<>();
+        Set<String> consulta = new HashSet<>();
+        Set<String> vistos = new HashSet<>();
+        for (String documento : normalizados) {
+            if (documento != null && vistos.add(documento)) {
+                consulta.add(documento);
+                if (consulta.size() == tamanho) {
+                    cadastrados.addAll(existentes.apply(consulta));
+                    consulta = new HashSet<>();
+                }
+            }
+        }
+        if (!consulta.isEmpty()) {
+            cadastrados.addAll(existentes.apply(consulta));
+        }
+        return cadastrados;
+    }
+}
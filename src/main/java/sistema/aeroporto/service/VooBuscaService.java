@@ -0,0 +1,152 @@
+package sistema.aeroporto.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Timed;
+import sistema.aeroporto.config.PaginacaoProperties;
+import sistema.aeroporto.dto.response.PaginaResponse;
+import sistema.aeroporto.dto.response.VooResumoResponse;
+import sistema.aeroporto.exception.OrdenacaoInvalidaException;
+import sistema.aeroporto.exception.StatusVooInvalidoException;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.VooEspecificacoes;
+import sistema.aeroporto.repository.VooRepository;
+import sistema.aeroporto.util.CursorUtils;
+
+/**
+ * Busca de voos por filtros combinados (origem, destino, faixa de datas de
+ * partida, status, companhia e piloto), ordenada e paginada por cursor. Os
+ * filtros, a posição do cursor e o limite vão todos na mesma consulta, que
+ * devolve só o resumo de cada voo.
+ */
+@Timed(value = "aeroporto.servico", histogram = true)
+@Service
+public class VooBuscaService {
+
+    @Autowired
+    private VooRepository vooRepository;
+
+    @Autowired
+    private PaginacaoProperties paginacao;
+
+    public enum Ordenacao {
+        PARTIDA("partida", Sort.by("horarioPartidaPrevisto", "id")),
+        PARTIDA_DESC("-partida", Sort.by("horarioPartidaPrevisto", "id").descending()),
+        ID("id", Sort.by("id")),
+        ID_DESC("-id", Sort.by("id").descending());
+
+        private final String valor;
+        private final Sort sort;
+
+        Ordenacao(String valor, Sort sort) {
+            this.valor = valor;
+            this.sort = sort;
+        }
+
+        // Ausente: partida mais próxima primeiro
+        public static Ordenacao de(String valor) {
+            if (valor == null || valor.isBlank()) {
+                return PARTIDA;
+            }
+            for (Ordenacao ordenacao : values()) {
+                if (ordenacao.valor.equalsIgnoreCase(valor.trim())) {
+                    return ordenacao;
+                }
+            }
+            throw new OrdenacaoInvalidaException();
+        }
+
+        boolean porPartida() {
+            return this == PARTIDA || this == PARTIDA_DESC;
+        }
+
+        boolean decrescente() {
+            return this == PARTIDA_DESC || this == ID_DESC;
+        }
+    }
+
+    public record Filtro(String origem, String destino, LocalDateTime partidaDe, LocalDateTime partidaAte,
+            List<VooStatus> status, Long companhiaId, Long pilotoId) {
+
+        // Datas inclusivas: dataPartidaAte cobre o dia inteiro
+        public static Filtro de(String origem, String destino, LocalDate dataPartidaDe, LocalDate dataPartidaAte,
+                List<String> status, Long companhiaId, Long pilotoId) {
+            List<VooStatus> vooStatus = new ArrayList<>();
+            if (status != null) {
+                for (String valor : status) {
+                    if (valor == null || valor.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        vooStatus.add(VooStatus.fromString(valor.trim()));
+                    } catch (IllegalArgumentException e) {
+                        throw new StatusVooInvalidoException();
+                    }
+                }
+            }
+            return new Filtro(
+                    maiusculo(origem),
+                    maiusculo(destino),
+                    dataPartidaDe == null ? null : dataPartidaDe.atStartOfDay(),
+                    dataPartidaAte == null ? null : dataPartidaAte.plusDays(1).atStartOfDay(),
+                    vooStatus,
+                    companhiaId,
+                    pilotoId);
+        }
+
+        // Origem e destino são gravados em maiúsculas (VooService.novoVoo)
+        private static String maiusculo(String icao) {
+            return icao == null || icao.isBlank() ? null : icao.trim().toUpperCase();
+        }
+
+        Specification<Voo> especificacao() {
+            return Specification.allOf(
+                    VooEspecificacoes.origem(origem),
+                    VooEspecificacoes.destino(destino),
+                    VooEspecificacoes.partidaEntre(partidaDe, partidaAte),
+                    VooEspecificacoes.status(status),
+                    VooEspecificacoes.companhia(companhiaId),
+                    VooEspecificacoes.piloto(pilotoId));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaResponse<VooResumoResponse> buscar(Filtro filtro, String ordenacao, String cursor,
+            Integer tamanho) {
+        Ordenacao ordem = Ordenacao.de(ordenacao);
+        int limite = paginacao.tamanho(tamanho);
+
+        Specification<Voo> especificacao = filtro.especificacao().and(posicao(ordem, cursor));
+        List<VooResumoResponse> voos = vooRepository.buscarResumos(especificacao, ordem.sort, Limit.of(limite + 1));
+
+        if (ordem.porPartida()) {
+            return PaginaResponse.comCursor(voos, limite, v -> v,
+                    v -> CursorUtils.codificar(v.horarioPartidaPrevisto(), v.id()));
+        }
+        return PaginaResponse.de(voos, limite, v -> v, VooResumoResponse::id);
+    }
+
+    // O cursor carrega a chave de ordenação do último voo da página anterior
+    private static Specification<Voo> posicao(Ordenacao ordem, String cursor) {
+        if (ordem.porPartida()) {
+            CursorUtils.Posicao posicao = CursorUtils.decodificarPosicao(cursor);
+            return posicao == null ? Specification.unrestricted()
+                    : VooEspecificacoes.aposPartida(posicao.horario(), posicao.id(), ordem.decrescente());
+        }
+        if (cursor == null || cursor.isBlank()) {
+            return Specification.unrestricted();
+        }
+        return VooEspecificacoes.aposId(CursorUtils.decodificar(cursor), ordem.decrescente());
+    }
+}
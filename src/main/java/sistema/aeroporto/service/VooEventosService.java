@@ -0,0 +1,312 @@
+package sistema.aeroporto.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import sistema.aeroporto.config.EventosProperties;
+import sistema.aeroporto.dto.response.VooEventoResponse;
+import sistema.aeroporto.exception.StatusVooInvalidoException;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.util.TransacaoUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Stream SSE das mudanças de status dos voos (evento "status") e dos voos
+ * que passaram do horário previsto sem a transição esperada (evento
+ * "atraso", publicado pelo {@link AgendadorVoos}).
+ *
+ * Quem publica (o {@link VooService}) só entrega o evento a uma thread de
+ * distribuição, que o coloca na fila limitada de cada assinante cujo filtro
+ * o aceita; um pool de threads de envio esvazia as filas. Cada assinante tem no máximo
+ * uma tarefa de envio por vez, e cada tarefa envia um lote limitado antes de
+ * voltar ao fim da fila do pool, então os assinantes são atendidos em
+ * rodízio. Se a fila de um assinante enche, a conexão é encerrada e o
+ * cliente reconecta. Um envio que passa de aeroporto.eventos.prazo-envio
+ * encerra o assinante: a thread presa é interrompida e, até voltar, outra a
+ * substitui no pool, então clientes travados não tiram threads dos demais
+ * assinantes. O JSON do evento é gerado uma vez e
+ * reaproveitado por todos os assinantes. Conexões ociosas não prendem
+ * threads (requisição assíncrona).
+ */
+@Service
+public class VooEventosService {
+
+    // Marcador de heartbeat enfileirado junto com os eventos
+    private static final Object HEARTBEAT = new Object();
+
+    // Envios por tarefa antes de devolver a vez aos demais assinantes
+    private static final int ENVIOS_POR_TAREFA = 32;
+
+    @Autowired
+    private EventosProperties eventosProperties;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequencia = new AtomicLong();
+
+    private ThreadPoolExecutor envio;
+    private ScheduledExecutorService distribuidor;
+
+    public record Filtro(VooStatus status, Long companhiaId, String icao) {
+
+        public static Filtro de(String status, Long companhiaId, String icao) {
+            VooStatus vooStatus = null;
+            if (status != null && !status.isBlank()) {
+                try {
+                    vooStatus = VooStatus.fromString(status);
+                } catch (IllegalArgumentException e) {
+                    throw new StatusVooInvalidoException();
+                }
+            }
+            String aeroporto = icao == null || icao.isBlank() ? null : icao.toUpperCase();
+            return new Filtro(vooStatus, companhiaId, aeroporto);
+        }
+
+        boolean aceita(VooEventoResponse evento) {
+            return (status == null || status.name().equals(evento.status()))
+                    && (companhiaId == null || companhiaId.equals(evento.companhiaId()))
+                    && (icao == null || icao.equals(evento.origem()) || icao.equals(evento.destino()));
+        }
+    }
+
+    // Mesmo id e mesmo JSON para todos os assinantes do evento
+    private record Evento(long id, String nome, VooEventoResponse dados, String json) {
+    }
+
+    private static final class Assinante {
+
+        private final SseEmitter emitter;
+        private final Filtro filtro;
+        private final BlockingQueue<Object> fila;
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private volatile boolean encerrado;
+        // Início (nanoTime) do envio em andamento, 0 sem envio, e a thread que o faz
+        private volatile long inicioEnvio;
+        private volatile Thread escritor;
+        // Envio passou do prazo: o assinante saiu e a thread foi substituída no pool
+        private boolean abandonado;
+
+        private Assinante(SseEmitter emitter, Filtro filtro, int capacidade) {
+            this.emitter = emitter;
+            this.filtro = filtro;
+            this.fila = new ArrayBlockingQueue<>(capacidade);
+        }
+    }
+
+    @PostConstruct
+    void iniciar() {
+        int threads = eventosProperties.getThreadsEnvio();
+        envio = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                threads("voo-eventos-envio-"));
+        distribuidor = Executors.newSingleThreadScheduledExecutor(threads("voo-eventos-distribuicao-"));
+        long intervalo = eventosProperties.getHeartbeat().toMillis();
+        distribuidor.scheduleAtFixedRate(() -> distribuir(HEARTBEAT), intervalo, intervalo, TimeUnit.MILLISECONDS);
+        long verificacao = Math.max(1, eventosProperties.getPrazoEnvio().toMillis() / 2);
+        distribuidor.scheduleAtFixedRate(this::vigiarEnvios, verificacao, verificacao, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        distribuidor.shutdownNow();
+        envio.shutdownNow();
+        assinantes.forEach(a -> a.emitter.complete());
+        assinantes.clear();
+    }
+
+    public SseEmitter assinar(Filtro filtro) {
+        SseEmitter emitter = new SseEmitter(eventosProperties.getTimeout().toMillis());
+        registrar(emitter, filtro);
+        return emitter;
+    }
+
+    void registrar(SseEmitter emitter, Filtro filtro) {
+        Assinante assinante = new Assinante(emitter, filtro, eventosProperties.getCapacidadeFila());
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(() -> assinantes.remove(assinante));
+        emitter.onError(e -> assinantes.remove(assinante));
+        assinantes.add(assinante);
+    }
+
+    public int assinantes() {
+        return assinantes.size();
+    }
+
+    // Publica a mudança de status após o commit da transação corrente
+    public void publicar(Voo voo, VooStatus statusAnterior) {
+        publicar("status", voo, statusAnterior);
+    }
+
+    // Voo que chegou ao horário previsto de partida ou chegada sem a transição correspondente
+    public void publicarAtraso(Voo voo) {
+        publicar("atraso", voo, voo.getStatus());
+    }
+
+    private void publicar(String nome, Voo voo, VooStatus statusAnterior) {
+        VooEventoResponse evento = new VooEventoResponse(
+                voo.getId(),
+                voo.getCodigo(),
+                statusAnterior == null ? null : statusAnterior.name(),
+                voo.getStatus().name(),
+                voo.getCompanhia() == null ? null : voo.getCompanhia().getId(),
+                voo.getOrigem(),
+                voo.getDestino(),
+                LocalDateTime.now());
+        TransacaoUtils.aposCommit(() -> distribuidor.execute(() -> distribuir(
+                new Evento(sequencia.incrementAndGet(), nome, evento, jsonMapper.writeValueAsString(evento)))));
+    }
+
+    private void distribuir(Object item) {
+        for (Assinante assinante : assinantes) {
+            if (item == HEARTBEAT || assinante.filtro.aceita(((Evento) item).dados())) {
+                entregar(assinante, item);
+            }
+        }
+    }
+
+    private void entregar(Assinante assinante, Object item) {
+        if (!assinante.fila.offer(item)) {
+            // Cliente não acompanha o ritmo: sai da lista e a tarefa de envio fecha a conexão
+            assinantes.remove(assinante);
+            assinante.encerrado = true;
+            assinante.fila.clear();
+        }
+        agendar(assinante);
+    }
+
+    private void agendar(Assinante assinante) {
+        if (assinante.agendado.compareAndSet(false, true)) {
+            envio.execute(() -> enviar(assinante));
+        }
+    }
+
+    private void enviar(Assinante assinante) {
+        assinante.escritor = Thread.currentThread();
+        try {
+            for (int i = 0; i < ENVIOS_POR_TAREFA && !assinante.encerrado; i++) {
+                Object item = assinante.fila.poll();
+                if (item == null) {
+                    break;
+                }
+                enviar(assinante, item);
+            }
+            if (assinante.encerrado) {
+                assinante.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Conexão fechada pelo cliente, já concluída ou envio interrompido por passar do prazo
+            assinantes.remove(assinante);
+            assinante.encerrado = true;
+            return;
+        } finally {
+            liberarEscritor(assinante);
+            assinante.agendado.set(false);
+        }
+        // Restante do lote, ou itens e encerramento que chegaram depois do último poll
+        if (!assinante.fila.isEmpty() || assinante.encerrado) {
+            agendar(assinante);
+        }
+    }
+
+    private void enviar(Assinante assinante, Object item) throws IOException {
+        assinante.inicioEnvio = System.nanoTime();
+        try {
+            if (item == HEARTBEAT) {
+                assinante.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                Evento evento = (Evento) item;
+                assinante.emitter.send(SseEmitter.event()
+                        .id(Long.toString(evento.id()))
+                        .name(evento.nome())
+                        .data(evento.json(), MediaType.APPLICATION_JSON));
+            }
+        } finally {
+            // Com o lock: a vigilância só interrompe a thread enquanto ela envia para este assinante
+            synchronized (assinante) {
+                assinante.inicioEnvio = 0;
+            }
+        }
+    }
+
+    private void liberarEscritor(Assinante assinante) {
+        assinante.escritor = null;
+        synchronized (assinante) {
+            if (!assinante.abandonado) {
+                return;
+            }
+        }
+        // A interrupção pode ter chegado depois do envio: não passa para a próxima tarefa desta thread
+        Thread.interrupted();
+        ajustarThreadsEnvio(-1);
+    }
+
+    // Roda no distribuidor: encerra os assinantes com um envio acima do prazo
+    private void vigiarEnvios() {
+        long prazo = eventosProperties.getPrazoEnvio().toNanos();
+        long agora = System.nanoTime();
+        for (Assinante assinante : assinantes) {
+            long inicio = assinante.inicioEnvio;
+            if (inicio != 0 && agora - inicio > prazo) {
+                abandonar(assinante);
+            }
+        }
+    }
+
+    private void abandonar(Assinante assinante) {
+        synchronized (assinante) {
+            if (assinante.inicioEnvio == 0 || assinante.abandonado) {
+                return;
+            }
+            assinante.abandonado = true;
+            assinantes.remove(assinante);
+            assinante.encerrado = true;
+            assinante.fila.clear();
+            // Outra thread ocupa o lugar da presa até ela voltar; a interrupção desbloqueia a escrita quando possível
+            ajustarThreadsEnvio(1);
+            assinante.escritor.interrupt();
+        }
+    }
+
+    private synchronized void ajustarThreadsEnvio(int diferenca) {
+        // O máximo nunca fica abaixo do núcleo: aumenta primeiro o máximo, diminui primeiro o núcleo
+        if (diferenca > 0) {
+            envio.setMaximumPoolSize(envio.getMaximumPoolSize() + diferenca);
+            envio.setCorePoolSize(envio.getCorePoolSize() + diferenca);
+        } else {
+            envio.setCorePoolSize(envio.getCorePoolSize() + diferenca);
+            envio.setMaximumPoolSize(envio.getMaximumPoolSize() + diferenca);
+        }
+    }
+
+    private static ThreadFactory threads(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, prefixo + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,136 @@
+package sistema.aeroporto.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import sistema.aeroporto.exception.FormatoExportacaoInvalidoException;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.repository.VooRepository;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Exportação de todos os voos em NDJSON (um VooResponse por linha) ou CSV.
+ * Os voos são lidos por cursor e escritos conforme chegam; a cada bloco o
+ * contexto de persistência é limpo, então a memória usada não cresce com o
+ * tamanho da tabela.
+ */
+@Service
+public class VooExportacaoService {
+
+    // Mesmo valor do fetch size de VooRepository.streamTodos
+    private static final int LIMPAR_A_CADA = 500;
+
+    private static final String CABECALHO_CSV = "id,codigo,origem,destino,horarioPartidaPrevisto,"
+            + "horarioChegadaPrevisto,horarioPartidaReal,horarioChegadaReal,status,motivoCancelamento,"
+            + "pilotoId,pilotoNome,companhiaId,companhiaNome";
+
+    public enum Formato {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Formato(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static Formato de(String valor) {
+            for (Formato formato : values()) {
+                if (formato.name().equalsIgnoreCase(valor)) {
+                    return formato;
+                }
+            }
+            throw new FormatoExportacaoInvalidoException();
+        }
+    }
+
+    @Autowired
+    private VooRepository vooRepository;
+
+    @Autowired
+    private VooService vooService;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void exportar(Formato formato, OutputStream saida) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        try (Stream<Voo> voos = vooRepository.streamTodos()) {
+            if (formato == Formato.CSV) {
+                writer.write(CABECALHO_CSV);
+                writer.write('\n');
+            }
+            int escritos = 0;
+            Iterator<Voo> iterator = voos.iterator();
+            while (iterator.hasNext()) {
+                Voo voo = iterator.next();
+                if (formato == Formato.CSV) {
+                    escreverCsv(writer, voo);
+                } else {
+                    writer.write(jsonMapper.writeValueAsString(vooService.toResponse(voo)));
+                    writer.write('\n');
+                }
+                if (++escritos % LIMPAR_A_CADA == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void escreverCsv(Writer writer, Voo v) throws IOException {
+        campo(writer, v.getId(), false);
+        campo(writer, v.getCodigo(), false);
+        campo(writer, v.getOrigem(), false);
+        campo(writer, v.getDestino(), false);
+        campo(writer, v.getHorarioPartidaPrevisto(), false);
+        campo(writer, v.getHorarioChegadaPrevisto(), false);
+        campo(writer, v.getHorarioPartidaReal(), false);
+        campo(writer, v.getHorarioChegadaReal(), false);
+        campo(writer, v.getStatus(), false);
+        campo(writer, v.getMotivoCancelamento(), false);
+        campo(writer, v.getPiloto() == null ? null : v.getPiloto().getId(), false);
+        campo(writer, v.getPiloto() == null ? null : v.getPiloto().getNome(), false);
+        campo(writer, v.getCompanhia() == null ? null : v.getCompanhia().getId(), false);
+        campo(writer, v.getCompanhia() == null ? null : v.getCompanhia().getNome(), true);
+    }
+
+    // RFC 4180: aspas em volta de valores com separador, aspas ou quebra de linha
+    private static void campo(Writer writer, Object valor, boolean ultimo) throws IOException {
+        if (valor != null) {
+            String texto = valor.toString();
+            if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0
+                    || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(texto.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(texto);
+            }
+        }
+        writer.write(ultimo ? '\n' : ',');
+    }
+}
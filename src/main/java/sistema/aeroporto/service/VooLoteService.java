@@ -0,0 +1,276 @@
+package sistema.aeroporto.service;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import sistema.aeroporto.config.LoteProperties;
+import sistema.aeroporto.dto.request.VooRequest;
+import sistema.aeroporto.dto.response.VooLoteResponse;
+import sistema.aeroporto.exception.*;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+import sistema.aeroporto.util.RestricaoUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Criação de voos em lote. O corpo é lido como stream, um voo por vez, e
+ * processado em blocos de {@link LoteProperties#getTamanho()} linhas: cada
+ * bloco valida códigos, pilotos e companhias com uma consulta por conjunto e
+ * grava os voos válidos em uma transação, com os INSERTs agrupados em batch
+ * JDBC. O resultado traz o desfecho de cada linha, na ordem de envio.
+ *
+ * Um código gravado por outra requisição entre a consulta do bloco e o
+ * INSERT viola uk_voo_codigo e desfaz o bloco; ele é gravado de novo, e a
+ * nova consulta rejeita só as linhas com o código repetido.
+ *
+ * Um erro de sintaxe no meio do corpo não desfaz os blocos já gravados: as
+ * linhas lidas antes dele são gravadas e o resultado termina com a linha em
+ * que a leitura parou, rejeitada, para que o cliente reenvie só dali em diante.
+ */
+@Service
+public class VooLoteService {
+
+    @Autowired
+    private VooRepository vooRepository;
+
+    @Autowired
+    private PilotoRepository pilotoRepository;
+
+    @Autowired
+    private CompanhiaAereaRepository companhiaAereaRepository;
+
+    @Autowired
+    private EscalaPilotoIndex escalaPilotoIndex;
+
+    @Autowired
+    private PainelAeroportoIndex painelAeroportoIndex;
+
+    @Autowired
+    private AgendadorVoos agendadorVoos;
+
+    @Autowired
+    private LoteProperties loteProperties;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Gravações de um bloco que esbarram em códigos gravados em paralelo antes de desistir dele
+    static final int TENTATIVAS_CODIGO = 3;
+
+    static final String LEITURA_INTERROMPIDA =
+            "JSON inválido a partir desta linha: ela e as seguintes não foram processadas";
+
+    private record Linha(int numero, VooRequest request) {
+    }
+
+    public List<VooLoteResponse> criarLote(InputStream corpo) {
+        int tamanho = loteProperties.getTamanho();
+        List<VooLoteResponse> resultados = new ArrayList<>();
+        Set<String> codigosDoLote = new HashSet<>();
+        List<Linha> bloco = new ArrayList<>(tamanho);
+        int numero = 0;
+
+        VooLoteResponse interrompido = null;
+
+        MappingIterator<VooRequest> voos;
+        try {
+            voos = jsonMapper.readerFor(VooRequest.class).readValues(corpo);
+        } catch (JacksonException e) {
+            throw new LoteInvalidoException();
+        }
+        try (voos) {
+            while (true) {
+                VooRequest request;
+                try {
+                    if (!voos.hasNextValue()) {
+                        break;
+                    }
+                    request = voos.nextValue();
+                } catch (JacksonException e) {
+                    // Sem nenhuma linha lida nada foi gravado: o corpo inteiro é inválido
+                    if (numero == 0) {
+                        throw new LoteInvalidoException();
+                    }
+                    // Os blocos completos já foram gravados; as linhas lidas até aqui também são, e a
+                    // resposta diz a partir de qual linha o lote não foi processado
+                    interrompido = VooLoteResponse.rejeitado(numero + 1, null, LEITURA_INTERROMPIDA);
+                    break;
+                }
+                bloco.add(new Linha(++numero, request));
+                if (bloco.size() == tamanho) {
+                    resultados.addAll(gravarBloco(bloco, codigosDoLote));
+                    bloco.clear();
+                }
+            }
+        }
+        if (!bloco.isEmpty()) {
+            resultados.addAll(gravarBloco(bloco, codigosDoLote));
+        }
+        if (interrompido != null) {
+            resultados.add(interrompido);
+        }
+        return resultados;
+    }
+
+    private List<VooLoteResponse> gravarBloco(List<Linha> bloco, Set<String> codigosDoLote) {
+        VooLoteResponse[] resultados = new VooLoteResponse[bloco.size()];
+        List<Integer> validas = new ArrayList<>();
+        for (int i = 0; i < bloco.size(); i++) {
+            String erro = validarCampos(bloco.get(i).request());
+            if (erro != null) {
+                resultados[i] = rejeitado(bloco.get(i), erro);
+            } else {
+                validas.add(i);
+            }
+        }
+        if (validas.isEmpty()) {
+            return List.of(resultados);
+        }
+
+        List<Voo> reservados = new ArrayList<>();
+        for (int tentativa = 1;; tentativa++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    entityManager.unwrap(Session.class).setJdbcBatchSize(loteProperties.getTamanho());
+
+                    Set<String> existentes = vooRepository.findCodigosExistentes(
+                            validas.stream().map(i -> bloco.get(i).request().codigo()).toList());
+                    Map<Long, Piloto> pilotos = pilotoRepository.findAllById(
+                            validas.stream().map(i -> bloco.get(i).request().pilotoId()).collect(Collectors.toSet()))
+                            .stream().collect(Collectors.toMap(Piloto::getId, Function.identity()));
+                    Map<Long, CompanhiaAerea> companhias = companhiaAereaRepository.findAllById(
+                            validas.stream().map(i -> bloco.get(i).request().companhiaId()).collect(Collectors.toSet()))
+                            .stream().collect(Collectors.toMap(CompanhiaAerea::getId, Function.identity()));
+
+                    for (int i : validas) {
+                        Linha linha = bloco.get(i);
+                        try {
+                            Voo voo = reservar(linha.request(), existentes, codigosDoLote, pilotos, companhias);
+                            reservados.add(voo);
+                            resultados[i] = VooLoteResponse.criado(linha.numero(), voo.getCodigo(), voo.getId());
+                        } catch (RuntimeException e) {
+                            resultados[i] = rejeitado(linha, e.getMessage());
+                        }
+                    }
+
+                    // Pelo repositório, para a violação de restrição chegar traduzida pelo Spring
+                    vooRepository.flush();
+                    entityManager.clear();
+                });
+                reservados.forEach(painelAeroportoIndex::sincronizar);
+                reservados.forEach(agendadorVoos::agendar);
+                break;
+            } catch (DataAccessException | PersistenceException e) {
+                // Bloco desfeito: nenhum voo dele foi gravado
+                for (Voo voo : reservados) {
+                    escalaPilotoIndex.liberar(voo);
+                    codigosDoLote.remove(voo.getCodigo());
+                }
+                // Código gravado por outra requisição entre a consulta e o INSERT: a nova tentativa o
+                // encontra na consulta e rejeita só as linhas repetidas, gravando as demais
+                if (tentativa < TENTATIVAS_CODIGO && e instanceof DataIntegrityViolationException violacao
+                        && RestricaoUtils.violou(violacao, "uk_voo_codigo")) {
+                    reservados.clear();
+                    validas.forEach(i -> resultados[i] = null);
+                    continue;
+                }
+                for (int i : validas) {
+                    if (resultados[i] == null || resultados[i].id() != null) {
+                        resultados[i] = rejeitado(bloco.get(i), "Erro ao gravar o voo");
+                    }
+                }
+                break;
+            }
+        }
+        return List.of(resultados);
+    }
+
+    // Mesmas regras de criarVoo, consultando os conjuntos carregados para o bloco
+    private Voo reservar(VooRequest request, Set<String> existentes, Set<String> codigosDoLote,
+            Map<Long, Piloto> pilotos, Map<Long, CompanhiaAerea> companhias) {
+        if (existentes.contains(request.codigo()) || codigosDoLote.contains(request.codigo())) {
+            throw new CodigoVooExistenteException();
+        }
+
+        Piloto piloto = pilotos.get(request.pilotoId());
+        if (piloto == null) {
+            throw new NotFoundPilotoException();
+        }
+        if (piloto.getStatus() == PilotoStatus.INATIVO) {
+            throw new PilotoInativoException();
+        }
+
+        CompanhiaAerea companhia = companhias.get(request.companhiaId());
+        if (companhia == null) {
+            throw new NotFoundCompanhiaAereaException();
+        }
+        if (companhia.getStatus() != CompanhiaAereaStatus.ATIVA) {
+            throw new CompanhiaNaoAtivaException();
+        }
+
+        Voo voo = VooService.novoVoo(request, piloto, companhia);
+        LocalDateTime partida = voo.getHorarioPartidaPrevisto();
+        escalaPilotoIndex.reservar(piloto.getId(), partida, voo.getHorarioChegadaPrevisto(), () -> {
+            entityManager.persist(voo);
+            return voo;
+        });
+        codigosDoLote.add(voo.getCodigo());
+        return voo;
+    }
+
+    // Bean Validation do VooRequest seguida das regras de preenchimento do VooService
+    private String validarCampos(VooRequest request) {
+        if (request == null) {
+            return "Voo não informado";
+        }
+        for (ConstraintViolation<VooRequest> violacao : validator.validate(request)) {
+            return violacao.getMessage();
+        }
+        try {
+            VooService.validarCampos(request);
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private VooLoteResponse rejeitado(Linha linha, String mensagem) {
+        String codigo = linha.request() != null ? linha.request().codigo() : null;
+        return VooLoteResponse.rejeitado(linha.numero(), codigo, mensagem);
+    }
+}
@@ -2,13 +2,22 @@ package sistema.aeroporto.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
 import sistema.aeroporto.dto.request.VooRequest;
 import sistema.aeroporto.dto.request.VooUpdateRequest;
+import sistema.aeroporto.config.PaginacaoProperties;
 import sistema.aeroporto.dto.response.CompanhiaAereaResponse;
+import sistema.aeroporto.dto.response.PaginaResponse;
 import sistema.aeroporto.dto.response.PilotoResponse;
 import sistema.aeroporto.dto.response.VooResponse;
 import sistema.aeroporto.exception.*;
@@ -21,7 +30,12 @@ import sistema.aeroporto.model.enums.VooStatus;
 import sistema.aeroporto.repository.CompanhiaAereaRepository;
 import sistema.aeroporto.repository.PilotoRepository;
 import sistema.aeroporto.repository.VooRepository;
+import sistema.aeroporto.util.CursorUtils;
+import sistema.aeroporto.util.EtagUtils.Versionado;
+import sistema.aeroporto.util.RestricaoUtils;
 
+// Tempo de cada método público em aeroporto.servico, com tags class, method e exception
+@Timed(value = "aeroporto.servico", histogram = true)
 @Service
 public class VooService {
 
@@ -34,7 +48,28 @@ public class VooService {
     @Autowired
     private CompanhiaAereaRepository companhiaAereaRepository;
 
-    private VooResponse toResponse(Voo v) {
+    @Autowired
+    private EscalaPilotoIndex escalaPilotoIndex;
+
+    @Autowired
+    private PaginacaoProperties paginacao;
+
+    @Autowired
+    private CadastroCache cadastroCache;
+
+    @Autowired
+    private PainelAeroportoIndex painelAeroportoIndex;
+
+    @Autowired
+    private VooEventosService vooEventosService;
+
+    @Autowired
+    private AgendadorVoos agendadorVoos;
+
+    @Autowired
+    private PontualidadeContadores pontualidadeContadores;
+
+    VooResponse toResponse(Voo v) {
         PilotoResponse pilotoResponse = v.getPiloto() == null ? null
                 : new PilotoResponse(
                         v.getPiloto().getId(),
@@ -71,7 +106,8 @@ public class VooService {
                 v.getStatus().name());
     }
 
-    public VooResponse criarVoo(VooRequest request) {
+    // Regras de preenchimento do voo que não dependem do banco
+    static void validarCampos(VooRequest request) {
         if (request.origem() == null || request.destino() == null) {
             throw new OrigemDestinoObrigatorioException();
         }
@@ -90,45 +126,71 @@ public class VooService {
         if (request.codigo() == null || request.codigo().isBlank()) {
             throw new CodigoVooObrigatorioException();
         }
-        if (vooRepository.existsByCodigo(request.codigo())) {
-            throw new CodigoVooExistenteException();
-        }
+    }
 
-        Piloto piloto = pilotoRepository.findById(request.pilotoId())
+    static LocalDateTime chegadaPrevista(VooRequest request) {
+        return request.horarioChegadaPrevisto() != null
+                ? request.horarioChegadaPrevisto()
+                : request.horarioPartidaPrevisto().plusHours(4);
+    }
+
+    static Voo novoVoo(VooRequest request, Piloto piloto, CompanhiaAerea companhia) {
+        Voo voo = new Voo();
+        voo.setPiloto(piloto);
+        voo.setCompanhia(companhia);
+        voo.setCodigo(request.codigo());
+        voo.setOrigem(request.origem().toUpperCase());
+        voo.setDestino(request.destino().toUpperCase());
+        voo.setHorarioPartidaPrevisto(request.horarioPartidaPrevisto());
+        voo.setHorarioChegadaPrevisto(chegadaPrevista(request));
+        voo.setStatus(VooStatus.AGENDADO);
+        return voo;
+    }
+
+    public VooResponse criarVoo(VooRequest request) {
+        validarCampos(request);
+
+        Piloto piloto = cadastroCache.piloto(request.pilotoId())
                 .orElseThrow(NotFoundPilotoException::new);
                 
         if (piloto.getStatus() == PilotoStatus.INATIVO) {
             throw new PilotoInativoException();
         }
-        boolean conflito = vooRepository.findByPiloto_Id(piloto.getId()).stream()
-                .anyMatch(v -> request.horarioPartidaPrevisto().equals(v.getHorarioPartidaPrevisto()));
+        LocalDateTime partida = request.horarioPartidaPrevisto();
+        LocalDateTime chegada = chegadaPrevista(request);
 
-        if (conflito) {
+        if (escalaPilotoIndex.temConflito(piloto.getId(), partida, chegada)) {
             throw new PilotoOutroVooException();
         }
 
-        CompanhiaAerea companhia = companhiaAereaRepository.findById(request.companhiaId())
+        CompanhiaAerea companhia = cadastroCache.companhia(request.companhiaId())
                 .orElseThrow(NotFoundCompanhiaAereaException::new);
 
         if (companhia.getStatus() != CompanhiaAereaStatus.ATIVA) {
             throw new CompanhiaNaoAtivaException();
         }
 
-        Voo voo = new Voo();
-        voo.setPiloto(piloto);
-        voo.setCompanhia(companhia);
-        voo.setCodigo(request.codigo());
-        voo.setOrigem(request.origem().toUpperCase());
-        voo.setDestino(request.destino().toUpperCase());
-        voo.setHorarioPartidaPrevisto(request.horarioPartidaPrevisto());
-        voo.setHorarioChegadaPrevisto(request.horarioChegadaPrevisto() != null
-                ? request.horarioChegadaPrevisto()
-                : request.horarioPartidaPrevisto().plusHours(4));
-        voo.setStatus(VooStatus.AGENDADO);
+        Voo voo = novoVoo(request, piloto, companhia);
 
-        return toResponse(vooRepository.save(voo));
+        Voo salvo = escalaPilotoIndex.reservar(piloto.getId(), partida, chegada, () -> inserir(voo));
+        painelAeroportoIndex.sincronizar(salvo);
+        agendadorVoos.agendar(salvo);
+        return toResponse(salvo);
     }
 
+    // O flush força o INSERT (o id vem da sequence) para que código duplicado falhe aqui, pela restrição única
+    private Voo inserir(Voo voo) {
+        try {
+            return vooRepository.saveAndFlush(voo);
+        } catch (DataIntegrityViolationException e) {
+            if (RestricaoUtils.violou(e, "uk_voo_codigo")) {
+                throw new CodigoVooExistenteException();
+            }
+            throw e;
+        }
+    }
+
+    @Transactional
     public VooResponse iniciarVoo(Long vooId) {
         Voo voo = vooRepository.findById(vooId)
                 .orElseThrow(NotFoundVooException::new);
@@ -145,12 +207,18 @@ public class VooService {
             throw new PilotoInativoException();
         }
 
+        LocalDateTime agora = LocalDateTime.now();
+        confirmarTransicao(vooRepository.registrarPartida(vooId, agora));
         voo.setStatus(VooStatus.VOANDO);
-        voo.setHorarioPartidaReal(LocalDateTime.now());
+        voo.setHorarioPartidaReal(agora);
+        pontualidadeContadores.registrarPartida(voo);
 
-        return toResponse(vooRepository.save(voo));
+        painelAeroportoIndex.sincronizar(voo);
+        vooEventosService.publicar(voo, VooStatus.AGENDADO);
+        return toResponse(voo);
     }
 
+    @Transactional
     public VooResponse finalizarVoo(Long vooId) {
         Voo voo = vooRepository.findById(vooId)
                 .orElseThrow(NotFoundVooException::new);
@@ -159,12 +227,19 @@ public class VooService {
             throw new SomenteEmVooException();
         }
 
+        LocalDateTime agora = LocalDateTime.now();
+        confirmarTransicao(vooRepository.registrarChegada(vooId, agora));
         voo.setStatus(VooStatus.CONCLUIDO);
-        voo.setHorarioChegadaReal(LocalDateTime.now());
+        voo.setHorarioChegadaReal(agora);
+        pontualidadeContadores.registrarChegada(voo);
 
-        return toResponse(vooRepository.save(voo));
+        escalaPilotoIndex.sincronizar(voo);
+        painelAeroportoIndex.sincronizar(voo);
+        vooEventosService.publicar(voo, VooStatus.VOANDO);
+        return toResponse(voo);
     }
 
+    @Transactional
     public VooResponse cancelarVoo(Long vooId, String motivoCancelamento) {
         if (motivoCancelamento == null || motivoCancelamento.isBlank()) {
             throw new MotivoCancelamentoObrigatorioException();
@@ -173,46 +248,96 @@ public class VooService {
         Voo voo = vooRepository.findById(vooId)
                 .orElseThrow(NotFoundVooException::new);
 
+        VooStatus anterior = voo.getStatus();
+        confirmarTransicao(vooRepository.registrarCancelamento(vooId, anterior, motivoCancelamento));
         voo.setStatus(VooStatus.CANCELADO);
         voo.setMotivoCancelamento(motivoCancelamento);
+        pontualidadeContadores.registrarCancelamento(voo, anterior);
+
+        escalaPilotoIndex.sincronizar(voo);
+        painelAeroportoIndex.sincronizar(voo);
+        vooEventosService.publicar(voo, anterior);
+        return toResponse(voo);
+    }
 
-        return toResponse(vooRepository.save(voo));
+    // O UPDATE condicional não afetou linhas: o status mudou desde a leitura do voo
+    private void confirmarTransicao(int linhasAfetadas) {
+        if (linhasAfetadas == 0) {
+            throw new VooAlteradoException();
+        }
     }
 
+    @Transactional(readOnly = true)
     public List<VooResponse> listarTodos() {
-        return vooRepository.findAll().stream().map(this::toResponse).toList();
+        return vooRepository.listarTodos();
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaResponse<VooResponse> listarPaginado(String cursor, Integer tamanho) {
+        int limite = paginacao.tamanho(tamanho);
+        List<VooResponse> voos = vooRepository.listarAPartirDe(
+                CursorUtils.decodificar(cursor), Limit.of(limite + 1));
+        return PaginaResponse.de(voos, limite, Function.identity(), VooResponse::id);
     }
 
+    @Transactional(readOnly = true)
     public VooResponse buscarPorId(Long id) {
         return toResponse(vooRepository.findById(id)
                 .orElseThrow(NotFoundVooException::new));
     }
 
+    public Optional<String> versao(Long id) {
+        return vooRepository.findVersao(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Versionado<VooResponse> buscarVersionadoPorId(Long id) {
+        Voo voo = vooRepository.findById(id).orElseThrow(NotFoundVooException::new);
+        return new Versionado<>(toResponse(voo), versao(voo));
+    }
+
+    // Mesmo formato de VooRepository.findVersao: voo, piloto e companhia
+    static String versao(Voo v) {
+        return v.getVersao() + "." + (v.getPiloto() == null ? 0 : v.getPiloto().getVersao()) + "."
+                + (v.getCompanhia() == null ? 0 : v.getCompanhia().getVersao());
+    }
+
+    // Pilotos e companhias entram porque cada VooResponse os inclui
+    @Transactional(readOnly = true)
+    public String versaoDaListagem() {
+        return vooRepository.findVersaoDaTabela() + "-" + pilotoRepository.findVersaoDaTabela() + "-"
+                + companhiaAereaRepository.findVersaoDaTabela();
+    }
+
+    @Transactional(readOnly = true)
     public List<VooResponse> buscarPorStatus(String status) {
-        return vooRepository.findByStatus(VooStatus.valueOf(status.toUpperCase()))
-                .stream().map(this::toResponse).toList();
+        return vooRepository.listarPorStatus(VooStatus.valueOf(status.toUpperCase()));
     }
 
+    @Transactional(readOnly = true)
     public List<VooResponse> buscarPorPiloto(Long pilotoId) {
         if (!pilotoRepository.existsById(pilotoId)) {
             throw new NotFoundPilotoException();
         }
-        return vooRepository.findByPiloto_Id(pilotoId)
-                .stream().map(this::toResponse).toList();
+        return vooRepository.listarPorPiloto(pilotoId);
     }
 
+    @Transactional(readOnly = true)
     public List<VooResponse> buscarPorCompanhia(Long companhiaId) {
         if (!companhiaAereaRepository.existsById(companhiaId)) {
             throw new NotFoundCompanhiaAereaException();
         }
-        return vooRepository.findByCompanhia_Id(companhiaId)
-                .stream().map(this::toResponse).toList();
+        return vooRepository.listarPorCompanhia(companhiaId);
     }
 
+    @Transactional
     public VooResponse atualizarVoo(Long vooId, VooUpdateRequest request) {
         Voo voo = vooRepository.findById(vooId)
                 .orElseThrow(NotFoundVooException::new);
 
+        VooStatus anterior = voo.getStatus();
+        boolean partidaRegistrada = voo.getHorarioPartidaReal() != null;
+
         if (request.horarioPartidaReal() != null) {
             voo.setHorarioPartidaReal(request.horarioPartidaReal());
         }
@@ -223,7 +348,39 @@ public class VooService {
             voo.setStatus(VooStatus.valueOf(request.status().toUpperCase()));
         }
 
-        return toResponse(vooRepository.save(voo));
+        Voo salvo;
+        try {
+            // Flush aqui para que o conflito de versão seja tratado antes do commit
+            salvo = vooRepository.saveAndFlush(voo);
+        } catch (OptimisticLockingFailureException e) {
+            throw new VooAlteradoException();
+        }
+        escalaPilotoIndex.sincronizar(salvo);
+        painelAeroportoIndex.sincronizar(salvo);
+        if (salvo.getStatus() != anterior) {
+            registrarPontualidade(salvo, anterior, partidaRegistrada);
+            vooEventosService.publicar(salvo, anterior);
+            agendadorVoos.agendar(salvo);
+        }
+        return toResponse(salvo);
+
+    }
 
+    // Mudança de status pela atualização direta: os mesmos registros das transições. Voltas de status
+    // (ex.: CANCELADO para AGENDADO) e horários reais editados ficam para a reconciliação
+    private void registrarPontualidade(Voo voo, VooStatus anterior, boolean partidaRegistrada) {
+        if (voo.getStatus() == VooStatus.CANCELADO) {
+            pontualidadeContadores.registrarCancelamento(voo, anterior);
+            return;
+        }
+        if (voo.getStatus() != VooStatus.VOANDO && voo.getStatus() != VooStatus.CONCLUIDO) {
+            return;
+        }
+        if (!partidaRegistrada && voo.getHorarioPartidaReal() != null) {
+            pontualidadeContadores.registrarPartida(voo);
+        }
+        if (voo.getStatus() == VooStatus.CONCLUIDO && voo.getHorarioChegadaReal() != null) {
+            pontualidadeContadores.registrarChegada(voo);
+        }
     }
 }
\ No newline at end of file
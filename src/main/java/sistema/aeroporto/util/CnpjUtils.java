@@ -1,43 +1,139 @@
 package sistema.aeroporto.util;
 
+import java.util.List;
+
+/**
+ * Validação e formatação de CNPJ em uma única passada sobre os caracteres,
+ * sem expressões regulares. Caracteres que não são dígitos são ignorados.
+ */
 public class CnpjUtils {
-    public static boolean validarCnpj(String cnpj) {
-        cnpj = cnpj.replaceAll("\\D", "");
 
-        if (cnpj.length() != 14)
-            return false;
-        if (cnpj.chars().distinct().count() == 1)
-            return false;
+    private static final int DIGITOS = 14;
 
-        int[] peso1 = { 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
-        int[] peso2 = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+    private static final int[] PESO1 = { 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+    private static final int[] PESO2 = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
 
-        try {
-            int soma = 0;
-            for (int i = 0; i < 12; i++) {
-                soma += Character.getNumericValue(cnpj.charAt(i)) * peso1[i];
+    public static String limpar(String cnpj) {
+        if (cnpj == null)
+            return null;
+        int digitos = contarDigitos(cnpj);
+        if (digitos == cnpj.length()) {
+            return cnpj;
+        }
+        char[] numeros = new char[digitos];
+        int n = 0;
+        for (int i = 0; i < cnpj.length(); i++) {
+            char c = cnpj.charAt(i);
+            if (ehDigito(c)) {
+                numeros[n++] = c;
             }
-            int mod = soma % 11;
-            int digito1 = (mod < 2) ? 0 : 11 - mod;
+        }
+        return new String(numeros);
+    }
 
-            soma = 0;
-            for (int i = 0; i < 13; i++) {
-                soma += Character.getNumericValue(cnpj.charAt(i)) * peso2[i];
+    public static boolean validarCnpj(CharSequence cnpj) {
+        if (cnpj == null)
+            return false;
+
+        int digitos = 0;
+        int primeiro = -1;
+        boolean repetido = true;
+        int soma1 = 0;
+        int soma2 = 0;
+        int dv1 = 0;
+        int dv2 = 0;
+
+        for (int i = 0; i < cnpj.length(); i++) {
+            char c = cnpj.charAt(i);
+            if (!ehDigito(c)) {
+                continue;
+            }
+            if (digitos == DIGITOS)
+                return false;
+            int d = c - '0';
+            if (digitos == 0) {
+                primeiro = d;
+            } else if (d != primeiro) {
+                repetido = false;
+            }
+            if (digitos < 12) {
+                soma1 += d * PESO1[digitos];
+            }
+            if (digitos < 13) {
+                soma2 += d * PESO2[digitos];
+            }
+            if (digitos == 12) {
+                dv1 = d;
+            } else if (digitos == 13) {
+                dv2 = d;
             }
-            mod = soma % 11;
-            int digito2 = (mod < 2) ? 0 : 11 - mod;
+            digitos++;
+        }
 
-            return digito1 == Character.getNumericValue(cnpj.charAt(12)) &&
-                    digito2 == Character.getNumericValue(cnpj.charAt(13));
-        } catch (Exception e) {
+        if (digitos != DIGITOS || repetido)
             return false;
+
+        int mod = soma1 % 11;
+        int digito1 = (mod < 2) ? 0 : 11 - mod;
+
+        mod = soma2 % 11;
+        int digito2 = (mod < 2) ? 0 : 11 - mod;
+
+        return digito1 == dv1 && digito2 == dv2;
+    }
+
+    // Validação de vários CNPJs; a posição i do resultado corresponde ao item i da lista
+    public static boolean[] validarCnpjs(List<? extends CharSequence> cnpjs) {
+        boolean[] validos = new boolean[cnpjs.size()];
+        for (int i = 0; i < validos.length; i++) {
+            validos[i] = validarCnpj(cnpjs.get(i));
         }
+        return validos;
     }
 
-    public static String formatar(String cnpj) {
+    // 00.000.000/0000-00; com quantidade de dígitos diferente de 14, cada bloco completo de 14
+    // é formatado e os dígitos restantes são mantidos como estão
+    public static String formatar(CharSequence cnpj) {
         if (cnpj == null)
             return "";
-        String numeros = cnpj.replaceAll("\\D", "");
-        return numeros.replaceAll("(\\d{2})(\\d{3})(\\d{3})(\\d{4})(\\d{2})", "$1.$2.$3/$4-$5");
+        int digitos = contarDigitos(cnpj);
+        int blocos = digitos / DIGITOS;
+        char[] saida = new char[digitos + blocos * 4];
+        int n = 0;
+        int lidos = 0;
+        for (int i = 0; i < cnpj.length(); i++) {
+            char c = cnpj.charAt(i);
+            if (!ehDigito(c)) {
+                continue;
+            }
+            int posicao = lidos % DIGITOS;
+            if (lidos < blocos * DIGITOS) {
+                if (posicao == 2 || posicao == 5) {
+                    saida[n++] = '.';
+                } else if (posicao == 8) {
+                    saida[n++] = '/';
+                } else if (posicao == 12) {
+                    saida[n++] = '-';
+                }
+            }
+            saida[n++] = c;
+            lidos++;
+        }
+        return new String(saida);
+    }
+
+    private static int contarDigitos(CharSequence valor) {
+        int digitos = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            if (ehDigito(valor.charAt(i))) {
+                digitos++;
+            }
+        }
+        return digitos;
+    }
+
+    // Somente 0-9, como o \d das expressões usadas antes
+    private static boolean ehDigito(char c) {
+        return c >= '0' && c <= '9';
     }
 }
@@ -1,57 +1,140 @@
 package sistema.aeroporto.util;
 
+import java.util.List;
+
+/**
+ * Validação, limpeza e formatação de CPF em uma única passada sobre os
+ * caracteres, sem expressões regulares. Caracteres que não são dígitos são
+ * ignorados, então "529.982.247-25" e "52998224725" são equivalentes.
+ */
 public class CpfUtils {
 
+    private static final int DIGITOS = 11;
+
     public static String limpar(String cpf) {
         if (cpf == null)
             return null;
-        return cpf.replaceAll("\\D", "");
-    }
-
-    public static boolean validarCpf(String cpf) {
-        cpf = limpar(cpf);
-
-        // CPF deve ter 11 dígitos
-        if (cpf == null || cpf.length() != 11) {
-            return false;
+        int digitos = contarDigitos(cpf);
+        if (digitos == cpf.length()) {
+            return cpf;
+        }
+        char[] numeros = new char[digitos];
+        int n = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (ehDigito(c)) {
+                numeros[n++] = c;
+            }
         }
+        return new String(numeros);
+    }
 
-        if (cpf.matches("(\\d)\\1{10}")) {
+    public static boolean validarCpf(CharSequence cpf) {
+        if (cpf == null) {
             return false;
         }
 
-        try {
-            int soma = 0;
-            int peso = 10;
+        // Soma dos dois dígitos verificadores calculada durante a leitura (pesos 10..2 e 11..2)
+        int digitos = 0;
+        int primeiro = -1;
+        boolean repetido = true;
+        int soma1 = 0;
+        int soma2 = 0;
+        int dv1 = 0;
+        int dv2 = 0;
 
-            for (int i = 0; i < 9; i++) {
-                soma += Character.getNumericValue(cpf.charAt(i)) * peso--;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (!ehDigito(c)) {
+                continue;
+            }
+            // CPF deve ter 11 dígitos
+            if (digitos == DIGITOS) {
+                return false;
+            }
+            int d = c - '0';
+            if (digitos == 0) {
+                primeiro = d;
+            } else if (d != primeiro) {
+                repetido = false;
+            }
+            if (digitos < 9) {
+                soma1 += d * (10 - digitos);
             }
+            if (digitos < 10) {
+                soma2 += d * (11 - digitos);
+            }
+            if (digitos == 9) {
+                dv1 = d;
+            } else if (digitos == 10) {
+                dv2 = d;
+            }
+            digitos++;
+        }
 
-            int primeiroDV = 11 - (soma % 11);
-            primeiroDV = (primeiroDV > 9) ? 0 : primeiroDV;
+        if (digitos != DIGITOS || repetido) {
+            return false;
+        }
 
-            soma = 0;
-            peso = 11;
-            for (int i = 0; i < 10; i++) {
-                soma += Character.getNumericValue(cpf.charAt(i)) * peso--;
-            }
+        int primeiroDV = 11 - (soma1 % 11);
+        primeiroDV = (primeiroDV > 9) ? 0 : primeiroDV;
 
-            int segundoDV = 11 - (soma % 11);
-            segundoDV = (segundoDV > 9) ? 0 : segundoDV;
+        int segundoDV = 11 - (soma2 % 11);
+        segundoDV = (segundoDV > 9) ? 0 : segundoDV;
 
-            return cpf.charAt(9) == Character.forDigit(primeiroDV, 10)
-                    && cpf.charAt(10) == Character.forDigit(segundoDV, 10);
+        return dv1 == primeiroDV && dv2 == segundoDV;
+    }
 
-        } catch (Exception e) {
-            return false;
+    // Validação de vários CPFs; a posição i do resultado corresponde ao item i da lista
+    public static boolean[] validarCpfs(List<? extends CharSequence> cpfs) {
+        boolean[] validos = new boolean[cpfs.size()];
+        for (int i = 0; i < validos.length; i++) {
+            validos[i] = validarCpf(cpfs.get(i));
         }
+        return validos;
     }
 
-    public static String formatar(String cpf) {
+    // 000.000.000-00; com quantidade de dígitos diferente de 11, cada bloco completo de 11 é
+    // formatado e os dígitos restantes são mantidos como estão
+    public static String formatar(CharSequence cpf) {
         if (cpf == null)
             return "";
-        String numeros = cpf.replaceAll("\\D", "");
-        return numeros.replaceAll("(\\d{3})(\\d{3})(\\d{3})(\\d{2})", "$1.$2.$3-$4");
+        int digitos = contarDigitos(cpf);
+        int blocos = digitos / DIGITOS;
+        char[] saida = new char[digitos + blocos * 3];
+        int n = 0;
+        int lidos = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (!ehDigito(c)) {
+                continue;
+            }
+            int posicao = lidos % DIGITOS;
+            if (lidos < blocos * DIGITOS) {
+                if (posicao == 3 || posicao == 6) {
+                    saida[n++] = '.';
+                } else if (posicao == 9) {
+                    saida[n++] = '-';
+                }
+            }
+            saida[n++] = c;
+            lidos++;
+        }
+        return new String(saida);
+    }
+
+    private static int contarDigitos(CharSequence valor) {
+        int digitos = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            if (ehDigito(valor.charAt(i))) {
+                digitos++;
+            }
+        }
+        return digitos;
+    }
+
+    // Somente 0-9, como o \d das expressões usadas antes
+    private static boolean ehDigito(char c) {
+        return c >= '0' && c <= '9';
     }
 }
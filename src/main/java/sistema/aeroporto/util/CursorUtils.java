@@ -0,0 +1,57 @@
+package sistema.aeroporto.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import sistema.aeroporto.exception.CursorInvalidoException;
+
+public class CursorUtils {
+
+    // Posição na ordenação por horário: horário e id do último item da página anterior
+    public record Posicao(LocalDateTime horario, Long id) {
+    }
+
+    // Cursor opaco: último id da página anterior em Base64 URL-safe
+    public static String codificar(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Cursor ausente aponta para o início da listagem
+    public static long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            return Long.parseLong(id);
+        } catch (IllegalArgumentException e) {
+            throw new CursorInvalidoException();
+        }
+    }
+
+    public static String codificar(LocalDateTime horario, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((horario + "|" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Cursor ausente devolve null: início da listagem
+    public static Posicao decodificarPosicao(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separador = texto.indexOf('|');
+            if (separador < 0) {
+                throw new CursorInvalidoException();
+            }
+            return new Posicao(LocalDateTime.parse(texto.substring(0, separador)),
+                    Long.parseLong(texto.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CursorInvalidoException();
+        }
+    }
+}
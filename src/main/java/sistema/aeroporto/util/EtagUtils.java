@@ -0,0 +1,50 @@
+package sistema.aeroporto.util;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.http.ETag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+public class EtagUtils {
+
+    // Corpo da resposta com a versão lida junto com ele, que vira a ETag
+    public record Versionado<T>(T corpo, String versao) {
+    }
+
+    // 304 sem carregar o corpo se o If-None-Match traz a versão atual; senão 200 com corpo e ETag.
+    // A versão é lida antes do corpo: se mudar no meio, o cliente só recebe o corpo de novo na próxima
+    public static <T> ResponseEntity<T> responder(String ifNoneMatch, String versao, Supplier<T> corpo) {
+        if (naoModificado(ifNoneMatch, versao)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(versao)).build();
+        }
+        return ResponseEntity.ok().eTag(etag(versao)).body(corpo.get());
+    }
+
+    // Recurso único: a ETag do 200 vem do mesmo carregamento que o corpo (que pode vir do cache).
+    // Sem versão o recurso não existe e o carregamento responde 404
+    public static <T> ResponseEntity<T> responder(String ifNoneMatch, Optional<String> versao,
+            Supplier<Versionado<T>> carregar) {
+        if (versao.isPresent() && naoModificado(ifNoneMatch, versao.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(versao.get())).build();
+        }
+        Versionado<T> versionado = carregar.get();
+        return ResponseEntity.ok().eTag(etag(versionado.versao())).body(versionado.corpo());
+    }
+
+    // ETag fraca: a versão vale para o conteúdo em JSON, CBOR ou Smile, comprimido ou não (o Tomcat
+    // não comprime respostas com ETag forte). Caches separam os formatos pelo Vary: Accept de NegociacaoFormato
+    private static String etag(String versao) {
+        return "W/" + ETag.quoteETagIfNecessary(versao);
+    }
+
+    // Comparação fraca, como manda a RFC 9110 para If-None-Match
+    private static boolean naoModificado(String ifNoneMatch, String versao) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        ETag atual = ETag.create(ETag.quoteETagIfNecessary(versao));
+        return ETag.parse(ifNoneMatch).stream().anyMatch(etag -> etag.isWildcard() || etag.compare(atual, false));
+    }
+}
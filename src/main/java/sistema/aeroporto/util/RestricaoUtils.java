@@ -0,0 +1,24 @@
+package sistema.aeroporto.util;
+
+import java.util.Locale;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+public class RestricaoUtils {
+
+    // Indica se a falha de integridade foi causada pela restrição informada (ex.: uk_piloto_cpf).
+    // H2 e MySQL reportam o nome com prefixos diferentes, por isso a comparação é por trecho.
+    public static boolean violou(DataIntegrityViolationException e, String restricao) {
+        String procurada = restricao.toLowerCase(Locale.ROOT);
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null) {
+                return violacao.getConstraintName().toLowerCase(Locale.ROOT).contains(procurada);
+            }
+            if (causa.getCause() == null && causa.getMessage() != null) {
+                return causa.getMessage().toLowerCase(Locale.ROOT).contains(procurada);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,7 @@
+-- Id do voo vindo da sequência voo_seq, reservada em lotes de 50 (allocationSize), para o
+-- Hibernate agrupar os INSERTs em lote. O otimizador pooled toma o valor lido como fim do
+-- primeiro lote (valor - 49 até valor): com MAX(id) + 50 o primeiro id gerado é MAX(id) + 1
+CREATE SEQUENCE voo_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE voo_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM voo);
+
+ALTER TABLE voo ALTER COLUMN id DROP IDENTITY;
@@ -0,0 +1,2 @@
+-- Versão do voo: bloqueio otimista nas transições de status. Linhas existentes começam na versão 0
+ALTER TABLE voo ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
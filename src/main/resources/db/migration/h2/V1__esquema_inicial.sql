@@ -0,0 +1,43 @@
+-- Esquema até então criado pelo Hibernate (ddl-auto=update)
+
+CREATE TABLE companhia_aerea (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nome VARCHAR(150),
+    cnpj VARCHAR(20),
+    data_fundacao DATE,
+    seguro_aeronave BOOLEAN,
+    status ENUM ('ATIVA', 'INATIVA'),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE piloto (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nome VARCHAR(150),
+    idade INTEGER,
+    genero VARCHAR(1),
+    cpf VARCHAR(11),
+    data_renovacao DATE,
+    matricula VARCHAR(50),
+    habilitacao VARCHAR(50),
+    status ENUM ('ATIVO', 'INATIVO'),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE voo (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    piloto_id BIGINT,
+    companhia_id BIGINT,
+    codigo VARCHAR(10),
+    origem VARCHAR(4),
+    destino VARCHAR(4),
+    horario_partida_previsto TIMESTAMP(6),
+    horario_chegada_previsto TIMESTAMP(6),
+    horario_partida_real TIMESTAMP(6),
+    horario_chegada_real TIMESTAMP(6),
+    motivo_cancelamento VARCHAR(255),
+    status ENUM ('AGENDADO', 'CANCELADO', 'CONCLUIDO', 'VOANDO'),
+    PRIMARY KEY (id),
+    -- Nomes das chaves estrangeiras como o Hibernate os gera
+    CONSTRAINT FKng3hwrkhmv2g8mgremgbaw9s6 FOREIGN KEY (piloto_id) REFERENCES piloto (id),
+    CONSTRAINT FKrl5agpu0hjtren8qmd5ff0xhs FOREIGN KEY (companhia_id) REFERENCES companhia_aerea (id)
+);
@@ -0,0 +1,7 @@
+-- Contador anual das matrículas de piloto (PIL + ano + número), reservado em blocos
+-- pelo GeradorMatricula para que o cadastro seja um único INSERT
+CREATE TABLE contador_matricula (
+    ano INTEGER NOT NULL,
+    ultimo BIGINT,
+    PRIMARY KEY (ano)
+);
@@ -0,0 +1,6 @@
+-- Pontualidade por companhia e por rota: voos concluídos numa faixa de partida prevista.
+-- O índice cobre todas as colunas das consultas de agregação, que não precisam ler a tabela.
+-- (status, horario_partida_previsto) é prefixo dele, então o índice anterior deixa de ser necessário
+CREATE INDEX idx_voo_pontualidade ON voo (status, horario_partida_previsto, companhia_id, origem, destino,
+    horario_partida_real, horario_chegada_previsto, horario_chegada_real);
+DROP INDEX idx_voo_status_partida;
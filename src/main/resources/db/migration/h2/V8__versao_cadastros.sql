@@ -0,0 +1,8 @@
+-- Versão de pilotos e companhias, como a do voo: bloqueio otimista e ETag das respostas
+ALTER TABLE piloto ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE companhia_aerea ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+
+-- ETag das listagens: contagem, soma das versões e maior id, lidos só do índice (que inclui a chave primária)
+CREATE INDEX idx_piloto_versao ON piloto (versao);
+CREATE INDEX idx_companhia_versao ON companhia_aerea (versao);
+CREATE INDEX idx_voo_versao ON voo (versao);
@@ -0,0 +1,11 @@
+-- Id do voo vindo da sequência voo_seq, reservada em lotes de 50 (allocationSize), para o
+-- Hibernate agrupar os INSERTs em lote; emulada em tabela, como o Hibernate faz no MySQL.
+-- O otimizador pooled toma o valor lido como fim do primeiro lote (valor - 49 até valor):
+-- com MAX(id) + 50 o primeiro id gerado é MAX(id) + 1
+CREATE TABLE voo_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO voo_seq SELECT COALESCE(MAX(id), 0) + 50 FROM voo;
+
+ALTER TABLE voo MODIFY id BIGINT NOT NULL;
@@ -0,0 +1,13 @@
+-- Unicidade já verificada pelos serviços antes de gravar
+ALTER TABLE piloto ADD CONSTRAINT uk_piloto_cpf UNIQUE (cpf);
+ALTER TABLE piloto ADD CONSTRAINT uk_piloto_matricula UNIQUE (matricula);
+ALTER TABLE companhia_aerea ADD CONSTRAINT uk_companhia_cnpj UNIQUE (cnpj);
+ALTER TABLE companhia_aerea ADD CONSTRAINT uk_companhia_nome UNIQUE (nome);
+ALTER TABLE voo ADD CONSTRAINT uk_voo_codigo UNIQUE (codigo);
+
+-- Colunas filtradas pelos repositórios; piloto_id e companhia_id já são indexadas pelas chaves estrangeiras
+CREATE INDEX idx_piloto_nome ON piloto (nome);
+CREATE INDEX idx_voo_status ON voo (status);
+CREATE INDEX idx_voo_piloto_partida ON voo (piloto_id, horario_partida_previsto);
+CREATE INDEX idx_voo_origem_partida ON voo (origem, horario_partida_previsto);
+CREATE INDEX idx_voo_destino_partida ON voo (destino, horario_partida_previsto);
@@ -0,0 +1,5 @@
+-- Prazos de partida e chegada carregados pelo AgendadorVoos por faixa de horário.
+-- O índice por status passa a ser prefixo destes e deixa de ser necessário
+CREATE INDEX idx_voo_status_partida ON voo (status, horario_partida_previsto);
+CREATE INDEX idx_voo_status_chegada ON voo (status, horario_chegada_previsto);
+DROP INDEX idx_voo_status ON voo;
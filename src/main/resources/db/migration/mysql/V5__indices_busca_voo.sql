@@ -0,0 +1,4 @@
+-- Busca de voos (/api/voos/busca): ordenação por partida sem filtro e filtro por companhia
+-- com faixa de datas. Os demais filtros já têm índice terminado no horário de partida
+CREATE INDEX idx_voo_partida ON voo (horario_partida_previsto);
+CREATE INDEX idx_voo_companhia_partida ON voo (companhia_id, horario_partida_previsto);
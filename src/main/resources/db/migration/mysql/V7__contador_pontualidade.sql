@@ -0,0 +1,21 @@
+-- Contadores de pontualidade por companhia e por rota, mantidos pelas transições de status
+-- do voo e conferidos periodicamente contra a tabela voo (PontualidadeContadores). Uma linha por
+-- companhia e por rota: as listagens leem a tabela inteira
+CREATE TABLE contador_pontualidade (
+    chave VARCHAR(30) NOT NULL,
+    companhia_id BIGINT,
+    origem VARCHAR(4),
+    destino VARCHAR(4),
+    partidas BIGINT NOT NULL DEFAULT 0,
+    soma_atraso_partida BIGINT NOT NULL DEFAULT 0,
+    concluidos BIGINT NOT NULL DEFAULT 0,
+    no_horario BIGINT NOT NULL DEFAULT 0,
+    soma_atraso_chegada BIGINT NOT NULL DEFAULT 0,
+    chegada_ate15 BIGINT NOT NULL DEFAULT 0,
+    chegada_ate30 BIGINT NOT NULL DEFAULT 0,
+    chegada_ate60 BIGINT NOT NULL DEFAULT 0,
+    chegada_ate120 BIGINT NOT NULL DEFAULT 0,
+    chegada_acima120 BIGINT NOT NULL DEFAULT 0,
+    cancelados BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (chave)
+) ENGINE = InnoDB;
@@ -0,0 +1,255 @@
+package sistema.aeroporto.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.VooStatus;
+
+/**
+ * Executa cada consulta declarada nos repositórios, captura o SQL gerado pelo
+ * Hibernate e roda EXPLAIN no H2: falha se alguma tabela for lida por varredura
+ * completa. Um método novo nos repositórios sem entrada aqui também falha.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "sistema.aeroporto.repository.ConsultasIndicesIntegrationTest$Capturador")
+@Transactional
+public class ConsultasIndicesIntegrationTest {
+
+        // Listagens completas e a recontagem da reconciliação: a varredura da tabela é aceitável
+        private static final Set<String> VARREDURA_PERMITIDA = Set.of("VooRepository.findAll", "VooRepository.streamTodos",
+                        "VooRepository.listarTodos", "PilotoRepository.listarTodos",
+                        "CompanhiaAereaRepository.listarTodos",
+                        "ContadorPontualidadeRepository.recontarPorCompanhia",
+                        "ContadorPontualidadeRepository.recontarPorRota");
+
+        private static final List<String> CAPTURADOS = new CopyOnWriteArrayList<>();
+
+        public static class Capturador implements StatementInspector {
+
+                @Override
+                public String inspect(String sql) {
+                        CAPTURADOS.add(sql);
+                        return sql;
+                }
+        }
+
+        @Autowired
+        private VooRepository vooRepository;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        @Autowired
+        private ContadorMatriculaRepository contadorMatriculaRepository;
+
+        @Autowired
+        private ContadorPontualidadeRepository contadorPontualidadeRepository;
+
+        @Autowired
+        private DataSource dataSource;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        private Map<String, Runnable> consultas() {
+                LocalDateTime agora = LocalDateTime.now();
+                Map<String, Runnable> consultas = new LinkedHashMap<>();
+
+                consultas.put("VooRepository.findAll", () -> vooRepository.findAll());
+                consultas.put("VooRepository.findById", () -> vooRepository.findById(1L));
+                consultas.put("VooRepository.findByDestinoAndHorarioPartidaPrevistoGreaterThanEqual",
+                                () -> vooRepository.findByDestinoAndHorarioPartidaPrevistoGreaterThanEqual("SBRJ", agora));
+                consultas.put("VooRepository.findByOrigemAndHorarioPartidaPrevistoGreaterThanEqual",
+                                () -> vooRepository.findByOrigemAndHorarioPartidaPrevistoGreaterThanEqual("SBGR", agora));
+                consultas.put("VooRepository.listarTodos", () -> vooRepository.listarTodos());
+                consultas.put("VooRepository.listarPorStatus", () -> vooRepository.listarPorStatus(VooStatus.AGENDADO));
+                consultas.put("VooRepository.listarPorCompanhia", () -> vooRepository.listarPorCompanhia(1L));
+                consultas.put("VooRepository.listarPorPiloto", () -> vooRepository.listarPorPiloto(1L));
+                consultas.put("VooRepository.findByPiloto_IdAndStatusIn", () -> vooRepository
+                                .findByPiloto_IdAndStatusIn(1L, List.of(VooStatus.AGENDADO, VooStatus.VOANDO)));
+                consultas.put("VooRepository.existsByCodigo", () -> vooRepository.existsByCodigo("AZ1001"));
+                consultas.put("VooRepository.findCodigosExistentes",
+                                () -> vooRepository.findCodigosExistentes(List.of("AZ1001", "G31002")));
+                consultas.put("VooRepository.listarAPartirDe", () -> vooRepository.listarAPartirDe(0L, Limit.of(10)));
+                consultas.put("VooRepository.findVersao", () -> vooRepository.findVersao(1L));
+                consultas.put("VooRepository.findVersaoDaTabela", () -> vooRepository.findVersaoDaTabela());
+                consultas.put("VooRepository.streamTodos", () -> {
+                        try (Stream<?> voos = vooRepository.streamTodos()) {
+                                voos.findFirst();
+                        }
+                });
+                consultas.put("VooRepository.registrarPartida", () -> vooRepository.registrarPartida(-1L, agora));
+                consultas.put("VooRepository.findByStatusAndHorarioPartidaPrevistoBetween", () -> vooRepository
+                                .findByStatusAndHorarioPartidaPrevistoBetween(VooStatus.AGENDADO, agora, agora.plusHours(1)));
+                consultas.put("VooRepository.findByStatusInAndHorarioChegadaPrevistoBetween",
+                                () -> vooRepository.findByStatusInAndHorarioChegadaPrevistoBetween(
+                                                List.of(VooStatus.AGENDADO, VooStatus.VOANDO), agora, agora.plusHours(1)));
+                consultas.put("VooRepository.pontualidadePorCompanhia",
+                                () -> vooRepository.pontualidadePorCompanhia(agora.minusDays(30), agora, 900));
+                consultas.put("VooRepository.pontualidadePorRota",
+                                () -> vooRepository.pontualidadePorRota(agora.minusDays(30), agora, 900));
+                consultas.put("VooRepository.registrarChegada", () -> vooRepository.registrarChegada(-1L, agora));
+                consultas.put("VooRepository.registrarCancelamento",
+                                () -> vooRepository.registrarCancelamento(-1L, VooStatus.AGENDADO, "motivo"));
+
+                // Busca por filtros: cada filtro isolado e combinado com faixa de partida e cursor
+                consultas.put("VooBuscaRepository.buscarResumos", () -> {
+                        Sort partida = Sort.by("horarioPartidaPrevisto", "id");
+                        Specification<Voo> faixa = VooEspecificacoes.partidaEntre(agora, agora.plusDays(1));
+                        for (Specification<Voo> filtro : List.of(
+                                        VooEspecificacoes.aposPartida(agora, 1L, false),
+                                        VooEspecificacoes.origem("SBGR").and(faixa),
+                                        VooEspecificacoes.destino("SBRJ").and(faixa),
+                                        VooEspecificacoes.status(List.of(VooStatus.AGENDADO)).and(faixa),
+                                        VooEspecificacoes.companhia(1L).and(faixa),
+                                        VooEspecificacoes.piloto(1L).and(VooEspecificacoes.aposPartida(agora, 1L, true)))) {
+                                vooRepository.buscarResumos(filtro, partida, Limit.of(10));
+                        }
+                        vooRepository.buscarResumos(VooEspecificacoes.aposId(100L, true), Sort.by("id").descending(),
+                                        Limit.of(10));
+                });
+
+                consultas.put("PilotoRepository.findByCpf", () -> pilotoRepository.findByCpf("91580778060"));
+                consultas.put("PilotoRepository.findByNome", () -> pilotoRepository.findByNome("Carlos Eduardo Souza"));
+                consultas.put("PilotoRepository.existsByCpf", () -> pilotoRepository.existsByCpf("91580778060"));
+                consultas.put("PilotoRepository.findCpfsExistentes",
+                                () -> pilotoRepository.findCpfsExistentes(List.of("91580778060", "00785783024")));
+                consultas.put("PilotoRepository.findByMatricula", () -> pilotoRepository.findByMatricula("PIL20240001"));
+                consultas.put("PilotoRepository.existsByMatricula",
+                                () -> pilotoRepository.existsByMatricula("PIL20240001"));
+                consultas.put("PilotoRepository.listarTodos", () -> pilotoRepository.listarTodos());
+                consultas.put("PilotoRepository.listarAPartirDe",
+                                () -> pilotoRepository.listarAPartirDe(0L, Limit.of(10)));
+                consultas.put("PilotoRepository.findMaiorId", () -> pilotoRepository.findMaiorId());
+                consultas.put("PilotoRepository.findVersao", () -> pilotoRepository.findVersao(1L));
+                consultas.put("PilotoRepository.findVersaoDaTabela", () -> pilotoRepository.findVersaoDaTabela());
+
+                consultas.put("ContadorMatriculaRepository.reservar", () -> contadorMatriculaRepository.reservar(2024, 50));
+                consultas.put("ContadorMatriculaRepository.criar", () -> contadorMatriculaRepository.criar(1999, 50));
+
+                consultas.put("ContadorPontualidadeRepository.registrarPartida",
+                                () -> contadorPontualidadeRepository.registrarPartida("rota:SBGR-SBRJ", 60));
+                consultas.put("ContadorPontualidadeRepository.registrarChegada",
+                                () -> contadorPontualidadeRepository.registrarChegada("rota:SBGR-SBRJ", 1, 1, 60, 0));
+                consultas.put("ContadorPontualidadeRepository.registrarCancelamento",
+                                () -> contadorPontualidadeRepository.registrarCancelamento("companhia:1"));
+                consultas.put("ContadorPontualidadeRepository.criar",
+                                () -> contadorPontualidadeRepository.criar("rota:XXXX-YYYY", null, "XXXX", "YYYY"));
+                consultas.put("ContadorPontualidadeRepository.bloquear",
+                                () -> contadorPontualidadeRepository.bloquear("companhia:1"));
+                consultas.put("ContadorPontualidadeRepository.recontarPorCompanhia",
+                                () -> contadorPontualidadeRepository.recontarPorCompanhia(900));
+                consultas.put("ContadorPontualidadeRepository.recontarPorRota",
+                                () -> contadorPontualidadeRepository.recontarPorRota(900));
+                consultas.put("ContadorPontualidadeRepository.recontarCompanhia",
+                                () -> contadorPontualidadeRepository.recontarCompanhia(1L, 900));
+                consultas.put("ContadorPontualidadeRepository.recontarRota",
+                                () -> contadorPontualidadeRepository.recontarRota("SBGR", "SBRJ", 900));
+
+                consultas.put("CompanhiaAereaRepository.existsByNome", () -> companhiaAereaRepository.existsByNome("Azul"));
+                consultas.put("CompanhiaAereaRepository.existsByCnpj",
+                                () -> companhiaAereaRepository.existsByCnpj("47001880000184"));
+                consultas.put("CompanhiaAereaRepository.findByNome", () -> companhiaAereaRepository.findByNome("Azul"));
+                consultas.put("CompanhiaAereaRepository.findByCnpj",
+                                () -> companhiaAereaRepository.findByCnpj("47001880000184"));
+                consultas.put("CompanhiaAereaRepository.findCnpjsExistentes", () -> companhiaAereaRepository
+                                .findCnpjsExistentes(List.of("47001880000184", "85993975000110")));
+                consultas.put("CompanhiaAereaRepository.listarTodos", () -> companhiaAereaRepository.listarTodos());
+                consultas.put("CompanhiaAereaRepository.listarAPartirDe",
+                                () -> companhiaAereaRepository.listarAPartirDe(0L, Limit.of(10)));
+                consultas.put("CompanhiaAereaRepository.findVersao", () -> companhiaAereaRepository.findVersao(1L));
+                consultas.put("CompanhiaAereaRepository.findVersaoDaTabela",
+                                () -> companhiaAereaRepository.findVersaoDaTabela());
+                return consultas;
+        }
+
+        @Test
+        void todasAsConsultasDosRepositoriosDevemEstarCobertas() {
+                Set<String> declaradas = new TreeSet<>();
+                for (Class<?> repositorio : List.of(VooRepository.class, VooBuscaRepository.class, PilotoRepository.class,
+                                CompanhiaAereaRepository.class, ContadorMatriculaRepository.class,
+                                ContadorPontualidadeRepository.class)) {
+                        for (Method metodo : repositorio.getDeclaredMethods()) {
+                                if (!metodo.isSynthetic() && !metodo.isDefault()) {
+                                        declaradas.add(repositorio.getSimpleName() + "." + metodo.getName());
+                                }
+                        }
+                }
+
+                assertEquals(declaradas, new TreeSet<>(consultas().keySet()));
+        }
+
+        @Test
+        void consultasDevemUsarIndices() throws SQLException {
+                List<String> semIndice = new ArrayList<>();
+                for (Map.Entry<String, Runnable> consulta : consultas().entrySet()) {
+                        // Sem entidades em memória, toda consulta vai ao banco (inclusive findById)
+                        entityManager.clear();
+                        CAPTURADOS.clear();
+                        consulta.getValue().run();
+                        List<String> sqls = List.copyOf(CAPTURADOS);
+                        assertFalse(sqls.isEmpty(), consulta.getKey() + " não executou SQL");
+
+                        for (String sql : sqls) {
+                                String plano = explicar(sql);
+                                if (plano.contains(".tableScan") && !VARREDURA_PERMITIDA.contains(consulta.getKey())) {
+                                        semIndice.add(consulta.getKey() + ":\n" + plano);
+                                }
+                        }
+                }
+
+                assertTrue(semIndice.isEmpty(), "Plano inesperado:\n" + String.join("\n\n", semIndice));
+        }
+
+        // EXPLAIN na mesma conexão da transação do teste; os parâmetros não influenciam o plano
+        private String explicar(String sql) throws SQLException {
+                Connection conexao = DataSourceUtils.getConnection(dataSource);
+                try (PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + sql)) {
+                        int parametros = explain.getParameterMetaData().getParameterCount();
+                        for (int i = 1; i <= parametros; i++) {
+                                explain.setObject(i, null);
+                        }
+                        try (ResultSet plano = explain.executeQuery()) {
+                                List<String> linhas = new ArrayList<>();
+                                while (plano.next()) {
+                                        linhas.add(plano.getString(1));
+                                }
+                                return linhas.stream().collect(Collectors.joining("\n"));
+                        }
+                } finally {
+                        DataSourceUtils.releaseConnection(conexao, dataSource);
+                }
+        }
+}
@@ -0,0 +1,293 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import sistema.aeroporto.config.AgendadorProperties;
+import sistema.aeroporto.exception.VooAlteradoException;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+
+// Sem @Transactional: o agendador lê os voos na própria thread, depois do commit
+@SpringBootTest
+public class AgendadorVoosIntegrationTest {
+
+        @Autowired
+        private AgendadorVoos agendadorVoos;
+
+        @Autowired
+        private AgendadorProperties agendadorProperties;
+
+        @Autowired
+        private VooService vooService;
+
+        @Autowired
+        private VooEventosService vooEventosService;
+
+        @Autowired
+        private VooRepository vooRepository;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        @Autowired
+        private AutowireCapableBeanFactory beanFactory;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        private Piloto piloto;
+        private CompanhiaAerea companhia;
+        private final List<Long> voos = new ArrayList<>();
+
+        // Emitter sem conexão que guarda o nome de cada evento recebido
+        private static class EmitterTeste extends SseEmitter {
+
+                final List<String> eventos = new CopyOnWriteArrayList<>();
+
+                @Override
+                public void send(SseEventBuilder builder) throws IOException {
+                        builder.build().forEach(dado -> {
+                                String texto = dado.getData().toString();
+                                int inicio = texto.indexOf("event:");
+                                if (inicio >= 0) {
+                                        eventos.add(texto.substring(inicio + "event:".length(), texto.indexOf('\n', inicio)));
+                                }
+                        });
+                }
+        }
+
+        @BeforeEach
+        void setup() {
+                piloto = new Piloto();
+                piloto.setNome("Piloto Agendador");
+                piloto.setCpf("71428793860");
+                piloto.setMatricula("PAGD1");
+                piloto.setStatus(PilotoStatus.ATIVO);
+                piloto = pilotoRepository.save(piloto);
+
+                companhia = new CompanhiaAerea();
+                companhia.setNome("Companhia Agendador");
+                companhia.setCnpj("71428793000190");
+                companhia.setDataFundacao(LocalDate.of(2000, 1, 1));
+                companhia.setStatus(CompanhiaAereaStatus.ATIVA);
+                companhia = companhiaAereaRepository.save(companhia);
+        }
+
+        @AfterEach
+        void limpar() {
+                agendadorProperties.setTransicoesAutomaticas(false);
+                agendadorProperties.setReintento(Duration.ofSeconds(30));
+                voos.forEach(vooRepository::deleteById);
+                pilotoRepository.deleteById(piloto.getId());
+                companhiaAereaRepository.deleteById(companhia.getId());
+        }
+
+        // Grava direto pelo repositório: a API não aceita partida tão próxima
+        private Voo voo(String codigo, long partidaEmMs, long chegadaEmMs) {
+                LocalDateTime agora = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+                Voo v = new Voo();
+                v.setPiloto(piloto);
+                v.setCompanhia(companhia);
+                v.setCodigo(codigo);
+                v.setOrigem("SBGR");
+                v.setDestino("SBRJ");
+                v.setHorarioPartidaPrevisto(agora.plus(partidaEmMs, ChronoUnit.MILLIS));
+                v.setHorarioChegadaPrevisto(agora.plus(chegadaEmMs, ChronoUnit.MILLIS));
+                v.setStatus(VooStatus.AGENDADO);
+                Voo salvo = vooRepository.save(v);
+                voos.add(salvo.getId());
+                return salvo;
+        }
+
+        private VooStatus status(Voo voo) {
+                return vooRepository.findById(voo.getId()).orElseThrow().getStatus();
+        }
+
+        private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+                long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (!condicao.getAsBoolean()) {
+                        assertTrue(System.nanoTime() < limite, "condição não atendida em 10 s");
+                        Thread.sleep(20);
+                }
+        }
+
+        @Test
+        @DisplayName("Com transições automáticas, deve iniciar e finalizar o voo nos horários previstos")
+        void deveIniciarEFinalizarNosHorariosPrevistos() throws InterruptedException {
+                agendadorProperties.setTransicoesAutomaticas(true);
+                Voo voo = voo("AG100", 300, 900);
+
+                agendadorVoos.agendar(voo);
+
+                aguardar(() -> status(voo) == VooStatus.VOANDO);
+                aguardar(() -> status(voo) == VooStatus.CONCLUIDO);
+        }
+
+        @Test
+        @DisplayName("Sem transições automáticas, deve publicar atraso e manter o status")
+        void devePublicarAtrasoSemAlterarStatus() throws InterruptedException {
+                EmitterTeste emitter = new EmitterTeste();
+                vooEventosService.registrar(emitter, VooEventosService.Filtro.de(null, companhia.getId(), null));
+                Voo voo = voo("AG200", 300, 60_000);
+
+                agendadorVoos.agendar(voo);
+
+                aguardar(() -> emitter.eventos.contains("atraso"));
+                assertEquals(VooStatus.AGENDADO, status(voo));
+        }
+
+        @Test
+        @DisplayName("Voo cancelado antes do horário não deve gerar atraso")
+        void vooCanceladoNaoDeveGerarAtraso() throws InterruptedException {
+                EmitterTeste emitter = new EmitterTeste();
+                vooEventosService.registrar(emitter, VooEventosService.Filtro.de(null, companhia.getId(), null));
+                Voo cancelado = voo("AG300", 300, 60_000);
+                Voo atrasado = voo("AG301", 600, 60_000);
+                agendadorVoos.agendar(cancelado);
+                agendadorVoos.agendar(atrasado);
+
+                vooService.cancelarVoo(cancelado.getId(), "Teste");
+
+                // O atraso do segundo voo só é publicado depois do prazo do primeiro ter vencido
+                aguardar(() -> emitter.eventos.contains("atraso"));
+                assertEquals(List.of("status", "atraso"), emitter.eventos);
+        }
+
+        @Test
+        @DisplayName("Na inicialização deve carregar do banco os prazos da faixa seguinte")
+        void deveCarregarPrazosDoBancoNaInicializacao() throws InterruptedException {
+                agendadorProperties.setTransicoesAutomaticas(true);
+                Voo voo = voo("AG400", 1_000, 60_000);
+
+                // Outra instância, com a fila vazia: só conhece o voo pela consulta de recarga
+                AgendadorVoos novaInstancia = beanFactory.createBean(AgendadorVoos.class);
+                try {
+                        aguardar(() -> status(voo) == VooStatus.VOANDO);
+                        assertTrue(novaInstancia.pendentes() >= 1);
+                } finally {
+                        beanFactory.destroyBean(novaInstancia);
+                }
+        }
+
+        @Test
+        @DisplayName("Na inicialização deve disparar os prazos vencidos com a aplicação parada")
+        void deveDispararPrazosVencidosAntesDaInicializacao() throws InterruptedException {
+                agendadorProperties.setTransicoesAutomaticas(true);
+                Voo voo = voo("AG410", -60_000, 60_000);
+
+                AgendadorVoos novaInstancia = beanFactory.createBean(AgendadorVoos.class);
+                try {
+                        aguardar(() -> status(voo) == VooStatus.VOANDO);
+                } finally {
+                        beanFactory.destroyBean(novaInstancia);
+                }
+        }
+
+        @Test
+        @DisplayName("Recarga que falhou deve ser repetida após o reintento, não na metade da faixa")
+        void recargaComFalhaDeveSerRepetidaLogo() throws InterruptedException {
+                agendadorProperties.setTransicoesAutomaticas(true);
+                agendadorProperties.setReintento(Duration.ofMillis(200));
+                Voo voo = voo("AG420", 300, 60_000);
+                double falhasAntes = falhas("RECARGA", "DataAccessResourceFailureException");
+
+                // Só a primeira consulta de partidas falha; as seguintes vão ao repositório
+                VooRepository repositorio = mock(VooRepository.class, AdditionalAnswers.delegatesTo(vooRepository));
+                doAnswer(i -> {
+                        throw new DataAccessResourceFailureException("banco indisponível");
+                }).doAnswer(AdditionalAnswers.delegatesTo(vooRepository))
+                                .when(repositorio).findByStatusAndHorarioPartidaPrevistoBetween(any(), any(), any());
+                AgendadorVoos novaInstancia = new AgendadorVoos();
+                beanFactory.autowireBean(novaInstancia);
+                ReflectionTestUtils.setField(novaInstancia, "vooRepository", repositorio);
+                novaInstancia.iniciar();
+                try {
+                        aguardar(() -> status(voo) == VooStatus.VOANDO);
+                        assertEquals(falhasAntes + 1, falhas("RECARGA", "DataAccessResourceFailureException"));
+                } finally {
+                        novaInstancia.encerrar();
+                }
+        }
+
+        @Test
+        @DisplayName("Transição automática perdida para uma manual não deve gerar atraso")
+        void transicaoManualNoMeioTempoNaoDeveGerarAtraso() throws InterruptedException {
+                agendadorProperties.setTransicoesAutomaticas(true);
+                EmitterTeste emitter = new EmitterTeste();
+                vooEventosService.registrar(emitter, VooEventosService.Filtro.de(null, companhia.getId(), null));
+                Voo voo = voo("AG500", -1_000, 60_000);
+                double falhasAntes = falhas("PARTIDA", "VooAlteradoException");
+
+                // A partida manual acontece entre a leitura do agendador e o UPDATE da transição
+                agendadorVoos.transicionarOuAvisar(voo, AgendadorVoos.Tipo.PARTIDA, () -> {
+                        vooService.iniciarVoo(voo.getId());
+                        throw new VooAlteradoException();
+                });
+
+                // Envio assíncrono: um atraso publicado viria na fila do assinante depois do status
+                aguardar(() -> !emitter.eventos.isEmpty());
+                assertEquals(List.of("status"), emitter.eventos);
+                assertEquals(falhasAntes + 1, falhas("PARTIDA", "VooAlteradoException"));
+        }
+
+        @Test
+        @DisplayName("Transição automática recusada com o voo no mesmo status deve publicar atraso")
+        void transicaoRecusadaDevePublicarAtraso() throws InterruptedException {
+                agendadorProperties.setTransicoesAutomaticas(true);
+                EmitterTeste emitter = new EmitterTeste();
+                vooEventosService.registrar(emitter, VooEventosService.Filtro.de(null, companhia.getId(), null));
+                Voo voo = voo("AG600", -1_000, 60_000);
+
+                agendadorVoos.transicionarOuAvisar(voo, AgendadorVoos.Tipo.PARTIDA, () -> {
+                        throw new IllegalStateException("piloto inativo");
+                });
+
+                aguardar(() -> !emitter.eventos.isEmpty());
+                assertEquals(List.of("atraso"), emitter.eventos);
+                assertEquals(VooStatus.AGENDADO, status(voo));
+        }
+
+        private double falhas(String tipo, String excecao) {
+                var contador = meterRegistry.find("aeroporto.agendador.falhas")
+                                .tags("tipo", tipo, "excecao", excecao)
+                                .counter();
+                return contador == null ? 0 : contador.count();
+        }
+}
@@ -0,0 +1,223 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import sistema.aeroporto.dto.request.CompanhiaAereaRequest;
+import sistema.aeroporto.dto.request.CompanhiaAereaUpdateRequest;
+import sistema.aeroporto.dto.request.PilotoRequest;
+import sistema.aeroporto.dto.request.PilotoUpdateRequest;
+import sistema.aeroporto.dto.response.CacheEstatisticasResponse;
+import sistema.aeroporto.dto.response.CompanhiaAereaResponse;
+import sistema.aeroporto.dto.response.PilotoResponse;
+import sistema.aeroporto.exception.NotFoundCompanhiaAereaException;
+import sistema.aeroporto.exception.NotFoundPilotoException;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+
+// Sem @Transactional: o cache só guarda leituras feitas fora de transação
+@SpringBootTest
+public class CadastroCacheIntegrationTest {
+
+        @Autowired
+        private CadastroCache cadastroCache;
+
+        @Autowired
+        private PilotoService pilotoService;
+
+        @Autowired
+        private CompanhiaAereaService companhiaAereaService;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        @Autowired
+        private AutowireCapableBeanFactory beanFactory;
+
+        private final List<Long> pilotosCriados = new ArrayList<>();
+        private final List<Long> companhiasCriadas = new ArrayList<>();
+
+        @AfterEach
+        void limpar() {
+                pilotosCriados.forEach(id -> {
+                        pilotoRepository.deleteById(id);
+                        cadastroCache.invalidarPiloto(id);
+                });
+                companhiasCriadas.forEach(id -> {
+                        companhiaAereaRepository.deleteById(id);
+                        cadastroCache.invalidarCompanhia(id);
+                });
+        }
+
+        private PilotoResponse criarPiloto(String nome, String cpf) {
+                PilotoResponse piloto = pilotoService.salvarPiloto(
+                                new PilotoRequest(nome, 30, "M", cpf, null, "PPL", "ATIVO"));
+                pilotosCriados.add(piloto.id());
+                return piloto;
+        }
+
+        private CompanhiaAereaResponse criarCompanhia(String nome, String cnpj) {
+                CompanhiaAereaResponse companhia = companhiaAereaService.salvarCompanhia(
+                                new CompanhiaAereaRequest(nome, cnpj, null, true, "ATIVA"));
+                companhiasCriadas.add(companhia.id());
+                return companhia;
+        }
+
+        private CacheEstatisticasResponse estatisticas(String nome) {
+                return cadastroCache.estatisticas().stream()
+                                .filter(e -> e.nome().equals(nome))
+                                .findFirst()
+                                .orElseThrow();
+        }
+
+        @Test
+        @DisplayName("Deve atender a segunda busca do piloto pelo cache")
+        void deveContarAcertoNaSegundaBusca() {
+                PilotoResponse piloto = criarPiloto("João", "111.444.777-35");
+                CacheEstatisticasResponse antes = estatisticas("pilotos");
+
+                pilotoService.buscarPorId(piloto.id());
+                pilotoService.buscarPorId(piloto.id());
+
+                CacheEstatisticasResponse depois = estatisticas("pilotos");
+                assertEquals(antes.faltas() + 1, depois.faltas());
+                assertEquals(antes.acertos() + 1, depois.acertos());
+        }
+
+        @Test
+        @DisplayName("Deve invalidar todas as chaves do piloto ao atualizar")
+        void deveInvalidarPilotoAoAtualizar() {
+                PilotoResponse piloto = criarPiloto("João", "111.444.777-35");
+                pilotoService.buscarPorId(piloto.id());
+                pilotoService.buscarPorCpf(piloto.cpf());
+                pilotoService.buscarPorMatricula(piloto.matricula());
+
+                pilotoService.atualizarPiloto(piloto.id(),
+                                new PilotoUpdateRequest("João Silva", 31, "M", null, "PPL", "INATIVO"));
+
+                assertEquals("João Silva", pilotoService.buscarPorId(piloto.id()).nome());
+                assertEquals("INATIVO", pilotoService.buscarPorCpf(piloto.cpf()).status());
+                assertEquals(31, pilotoService.buscarPorMatricula(piloto.matricula()).idade());
+        }
+
+        @Test
+        @DisplayName("Deve deixar de encontrar o nome antigo da companhia após atualizar")
+        void deveInvalidarCompanhiaAoAtualizar() {
+                CompanhiaAereaResponse companhia = criarCompanhia("Azul", "05.451.308/0001-77");
+                companhiaAereaService.buscarPorNome("Azul");
+                companhiaAereaService.buscarPorCnpj(companhia.cnpj());
+
+                companhiaAereaService.atualizarCompanhia(companhia.id(),
+                                new CompanhiaAereaUpdateRequest("Azul Linhas", true, "INATIVA"));
+
+                assertThrows(NotFoundCompanhiaAereaException.class, () -> companhiaAereaService.buscarPorNome("Azul"));
+                assertEquals("INATIVA", companhiaAereaService.buscarPorCnpj(companhia.cnpj()).status());
+                assertEquals("Azul Linhas", companhiaAereaService.buscarPorId(companhia.id()).nome());
+        }
+
+        @Test
+        @DisplayName("Deve invalidar o piloto removido")
+        void deveInvalidarPilotoAoDeletar() {
+                PilotoResponse piloto = criarPiloto("João", "111.444.777-35");
+                pilotoService.buscarPorId(piloto.id());
+
+                pilotoService.deletarPiloto(piloto.id());
+                pilotosCriados.remove(piloto.id());
+
+                assertThrows(NotFoundPilotoException.class, () -> pilotoService.buscarPorId(piloto.id()));
+        }
+
+        @Test
+        @DisplayName("Não deve guardar buscas sem resultado")
+        void naoDeveGuardarBuscaSemResultado() {
+                assertThrows(NotFoundPilotoException.class, () -> pilotoService.buscarPorCpf("111.444.777-35"));
+
+                PilotoResponse piloto = criarPiloto("João", "111.444.777-35");
+
+                assertEquals(piloto.id(), pilotoService.buscarPorCpf("111.444.777-35").id());
+        }
+
+        @Test
+        @DisplayName("Busca feita durante a transação que altera o piloto não deve sobreviver ao commit")
+        void deveInvalidarDeNovoAposCommit() {
+                PilotoResponse piloto = criarPiloto("João", "111.444.777-35");
+                TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+                transacao.executeWithoutResult(status -> {
+                        Piloto entidade = pilotoRepository.findById(piloto.id()).orElseThrow();
+                        entidade.setNome("João Silva");
+                        pilotoRepository.saveAndFlush(entidade);
+                        cadastroCache.invalidarPiloto(piloto.id());
+
+                        // Outra requisição, fora da transação, ainda lê e guarda o nome antigo
+                        assertEquals("João", CompletableFuture.supplyAsync(
+                                        () -> pilotoService.buscarPorId(piloto.id()).nome()).join());
+                });
+
+                assertEquals("João Silva", pilotoService.buscarPorId(piloto.id()).nome());
+        }
+
+        @Test
+        @DisplayName("Consulta em andamento não deve travar outra busca nem ficar no cache após uma invalidação")
+        void consultaEmAndamentoNaoDeveTravarOCache() throws Exception {
+                PilotoResponse piloto = criarPiloto("João", "111.444.777-35");
+                Piloto lido = pilotoRepository.findById(piloto.id()).orElseThrow();
+                CountDownLatch consultando = new CountDownLatch(1);
+                CountDownLatch liberar = new CountDownLatch(1);
+                AtomicInteger consultas = new AtomicInteger();
+                PilotoRepository repositorio = mock(PilotoRepository.class);
+                when(repositorio.findById(piloto.id())).thenAnswer(i -> {
+                        if (consultas.getAndIncrement() == 0) {
+                                consultando.countDown();
+                                liberar.await();
+                        }
+                        return Optional.of(lido);
+                });
+                // Instância à parte, com o repositório que segura a primeira consulta
+                CadastroCache cache = new CadastroCache();
+                beanFactory.autowireBean(cache);
+                ReflectionTestUtils.setField(cache, "pilotoRepository", repositorio);
+                cache.iniciar();
+
+                CompletableFuture<Optional<Piloto>> lenta = CompletableFuture.supplyAsync(() -> cache.piloto(piloto.id()));
+                assertTrue(consultando.await(5, TimeUnit.SECONDS));
+                // Com a consulta dentro do mapa do Caffeine, as duas esperariam pela primeira
+                assertTrue(CompletableFuture.supplyAsync(() -> cache.piloto(piloto.id()))
+                                .get(5, TimeUnit.SECONDS).isPresent());
+                CompletableFuture.runAsync(() -> cache.invalidarPiloto(piloto.id())).get(5, TimeUnit.SECONDS);
+                liberar.countDown();
+
+                assertEquals(piloto.id(), lenta.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+                // A leitura anterior à invalidação não ficou no cache: a próxima busca vai ao banco
+                cache.piloto(piloto.id());
+                verify(repositorio, times(3)).findById(piloto.id());
+        }
+}
@@ -0,0 +1,173 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jakarta.persistence.EntityManagerFactory;
+import sistema.aeroporto.dto.request.CompanhiaAereaRequest;
+import sistema.aeroporto.dto.request.PilotoRequest;
+import sistema.aeroporto.dto.request.VooRequest;
+import sistema.aeroporto.dto.response.CompanhiaAereaResponse;
+import sistema.aeroporto.dto.response.PilotoResponse;
+import sistema.aeroporto.dto.response.VooResponse;
+import sistema.aeroporto.exception.CnpjJaCadastradoException;
+import sistema.aeroporto.exception.CodigoVooExistenteException;
+import sistema.aeroporto.exception.CpfJaCadastradoException;
+import sistema.aeroporto.exception.NomeJaCadastradoException;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+
+// Sem @Transactional: cada cadastro grava na própria transação, como quando vem do controller,
+// e as threads do teste de concorrência disputam a mesma restrição única
+@SpringBootTest
+public class CadastroUnicidadeIntegrationTest {
+
+        private static final int THREADS = 8;
+
+        // Documentos válidos que não constam da carga inicial
+        private static final String CPF_NOVO = "11144477735";
+        private static final String CNPJ_NOVO = "11444777000161";
+
+        @Autowired
+        private PilotoService pilotoService;
+
+        @Autowired
+        private CompanhiaAereaService companhiaAereaService;
+
+        @Autowired
+        private VooService vooService;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        @Autowired
+        private VooRepository vooRepository;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private final List<Long> voosCriados = new ArrayList<>();
+        private Statistics statistics;
+
+        @BeforeEach
+        void setup() {
+                statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.setStatisticsEnabled(true);
+                statistics.clear();
+        }
+
+        @AfterEach
+        void limpar() {
+                voosCriados.forEach(vooRepository::deleteById);
+                pilotoRepository.findByCpf(CPF_NOVO).ifPresent(pilotoRepository::delete);
+                companhiaAereaRepository.findByCnpj(CNPJ_NOVO).ifPresent(companhiaAereaRepository::delete);
+        }
+
+        private static PilotoRequest piloto(String cpf) {
+                return new PilotoRequest("Piloto Unicidade", 30, "M", cpf, null, "ATPL", "ATIVO");
+        }
+
+        @Test
+        @DisplayName("CPF duplicado deve ser recusado pela restrição única, sem consulta prévia")
+        void deveRecusarCpfDuplicadoSemConsultaPrevia() {
+                pilotoService.salvarPiloto(piloto(CPF_NOVO));
+                statistics.clear();
+
+                CpfJaCadastradoException e = assertThrows(CpfJaCadastradoException.class,
+                                () -> pilotoService.salvarPiloto(piloto("111.444.777-35")));
+
+                assertEquals("CPF já cadastrado", e.getMessage());
+                assertEquals(0, statistics.getQueryExecutionCount());
+        }
+
+        @Test
+        @DisplayName("CNPJ e nome duplicados devem ser traduzidos nas exceções de cadastro")
+        void deveRecusarCnpjENomeDuplicados() {
+                assertThrows(CnpjJaCadastradoException.class, () -> companhiaAereaService.salvarCompanhia(
+                                new CompanhiaAereaRequest("Companhia Unicidade", "47001880000184", null, true, "ATIVA")));
+                assertThrows(NomeJaCadastradoException.class, () -> companhiaAereaService.salvarCompanhia(
+                                new CompanhiaAereaRequest("Azul Linhas Aereas", CNPJ_NOVO, null, true, "ATIVA")));
+
+                assertTrue(companhiaAereaRepository.findByCnpj(CNPJ_NOVO).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Código de voo duplicado deve ser recusado sem deixar reserva na escala do piloto")
+        void deveRecusarCodigoDeVooDuplicado() {
+                PilotoResponse piloto = pilotoService.salvarPiloto(piloto(CPF_NOVO));
+                CompanhiaAereaResponse companhia = companhiaAereaService.salvarCompanhia(
+                                new CompanhiaAereaRequest("Companhia Unicidade", CNPJ_NOVO, null, true, "ATIVA"));
+                LocalDateTime partida = LocalDateTime.now().plusDays(40);
+
+                VooResponse criado = vooService.criarVoo(new VooRequest(piloto.id(), companhia.id(), "UN100",
+                                "SBGR", "SBRJ", partida, partida.plusHours(1)));
+                voosCriados.add(criado.id());
+
+                LocalDateTime outraPartida = partida.plusDays(1);
+                assertThrows(CodigoVooExistenteException.class, () -> vooService.criarVoo(new VooRequest(
+                                piloto.id(), companhia.id(), "UN100", "SBGR", "SBRJ", outraPartida,
+                                outraPartida.plusHours(1))));
+
+                // O horário do voo recusado continua livre para o piloto
+                VooResponse outro = vooService.criarVoo(new VooRequest(piloto.id(), companhia.id(), "UN101",
+                                "SBGR", "SBRJ", outraPartida, outraPartida.plusHours(1)));
+                voosCriados.add(outro.id());
+        }
+
+        @Test
+        @DisplayName("Cadastros simultâneos do mesmo CPF: só um é gravado, os demais recebem CPF já cadastrado")
+        void somenteUmCadastroSimultaneoDoMesmoCpfDeveSerGravado() throws Exception {
+                ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+                try {
+                        CountDownLatch largada = new CountDownLatch(1);
+                        List<Future<PilotoResponse>> tentativas = new ArrayList<>();
+                        for (int t = 0; t < THREADS; t++) {
+                                tentativas.add(executor.submit(() -> {
+                                        largada.await();
+                                        return pilotoService.salvarPiloto(piloto(CPF_NOVO));
+                                }));
+                        }
+                        largada.countDown();
+
+                        int gravados = 0;
+                        int recusados = 0;
+                        for (Future<PilotoResponse> tentativa : tentativas) {
+                                try {
+                                        tentativa.get(30, TimeUnit.SECONDS);
+                                        gravados++;
+                                } catch (ExecutionException e) {
+                                        assertInstanceOf(CpfJaCadastradoException.class, e.getCause());
+                                        recusados++;
+                                }
+                        }
+
+                        assertEquals(1, gravados);
+                        assertEquals(THREADS - 1, recusados);
+                        assertTrue(pilotoRepository.findByCpf(CPF_NOVO).isPresent());
+                } finally {
+                        executor.shutdownNow();
+                }
+        }
+}
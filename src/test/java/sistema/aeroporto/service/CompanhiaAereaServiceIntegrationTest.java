@@ -165,6 +165,22 @@ public class CompanhiaAereaServiceIntegrationTest {
         assertEquals(CompanhiaAereaStatus.INATIVA.name(), result.status());
     }
 
+    @Test
+    @DisplayName("Deve falhar ao renomear companhia para nome de outra")
+    void deveFalharAoAtualizarComNomeDeOutraCompanhia() {
+        companhiaAereaService.salvarCompanhia(
+                new CompanhiaAereaRequest("Azul", "63.141.461/0001-02", null, true, "ATIVA"));
+        CompanhiaAereaResponse gol = companhiaAereaService.salvarCompanhia(
+                new CompanhiaAereaRequest("Gol", "81.797.711/0001-30", null, true, "ATIVA"));
+
+        RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> companhiaAereaService.atualizarCompanhia(gol.id(),
+                        new CompanhiaAereaUpdateRequest("Azul", true, "ATIVA")));
+
+        assertEquals("Nome já cadastrado", exception.getMessage());
+    }
+
     @Test
     @DisplayName("Deve falhar ao atualizar companhia inexistente")
     void deveFalharAoAtualizarCompanhiaInexistente() {
@@ -7,16 +7,20 @@ import static org.mockito.Mockito.*;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import sistema.aeroporto.dto.request.CompanhiaAereaRequest;
 import sistema.aeroporto.dto.request.CompanhiaAereaUpdateRequest;
 import sistema.aeroporto.dto.response.CompanhiaAereaResponse;
+import sistema.aeroporto.exception.CompanhiaAereaAlteradaException;
 import sistema.aeroporto.model.CompanhiaAerea;
 import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
 import sistema.aeroporto.repository.CompanhiaAereaRepository;
@@ -30,20 +34,25 @@ public class CompanhiaAereaServiceTest {
     @Mock
     private CompanhiaAereaRepository companhiaRepository;
 
+    @Mock
+    private CadastroCache cadastroCache;
+
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+
+        // Cache repassa as buscas ao repositório mockado
+        when(cadastroCache.companhia(any())).thenAnswer(i -> companhiaRepository.findById(i.getArgument(0)));
+        when(cadastroCache.companhiaPorCnpj(any())).thenAnswer(i -> companhiaRepository.findByCnpj(i.getArgument(0)));
+        when(cadastroCache.companhiaPorNome(any())).thenAnswer(i -> companhiaRepository.findByNome(i.getArgument(0)));
     }
 
     @Test
     void deveListarTodasCompanhias() {
-        CompanhiaAerea c = new CompanhiaAerea();
-        c.setId(1L);
-        c.setNome("Azul");
-        c.setCnpj("12345");
-        c.setStatus(CompanhiaAereaStatus.ATIVA);
+        CompanhiaAereaResponse c = new CompanhiaAereaResponse(1L, "Azul", "12345", null, null,
+                CompanhiaAereaStatus.ATIVA);
 
-        when(companhiaRepository.findAll()).thenReturn(List.of(c, c));
+        when(companhiaRepository.listarTodos()).thenReturn(List.of(c, c));
 
         List<CompanhiaAereaResponse> lista = companhiaService.listarTodasCompanhias();
 
@@ -111,11 +120,10 @@ public class CompanhiaAereaServiceTest {
         entidade.setStatus(CompanhiaAereaStatus.ATIVA);
 
         try (MockedStatic<CnpjUtils> mock = mockStatic(CnpjUtils.class)) {
+            mock.when(() -> CnpjUtils.limpar(cnpj)).thenReturn(cnpj);
             mock.when(() -> CnpjUtils.validarCnpj(cnpj)).thenReturn(true);
             mock.when(() -> CnpjUtils.formatar(cnpj)).thenReturn(cnpj);
-            when(companhiaRepository.existsByCnpj(cnpj)).thenReturn(false);
-            when(companhiaRepository.existsByNome("Azul")).thenReturn(false);
-            when(companhiaRepository.save(any(CompanhiaAerea.class))).thenReturn(entidade);
+            when(companhiaRepository.saveAndFlush(any(CompanhiaAerea.class))).thenReturn(entidade);
 
             CompanhiaAereaResponse result = companhiaService.salvarCompanhia(request);
 
@@ -129,7 +137,8 @@ public class CompanhiaAereaServiceTest {
         CompanhiaAereaRequest request = new CompanhiaAereaRequest("Azul", cnpj, null, true, "ATIVA");
 
         try (MockedStatic<CnpjUtils> mock = mockStatic(CnpjUtils.class)) {
-            mock.when(() -> CnpjUtils.validarCnpj(cnpj)).thenReturn(false);
+            mock.when(() -> CnpjUtils.limpar(cnpj)).thenReturn("28818940000101");
+            mock.when(() -> CnpjUtils.validarCnpj("28818940000101")).thenReturn(false);
 
             RuntimeException ex = assertThrows(RuntimeException.class,
                     () -> companhiaService.salvarCompanhia(request));
@@ -144,8 +153,10 @@ public class CompanhiaAereaServiceTest {
         CompanhiaAereaRequest request = new CompanhiaAereaRequest("Azul", cnpj, null, true, "ATIVA");
 
         try (MockedStatic<CnpjUtils> mock = mockStatic(CnpjUtils.class)) {
+            mock.when(() -> CnpjUtils.limpar(cnpj)).thenReturn(cnpj);
             mock.when(() -> CnpjUtils.validarCnpj(cnpj)).thenReturn(true);
-            when(companhiaRepository.existsByCnpj(cnpj)).thenReturn(true);
+            when(companhiaRepository.saveAndFlush(any(CompanhiaAerea.class)))
+                    .thenThrow(violacao("PUBLIC.UK_COMPANHIA_CNPJ_INDEX_A"));
 
             RuntimeException ex = assertThrows(RuntimeException.class,
                     () -> companhiaService.salvarCompanhia(request));
@@ -154,6 +165,29 @@ public class CompanhiaAereaServiceTest {
         }
     }
 
+    @Test
+    void deveFalharAoSalvarCompanhiaComNomeDuplicado() {
+        String cnpj = "28818940000101";
+        CompanhiaAereaRequest request = new CompanhiaAereaRequest("Azul", cnpj, null, true, "ATIVA");
+
+        try (MockedStatic<CnpjUtils> mock = mockStatic(CnpjUtils.class)) {
+            mock.when(() -> CnpjUtils.limpar(cnpj)).thenReturn(cnpj);
+            mock.when(() -> CnpjUtils.validarCnpj(cnpj)).thenReturn(true);
+            when(companhiaRepository.saveAndFlush(any(CompanhiaAerea.class)))
+                    .thenThrow(violacao("companhia_aerea.uk_companhia_nome"));
+
+            RuntimeException ex = assertThrows(RuntimeException.class,
+                    () -> companhiaService.salvarCompanhia(request));
+
+            assertEquals("Nome já cadastrado", ex.getMessage());
+        }
+    }
+
+    private static DataIntegrityViolationException violacao(String restricao) {
+        return new DataIntegrityViolationException("insert",
+                new ConstraintViolationException("duplicado", null, restricao));
+    }
+
     @Test
     void deveDeletarCompanhia() {
         when(companhiaRepository.existsById(1L)).thenReturn(true);
@@ -185,11 +219,46 @@ public class CompanhiaAereaServiceTest {
         CompanhiaAereaUpdateRequest request = new CompanhiaAereaUpdateRequest("Azul", true, "INATIVA");
 
         when(companhiaRepository.findById(1L)).thenReturn(Optional.of(existente));
-        when(companhiaRepository.save(any(CompanhiaAerea.class))).thenReturn(existente);
+        when(companhiaRepository.saveAndFlush(any(CompanhiaAerea.class))).thenReturn(existente);
 
         CompanhiaAereaResponse result = companhiaService.atualizarCompanhia(1L, request);
 
         assertEquals(CompanhiaAereaStatus.INATIVA.name(), result.status());
+        verify(companhiaRepository, never()).findByNome(any());
+    }
+
+    @Test
+    void deveFalharAoAtualizarCompanhiaComNomeDuplicado() {
+        CompanhiaAerea existente = new CompanhiaAerea();
+        existente.setId(1L);
+        existente.setNome("Azul");
+        existente.setCnpj("40510225000102");
+        existente.setStatus(CompanhiaAereaStatus.ATIVA);
+
+        when(companhiaRepository.findById(1L)).thenReturn(Optional.of(existente));
+        when(companhiaRepository.saveAndFlush(any(CompanhiaAerea.class)))
+                .thenThrow(violacao("companhia_aerea.uk_companhia_nome"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> companhiaService.atualizarCompanhia(1L, new CompanhiaAereaUpdateRequest("Gol", true, "ATIVA")));
+
+        assertEquals("Nome já cadastrado", ex.getMessage());
+    }
+
+    @Test
+    void deveFalharAoAtualizarCompanhiaAlteradaPorOutraOperacao() {
+        CompanhiaAerea existente = new CompanhiaAerea();
+        existente.setId(1L);
+        existente.setNome("Azul");
+        existente.setCnpj("40510225000102");
+        existente.setStatus(CompanhiaAereaStatus.ATIVA);
+
+        when(companhiaRepository.findById(1L)).thenReturn(Optional.of(existente));
+        when(companhiaRepository.saveAndFlush(any(CompanhiaAerea.class)))
+                .thenThrow(new OptimisticLockingFailureException("versao"));
+
+        assertThrows(CompanhiaAereaAlteradaException.class,
+                () -> companhiaService.atualizarCompanhia(1L, new CompanhiaAereaUpdateRequest("Azul", true, "INATIVA")));
     }
 
     @Test
@@ -0,0 +1,175 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import sistema.aeroporto.config.EscalaProperties;
+import sistema.aeroporto.exception.PilotoOutroVooException;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.VooRepository;
+
+public class EscalaPilotoIndexTest {
+
+    @InjectMocks
+    private EscalaPilotoIndex escalaPilotoIndex;
+
+    @Mock
+    private VooRepository vooRepository;
+
+    @Spy
+    private EscalaProperties escalaProperties = new EscalaProperties();
+
+    private static final Long PILOTO_ID = 1L;
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 10, 8, 0);
+
+    private Piloto piloto;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        escalaPilotoIndex.iniciar();
+
+        piloto = new Piloto();
+        piloto.setId(PILOTO_ID);
+    }
+
+    private Voo voo(Long id, LocalDateTime partida, LocalDateTime chegada, VooStatus status) {
+        Voo v = new Voo();
+        v.setId(id);
+        v.setPiloto(piloto);
+        v.setHorarioPartidaPrevisto(partida);
+        v.setHorarioChegadaPrevisto(chegada);
+        v.setStatus(status);
+        return v;
+    }
+
+    @Test
+    void deveDetectarSobreposicaoParcial() {
+        when(vooRepository.findByPiloto_IdAndStatusIn(any(), any()))
+                .thenReturn(List.of(voo(1L, BASE, BASE.plusHours(3), VooStatus.AGENDADO)));
+
+        assertTrue(escalaPilotoIndex.temConflito(PILOTO_ID, BASE.plusHours(2), BASE.plusHours(5)));
+        assertTrue(escalaPilotoIndex.temConflito(PILOTO_ID, BASE.minusHours(1), BASE.plusMinutes(1)));
+        assertTrue(escalaPilotoIndex.temConflito(PILOTO_ID, BASE.plusHours(1), BASE.plusHours(2)));
+    }
+
+    @Test
+    void devePermitirVoosEncostados() {
+        when(vooRepository.findByPiloto_IdAndStatusIn(any(), any()))
+                .thenReturn(List.of(voo(1L, BASE, BASE.plusHours(3), VooStatus.AGENDADO)));
+
+        assertFalse(escalaPilotoIndex.temConflito(PILOTO_ID, BASE.plusHours(3), BASE.plusHours(5)));
+        assertFalse(escalaPilotoIndex.temConflito(PILOTO_ID, BASE.minusHours(2), BASE));
+    }
+
+    @Test
+    void deveDetectarVooLongoIniciadoMuitoAntes() {
+        when(vooRepository.findByPiloto_IdAndStatusIn(any(), any())).thenReturn(List.of(
+                voo(1L, BASE, BASE.plusHours(14), VooStatus.VOANDO),
+                voo(2L, BASE.plusHours(1), BASE.plusHours(2), VooStatus.AGENDADO)));
+
+        assertTrue(escalaPilotoIndex.temConflito(PILOTO_ID, BASE.plusHours(10), BASE.plusHours(11)));
+    }
+
+    @Test
+    void deveCarregarAgendaDoBancoUmaUnicaVez() {
+        when(vooRepository.findByPiloto_IdAndStatusIn(any(), any())).thenReturn(List.of());
+
+        escalaPilotoIndex.temConflito(PILOTO_ID, BASE, BASE.plusHours(1));
+        escalaPilotoIndex.temConflito(PILOTO_ID, BASE.plusHours(2), BASE.plusHours(3));
+
+        verify(vooRepository, times(1)).findByPiloto_IdAndStatusIn(any(), any());
+    }
+
+    @Test
+    void deveReservarERejeitarConflito() {
+        when(vooRepository.findByPiloto_IdAndStatusIn(any(), any())).thenReturn(List.of());
+
+        escalaPilotoIndex.reservar(PILOTO_ID, BASE, BASE.plusHours(2),
+                () -> voo(1L, BASE, BASE.plusHours(2), VooStatus.AGENDADO));
+
+        assertThrows(PilotoOutroVooException.class, () -> escalaPilotoIndex.reservar(PILOTO_ID,
+                BASE.plusHours(1), BASE.plusHours(3), () -> fail("Não deveria persistir")));
+    }
+
+    @Test
+    void deveLiberarHorarioAoCancelar() {
+        Voo existente = voo(1L, BASE, BASE.plusHours(3), VooStatus.AGENDADO);
+        when(vooRepository.findByPiloto_IdAndStatusIn(any(), any())).thenReturn(List.of(existente));
+
+        assertTrue(escalaPilotoIndex.temConflito(PILOTO_ID, BASE, BASE.plusHours(1)));
+
+        existente.setStatus(VooStatus.CANCELADO);
+        escalaPilotoIndex.sincronizar(existente);
+
+        assertFalse(escalaPilotoIndex.temConflito(PILOTO_ID, BASE, BASE.plusHours(1)));
+    }
+
+    @Test
+    void deveLiberarHorarioSomenteAposCommit() {
+        Voo existente = voo(1L, BASE, BASE.plusHours(3), VooStatus.AGENDADO);
+        when(vooRepository.findByPiloto_IdAndStatusIn(any(), any())).thenReturn(List.of(existente));
+        escalaPilotoIndex.temConflito(PILOTO_ID, BASE, BASE.plusHours(1));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            existente.setStatus(VooStatus.CANCELADO);
+            escalaPilotoIndex.sincronizar(existente);
+            // Transação ainda aberta: se o commit falhar, o voo continua ocupando o piloto
+            assertTrue(escalaPilotoIndex.temConflito(PILOTO_ID, BASE, BASE.plusHours(1)));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(escalaPilotoIndex.temConflito(PILOTO_ID, BASE, BASE.plusHours(1)));
+    }
+
+    @Test
+    void deveAplicarAtualizacaoConfirmadaDuranteACarga() throws Exception {
+        // A carga lê o voo ainda agendado; o cancelamento é confirmado antes de ela terminar
+        Voo lido = voo(1L, BASE, BASE.plusHours(3), VooStatus.AGENDADO);
+        CountDownLatch consultando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(vooRepository.findByPiloto_IdAndStatusIn(any(), any())).thenAnswer(invocacao -> {
+            consultando.countDown();
+            liberar.await();
+            return List.of(lido);
+        });
+
+        CompletableFuture<Boolean> carga = CompletableFuture
+                .supplyAsync(() -> escalaPilotoIndex.temConflito(PILOTO_ID, BASE, BASE.plusHours(1)));
+        assertTrue(consultando.await(5, TimeUnit.SECONDS));
+
+        Thread sincronizacao = new Thread(() -> escalaPilotoIndex
+                .sincronizar(voo(1L, BASE, BASE.plusHours(3), VooStatus.CANCELADO)));
+        sincronizacao.start();
+        while (sincronizacao.getState() != Thread.State.WAITING && sincronizacao.isAlive()) {
+            Thread.sleep(5);
+        }
+        liberar.countDown();
+        sincronizacao.join(5_000);
+
+        assertTrue(carga.get(5, TimeUnit.SECONDS));
+        assertFalse(escalaPilotoIndex.temConflito(PILOTO_ID, BASE, BASE.plusHours(1)));
+    }
+}
@@ -0,0 +1,215 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import jakarta.persistence.EntityManagerFactory;
+import sistema.aeroporto.controller.CompanhiaAereaController;
+import sistema.aeroporto.controller.PilotoController;
+import sistema.aeroporto.controller.VooController;
+import sistema.aeroporto.dto.request.CompanhiaAereaRequest;
+import sistema.aeroporto.dto.request.CompanhiaAereaUpdateRequest;
+import sistema.aeroporto.dto.request.PilotoUpdateRequest;
+import sistema.aeroporto.dto.response.CompanhiaAereaResponse;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+
+// Chama os controllers direto, com o If-None-Match que o cliente enviaria. As ETags são fracas
+// (W/"..."): valem para o mesmo conteúdo em qualquer formato e compressão, não para os mesmos bytes
+@SpringBootTest
+public class EtagIntegrationTest {
+
+        @Autowired
+        private VooController vooController;
+
+        @Autowired
+        private PilotoController pilotoController;
+
+        @Autowired
+        private CompanhiaAereaController companhiaAereaController;
+
+        @Autowired
+        private PilotoService pilotoService;
+
+        @Autowired
+        private CompanhiaAereaService companhiaAereaService;
+
+        @Autowired
+        private VooRepository vooRepository;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private Piloto piloto;
+        private CompanhiaAerea companhia;
+        private Voo voo;
+        private Long companhiaCriada;
+
+        @BeforeEach
+        void setup() {
+                piloto = new Piloto();
+                piloto.setNome("Piloto ETag");
+                piloto.setCpf("00000000723");
+                piloto.setMatricula("PETAG1");
+                piloto.setHabilitacao("PPL");
+                piloto.setStatus(PilotoStatus.ATIVO);
+                piloto = pilotoRepository.save(piloto);
+
+                companhia = new CompanhiaAerea();
+                companhia.setNome("Companhia ETag");
+                companhia.setCnpj("00000000000723");
+                companhia.setDataFundacao(LocalDate.of(2000, 1, 1));
+                companhia.setStatus(CompanhiaAereaStatus.ATIVA);
+                companhia = companhiaAereaRepository.save(companhia);
+
+                LocalDateTime partida = LocalDateTime.now().plusDays(1);
+                voo = new Voo();
+                voo.setPiloto(piloto);
+                voo.setCompanhia(companhia);
+                voo.setCodigo("ET723");
+                voo.setOrigem("SBGR");
+                voo.setDestino("SBRJ");
+                voo.setHorarioPartidaPrevisto(partida);
+                voo.setHorarioChegadaPrevisto(partida.plusHours(1));
+                voo.setStatus(VooStatus.AGENDADO);
+                voo = vooRepository.save(voo);
+        }
+
+        @AfterEach
+        void limpar() {
+                vooRepository.deleteById(voo.getId());
+                pilotoRepository.deleteById(piloto.getId());
+                companhiaAereaRepository.deleteById(companhia.getId());
+                if (companhiaCriada != null) {
+                        companhiaAereaRepository.deleteById(companhiaCriada);
+                }
+        }
+
+        private static String etag(ResponseEntity<?> resposta) {
+                return resposta.getHeaders().getETag();
+        }
+
+        private String etagDasCompanhias() {
+                ResponseEntity<?> resposta = companhiaAereaController.listarTodas(null, null, null);
+                assertEquals(HttpStatus.OK, resposta.getStatusCode());
+                return etag(resposta);
+        }
+
+        @Test
+        @DisplayName("Voo inalterado deve responder 304 sem carregar nem montar o voo")
+        void vooInalteradoDeveResponder304SemCarregar() {
+                ResponseEntity<?> primeira = vooController.buscarPorId(voo.getId(), null);
+                assertEquals(HttpStatus.OK, primeira.getStatusCode());
+                assertTrue(etag(primeira).startsWith("W/\""));
+
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.setStatisticsEnabled(true);
+                statistics.clear();
+                ResponseEntity<?> segunda = vooController.buscarPorId(voo.getId(), etag(primeira));
+
+                assertEquals(HttpStatus.NOT_MODIFIED, segunda.getStatusCode());
+                assertNull(segunda.getBody());
+                assertEquals(etag(primeira), etag(segunda));
+                assertEquals(0, statistics.getEntityLoadCount());
+                assertEquals(1, statistics.getPrepareStatementCount());
+
+                // Comparação fraca e lista de ETags, como mandam os clientes HTTP
+                assertEquals(HttpStatus.NOT_MODIFIED,
+                                vooController.buscarPorId(voo.getId(), "\"outra\", " + etag(primeira).substring(2)).getStatusCode());
+                assertEquals(HttpStatus.NOT_MODIFIED, vooController.buscarPorId(voo.getId(), "*").getStatusCode());
+        }
+
+        @Test
+        @DisplayName("Alterar o piloto deve mudar a ETag do piloto, dos voos dele e da listagem de voos")
+        void alterarPilotoDeveMudarEtagsQueIncluemPiloto() {
+                String doVoo = etag(vooController.buscarPorId(voo.getId(), null));
+                String dosVoos = etag(vooController.listarTodos(null, null, null));
+                String doPiloto = etag(pilotoController.buscarPorId(piloto.getId(), null));
+                assertEquals(HttpStatus.NOT_MODIFIED, vooController.listarTodos(null, null, dosVoos).getStatusCode());
+
+                pilotoService.atualizarPiloto(piloto.getId(),
+                                new PilotoUpdateRequest("Piloto ETag Renomeado", 40, "M", null, "PPL", "ATIVO"));
+
+                ResponseEntity<?> voo = vooController.buscarPorId(this.voo.getId(), doVoo);
+                assertEquals(HttpStatus.OK, voo.getStatusCode());
+                assertNotEquals(doVoo, etag(voo));
+                assertEquals(HttpStatus.OK, vooController.listarTodos(null, null, dosVoos).getStatusCode());
+                ResponseEntity<?> piloto = pilotoController.buscarPorId(this.piloto.getId(), doPiloto);
+                assertEquals(HttpStatus.OK, piloto.getStatusCode());
+                assertEquals(HttpStatus.NOT_MODIFIED,
+                                pilotoController.buscarPorId(this.piloto.getId(), etag(piloto)).getStatusCode());
+        }
+
+        @Test
+        @DisplayName("A ETag da listagem de companhias deve mudar a cada inclusão, alteração e remoção")
+        void etagDaListagemDeveMudarACadaEscrita() {
+                String inicial = etagDasCompanhias();
+                assertEquals(HttpStatus.NOT_MODIFIED,
+                                companhiaAereaController.listarTodas(null, null, inicial).getStatusCode());
+
+                CompanhiaAereaResponse criada = companhiaAereaService.salvarCompanhia(
+                                new CompanhiaAereaRequest("Companhia ETag Nova", "11.222.333/0001-81", null, true, "ATIVA"));
+                companhiaCriada = criada.id();
+                String aposInclusao = etagDasCompanhias();
+
+                companhiaAereaService.atualizarCompanhia(criada.id(),
+                                new CompanhiaAereaUpdateRequest("Companhia ETag Alterada", false, "ATIVA"));
+                String aposAlteracao = etagDasCompanhias();
+
+                companhiaAereaService.deletarCompanhia(criada.id());
+                companhiaCriada = null;
+                String aposRemocao = etagDasCompanhias();
+
+                assertEquals(3, Set.of(inicial, aposInclusao, aposAlteracao).size());
+                assertNotEquals(aposAlteracao, aposRemocao);
+                // Incluir e remover a mesma companhia volta à mesma listagem, e à mesma ETag
+                assertEquals(inicial, aposRemocao);
+        }
+
+        @Test
+        @DisplayName("Todas as ETags devem ser fracas e comparadas pela regra fraca do If-None-Match")
+        void etagsDevemSerFracas() {
+                String doVoo = etag(vooController.buscarPorId(voo.getId(), null));
+                String doPiloto = etag(pilotoController.buscarPorId(piloto.getId(), null));
+                String dosVoos = etag(vooController.listarTodos(null, null, null));
+                String dasCompanhias = etagDasCompanhias();
+
+                // Validador fraco: o mesmo valor é enviado para JSON, CBOR e Smile, com ou sem gzip, então
+                // não serve para comparação forte (If-Range, faixas de bytes)
+                for (String etag : Set.of(doVoo, doPiloto, dosVoos, dasCompanhias)) {
+                        assertTrue(etag.startsWith("W/\""), etag);
+                }
+                // Na comparação fraca a forma forte do mesmo valor também confere
+                assertEquals(HttpStatus.NOT_MODIFIED,
+                                vooController.buscarPorId(voo.getId(), doVoo.substring(2)).getStatusCode());
+                assertEquals(HttpStatus.NOT_MODIFIED,
+                                pilotoController.buscarPorId(piloto.getId(), doPiloto.substring(2)).getStatusCode());
+        }
+}
@@ -0,0 +1,135 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+// Pela rede, como um cliente: a negociação e a compressão acontecem fora dos controllers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class FormatosIntegrationTest {
+
+        private static final String CBOR = "application/cbor";
+        private static final String SMILE = "application/x-jackson-smile";
+
+        private final HttpClient cliente = HttpClient.newHttpClient();
+
+        @LocalServerPort
+        private int porta;
+
+        private HttpResponse<byte[]> get(String caminho, String accept, String acceptEncoding)
+                        throws IOException, InterruptedException {
+                HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                                .header("Accept", accept);
+                if (acceptEncoding != null) {
+                        requisicao.header("Accept-Encoding", acceptEncoding);
+                }
+                return cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+        }
+
+        private JsonNode emJson(String caminho) throws IOException, InterruptedException {
+                HttpResponse<byte[]> resposta = get(caminho, "application/json", null);
+                assertEquals(200, resposta.statusCode());
+                return JsonMapper.builder().build().readTree(resposta.body());
+        }
+
+        private void assertMesmoConteudo(String caminho, String formato, ObjectMapper leitor)
+                        throws IOException, InterruptedException {
+                HttpResponse<byte[]> resposta = get(caminho, formato, null);
+
+                assertEquals(200, resposta.statusCode());
+                assertEquals(formato, resposta.headers().firstValue("Content-Type").orElseThrow());
+                assertVariaPorAccept(resposta);
+                assertEquals(emJson(caminho), leitor.readTree(resposta.body()));
+        }
+
+        // Um cache compartilhado não pode entregar (nem revalidar com 304) um formato a quem pediu outro
+        private static void assertVariaPorAccept(HttpResponse<?> resposta) {
+                assertTrue(resposta.headers().allValues("Vary").stream()
+                                .flatMap(valor -> List.of(valor.split(",")).stream())
+                                .anyMatch(valor -> valor.trim().equalsIgnoreCase("Accept")),
+                                "Vary sem Accept: " + resposta.headers().allValues("Vary"));
+        }
+
+        @Test
+        @DisplayName("Deve responder em CBOR quando o cliente pede application/cbor")
+        void deveResponderEmCbor() throws Exception {
+                assertMesmoConteudo("/api/voos?tamanho=5", CBOR, CBORMapper.builder().build());
+                assertMesmoConteudo("/api/companhias/1", CBOR, CBORMapper.builder().build());
+        }
+
+        @Test
+        @DisplayName("Deve responder em Smile quando o cliente pede application/x-jackson-smile")
+        void deveResponderEmSmile() throws Exception {
+                assertMesmoConteudo("/api/voos?tamanho=5", SMILE, SmileMapper.builder().build());
+                assertMesmoConteudo("/api/pilotos/1", SMILE, SmileMapper.builder().build());
+        }
+
+        @Test
+        @DisplayName("Deve variar por Accept também na revalidação com If-None-Match")
+        void deveVariarPorAcceptNaRevalidacao() throws Exception {
+                HttpResponse<byte[]> json = get("/api/companhias/1", "application/json", null);
+                assertVariaPorAccept(json);
+
+                HttpRequest revalidacao = HttpRequest
+                                .newBuilder(URI.create("http://localhost:" + porta + "/api/companhias/1"))
+                                .header("Accept", CBOR)
+                                .header("If-None-Match", json.headers().firstValue("ETag").orElseThrow())
+                                .build();
+                HttpResponse<byte[]> resposta = cliente.send(revalidacao, HttpResponse.BodyHandlers.ofByteArray());
+
+                assertEquals(304, resposta.statusCode());
+                assertVariaPorAccept(resposta);
+        }
+
+        @Test
+        @DisplayName("Deve aceitar corpo de requisição em CBOR")
+        void deveAceitarCorpoEmCbor() throws Exception {
+                CBORMapper cbor = CBORMapper.builder().build();
+                HttpRequest requisicao = HttpRequest
+                                .newBuilder(URI.create("http://localhost:" + porta + "/api/pilotos/cpfs/validacao"))
+                                .header("Content-Type", CBOR)
+                                .header("Accept", CBOR)
+                                .POST(HttpRequest.BodyPublishers.ofByteArray(cbor.writeValueAsBytes(List.of("123"))))
+                                .build();
+
+                HttpResponse<byte[]> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+
+                assertEquals(200, resposta.statusCode());
+                assertEquals("INVALIDO", cbor.readTree(resposta.body()).get(0).get("situacao").asString());
+        }
+
+        @Test
+        @DisplayName("Deve comprimir com gzip as respostas JSON quando o cliente aceita")
+        void deveComprimirJsonComGzip() throws Exception {
+                String caminho = "/api/voos?tamanho=20";
+                HttpResponse<byte[]> resposta = get(caminho, "application/json", "gzip");
+
+                assertEquals(200, resposta.statusCode());
+                assertEquals("gzip", resposta.headers().firstValue("Content-Encoding").orElseThrow());
+                byte[] json;
+                try (GZIPInputStream descomprimido = new GZIPInputStream(
+                                new ByteArrayInputStream(resposta.body()))) {
+                        json = descomprimido.readAllBytes();
+                }
+                assertTrue(resposta.body().length < json.length);
+                assertEquals(emJson(caminho), JsonMapper.builder().build().readTree(json));
+        }
+}
@@ -0,0 +1,106 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import sistema.aeroporto.repository.ContadorMatriculaRepository;
+
+// Sem @Transactional: o gerador reserva cada bloco numa transação própria, já confirmada
+@SpringBootTest
+public class GeradorMatriculaIntegrationTest {
+
+        private static final int THREADS = 8;
+
+        @Autowired
+        private GeradorMatricula geradorMatricula;
+
+        @Autowired
+        private ContadorMatriculaRepository contadorMatriculaRepository;
+
+        @Autowired
+        private AutowireCapableBeanFactory beanFactory;
+
+        private static String prefixo() {
+                return "PIL" + LocalDate.now().getYear();
+        }
+
+        private static long numero(String matricula) {
+                return Long.parseLong(matricula.substring(prefixo().length()));
+        }
+
+        @Test
+        @DisplayName("Deve gerar números consecutivos reservando um bloco no banco a cada " + GeradorMatricula.BLOCO)
+        void deveGerarNumerosConsecutivosPorBloco() {
+                List<String> matriculas = new ArrayList<>();
+                for (int i = 0; i < GeradorMatricula.BLOCO * 3; i++) {
+                        matriculas.add(geradorMatricula.proxima());
+                }
+
+                for (int i = 1; i < matriculas.size(); i++) {
+                        assertTrue(matriculas.get(i).startsWith(prefixo()));
+                        assertEquals(numero(matriculas.get(i - 1)) + 1, numero(matriculas.get(i)));
+                }
+                // O contador só avança bloco a bloco: fica no fim do bloco em uso
+                long ultimo = contadorMatriculaRepository.findById(LocalDate.now().getYear()).orElseThrow().getUltimo();
+                long gerado = numero(matriculas.get(matriculas.size() - 1));
+                assertTrue(ultimo >= gerado && ultimo - gerado < GeradorMatricula.BLOCO);
+        }
+
+        @Test
+        @DisplayName("Chamadas simultâneas não devem repetir matrícula")
+        void naoDeveRepetirMatriculaEmChamadasSimultaneas() throws Exception {
+                Set<String> geradas = ConcurrentHashMap.newKeySet();
+                ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+                try {
+                        CountDownLatch largada = new CountDownLatch(1);
+                        List<Future<?>> tarefas = new ArrayList<>();
+                        for (int t = 0; t < THREADS; t++) {
+                                tarefas.add(executor.submit(() -> {
+                                        largada.await();
+                                        for (int i = 0; i < 200; i++) {
+                                                geradas.add(geradorMatricula.proxima());
+                                        }
+                                        return null;
+                                }));
+                        }
+                        largada.countDown();
+                        for (Future<?> tarefa : tarefas) {
+                                tarefa.get(30, TimeUnit.SECONDS);
+                        }
+                } finally {
+                        executor.shutdownNow();
+                }
+
+                assertEquals(THREADS * 200, geradas.size());
+        }
+
+        @Test
+        @DisplayName("Instâncias diferentes da aplicação devem receber blocos disjuntos")
+        void instanciasDevemReceberBlocosDisjuntos() {
+                // Outro gerador com estado próprio em memória, compartilhando o contador do banco
+                GeradorMatricula outraInstancia = beanFactory.createBean(GeradorMatricula.class);
+
+                Set<String> geradas = new HashSet<>();
+                for (int i = 0; i < GeradorMatricula.BLOCO * 2; i++) {
+                        assertTrue(geradas.add(geradorMatricula.proxima()));
+                        assertTrue(geradas.add(outraInstancia.proxima()));
+                }
+        }
+}
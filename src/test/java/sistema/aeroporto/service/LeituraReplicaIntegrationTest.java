@@ -0,0 +1,200 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import sistema.aeroporto.config.AderenciaPrimaria;
+import sistema.aeroporto.config.RoteamentoDataSource;
+import sistema.aeroporto.dto.response.CompanhiaAereaResponse;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+
+// Réplica num H2 separado, sem replicação: o que está só nela mostra de onde cada leitura veio
+@SpringBootTest(properties = {
+                "aeroporto.replica.url=" + LeituraReplicaIntegrationTest.URL_REPLICA,
+                "aeroporto.replica.username=sa",
+                "aeroporto.replica.tamanho-pool=2" })
+public class LeituraReplicaIntegrationTest {
+
+        static final String URL_REPLICA = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+        private static final long ID_NA_REPLICA = 900_001L;
+
+        private static final DataSource REPLICA = new DriverManagerDataSource(URL_REPLICA, "sa", "");
+
+        // Antes do contexto: a carga inicial e a reconciliação já leem da réplica ao subir
+        static {
+                Flyway.configure().dataSource(REPLICA).locations("classpath:db/migration/h2").load().migrate();
+        }
+
+        @Autowired
+        private CompanhiaAereaService companhiaAereaService;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        @Autowired
+        private AderenciaPrimaria aderenciaPrimaria;
+
+        @Autowired
+        private CadastroCache cadastroCache;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private JdbcTemplate replica;
+        private CompanhiaAerea criada;
+
+        @BeforeEach
+        void setup() {
+                replica = new JdbcTemplate(REPLICA);
+                replica.update("DELETE FROM companhia_aerea");
+                replica.update("""
+                                INSERT INTO companhia_aerea (id, nome, cnpj, data_fundacao, status)
+                                VALUES (?, 'Companhia Só na Réplica', '00000000000606', DATE '2000-01-01', 'ATIVA')
+                                """, ID_NA_REPLICA);
+                // A carga inicial e os testes anteriores escreveram nesta thread
+                AderenciaPrimaria.limpar();
+        }
+
+        @AfterEach
+        void limpar() {
+                if (criada != null) {
+                        companhiaAereaRepository.deleteById(criada.getId());
+                }
+                AderenciaPrimaria.limpar();
+        }
+
+        private List<String> nomes() {
+                return companhiaAereaService.listarTodasCompanhias().stream().map(CompanhiaAereaResponse::nome).toList();
+        }
+
+        private CompanhiaAerea criarNoPrincipal() {
+                CompanhiaAerea c = new CompanhiaAerea();
+                c.setNome("Companhia Só no Principal");
+                c.setCnpj("00000000000687");
+                c.setDataFundacao(LocalDate.of(2000, 1, 1));
+                c.setStatus(CompanhiaAereaStatus.ATIVA);
+                criada = companhiaAereaRepository.save(c);
+                return criada;
+        }
+
+        @Test
+        @DisplayName("Leituras em transação somente leitura devem ir para a réplica")
+        void leituraSomenteLeituraDeveIrParaReplica() {
+                assertEquals(List.of("Companhia Só na Réplica"), nomes());
+        }
+
+        @Test
+        @DisplayName("Depois de uma escrita, as leituras da mesma thread devem ir para o banco principal")
+        void leituraAposEscritaDeveIrParaPrincipal() {
+                criarNoPrincipal();
+
+                assertTrue(nomes().contains("Companhia Só no Principal"));
+                assertFalse(nomes().contains("Companhia Só na Réplica"));
+
+                AderenciaPrimaria.limpar();
+                assertEquals(List.of("Companhia Só na Réplica"), nomes());
+        }
+
+        @Test
+        @DisplayName("A escrita numa requisição deve gravar o cookie que mantém as próximas no banco principal")
+        void cookieDeveManterRequisicoesSeguintesNoPrincipal() throws Exception {
+                MockHttpServletRequest escrita = new MockHttpServletRequest();
+                MockHttpServletResponse respostaEscrita = new MockHttpServletResponse();
+                aderenciaPrimaria.doFilter(escrita, respostaEscrita, (req, res) -> {
+                        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(escrita, respostaEscrita));
+                        try {
+                                criarNoPrincipal();
+                        } finally {
+                                RequestContextHolder.resetRequestAttributes();
+                        }
+                });
+                Cookie cookie = respostaEscrita.getCookie("aeroporto-escrita");
+                assertNotNull(cookie);
+
+                List<List<String>> lidos = new ArrayList<>();
+                FilterChain listar = (req, res) -> lidos.add(nomes());
+                MockHttpServletRequest comCookie = new MockHttpServletRequest();
+                comCookie.setCookies(cookie);
+                aderenciaPrimaria.doFilter(comCookie, new MockHttpServletResponse(), listar);
+                aderenciaPrimaria.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), listar);
+
+                assertTrue(lidos.get(0).contains("Companhia Só no Principal"));
+                assertEquals(List.of("Companhia Só na Réplica"), lidos.get(1));
+        }
+
+        @Test
+        @DisplayName("Transação somente leitura não deve verificar nem gravar alterações nas entidades")
+        void somenteLeituraNaoDeveGravarAlteracoes() {
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.setStatisticsEnabled(true);
+                statistics.clear();
+                TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+                leitura.setReadOnly(true);
+
+                leitura.executeWithoutResult(status -> companhiaAereaRepository.findById(ID_NA_REPLICA)
+                                .orElseThrow()
+                                .setNome("Alterada"));
+
+                assertEquals(0, statistics.getEntityUpdateCount());
+                assertEquals("Companhia Só na Réplica",
+                                replica.queryForObject("SELECT nome FROM companhia_aerea WHERE id = ?", String.class,
+                                                ID_NA_REPLICA));
+        }
+
+        @Test
+        @DisplayName("Leituras marcadas para o banco principal não devem ir para a réplica")
+        void leituraNaPrimariaNaoDeveIrParaReplica() {
+                TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+                leitura.setReadOnly(true);
+
+                assertTrue(leitura.execute(status -> companhiaAereaRepository.findById(ID_NA_REPLICA)).isPresent());
+                assertTrue(RoteamentoDataSource.naPrimaria(
+                                () -> leitura.execute(status -> companhiaAereaRepository.findById(ID_NA_REPLICA)))
+                                .isEmpty());
+        }
+
+        @Test
+        @DisplayName("O cache de cadastros deve carregar do banco principal")
+        void cacheDeveCarregarDoPrincipal() {
+                Long id = criarNoPrincipal().getId();
+                AderenciaPrimaria.limpar();
+                try {
+                        assertTrue(cadastroCache.companhia(id).isPresent());
+                        assertTrue(cadastroCache.companhia(ID_NA_REPLICA).isEmpty());
+                } finally {
+                        cadastroCache.invalidarCompanhia(id);
+                }
+        }
+}
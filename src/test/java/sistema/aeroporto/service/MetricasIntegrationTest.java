@@ -0,0 +1,82 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import sistema.aeroporto.exception.GlobalExceptionHandler;
+import sistema.aeroporto.exception.NotFoundPilotoException;
+import sistema.aeroporto.exception.NotFoundVooException;
+
+@SpringBootTest
+public class MetricasIntegrationTest {
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Autowired
+        private PilotoService pilotoService;
+
+        @Autowired
+        private VooService vooService;
+
+        @Autowired
+        private CadastroCache cadastroCache;
+
+        @Autowired
+        private GlobalExceptionHandler globalExceptionHandler;
+
+        private long chamadas(Class<?> servico, String metodo, String excecao) {
+                Timer timer = meterRegistry.find("aeroporto.servico")
+                                .tag("class", servico.getName())
+                                .tag("method", metodo)
+                                .tag("exception", excecao)
+                                .timer();
+                return timer == null ? 0 : timer.count();
+        }
+
+        @Test
+        @DisplayName("Deve medir o tempo dos métodos dos serviços, separando as chamadas com exceção")
+        void deveMedirMetodosDosServicos() {
+                long sucesso = chamadas(VooService.class, "listarTodos", "none");
+                long falha = chamadas(PilotoService.class, "buscarPorId", NotFoundPilotoException.class.getSimpleName());
+
+                vooService.listarTodos();
+                assertThrows(NotFoundPilotoException.class, () -> pilotoService.buscarPorId(-1L));
+
+                assertEquals(sucesso + 1, chamadas(VooService.class, "listarTodos", "none"));
+                assertEquals(falha + 1, chamadas(PilotoService.class, "buscarPorId",
+                                NotFoundPilotoException.class.getSimpleName()));
+        }
+
+        @Test
+        @DisplayName("Deve contar as exceções de negócio tratadas pela API por tipo")
+        void deveContarExcecoesPorTipo() {
+                globalExceptionHandler.handleNotFound(new NotFoundVooException());
+                globalExceptionHandler.handleNotFound(new NotFoundVooException());
+
+                Counter contador = meterRegistry.find("aeroporto.excecoes")
+                                .tag("excecao", "NotFoundVooException")
+                                .tag("status", "404")
+                                .counter();
+                assertNotNull(contador);
+                assertTrue(contador.count() >= 2);
+        }
+
+        @Test
+        @DisplayName("Deve publicar as métricas do Hibernate, do pool de conexões e dos caches")
+        void devePublicarMetricasDeInfraestrutura() {
+                cadastroCache.piloto(1L);
+
+                assertNotNull(meterRegistry.find("hibernate.sessions.open").meter());
+                assertNotNull(meterRegistry.find("hikaricp.connections.max").gauge());
+                assertNotNull(meterRegistry.find("cache.gets").tag("cache", "pilotos").meter());
+                assertNotNull(meterRegistry.find("cache.gets").tag("cache", "companhias").meter());
+        }
+}
@@ -0,0 +1,117 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+
+// Banco criado como o Hibernate o criava (ddl-auto=update) antes do Flyway: o contexto sobe sobre
+// ele, registra a versão 1 sem executá-la e aplica as seguintes; ddl-auto=validate confere o resultado
+@SpringBootTest(properties = "spring.datasource.url=" + MigracaoEsquemaIntegrationTest.URL)
+public class MigracaoEsquemaIntegrationTest {
+
+        static final String URL = "jdbc:h2:mem:esquema-hibernate;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+        private static final long MAIOR_ID_VOO = 120L;
+
+        private static final DataSource BANCO = new DriverManagerDataSource(URL, "sa", "");
+
+        // Antes do contexto, que migra o banco ao subir
+        static {
+                JdbcTemplate jdbc = new JdbcTemplate(BANCO);
+                jdbc.execute("""
+                                create table companhia_aerea (seguro_aeronave boolean, data_fundacao date,
+                                id bigint generated by default as identity, cnpj varchar(20), nome varchar(150),
+                                status enum ('ATIVA','INATIVA'), primary key (id))""");
+                jdbc.execute("""
+                                create table piloto (idade integer, data_renovacao date,
+                                id bigint generated by default as identity, genero varchar(1), cpf varchar(11),
+                                habilitacao varchar(50), matricula varchar(50), nome varchar(150),
+                                status enum ('ATIVO','INATIVO'), primary key (id))""");
+                jdbc.execute("""
+                                create table voo (companhia_id bigint, horario_chegada_previsto timestamp(6),
+                                horario_chegada_real timestamp(6), horario_partida_previsto timestamp(6),
+                                horario_partida_real timestamp(6), id bigint generated by default as identity,
+                                piloto_id bigint, destino varchar(4), origem varchar(4), codigo varchar(10),
+                                motivo_cancelamento varchar(255),
+                                status enum ('AGENDADO','CANCELADO','CONCLUIDO','VOANDO'), primary key (id))""");
+                jdbc.execute("alter table if exists voo add constraint FKrl5agpu0hjtren8qmd5ff0xhs "
+                                + "foreign key (companhia_id) references companhia_aerea");
+                jdbc.execute("alter table if exists voo add constraint FKng3hwrkhmv2g8mgremgbaw9s6 "
+                                + "foreign key (piloto_id) references piloto");
+
+                jdbc.update("""
+                                insert into companhia_aerea (id, nome, cnpj, data_fundacao, seguro_aeronave, status)
+                                values (1, 'Companhia Antiga', '00000000000191', date '2000-01-01', true, 'ATIVA')""");
+                jdbc.update("""
+                                insert into piloto (id, nome, idade, genero, cpf, matricula, status)
+                                values (1, 'Piloto Antigo', 40, 'M', '00000000191', 'PIL-0001', 'ATIVO')""");
+                for (long id : List.of(1L, 2L, MAIOR_ID_VOO)) {
+                        jdbc.update("""
+                                        insert into voo (id, piloto_id, companhia_id, codigo, origem, destino,
+                                        horario_partida_previsto, horario_chegada_previsto, motivo_cancelamento, status)
+                                        values (?, 1, 1, ?, 'SBGR', 'SBRJ', timestamp '2020-01-01 10:00:00',
+                                        timestamp '2020-01-01 11:00:00', '', 'CONCLUIDO')""", id, "ANT" + id);
+                }
+        }
+
+        @Autowired
+        private VooRepository vooRepository;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        @Test
+        @DisplayName("O banco existente deve ser registrado na versão 1 e receber as migrações seguintes")
+        void bancoExistenteDeveSerMigradoAPartirDaVersao1() {
+                JdbcTemplate jdbc = new JdbcTemplate(BANCO);
+                List<String> versoes = jdbc.queryForList(
+                                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" AND \"version\" IS NOT NULL",
+                                String.class);
+
+                assertEquals("BASELINE", jdbc.queryForObject(
+                                "SELECT \"type\" FROM \"flyway_schema_history\" WHERE \"version\" = '1'", String.class));
+                assertTrue(versoes.containsAll(List.of("1.1", "1.2", "8")));
+                assertEquals(3, vooRepository.count());
+                assertTrue(vooRepository.findAll().stream().allMatch(v -> v.getVersao() == 0L));
+        }
+
+        @Test
+        @DisplayName("Os voos novos devem receber ids da sequência acima do maior id existente")
+        void sequenciaDeveComecarAcimaDoMaiorId() {
+                Voo voo = new Voo();
+                voo.setPiloto(pilotoRepository.findById(1L).orElseThrow());
+                voo.setCompanhia(companhiaAereaRepository.findById(1L).orElseThrow());
+                voo.setCodigo("NOVO1");
+                voo.setOrigem("SBGR");
+                voo.setDestino("SBRJ");
+                voo.setHorarioPartidaPrevisto(LocalDateTime.now().plusDays(1));
+                voo.setHorarioChegadaPrevisto(LocalDateTime.now().plusDays(1).plusHours(1));
+                voo.setStatus(VooStatus.AGENDADO);
+
+                Voo salvo = vooRepository.save(voo);
+                try {
+                        assertEquals(MAIOR_ID_VOO + 1, salvo.getId());
+                } finally {
+                        vooRepository.delete(salvo);
+                }
+        }
+}
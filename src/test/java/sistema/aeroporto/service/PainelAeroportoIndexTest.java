@@ -0,0 +1,210 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import sistema.aeroporto.config.PainelProperties;
+import sistema.aeroporto.dto.response.PainelVooResponse;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.VooRepository;
+
+public class PainelAeroportoIndexTest {
+
+    @InjectMocks
+    private PainelAeroportoIndex painelAeroportoIndex;
+
+    @Mock
+    private VooRepository vooRepository;
+
+    @Spy
+    private PainelProperties painelProperties = new PainelProperties();
+
+    private CompanhiaAerea companhia;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        painelAeroportoIndex.iniciar();
+
+        companhia = new CompanhiaAerea();
+        companhia.setNome("Azul");
+        base = LocalDateTime.now().plusHours(1);
+    }
+
+    private Voo voo(Long id, String origem, String destino, LocalDateTime partida, VooStatus status) {
+        Voo v = new Voo();
+        v.setId(id);
+        v.setCodigo("AZ" + id);
+        v.setOrigem(origem);
+        v.setDestino(destino);
+        v.setCompanhia(companhia);
+        v.setHorarioPartidaPrevisto(partida);
+        v.setHorarioChegadaPrevisto(partida.plusHours(1));
+        v.setStatus(status);
+        return v;
+    }
+
+    private List<String> codigos(List<PainelVooResponse> painel) {
+        return painel.stream().map(PainelVooResponse::codigo).toList();
+    }
+
+    @Test
+    void deveCarregarPainelUmaVezEmOrdemDeHorario() {
+        when(vooRepository.findByOrigemAndHorarioPartidaPrevistoGreaterThanEqual(eq("SBGR"), any())).thenReturn(List.of(
+                voo(1L, "SBGR", "SBRJ", base.plusHours(2), VooStatus.AGENDADO),
+                voo(2L, "SBGR", "SBSP", base, VooStatus.AGENDADO)));
+
+        assertEquals(List.of("AZ2", "AZ1"), codigos(painelAeroportoIndex.partidas("sbgr", 10)));
+        assertEquals(List.of("AZ2", "AZ1"), codigos(painelAeroportoIndex.partidas("SBGR", 10)));
+
+        verify(vooRepository, times(1)).findByOrigemAndHorarioPartidaPrevistoGreaterThanEqual(eq("SBGR"), any());
+    }
+
+    @Test
+    void deveAtualizarPosicaoEStatusAoSincronizar() {
+        Voo primeiro = voo(1L, "SBGR", "SBRJ", base, VooStatus.AGENDADO);
+        when(vooRepository.findByOrigemAndHorarioPartidaPrevistoGreaterThanEqual(eq("SBGR"), any())).thenReturn(List.of(
+                primeiro, voo(2L, "SBGR", "SBRJ", base.plusHours(1), VooStatus.AGENDADO)));
+        painelAeroportoIndex.partidas("SBGR", 10);
+
+        primeiro.setHorarioPartidaPrevisto(base.plusHours(3));
+        primeiro.setStatus(VooStatus.CANCELADO);
+        painelAeroportoIndex.sincronizar(primeiro);
+
+        List<PainelVooResponse> painel = painelAeroportoIndex.partidas("SBGR", 10);
+        assertEquals(List.of("AZ2", "AZ1"), codigos(painel));
+        assertEquals("CANCELADO", painel.get(1).status());
+        assertEquals(2, painel.size());
+    }
+
+    @Test
+    void deveIncluirVooNovoNosPaineisDeOrigemEDestino() {
+        when(vooRepository.findByOrigemAndHorarioPartidaPrevistoGreaterThanEqual(eq("SBGR"), any())).thenReturn(List.of());
+        when(vooRepository.findByDestinoAndHorarioPartidaPrevistoGreaterThanEqual(eq("SBRJ"), any())).thenReturn(List.of());
+        painelAeroportoIndex.partidas("SBGR", 10);
+        painelAeroportoIndex.chegadas("SBRJ", 10);
+
+        painelAeroportoIndex.sincronizar(voo(7L, "SBGR", "SBRJ", base, VooStatus.AGENDADO));
+
+        assertEquals(base, painelAeroportoIndex.partidas("SBGR", 10).get(0).horarioPrevisto());
+        assertEquals(base.plusHours(1), painelAeroportoIndex.chegadas("SBRJ", 10).get(0).horarioPrevisto());
+        assertEquals("Azul", painelAeroportoIndex.chegadas("SBRJ", 10).get(0).companhia());
+    }
+
+    @Test
+    void deveOcultarVoosForaDaJanelaERespeitarLimite() {
+        when(vooRepository.findByOrigemAndHorarioPartidaPrevistoGreaterThanEqual(eq("SBGR"), any())).thenReturn(List.of(
+                voo(1L, "SBGR", "SBRJ", LocalDateTime.now().minusHours(5), VooStatus.CONCLUIDO),
+                voo(2L, "SBGR", "SBRJ", base, VooStatus.AGENDADO),
+                voo(3L, "SBGR", "SBRJ", base.plusHours(1), VooStatus.AGENDADO),
+                voo(4L, "SBGR", "SBRJ", base.plusHours(2), VooStatus.AGENDADO)));
+
+        assertEquals(List.of("AZ2", "AZ3"), codigos(painelAeroportoIndex.partidas("SBGR", 2)));
+
+        painelAeroportoIndex.sincronizar(voo(5L, "SBGR", "SBRJ", LocalDateTime.now().minusHours(3),
+                VooStatus.CONCLUIDO));
+        assertEquals(List.of("AZ2", "AZ3", "AZ4"), codigos(painelAeroportoIndex.partidas("SBGR", 10)));
+    }
+
+    @Test
+    void deveAplicarAlteracaoSomenteAposCommit() {
+        when(vooRepository.findByOrigemAndHorarioPartidaPrevistoGreaterThanEqual(eq("SBGR"), any())).thenReturn(List.of());
+        painelAeroportoIndex.partidas("SBGR", 10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            painelAeroportoIndex.sincronizar(voo(1L, "SBGR", "SBRJ", base, VooStatus.AGENDADO));
+            assertTrue(painelAeroportoIndex.partidas("SBGR", 10).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of("AZ1"), codigos(painelAeroportoIndex.partidas("SBGR", 10)));
+    }
+
+    @Test
+    void deveIgnorarSincronizacaoDePainelNaoCarregado() {
+        painelAeroportoIndex.sincronizar(voo(1L, "SBGR", "SBRJ", base, VooStatus.AGENDADO));
+        when(vooRepository.findByOrigemAndHorarioPartidaPrevistoGreaterThanEqual(eq("SBGR"), any())).thenReturn(List.of());
+
+        assertTrue(painelAeroportoIndex.partidas("SBGR", 10).isEmpty());
+    }
+
+    @Test
+    void deveConsultarSomenteAFaixaDaJanela() {
+        LocalDateTime antes = LocalDateTime.now().minus(painelProperties.getJanela());
+
+        painelAeroportoIndex.partidas("SBGR", 10);
+        painelAeroportoIndex.chegadas("SBRJ", 10);
+
+        ArgumentCaptor<LocalDateTime> partida = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(vooRepository).findByOrigemAndHorarioPartidaPrevistoGreaterThanEqual(eq("SBGR"), partida.capture());
+        assertFalse(partida.getValue().isBefore(antes));
+
+        // Chegadas: a faixa começa antes, para incluir voos que partiram antes da janela
+        ArgumentCaptor<LocalDateTime> chegada = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(vooRepository).findByDestinoAndHorarioPartidaPrevistoGreaterThanEqual(eq("SBRJ"), chegada.capture());
+        assertFalse(chegada.getValue().isBefore(antes.minus(PainelAeroportoIndex.DURACAO_MAXIMA_VOO)));
+        assertTrue(chegada.getValue().isBefore(antes));
+    }
+
+    @Test
+    void deveMostrarChegadaDeVooQuePartiuAntesDaJanela() {
+        Voo longo = voo(1L, "SBGR", "SBRJ", LocalDateTime.now().minusHours(10), VooStatus.VOANDO);
+        longo.setHorarioChegadaPrevisto(base);
+        when(vooRepository.findByDestinoAndHorarioPartidaPrevistoGreaterThanEqual(eq("SBRJ"), any()))
+                .thenReturn(List.of(longo));
+
+        assertEquals(List.of("AZ1"), codigos(painelAeroportoIndex.chegadas("SBRJ", 10)));
+    }
+
+    @Test
+    void deveAplicarAtualizacaoConfirmadaDuranteACarga() throws Exception {
+        // A carga lê o voo ainda agendado; o cancelamento é confirmado antes de ela terminar
+        CountDownLatch consultando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(vooRepository.findByOrigemAndHorarioPartidaPrevistoGreaterThanEqual(eq("SBGR"), any())).thenAnswer(i -> {
+            consultando.countDown();
+            liberar.await();
+            return List.of(voo(1L, "SBGR", "SBRJ", base, VooStatus.AGENDADO));
+        });
+
+        CompletableFuture<List<PainelVooResponse>> carga = CompletableFuture
+                .supplyAsync(() -> painelAeroportoIndex.partidas("SBGR", 10));
+        assertTrue(consultando.await(5, TimeUnit.SECONDS));
+
+        Thread sincronizacao = new Thread(() -> painelAeroportoIndex
+                .sincronizar(voo(1L, "SBGR", "SBRJ", base, VooStatus.CANCELADO)));
+        sincronizacao.start();
+        while (sincronizacao.getState() != Thread.State.WAITING && sincronizacao.isAlive()) {
+            Thread.sleep(5);
+        }
+        liberar.countDown();
+        sincronizacao.join(5_000);
+        carga.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("CANCELADO"), painelAeroportoIndex.partidas("SBGR", 10).stream()
+                .map(PainelVooResponse::status).toList());
+    }
+}
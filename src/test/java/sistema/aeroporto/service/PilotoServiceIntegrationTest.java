@@ -12,6 +12,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import jakarta.transaction.Transactional;
 import sistema.aeroporto.dto.request.PilotoRequest;
 import sistema.aeroporto.dto.request.PilotoUpdateRequest;
+import sistema.aeroporto.dto.response.PaginaResponse;
 import sistema.aeroporto.dto.response.PilotoResponse;
 
 @SpringBootTest
@@ -115,4 +116,18 @@ public class PilotoServiceIntegrationTest {
 
         assertEquals("Piloto não encontrado", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve limitar a página de pilotos e indicar o próximo cursor")
+    void devePaginarPilotos() {
+        pilotoService.salvarPiloto(new PilotoRequest("João Silva", 35, "1", "549.909.720-82", null, "ATPL", "ATIVO"));
+        pilotoService.salvarPiloto(new PilotoRequest("Maria Silva", 25, "2", "557.271.330-92", null, "ATPL2", "ATIVO"));
+
+        PaginaResponse<PilotoResponse> primeira = pilotoService.listarPilotosPaginado(null, 1);
+        PaginaResponse<PilotoResponse> segunda = pilotoService.listarPilotosPaginado(primeira.proximoCursor(), 1);
+
+        assertEquals(1, primeira.itens().size());
+        assertNotNull(primeira.proximoCursor());
+        assertTrue(segunda.itens().get(0).id() > primeira.itens().get(0).id());
+    }
+}
@@ -8,11 +8,13 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import sistema.aeroporto.dto.request.PilotoRequest;
 import sistema.aeroporto.dto.request.PilotoUpdateRequest;
@@ -26,12 +28,24 @@ public class PilotoServiceTeste {
     @Mock
     private PilotoRepository pilotoRepository;
 
+    @Mock
+    private CadastroCache cadastroCache;
+
+    @Mock
+    private GeradorMatricula geradorMatricula;
+
     @InjectMocks
     private PilotoService pilotoService;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+
+        // Cache repassa as buscas ao repositório mockado
+        when(cadastroCache.piloto(any())).thenAnswer(i -> pilotoRepository.findById(i.getArgument(0)));
+        when(cadastroCache.pilotoPorCpf(any())).thenAnswer(i -> pilotoRepository.findByCpf(i.getArgument(0)));
+        when(cadastroCache.pilotoPorMatricula(any()))
+                .thenAnswer(i -> pilotoRepository.findByMatricula(i.getArgument(0)));
     }
 
     private Piloto pilotoEntidade(Long id, String nome, String cpf) {
@@ -45,8 +59,8 @@ public class PilotoServiceTeste {
 
     @Test
     void deveListarTodosPilotos() {
-        Piloto p = pilotoEntidade(1L, "João", "123");
-        when(pilotoRepository.findAll()).thenReturn(Arrays.asList(p, p));
+        PilotoResponse p = new PilotoResponse(1L, "João", null, null, "123", null, null, null, PilotoStatus.ATIVO);
+        when(pilotoRepository.listarTodos()).thenReturn(Arrays.asList(p, p));
 
         List<PilotoResponse> resultado = pilotoService.listarTodosPilotos();
 
@@ -78,16 +92,35 @@ public class PilotoServiceTeste {
     @Test
     void deveSalvarPilotoGerandoMatricula() {
         PilotoRequest request = new PilotoRequest("Teste", 35, "1", "11144477735", null, "ATPL", "ATIVO");
+        String matricula = "PIL" + java.time.LocalDate.now().getYear() + "0021";
 
-        Piloto salvo = pilotoEntidade(10L, "Teste", "11144477735");
-        salvo.setMatricula("PIL" + java.time.LocalDate.now().getYear() + "0010");
-
-        when(pilotoRepository.save(any(Piloto.class))).thenReturn(salvo);
+        when(geradorMatricula.proxima()).thenReturn(matricula);
+        when(pilotoRepository.saveAndFlush(any(Piloto.class))).thenAnswer(i -> {
+            Piloto salvo = i.getArgument(0);
+            salvo.setId(10L);
+            return salvo;
+        });
 
         PilotoResponse resultado = pilotoService.salvarPiloto(request);
 
-        assertNotNull(resultado);
-        assertTrue(resultado.matricula().startsWith("PIL"));
+        // Matrícula definida antes do INSERT: uma única gravação
+        assertEquals(matricula, resultado.matricula());
+        verify(pilotoRepository, times(1)).saveAndFlush(any(Piloto.class));
+        verify(pilotoRepository, never()).save(any(Piloto.class));
+    }
+
+    @Test
+    void deveTraduzirViolacaoDeCpfUnicoAoSalvar() {
+        PilotoRequest request = new PilotoRequest("Teste", 35, "1", "11144477735", null, "ATPL", "ATIVO");
+
+        when(pilotoRepository.saveAndFlush(any(Piloto.class))).thenThrow(new DataIntegrityViolationException("insert",
+                new ConstraintViolationException("duplicado", null, "PUBLIC.UK_PILOTO_CPF_INDEX_4")));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> pilotoService.salvarPiloto(request));
+
+        assertEquals("CPF já cadastrado", exception.getMessage());
+        verify(pilotoRepository, never()).save(any(Piloto.class));
     }
 
     @Test
@@ -0,0 +1,284 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import sistema.aeroporto.dto.request.VooUpdateRequest;
+import sistema.aeroporto.dto.response.PontualidadeAcumuladaResponse;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.ContadorPontualidade;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.ContadorPontualidadeRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+
+// Sem @Transactional: os contadores são atualizados nas transações do VooService, como numa requisição
+@SpringBootTest
+public class PontualidadeContadoresIntegrationTest {
+
+        // Rota usada só por este teste
+        private static final String ORIGEM = "SBXA";
+        private static final String DESTINO = "SBXB";
+
+        @Autowired
+        private VooService vooService;
+
+        @Autowired
+        private PontualidadeService pontualidadeService;
+
+        @Autowired
+        private PontualidadeContadores pontualidadeContadores;
+
+        @Autowired
+        private ContadorPontualidadeRepository contadorRepository;
+
+        @Autowired
+        private VooRepository vooRepository;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private Piloto piloto;
+        private CompanhiaAerea companhia;
+        private final List<Voo> voos = new ArrayList<>();
+
+        @BeforeEach
+        void setup() {
+                piloto = new Piloto();
+                piloto.setNome("Piloto Contadores");
+                piloto.setCpf("00000000515");
+                piloto.setMatricula("PCONT1");
+                piloto.setStatus(PilotoStatus.ATIVO);
+                piloto = pilotoRepository.save(piloto);
+
+                companhia = new CompanhiaAerea();
+                companhia.setNome("Companhia Contadores");
+                companhia.setCnpj("00000000000515");
+                companhia.setDataFundacao(LocalDate.of(2000, 1, 1));
+                companhia.setStatus(CompanhiaAereaStatus.ATIVA);
+                companhia = companhiaAereaRepository.save(companhia);
+        }
+
+        @AfterEach
+        void limpar() {
+                voos.forEach(v -> vooRepository.deleteById(v.getId()));
+                contadorRepository.deleteById(ContadorPontualidade.chaveCompanhia(companhia.getId()));
+                contadorRepository.deleteById(ContadorPontualidade.chaveRota(ORIGEM, DESTINO));
+                pilotoRepository.deleteById(piloto.getId());
+                companhiaAereaRepository.deleteById(companhia.getId());
+        }
+
+        // Voo agendado com partida prevista há 10 minutos e a duração informada
+        private Voo voo(String codigo, int duracaoMinutos) {
+                LocalDateTime partida = LocalDateTime.now().minusMinutes(10);
+                Voo v = new Voo();
+                v.setPiloto(piloto);
+                v.setCompanhia(companhia);
+                v.setCodigo(codigo);
+                v.setOrigem(ORIGEM);
+                v.setDestino(DESTINO);
+                v.setHorarioPartidaPrevisto(partida);
+                v.setHorarioChegadaPrevisto(partida.plusMinutes(duracaoMinutos));
+                v.setStatus(VooStatus.AGENDADO);
+                v = vooRepository.save(v);
+                voos.add(v);
+                return v;
+        }
+
+        private ContadorPontualidade contador(String chave) {
+                return contadorRepository.findById(chave).orElseThrow();
+        }
+
+        // Os contadores da companhia e da rota batem com a recontagem da tabela voo
+        private void assertConfereComRecontagem() {
+                long tolerancia = 15 * 60;
+                assertTrue(contador(ContadorPontualidade.chaveCompanhia(companhia.getId())).confere(
+                                contadorRepository.recontarCompanhia(companhia.getId(), tolerancia).orElseThrow()));
+                assertTrue(contador(ContadorPontualidade.chaveRota(ORIGEM, DESTINO)).confere(
+                                contadorRepository.recontarRota(ORIGEM, DESTINO, tolerancia).orElseThrow()));
+        }
+
+        @Test
+        @DisplayName("Iniciar, finalizar e cancelar devem atualizar os contadores da companhia e da rota")
+        void transicoesDevemAtualizarContadores() {
+                // Chega cerca de 20 minutos atrasado
+                Voo atrasado = voo("CT1", -10);
+                vooService.iniciarVoo(atrasado.getId());
+                vooService.finalizarVoo(atrasado.getId());
+                // Chega adiantado e depois é cancelado: a chegada sai das contas
+                Voo adiantado = voo("CT2", 60);
+                vooService.iniciarVoo(adiantado.getId());
+                vooService.finalizarVoo(adiantado.getId());
+                vooService.cancelarVoo(adiantado.getId(), "Registro incorreto");
+                // Cancelado antes de partir
+                vooService.cancelarVoo(voo("CT3", 60).getId(), "Mau tempo");
+
+                PontualidadeAcumuladaResponse daCompanhia = pontualidadeService.acumuladaDaCompanhia(companhia.getId());
+                assertEquals("Companhia Contadores", daCompanhia.companhiaNome());
+                assertEquals(2, daCompanhia.partidas());
+                assertEquals(2, daCompanhia.cancelados());
+                assertEquals(1, daCompanhia.indicadores().voosConcluidos());
+                assertEquals(0, daCompanhia.indicadores().noHorario());
+                assertEquals(Map.of("ate15", 0L, "ate30", 1L, "ate60", 0L, "ate120", 0L, "acima120", 0L),
+                                daCompanhia.atrasosChegada());
+                assertEquals(10.0, daCompanhia.indicadores().atrasoMedioPartidaMinutos(), 0.1);
+                assertEquals(20.0, daCompanhia.indicadores().atrasoMedioChegadaMinutos(), 0.1);
+
+                PontualidadeAcumuladaResponse daRota = pontualidadeService.acumuladaPorRota().stream()
+                                .filter(r -> ORIGEM.equals(r.origem()) && DESTINO.equals(r.destino()))
+                                .findFirst().orElseThrow();
+                assertEquals(daCompanhia.indicadores(), daRota.indicadores());
+                assertEquals(daCompanhia.atrasosChegada(), daRota.atrasosChegada());
+
+                assertConfereComRecontagem();
+        }
+
+        @Test
+        @DisplayName("Mudanças de status pela atualização direta devem atualizar os contadores")
+        void atualizacaoDiretaDeveAtualizarContadores() {
+                Voo concluido = voo("CT6", 60);
+                vooService.atualizarVoo(concluido.getId(),
+                                new VooUpdateRequest(LocalDateTime.now(), null, "VOANDO"));
+                vooService.atualizarVoo(concluido.getId(),
+                                new VooUpdateRequest(null, LocalDateTime.now(), "CONCLUIDO"));
+                // Concluído direto do agendado, com os dois horários reais na mesma atualização
+                Voo direto = voo("CT7", 60);
+                vooService.atualizarVoo(direto.getId(),
+                                new VooUpdateRequest(LocalDateTime.now(), LocalDateTime.now(), "CONCLUIDO"));
+                vooService.atualizarVoo(voo("CT8", 60).getId(), new VooUpdateRequest(null, null, "CANCELADO"));
+
+                ContadorPontualidade daCompanhia = contador(ContadorPontualidade.chaveCompanhia(companhia.getId()));
+                assertEquals(2, daCompanhia.getPartidas());
+                assertEquals(2, daCompanhia.getConcluidos());
+                assertEquals(1, daCompanhia.getCancelados());
+                assertConfereComRecontagem();
+        }
+
+        @Test
+        @DisplayName("A reconciliação deve corrigir contadores divergentes da tabela voo")
+        void reconciliacaoDeveCorrigirDivergencias() {
+                Voo voo = voo("CT4", 60);
+                vooService.iniciarVoo(voo.getId());
+                // Parte de contadores já conferidos: sobras de outros testes não entram na contagem abaixo
+                pontualidadeContadores.reconciliar();
+                // Concluído por SQL, sem passar pelo serviço que atualiza os contadores
+                jdbcTemplate.update("UPDATE voo SET status = 'CONCLUIDO', horario_chegada_real = ? WHERE id = ?",
+                                LocalDateTime.now(), voo.getId());
+                // E um contador alterado fora da aplicação
+                jdbcTemplate.update("UPDATE contador_pontualidade SET cancelados = 7 WHERE chave = ?",
+                                ContadorPontualidade.chaveRota(ORIGEM, DESTINO));
+                double antes = meterRegistry.counter("aeroporto.pontualidade.divergencias").count();
+
+                // Exatamente a companhia e a rota: uma chave corrigida de novo a cada execução apareceria aqui
+                assertEquals(2, pontualidadeContadores.reconciliar());
+
+                assertConfereComRecontagem();
+                assertEquals(1, contador(ContadorPontualidade.chaveCompanhia(companhia.getId())).getConcluidos());
+                assertEquals(0, contador(ContadorPontualidade.chaveRota(ORIGEM, DESTINO)).getCancelados());
+                assertEquals(antes + 2, meterRegistry.counter("aeroporto.pontualidade.divergencias").count());
+        }
+
+        @Test
+        @DisplayName("Voo sem companhia deve contar só na rota")
+        void vooSemCompanhiaDeveContarSoNaRota() {
+                Voo voo = voo("CT5", 60);
+                voo.setCompanhia(null);
+                vooRepository.save(voo);
+
+                vooService.iniciarVoo(voo.getId());
+                vooService.finalizarVoo(voo.getId());
+
+                ContadorPontualidade rota = contador(ContadorPontualidade.chaveRota(ORIGEM, DESTINO));
+                assertEquals(1, rota.getPartidas());
+                assertEquals(1, rota.getConcluidos());
+                assertTrue(contadorRepository.findById(ContadorPontualidade.chaveCompanhia(companhia.getId())).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Voo sem companhia não deve gerar chave de companhia na reconciliação")
+        void reconciliacaoComVooSemCompanhiaDeveEstabilizar() {
+                Voo voo = voo("CT9", 60);
+                voo.setCompanhia(null);
+                vooRepository.save(voo);
+                vooService.iniciarVoo(voo.getId());
+                vooService.finalizarVoo(voo.getId());
+
+                pontualidadeContadores.reconciliar();
+
+                assertEquals(0, pontualidadeContadores.reconciliar());
+                assertTrue(contadorRepository.findById(ContadorPontualidade.chaveCompanhia(null)).isEmpty());
+                assertTrue(pontualidadeService.acumuladaPorRota().stream()
+                                .anyMatch(r -> ORIGEM.equals(r.origem()) && DESTINO.equals(r.destino())));
+        }
+
+        @Test
+        @DisplayName("Criar uma chave já existente não deve falhar nem desfazer a transação")
+        void criarChaveExistenteNaoDeveFalhar() {
+                String chave = ContadorPontualidade.chaveRota(ORIGEM, DESTINO);
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                        contadorRepository.criar(chave, null, ORIGEM, DESTINO);
+                        contadorRepository.registrarCancelamento(chave);
+                        contadorRepository.criar(chave, null, ORIGEM, DESTINO);
+                });
+
+                assertEquals(1, contador(chave).getCancelados());
+        }
+
+        @Test
+        @DisplayName("Os nomes das companhias nos indicadores acumulados devem vir do cache")
+        void nomesDasCompanhiasDevemVirDoCache() {
+                Voo voo = voo("CT6", 60);
+                vooService.iniciarVoo(voo.getId());
+                pontualidadeService.acumuladaPorCompanhia();
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.setStatisticsEnabled(true);
+                statistics.clear();
+
+                List<PontualidadeAcumuladaResponse> acumuladas = pontualidadeService.acumuladaPorCompanhia();
+
+                // Dentro de uma transação o cache fica desligado e cada nome seria um SELECT
+                assertEquals(0, statistics.getEntityStatistics(CompanhiaAerea.class.getName()).getLoadCount());
+                assertEquals("Companhia Contadores", acumuladas.stream()
+                                .filter(a -> companhia.getId().equals(a.companhiaId()))
+                                .findFirst().orElseThrow().companhiaNome());
+        }
+}
@@ -0,0 +1,166 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import sistema.aeroporto.dto.response.PontualidadeCompanhiaResponse;
+import sistema.aeroporto.dto.response.PontualidadeIndicadores;
+import sistema.aeroporto.dto.response.PontualidadeRotaResponse;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+
+@SpringBootTest
+@Transactional
+public class PontualidadeServiceIntegrationTest {
+
+        // Período sem voos da carga inicial
+        private static final LocalDate DIA = LocalDate.of(2032, 5, 20);
+
+        @Autowired
+        private PontualidadeService pontualidadeService;
+
+        @Autowired
+        private VooRepository vooRepository;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private Piloto piloto;
+        private CompanhiaAerea companhiaA;
+        private CompanhiaAerea companhiaB;
+
+        @BeforeEach
+        void setup() {
+                piloto = new Piloto();
+                piloto.setNome("Piloto Pontualidade");
+                piloto.setCpf("00000000353");
+                piloto.setMatricula("PPONT1");
+                piloto.setStatus(PilotoStatus.ATIVO);
+                piloto = pilotoRepository.save(piloto);
+
+                companhiaA = companhia("Companhia Pontual A", "00000000000353");
+                companhiaB = companhia("Companhia Pontual B", "00000000000434");
+
+                // Companhia A, SBGR → SBRJ: chegadas com 0, 10 e 40 minutos de atraso (duas no horário)
+                concluido("PT1", companhiaA, "SBGR", "SBRJ", DIA.atTime(8, 0), 0, 0);
+                concluido("PT2", companhiaA, "SBGR", "SBRJ", DIA.atTime(10, 0), 5, 10);
+                concluido("PT3", companhiaA, "SBGR", "SBRJ", DIA.plusDays(1).atTime(8, 0), 30, 40);
+                // Companhia B, SBRJ → SBGR: adiantado e exatamente no limite da tolerância
+                concluido("PT4", companhiaB, "SBRJ", "SBGR", DIA.atTime(9, 0), -5, -10);
+                concluido("PT5", companhiaB, "SBRJ", "SBGR", DIA.atTime(12, 0), 15, 15);
+                // Fora das contas: não concluído
+                Voo cancelado = voo("PT6", companhiaA, "SBGR", "SBRJ", DIA.atTime(15, 0));
+                cancelado.setStatus(VooStatus.CANCELADO);
+                vooRepository.save(cancelado);
+
+                entityManager.flush();
+                entityManager.clear();
+        }
+
+        private CompanhiaAerea companhia(String nome, String cnpj) {
+                CompanhiaAerea c = new CompanhiaAerea();
+                c.setNome(nome);
+                c.setCnpj(cnpj);
+                c.setDataFundacao(LocalDate.of(2000, 1, 1));
+                c.setStatus(CompanhiaAereaStatus.ATIVA);
+                return companhiaAereaRepository.save(c);
+        }
+
+        private Voo voo(String codigo, CompanhiaAerea companhia, String origem, String destino, LocalDateTime partida) {
+                Voo v = new Voo();
+                v.setCodigo(codigo);
+                v.setPiloto(piloto);
+                v.setCompanhia(companhia);
+                v.setOrigem(origem);
+                v.setDestino(destino);
+                v.setHorarioPartidaPrevisto(partida);
+                v.setHorarioChegadaPrevisto(partida.plusHours(1));
+                v.setStatus(VooStatus.AGENDADO);
+                return v;
+        }
+
+        private void concluido(String codigo, CompanhiaAerea companhia, String origem, String destino,
+                        LocalDateTime partida, long atrasoPartidaMin, long atrasoChegadaMin) {
+                Voo v = voo(codigo, companhia, origem, destino, partida);
+                v.setHorarioPartidaReal(partida.plusMinutes(atrasoPartidaMin));
+                v.setHorarioChegadaReal(v.getHorarioChegadaPrevisto().plusMinutes(atrasoChegadaMin));
+                v.setStatus(VooStatus.CONCLUIDO);
+                vooRepository.save(v);
+        }
+
+        @Test
+        @DisplayName("Deve calcular a pontualidade por companhia no período")
+        void deveCalcularPorCompanhia() {
+                List<PontualidadeCompanhiaResponse> linhas = pontualidadeService.porCompanhia(DIA, DIA.plusDays(1));
+
+                assertEquals(List.of(companhiaA.getId(), companhiaB.getId()),
+                                linhas.stream().map(PontualidadeCompanhiaResponse::companhiaId).toList());
+                assertEquals("Companhia Pontual A", linhas.get(0).companhiaNome());
+                assertEquals(new PontualidadeIndicadores(3, 2, 66.67, 11.67, 16.67), linhas.get(0).indicadores());
+                assertEquals(new PontualidadeIndicadores(2, 2, 100.0, 5.0, 2.5), linhas.get(1).indicadores());
+        }
+
+        @Test
+        @DisplayName("Deve calcular a pontualidade por rota e respeitar o período")
+        void deveCalcularPorRotaNoPeriodo() {
+                List<PontualidadeRotaResponse> linhas = pontualidadeService.porRota(DIA, DIA);
+
+                assertEquals(2, linhas.size());
+                assertEquals("SBGR", linhas.get(0).origem());
+                assertEquals("SBRJ", linhas.get(0).destino());
+                // PT3 parte no dia seguinte e fica de fora
+                assertEquals(new PontualidadeIndicadores(2, 2, 100.0, 2.5, 5.0), linhas.get(0).indicadores());
+                assertEquals("SBRJ", linhas.get(1).origem());
+                assertEquals(2, linhas.get(1).indicadores().voosConcluidos());
+        }
+
+        @Test
+        @DisplayName("Deve agregar no banco com uma consulta, sem carregar voos")
+        void deveAgregarSemCarregarVoos() {
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.setStatisticsEnabled(true);
+                statistics.clear();
+
+                List<PontualidadeRotaResponse> linhas = pontualidadeService.porRota(DIA, DIA.plusDays(1));
+
+                assertEquals(2, linhas.size());
+                assertEquals(1, statistics.getPrepareStatementCount());
+                assertEquals(0, statistics.getEntityLoadCount());
+        }
+
+        @Test
+        @DisplayName("Sem voos concluídos no período não deve retornar linhas")
+        void semVoosNoPeriodoNaoDeveRetornarLinhas() {
+                assertTrue(pontualidadeService.porCompanhia(DIA.plusYears(1), DIA.plusYears(1)).isEmpty());
+        }
+}
@@ -0,0 +1,150 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import sistema.aeroporto.config.ValidacaoProperties;
+import sistema.aeroporto.dto.response.DocumentoValidacaoResponse;
+import sistema.aeroporto.exception.LimiteDocumentosExcedidoException;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+
+@SpringBootTest
+@Transactional
+public class ValidacaoDocumentosServiceIntegrationTest {
+
+        @Autowired
+        private ValidacaoDocumentosService validacaoDocumentosService;
+
+        @Autowired
+        private ValidacaoProperties validacaoProperties;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private Statistics statistics;
+
+        @BeforeEach
+        void setup() {
+                Piloto piloto = new Piloto();
+                piloto.setNome("Piloto Validação");
+                piloto.setCpf("52998224725");
+                piloto.setMatricula("VALID1");
+                piloto.setStatus(PilotoStatus.ATIVO);
+                pilotoRepository.save(piloto);
+
+                CompanhiaAerea companhia = new CompanhiaAerea();
+                companhia.setNome("Companhia Validação");
+                companhia.setCnpj("11222333000181");
+                companhia.setDataFundacao(LocalDate.of(2000, 1, 1));
+                companhia.setStatus(CompanhiaAereaStatus.ATIVA);
+                companhiaAereaRepository.saveAndFlush(companhia);
+
+                statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.setStatisticsEnabled(true);
+                statistics.clear();
+        }
+
+        @AfterEach
+        void restaurar() {
+                validacaoProperties.setTamanhoConsulta(1_000);
+                validacaoProperties.setMaximoDocumentos(100_000);
+        }
+
+        private List<String> situacoes(List<DocumentoValidacaoResponse> resultado) {
+                return resultado.stream().map(DocumentoValidacaoResponse::situacao).toList();
+        }
+
+        @Test
+        @DisplayName("Deve devolver a situação de cada CPF na ordem da entrada")
+        void deveValidarCpfsNaOrdem() {
+                List<DocumentoValidacaoResponse> resultado = validacaoDocumentosService.validarCpfs(Arrays.asList(
+                                "111.444.777-35", "529.982.247-25", "11111111111", null, "123", "52998224725"));
+
+                assertEquals(List.of("VALIDO", "JA_CADASTRADO", "INVALIDO", "INVALIDO", "INVALIDO", "JA_CADASTRADO"),
+                                situacoes(resultado));
+                assertEquals("111.444.777-35", resultado.get(0).documento());
+        }
+
+        @Test
+        @DisplayName("Deve devolver a situação de cada CNPJ na ordem da entrada")
+        void deveValidarCnpjs() {
+                List<DocumentoValidacaoResponse> resultado = validacaoDocumentosService.validarCnpjs(List.of(
+                                "11.222.333/0001-81", "11444777000161", "11444777000162"));
+
+                assertEquals(List.of("JA_CADASTRADO", "VALIDO", "INVALIDO"), situacoes(resultado));
+        }
+
+        @Test
+        @DisplayName("Deve consultar os cadastrados em blocos IN, uma consulta por bloco")
+        void deveConsultarEmBlocos() {
+                validacaoProperties.setTamanhoConsulta(100);
+                List<String> cpfs = new ArrayList<>();
+                for (int i = 0; i < 1_000; i++) {
+                        cpfs.add(gerarCpf(100_000_000 + i));
+                }
+                // Repetidos não geram nova consulta
+                cpfs.addAll(cpfs.subList(0, 50));
+                cpfs.add("52998224725");
+
+                List<DocumentoValidacaoResponse> resultado = validacaoDocumentosService.validarCpfs(cpfs);
+
+                assertEquals(1_051, resultado.size());
+                assertEquals(1_050, resultado.stream().filter(r -> r.situacao().equals("VALIDO")).count());
+                assertEquals("JA_CADASTRADO", resultado.get(1_050).situacao());
+                assertEquals(11, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar listas acima do limite")
+        void deveRejeitarAcimaDoLimite() {
+                validacaoProperties.setMaximoDocumentos(2);
+
+                assertThrows(LimiteDocumentosExcedidoException.class,
+                                () -> validacaoDocumentosService.validarCpfs(List.of("1", "2", "3")));
+        }
+
+        // CPF válido a partir dos 9 primeiros dígitos
+        private static String gerarCpf(int base) {
+                String digitos = String.format("%09d", base);
+                int soma = 0;
+                for (int i = 0; i < 9; i++) {
+                        soma += (digitos.charAt(i) - '0') * (10 - i);
+                }
+                int dv1 = 11 - (soma % 11);
+                dv1 = dv1 > 9 ? 0 : dv1;
+                soma = 0;
+                for (int i = 0; i < 9; i++) {
+                        soma += (digitos.charAt(i) - '0') * (11 - i);
+                }
+                soma += dv1 * 2;
+                int dv2 = 11 - (soma % 11);
+                dv2 = dv2 > 9 ? 0 : dv2;
+                return digitos + dv1 + dv2;
+        }
+}
@@ -0,0 +1,210 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import sistema.aeroporto.dto.response.PaginaResponse;
+import sistema.aeroporto.dto.response.VooResumoResponse;
+import sistema.aeroporto.exception.CursorInvalidoException;
+import sistema.aeroporto.exception.OrdenacaoInvalidaException;
+import sistema.aeroporto.exception.StatusVooInvalidoException;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+
+@SpringBootTest
+@Transactional
+public class VooBuscaServiceIntegrationTest {
+
+        // Dias bem à frente dos voos da carga inicial, para que só os voos do teste caiam nos filtros de data
+        private static final LocalDate DIA = LocalDate.of(2031, 3, 10);
+
+        @Autowired
+        private VooBuscaService vooBuscaService;
+
+        @Autowired
+        private VooRepository vooRepository;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private Piloto pilotoA;
+        private Piloto pilotoB;
+        private CompanhiaAerea companhiaA;
+        private CompanhiaAerea companhiaB;
+
+        @BeforeEach
+        void setup() {
+                pilotoA = piloto("Piloto Busca A", "PBUSCA1", "00000000191");
+                pilotoB = piloto("Piloto Busca B", "PBUSCA2", "00000000272");
+                companhiaA = companhia("Companhia Busca A", "00000000000191");
+                companhiaB = companhia("Companhia Busca B", "00000000000272");
+
+                voo("BS1", pilotoA, companhiaA, "SBGR", "SBRJ", DIA.atTime(8, 0), VooStatus.AGENDADO);
+                voo("BS2", pilotoB, companhiaA, "SBGR", "SBBR", DIA.atTime(9, 0), VooStatus.AGENDADO);
+                voo("BS3", pilotoA, companhiaB, "SBGR", "SBRJ", DIA.atTime(9, 0), VooStatus.CANCELADO);
+                voo("BS4", pilotoB, companhiaA, "SBRJ", "SBGR", DIA.atTime(14, 0), VooStatus.AGENDADO);
+                voo("BS5", pilotoA, companhiaA, "SBGR", "SBRJ", DIA.plusDays(1).atTime(7, 0), VooStatus.AGENDADO);
+                voo("BS6", pilotoB, companhiaB, "SBGR", "SBRJ", DIA.plusDays(3).atTime(7, 0), VooStatus.AGENDADO);
+                entityManager.flush();
+                entityManager.clear();
+        }
+
+        private Piloto piloto(String nome, String matricula, String cpf) {
+                Piloto p = new Piloto();
+                p.setNome(nome);
+                p.setCpf(cpf);
+                p.setMatricula(matricula);
+                p.setStatus(PilotoStatus.ATIVO);
+                return pilotoRepository.save(p);
+        }
+
+        private CompanhiaAerea companhia(String nome, String cnpj) {
+                CompanhiaAerea c = new CompanhiaAerea();
+                c.setNome(nome);
+                c.setCnpj(cnpj);
+                c.setDataFundacao(LocalDate.of(2000, 1, 1));
+                c.setStatus(CompanhiaAereaStatus.ATIVA);
+                return companhiaAereaRepository.save(c);
+        }
+
+        private void voo(String codigo, Piloto piloto, CompanhiaAerea companhia, String origem, String destino,
+                        LocalDateTime partida, VooStatus status) {
+                Voo v = new Voo();
+                v.setCodigo(codigo);
+                v.setPiloto(piloto);
+                v.setCompanhia(companhia);
+                v.setOrigem(origem);
+                v.setDestino(destino);
+                v.setHorarioPartidaPrevisto(partida);
+                v.setHorarioChegadaPrevisto(partida.plusHours(2));
+                v.setStatus(status);
+                vooRepository.save(v);
+        }
+
+        private static VooBuscaService.Filtro periodo(String origem, List<String> status, Long companhiaId,
+                        Long pilotoId) {
+                return VooBuscaService.Filtro.de(origem, null, DIA, DIA.plusDays(3), status, companhiaId, pilotoId);
+        }
+
+        private static List<String> codigos(PaginaResponse<VooResumoResponse> pagina) {
+                return pagina.itens().stream().map(VooResumoResponse::codigo).toList();
+        }
+
+        // Percorre todas as páginas seguindo o proximoCursor
+        private List<String> todasAsPaginas(VooBuscaService.Filtro filtro, String ordenacao, int tamanho) {
+                List<String> codigos = new ArrayList<>();
+                String cursor = null;
+                do {
+                        PaginaResponse<VooResumoResponse> pagina = vooBuscaService.buscar(filtro, ordenacao, cursor, tamanho);
+                        assertTrue(pagina.itens().size() <= tamanho);
+                        codigos.addAll(codigos(pagina));
+                        cursor = pagina.proximoCursor();
+                } while (cursor != null);
+                return codigos;
+        }
+
+        @Test
+        @DisplayName("Deve combinar origem, período, status, companhia e piloto na mesma busca")
+        void deveCombinarFiltros() {
+                assertEquals(List.of("BS1", "BS2", "BS3", "BS5", "BS6"),
+                                codigos(vooBuscaService.buscar(periodo("sbgr", null, null, null), null, null, 50)));
+                assertEquals(List.of("BS1", "BS2", "BS5"), codigos(vooBuscaService.buscar(
+                                periodo("SBGR", null, companhiaA.getId(), null), null, null, 50)));
+                assertEquals(List.of("BS1", "BS5"), codigos(vooBuscaService.buscar(
+                                periodo("SBGR", List.of("AGENDADO"), companhiaA.getId(), pilotoA.getId()), null, null, 50)));
+                assertEquals(List.of("BS3"), codigos(vooBuscaService.buscar(
+                                periodo(null, List.of("cancelado"), null, null), null, null, 50)));
+                assertEquals(List.of("BS4"), codigos(vooBuscaService.buscar(
+                                VooBuscaService.Filtro.de(null, "SBGR", DIA, DIA, null, null, null), null, null, 50)));
+        }
+
+        @Test
+        @DisplayName("Deve devolver o resumo do voo com os IDs de piloto e companhia")
+        void deveDevolverResumo() {
+                VooResumoResponse voo = vooBuscaService.buscar(
+                                periodo("SBRJ", null, null, null), null, null, 50).itens().get(0);
+
+                assertEquals("BS4", voo.codigo());
+                assertEquals("SBRJ", voo.origem());
+                assertEquals("SBGR", voo.destino());
+                assertEquals(DIA.atTime(14, 0), voo.horarioPartidaPrevisto());
+                assertEquals(DIA.atTime(16, 0), voo.horarioChegadaPrevisto());
+                assertEquals("AGENDADO", voo.status());
+                assertEquals(pilotoB.getId(), voo.pilotoId());
+                assertEquals(companhiaA.getId(), voo.companhiaId());
+        }
+
+        @Test
+        @DisplayName("O cursor deve percorrer todas as páginas sem repetir nem pular voos, em cada ordenação")
+        void devePaginarPorCursorEmCadaOrdenacao() {
+                VooBuscaService.Filtro filtro = periodo(null, null, null, null);
+                List<String> porPartida = List.of("BS1", "BS2", "BS3", "BS4", "BS5", "BS6");
+
+                // BS2 e BS3 partem no mesmo horário: o id desempata e nenhum dos dois se perde entre páginas
+                assertEquals(porPartida, todasAsPaginas(filtro, "partida", 2));
+                assertEquals(List.of("BS6", "BS5", "BS4", "BS3", "BS2", "BS1"), todasAsPaginas(filtro, "-partida", 2));
+                assertEquals(porPartida, todasAsPaginas(filtro, "partida", 1));
+                assertEquals(List.of("BS1", "BS2", "BS3", "BS4", "BS5", "BS6"), todasAsPaginas(filtro, "id", 4));
+                assertEquals(List.of("BS6", "BS5", "BS4", "BS3", "BS2", "BS1"), todasAsPaginas(filtro, "-id", 4));
+        }
+
+        @Test
+        @DisplayName("Deve buscar com um único SELECT, sem carregar entidades")
+        void deveBuscarComUmaConsultaSemEntidades() {
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.setStatisticsEnabled(true);
+                statistics.clear();
+
+                PaginaResponse<VooResumoResponse> pagina = vooBuscaService.buscar(
+                                periodo("SBGR", List.of("AGENDADO", "CANCELADO"), companhiaA.getId(), null), "-partida",
+                                null, 50);
+
+                assertEquals(3, pagina.itens().size());
+                assertEquals(1, statistics.getPrepareStatementCount());
+                assertEquals(0, statistics.getEntityLoadCount());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar status, ordenação e cursor inválidos")
+        void deveRejeitarParametrosInvalidos() {
+                VooBuscaService.Filtro filtro = periodo(null, null, null, null);
+
+                assertThrows(StatusVooInvalidoException.class, () -> periodo(null, List.of("ATRASADO"), null, null));
+                assertThrows(OrdenacaoInvalidaException.class, () -> vooBuscaService.buscar(filtro, "codigo", null, 10));
+                assertThrows(CursorInvalidoException.class, () -> vooBuscaService.buscar(filtro, "partida", "!!", 10));
+                // Cursor da ordenação por id não serve para a ordenação por partida
+                String cursorId = vooBuscaService.buscar(filtro, "id", null, 1).proximoCursor();
+                assertThrows(CursorInvalidoException.class, () -> vooBuscaService.buscar(filtro, "partida", cursorId, 1));
+        }
+}
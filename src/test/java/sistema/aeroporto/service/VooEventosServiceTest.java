@@ -0,0 +1,239 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import sistema.aeroporto.config.EventosProperties;
+import sistema.aeroporto.dto.response.VooEventoResponse;
+import sistema.aeroporto.exception.StatusVooInvalidoException;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.VooStatus;
+import tools.jackson.databind.json.JsonMapper;
+
+public class VooEventosServiceTest {
+
+    @InjectMocks
+    private VooEventosService vooEventosService;
+
+    @Spy
+    private EventosProperties eventosProperties = new EventosProperties();
+
+    @Spy
+    private JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    // Emitter sem conexão: guarda os eventos recebidos e, se pedido, trava no envio; travado, sai com a
+    // interrupção como uma escrita de socket interrompida, ou a ignora como uma que não volta
+    private static class EmitterTeste extends SseEmitter {
+
+        private static final JsonMapper LEITOR = JsonMapper.builder().build();
+
+        final List<VooEventoResponse> recebidos = new CopyOnWriteArrayList<>();
+        final CountDownLatch liberar;
+        final boolean ignorarInterrupcao;
+        volatile boolean enviando;
+        volatile boolean concluido;
+
+        EmitterTeste(CountDownLatch liberar) {
+            this(liberar, false);
+        }
+
+        EmitterTeste(CountDownLatch liberar, boolean ignorarInterrupcao) {
+            this.liberar = liberar;
+            this.ignorarInterrupcao = ignorarInterrupcao;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            enviando = true;
+            boolean interrompido = false;
+            while (liberar.getCount() > 0) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    if (!ignorarInterrupcao) {
+                        throw new IOException(e);
+                    }
+                    interrompido = true;
+                }
+            }
+            if (interrompido) {
+                Thread.currentThread().interrupt();
+            }
+            builder.build().stream()
+                    .filter(dado -> MediaType.APPLICATION_JSON.equals(dado.getMediaType()))
+                    .forEach(dado -> recebidos.add(LEITOR.readValue((String) dado.getData(), VooEventoResponse.class)));
+        }
+
+        @Override
+        public void complete() {
+            concluido = true;
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        eventosProperties.setCapacidadeFila(4);
+        eventosProperties.setHeartbeat(Duration.ofHours(1));
+        vooEventosService.iniciar();
+    }
+
+    @AfterEach
+    void encerrar() {
+        vooEventosService.encerrar();
+    }
+
+    private EmitterTeste assinar(String status, Long companhiaId, String icao) {
+        EmitterTeste emitter = new EmitterTeste(new CountDownLatch(0));
+        vooEventosService.registrar(emitter, VooEventosService.Filtro.de(status, companhiaId, icao));
+        return emitter;
+    }
+
+    private Voo voo(Long id, Long companhiaId, String origem, String destino, VooStatus status) {
+        CompanhiaAerea companhia = new CompanhiaAerea();
+        companhia.setId(companhiaId);
+        Voo v = new Voo();
+        v.setId(id);
+        v.setCodigo("EV" + id);
+        v.setCompanhia(companhia);
+        v.setOrigem(origem);
+        v.setDestino(destino);
+        v.setStatus(status);
+        return v;
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "condição não atendida em 5 s");
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<Long> ids(EmitterTeste emitter) {
+        return emitter.recebidos.stream().map(VooEventoResponse::id).toList();
+    }
+
+    @Test
+    void deveEntregarSomenteEventosAceitosPeloFiltro() throws InterruptedException {
+        EmitterTeste cancelados = assinar("cancelado", null, null);
+        EmitterTeste companhia = assinar(null, 10L, null);
+        EmitterTeste aeroporto = assinar(null, null, "sbrj");
+        EmitterTeste todos = assinar(null, null, null);
+
+        vooEventosService.publicar(voo(1L, 10L, "SBGR", "SBSP", VooStatus.VOANDO), VooStatus.AGENDADO);
+        vooEventosService.publicar(voo(2L, 20L, "SBRJ", "SBGR", VooStatus.CANCELADO), VooStatus.AGENDADO);
+        vooEventosService.publicar(voo(3L, 20L, "SBGR", "SBSP", VooStatus.CONCLUIDO), VooStatus.VOANDO);
+
+        aguardar(() -> todos.recebidos.size() == 3 && cancelados.recebidos.size() == 1
+                && companhia.recebidos.size() == 1 && aeroporto.recebidos.size() == 1);
+        assertEquals(List.of(2L), ids(cancelados));
+        assertEquals(List.of(1L), ids(companhia));
+        assertEquals(List.of(2L), ids(aeroporto));
+        assertEquals("VOANDO", todos.recebidos.get(2).statusAnterior());
+    }
+
+    @Test
+    void clienteLentoNaoDeveTravarPublicacaoNemOutrosAssinantes() throws InterruptedException {
+        CountDownLatch liberar = new CountDownLatch(1);
+        EmitterTeste lento = new EmitterTeste(liberar);
+        vooEventosService.registrar(lento, VooEventosService.Filtro.de(null, null, null));
+        EmitterTeste rapido = assinar(null, null, null);
+
+        long inicio = System.nanoTime();
+        for (int i = 1; i <= 20; i++) {
+            vooEventosService.publicar(voo((long) i, 10L, "SBGR", "SBRJ", VooStatus.VOANDO), VooStatus.AGENDADO);
+            // O assinante rápido acompanha; o lento segue travado no primeiro envio
+            int enviados = i;
+            aguardar(() -> rapido.recebidos.size() == enviados);
+        }
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(2));
+        assertEquals(1, vooEventosService.assinantes());
+
+        liberar.countDown();
+        aguardar(() -> lento.concluido);
+        assertTrue(lento.recebidos.size() < 20);
+    }
+
+    @Test
+    void envioAlemDoPrazoDeveEncerrarAssinanteSemPrenderOsDemais() throws InterruptedException {
+        // Uma única thread de envio, presa por um cliente que não responde nem à interrupção
+        vooEventosService.encerrar();
+        eventosProperties.setThreadsEnvio(1);
+        eventosProperties.setPrazoEnvio(Duration.ofMillis(200));
+        vooEventosService.iniciar();
+        CountDownLatch liberar = new CountDownLatch(1);
+        EmitterTeste preso = new EmitterTeste(liberar, true);
+        vooEventosService.registrar(preso, VooEventosService.Filtro.de(null, null, null));
+        vooEventosService.publicar(voo(1L, 10L, "SBGR", "SBRJ", VooStatus.VOANDO), VooStatus.AGENDADO);
+        aguardar(() -> preso.enviando);
+
+        EmitterTeste rapido = assinar(null, null, null);
+        vooEventosService.publicar(voo(2L, 10L, "SBGR", "SBRJ", VooStatus.VOANDO), VooStatus.AGENDADO);
+
+        aguardar(() -> rapido.recebidos.size() == 1);
+        assertEquals(1, vooEventosService.assinantes());
+
+        liberar.countDown();
+        aguardar(() -> preso.concluido);
+        vooEventosService.publicar(voo(3L, 10L, "SBGR", "SBRJ", VooStatus.VOANDO), VooStatus.AGENDADO);
+        aguardar(() -> rapido.recebidos.size() == 2);
+        assertEquals(1, preso.recebidos.size());
+    }
+
+    @Test
+    void envioInterrompidoPeloPrazoDeveEncerrarAssinante() throws InterruptedException {
+        eventosProperties.setPrazoEnvio(Duration.ofMillis(200));
+        vooEventosService.encerrar();
+        vooEventosService.iniciar();
+        EmitterTeste preso = new EmitterTeste(new CountDownLatch(1));
+        vooEventosService.registrar(preso, VooEventosService.Filtro.de(null, null, null));
+
+        vooEventosService.publicar(voo(1L, 10L, "SBGR", "SBRJ", VooStatus.VOANDO), VooStatus.AGENDADO);
+
+        aguardar(() -> vooEventosService.assinantes() == 0);
+        assertTrue(preso.recebidos.isEmpty());
+    }
+
+    @Test
+    void devePublicarSomenteAposCommit() throws InterruptedException {
+        EmitterTeste todos = assinar(null, null, null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            vooEventosService.publicar(voo(1L, 10L, "SBGR", "SBRJ", VooStatus.VOANDO), VooStatus.AGENDADO);
+            Thread.sleep(50);
+            assertTrue(todos.recebidos.isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        aguardar(() -> todos.recebidos.size() == 1);
+    }
+
+    @Test
+    void deveRejeitarStatusInvalidoNoFiltro() {
+        assertThrows(StatusVooInvalidoException.class, () -> VooEventosService.Filtro.de("ATRASADO", null, null));
+    }
+}
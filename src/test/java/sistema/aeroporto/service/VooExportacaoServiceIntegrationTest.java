@@ -0,0 +1,150 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import sistema.aeroporto.dto.response.VooResponse;
+import sistema.aeroporto.exception.FormatoExportacaoInvalidoException;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+import tools.jackson.databind.json.JsonMapper;
+
+@SpringBootTest
+@Transactional
+public class VooExportacaoServiceIntegrationTest {
+
+        private static final int QUANTIDADE_VOOS = 1_200;
+
+        @Autowired
+        private VooExportacaoService vooExportacaoService;
+
+        @Autowired
+        private VooRepository vooRepository;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Autowired
+        private JsonMapper jsonMapper;
+
+        @BeforeEach
+        void setup() {
+                Piloto p = new Piloto();
+                p.setNome("Silva, João");
+                p.setCpf("11144477735");
+                p.setMatricula("EXP1");
+                p.setStatus(PilotoStatus.ATIVO);
+                pilotoRepository.save(p);
+
+                CompanhiaAerea c = new CompanhiaAerea();
+                c.setNome("Azul");
+                c.setCnpj("05451308000177");
+                c.setDataFundacao(LocalDate.of(2000, 1, 1));
+                c.setStatus(CompanhiaAereaStatus.ATIVA);
+                companhiaAereaRepository.save(c);
+
+                List<Voo> voos = new ArrayList<>();
+                LocalDateTime partida = LocalDateTime.of(2030, 1, 1, 8, 0);
+                for (int i = 0; i < QUANTIDADE_VOOS; i++) {
+                        Voo v = new Voo();
+                        v.setPiloto(p);
+                        v.setCompanhia(c);
+                        v.setCodigo("EX" + i);
+                        v.setOrigem("SBGR");
+                        v.setDestino("SBRJ");
+                        v.setHorarioPartidaPrevisto(partida.plusHours(6L * i));
+                        v.setHorarioChegadaPrevisto(partida.plusHours(6L * i + 1));
+                        v.setStatus(VooStatus.AGENDADO);
+                        voos.add(v);
+                }
+                voos.get(0).setStatus(VooStatus.CANCELADO);
+                voos.get(0).setMotivoCancelamento("Pane \"técnica\"");
+                vooRepository.saveAll(voos);
+
+                entityManager.flush();
+                entityManager.clear();
+        }
+
+        private List<String> exportar(VooExportacaoService.Formato formato) {
+                ByteArrayOutputStream saida = new ByteArrayOutputStream();
+                vooExportacaoService.exportar(formato, saida);
+                return saida.toString(StandardCharsets.UTF_8).lines().toList();
+        }
+
+        @Test
+        @DisplayName("Deve exportar um VooResponse por linha em NDJSON, em ordem de id")
+        void deveExportarNdjson() {
+                List<String> linhas = exportar(VooExportacaoService.Formato.NDJSON);
+
+                assertEquals(vooRepository.count(), linhas.size());
+                List<VooResponse> voos = linhas.stream().map(l -> jsonMapper.readValue(l, VooResponse.class)).toList();
+                VooResponse primeiro = voos.get(voos.size() - QUANTIDADE_VOOS);
+                assertEquals("EX0", primeiro.codigo());
+                assertEquals("Silva, João", primeiro.piloto().nome());
+                assertEquals("Azul", primeiro.companhia().nome());
+                assertEquals("EX" + (QUANTIDADE_VOOS - 1), voos.get(voos.size() - 1).codigo());
+                for (int i = 1; i < voos.size(); i++) {
+                        assertTrue(voos.get(i - 1).id() < voos.get(i).id());
+                }
+        }
+
+        @Test
+        @DisplayName("Deve exportar CSV com cabeçalho e campos escapados")
+        void deveExportarCsv() {
+                List<String> linhas = exportar(VooExportacaoService.Formato.CSV);
+
+                assertEquals(vooRepository.count() + 1, linhas.size());
+                assertTrue(linhas.get(0).startsWith("id,codigo,origem,destino,"));
+                String linha = linhas.get(linhas.size() - QUANTIDADE_VOOS);
+                assertTrue(linha.contains(",EX0,SBGR,SBRJ,2030-01-01T08:00,2030-01-01T09:00,,,CANCELADO,"
+                                + "\"Pane \"\"técnica\"\"\","));
+                assertTrue(linha.contains(",\"Silva, João\","));
+                assertTrue(linha.endsWith(",Azul"));
+        }
+
+        @Test
+        @DisplayName("Deve limpar o contexto de persistência durante a exportação")
+        void deveManterContextoLimitado() {
+                exportar(VooExportacaoService.Formato.NDJSON);
+
+                // Só o último bloco (menos de 500 voos, com pilotos e companhias) continua gerenciado
+                int gerenciadas = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+                assertTrue(gerenciadas < 500, "entidades gerenciadas: " + gerenciadas);
+        }
+
+        @Test
+        @DisplayName("Deve lançar erro para formato desconhecido")
+        void deveLancarErroFormatoInvalido() {
+                assertThrows(FormatoExportacaoInvalidoException.class,
+                                () -> VooExportacaoService.Formato.de("xml"));
+                assertEquals(VooExportacaoService.Formato.CSV, VooExportacaoService.Formato.de("csv"));
+        }
+}
@@ -0,0 +1,190 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.transaction.Transactional;
+import sistema.aeroporto.dto.request.CompanhiaAereaRequest;
+import sistema.aeroporto.dto.request.PilotoRequest;
+import sistema.aeroporto.dto.request.VooRequest;
+import sistema.aeroporto.dto.response.VooLoteResponse;
+import sistema.aeroporto.exception.LoteInvalidoException;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+import tools.jackson.databind.json.JsonMapper;
+
+@SpringBootTest(properties = "aeroporto.lote.tamanho=3")
+@Transactional
+public class VooLoteServiceIntegrationTest {
+
+        @Autowired
+        private VooLoteService vooLoteService;
+
+        @Autowired
+        private VooService vooService;
+
+        @Autowired
+        private PilotoService pilotoService;
+
+        @Autowired
+        private CompanhiaAereaService companhiaAereaService;
+
+        @Autowired
+        private JsonMapper jsonMapper;
+
+        @Autowired
+        private VooRepository vooRepository;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        private List<VooLoteResponse> enviar(List<VooRequest> voos) {
+                return vooLoteService.criarLote(new ByteArrayInputStream(jsonMapper.writeValueAsBytes(voos)));
+        }
+
+        @Test
+        @DisplayName("Deve gravar as linhas válidas e informar o motivo das rejeitadas")
+        void deveProcessarLoteComResultadoPorLinha() {
+                var piloto = pilotoService.salvarPiloto(
+                                new PilotoRequest("João", 30, "M", "111.444.777-35", null, "PPL", "ATIVO"));
+                var outroPiloto = pilotoService.salvarPiloto(
+                                new PilotoRequest("Maria", 30, "F", "549.909.720-82", null, "PPL", "ATIVO"));
+                var companhia = companhiaAereaService.salvarCompanhia(
+                                new CompanhiaAereaRequest("Azul", "05.451.308/0001-77", null, true, "ATIVA"));
+                var inativa = companhiaAereaService.salvarCompanhia(
+                                new CompanhiaAereaRequest("Latam", "63.141.461/0001-02", null, true, "INATIVA"));
+                LocalDateTime base = LocalDateTime.now().plusDays(1);
+
+                List<VooLoteResponse> resultado = enviar(List.of(
+                                new VooRequest(piloto.id(), companhia.id(), "LT001", "SBGR", "SBRJ", base, base.plusHours(1)),
+                                new VooRequest(piloto.id(), companhia.id(), "LT001", "SBGR", "SBRJ", base.plusHours(5), null),
+                                new VooRequest(piloto.id(), companhia.id(), "LT002", "SBGR", "SBGR", base.plusHours(5), null),
+                                new VooRequest(999_999L, companhia.id(), "LT003", "SBGR", "SBRJ", base, null),
+                                new VooRequest(outroPiloto.id(), inativa.id(), "LT004", "SBGR", "SBRJ", base, null),
+                                new VooRequest(piloto.id(), companhia.id(), "LT005", "SBRJ", "SBGR", base.plusMinutes(30), null),
+                                new VooRequest(outroPiloto.id(), companhia.id(), "LT006", "SBRJ", "SBGR", base, null)));
+
+                assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), resultado.stream().map(VooLoteResponse::linha).toList());
+                assertEquals("CRIADO", resultado.get(0).status());
+                assertEquals("Código de voo já existente", resultado.get(1).mensagem());
+                assertEquals("Origem e destino não podem ser iguais", resultado.get(2).mensagem());
+                assertEquals("Piloto não encontrado", resultado.get(3).mensagem());
+                assertEquals("Companhia não está ativa", resultado.get(4).mensagem());
+                assertEquals("Piloto já está escalado para outro voo nesse horário", resultado.get(5).mensagem());
+                assertEquals("CRIADO", resultado.get(6).status());
+
+                assertEquals("LT006", vooService.buscarPorId(resultado.get(6).id()).codigo());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar código já cadastrado fora do lote")
+        void deveRejeitarCodigoExistente() {
+                var piloto = pilotoService.salvarPiloto(
+                                new PilotoRequest("João", 30, "M", "111.444.777-35", null, "PPL", "ATIVO"));
+                var companhia = companhiaAereaService.salvarCompanhia(
+                                new CompanhiaAereaRequest("Azul", "05.451.308/0001-77", null, true, "ATIVA"));
+                LocalDateTime base = LocalDateTime.now().plusDays(1);
+                vooService.criarVoo(new VooRequest(piloto.id(), companhia.id(), "EX001", "SBGR", "SBRJ", base, null));
+
+                List<VooLoteResponse> resultado = enviar(List.of(
+                                new VooRequest(piloto.id(), companhia.id(), "EX001", "SBGR", "SBRJ", base.plusDays(1), null)));
+
+                assertEquals("REJEITADO", resultado.get(0).status());
+                assertEquals("Código de voo já existente", resultado.get(0).mensagem());
+        }
+
+        @Test
+        @DisplayName("Deve lançar erro quando o corpo não é um array de voos")
+        void deveLancarErroCorpoInvalido() {
+                ByteArrayInputStream corpo = new ByteArrayInputStream("[{\"codigo\": ".getBytes(StandardCharsets.UTF_8));
+
+                assertThrows(LoteInvalidoException.class, () -> vooLoteService.criarLote(corpo));
+        }
+
+        @Test
+        @DisplayName("Erro de sintaxe depois de blocos gravados deve devolver os resultados e a linha onde a leitura parou")
+        void deveDevolverResultadosAteErroDeSintaxe() {
+                var piloto = pilotoService.salvarPiloto(
+                                new PilotoRequest("João", 30, "M", "111.444.777-35", null, "PPL", "ATIVO"));
+                var companhia = companhiaAereaService.salvarCompanhia(
+                                new CompanhiaAereaRequest("Azul", "05.451.308/0001-77", null, true, "ATIVA"));
+                LocalDateTime base = LocalDateTime.now().plusDays(1);
+                List<VooRequest> validos = new ArrayList<>();
+                for (int i = 0; i < 7; i++) {
+                        validos.add(new VooRequest(piloto.id(), companhia.id(), "SX00" + i, "SBGR", "SBRJ",
+                                        base.plusHours(i * 5L), null));
+                }
+                // Sete voos (mais de dois blocos de 3) e um oitavo truncado antes do fim do array
+                String json = jsonMapper.writeValueAsString(validos);
+                String corpo = json.substring(0, json.length() - 1) + ", {\"codigo\": }]";
+
+                List<VooLoteResponse> resultado = vooLoteService.criarLote(
+                                new ByteArrayInputStream(corpo.getBytes(StandardCharsets.UTF_8)));
+
+                assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8), resultado.stream().map(VooLoteResponse::linha).toList());
+                for (int i = 0; i < 7; i++) {
+                        assertEquals("CRIADO", resultado.get(i).status());
+                        assertEquals("SX00" + i, vooService.buscarPorId(resultado.get(i).id()).codigo());
+                }
+                assertEquals("REJEITADO", resultado.get(7).status());
+                assertEquals(VooLoteService.LEITURA_INTERROMPIDA, resultado.get(7).mensagem());
+        }
+
+        // Sem a transação do teste: o bloco desfeito precisa ser gravado de novo numa transação própria
+        @Test
+        @Transactional(Transactional.TxType.NOT_SUPPORTED)
+        @DisplayName("Código gravado em paralelo deve rejeitar só a linha repetida e gravar as demais")
+        void codigoGravadoEmParaleloDeveRejeitarSoALinhaRepetida() {
+                var piloto = pilotoService.salvarPiloto(
+                                new PilotoRequest("Ana", 30, "F", "529.982.247-25", null, "PPL", "ATIVO"));
+                var companhia = companhiaAereaService.salvarCompanhia(
+                                new CompanhiaAereaRequest("Gol", "11.222.333/0001-81", null, true, "ATIVA"));
+                LocalDateTime base = LocalDateTime.now().plusDays(1);
+                var existente = vooService.criarVoo(
+                                new VooRequest(piloto.id(), companhia.id(), "PC001", "SBGR", "SBRJ", base, null));
+                // A primeira consulta do bloco não enxerga o PC001, como se ele fosse gravado logo depois dela
+                VooRepository repositorio = mock(VooRepository.class, AdditionalAnswers.delegatesTo(vooRepository));
+                doAnswer(i -> Set.of()).doAnswer(AdditionalAnswers.delegatesTo(vooRepository))
+                                .when(repositorio).findCodigosExistentes(anyCollection());
+                ReflectionTestUtils.setField(vooLoteService, "vooRepository", repositorio);
+                List<VooLoteResponse> resultado = List.of();
+                try {
+                        resultado = enviar(List.of(
+                                        new VooRequest(piloto.id(), companhia.id(), "PC001", "SBGR", "SBRJ",
+                                                        base.plusDays(1), null),
+                                        new VooRequest(piloto.id(), companhia.id(), "PC002", "SBGR", "SBRJ",
+                                                        base.plusDays(2), null)));
+
+                        assertEquals("REJEITADO", resultado.get(0).status());
+                        assertEquals("Código de voo já existente", resultado.get(0).mensagem());
+                        assertEquals("CRIADO", resultado.get(1).status());
+                        assertEquals("PC002", vooService.buscarPorId(resultado.get(1).id()).codigo());
+                } finally {
+                        ReflectionTestUtils.setField(vooLoteService, "vooRepository", vooRepository);
+                        resultado.stream().filter(r -> r.id() != null).forEach(r -> vooRepository.deleteById(r.id()));
+                        vooRepository.deleteById(existente.id());
+                        pilotoRepository.deleteById(piloto.id());
+                        companhiaAereaRepository.deleteById(companhia.id());
+                }
+        }
+}
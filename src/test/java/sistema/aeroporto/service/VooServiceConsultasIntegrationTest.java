@@ -0,0 +1,172 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import sistema.aeroporto.dto.response.CompanhiaAereaResponse;
+import sistema.aeroporto.dto.response.PilotoResponse;
+import sistema.aeroporto.dto.response.VooResponse;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+
+@SpringBootTest
+@Transactional
+public class VooServiceConsultasIntegrationTest {
+
+        private static final int QUANTIDADE_VOOS = 1_000;
+
+        @Autowired
+        private VooService vooService;
+
+        @Autowired
+        private PilotoService pilotoService;
+
+        @Autowired
+        private CompanhiaAereaService companhiaAereaService;
+
+        @Autowired
+        private VooRepository vooRepository;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private Statistics statistics;
+        private CompanhiaAerea primeiraCompanhia;
+
+        // Um piloto e uma companhia distintos por voo: qualquer carga preguiçosa vira um SELECT por linha
+        @BeforeEach
+        void setup() {
+                List<Piloto> pilotos = new ArrayList<>();
+                List<CompanhiaAerea> companhias = new ArrayList<>();
+                List<Voo> voos = new ArrayList<>();
+                LocalDateTime partida = LocalDateTime.now().plusDays(1);
+
+                for (int i = 0; i < QUANTIDADE_VOOS; i++) {
+                        Piloto p = new Piloto();
+                        p.setNome("Piloto " + i);
+                        p.setCpf(String.format("%011d", i));
+                        p.setMatricula("PILT" + i);
+                        p.setStatus(PilotoStatus.ATIVO);
+                        pilotos.add(p);
+
+                        CompanhiaAerea c = new CompanhiaAerea();
+                        c.setNome("Companhia " + i);
+                        c.setCnpj(String.format("%014d", i));
+                        c.setDataFundacao(LocalDate.of(2000, 1, 1));
+                        c.setStatus(CompanhiaAereaStatus.ATIVA);
+                        companhias.add(c);
+
+                        Voo v = new Voo();
+                        v.setPiloto(p);
+                        v.setCompanhia(c);
+                        v.setCodigo("NP" + i);
+                        v.setOrigem("SBGR");
+                        v.setDestino("SBRJ");
+                        v.setHorarioPartidaPrevisto(partida.plusHours(i));
+                        v.setHorarioChegadaPrevisto(partida.plusHours(i + 1));
+                        v.setStatus(VooStatus.AGENDADO);
+                        voos.add(v);
+                }
+                pilotoRepository.saveAll(pilotos);
+                companhiaAereaRepository.saveAll(companhias);
+                vooRepository.saveAll(voos);
+                primeiraCompanhia = companhias.get(0);
+
+                // Descarta o contexto de persistência para que as associações tenham de vir do banco
+                entityManager.flush();
+                entityManager.clear();
+
+                statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.setStatisticsEnabled(true);
+                statistics.clear();
+        }
+
+        @Test
+        @DisplayName("Deve listar 1.000 voos com piloto e companhia em um único SELECT")
+        void deveListarTodosEmUmaConsulta() {
+                List<VooResponse> voos = vooService.listarTodos();
+
+                assertTrue(voos.size() >= QUANTIDADE_VOOS);
+                assertTrue(voos.stream().allMatch(v -> v.piloto() != null && v.companhia() != null));
+                assertEquals(1, statistics.getPrepareStatementCount());
+                assertEquals(0, statistics.getEntityLoadCount());
+        }
+
+        @Test
+        @DisplayName("Deve buscar voos por status em um único SELECT")
+        void deveBuscarPorStatusEmUmaConsulta() {
+                List<VooResponse> voos = vooService.buscarPorStatus("AGENDADO");
+
+                assertTrue(voos.size() >= QUANTIDADE_VOOS);
+                assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        @DisplayName("Deve paginar voos sem consultas adicionais por linha")
+        void devePaginarEmUmaConsulta() {
+                List<VooResponse> voos = vooService.listarPaginado(null, 500).itens();
+
+                assertEquals(500, voos.size());
+                assertEquals(1, statistics.getPrepareStatementCount());
+                assertEquals(0, statistics.getEntityLoadCount());
+        }
+
+        @Test
+        @DisplayName("Deve buscar voos por companhia sem consultas adicionais por linha")
+        void deveBuscarPorCompanhiaSemNMaisUm() {
+                vooService.buscarPorCompanhia(primeiraCompanhia.getId());
+
+                // existsById da companhia + SELECT dos voos com as associações
+                assertEquals(2, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        @DisplayName("Listagens projetadas devem trazer o mesmo conteúdo das respostas montadas das entidades")
+        void listagensDevemTrazerMesmoConteudoDasEntidades() {
+                VooResponse voo = vooService.buscarPorCompanhia(primeiraCompanhia.getId()).get(0);
+                PilotoResponse piloto = pilotoService.listarTodosPilotos().stream()
+                                .filter(p -> p.id().equals(voo.piloto().id()))
+                                .findFirst().orElseThrow();
+                CompanhiaAereaResponse companhia = companhiaAereaService.listarTodasCompanhias().stream()
+                                .filter(c -> c.id().equals(primeiraCompanhia.getId()))
+                                .findFirst().orElseThrow();
+
+                // Nenhuma entidade carregada (nem mantida no contexto para o dirty checking)
+                assertEquals(0, statistics.getEntityLoadCount());
+
+                assertEquals(vooService.toResponse(vooRepository.findById(voo.id()).orElseThrow()), voo);
+                assertEquals(pilotoService.buscarPorId(piloto.id()), piloto);
+                assertEquals(companhiaAereaService.buscarPorId(companhia.id()), companhia);
+        }
+}
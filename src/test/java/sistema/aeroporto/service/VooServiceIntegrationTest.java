@@ -3,6 +3,7 @@ package sistema.aeroporto.service;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +17,7 @@ import sistema.aeroporto.dto.request.PilotoRequest;
 import sistema.aeroporto.dto.request.VooRequest;
 import sistema.aeroporto.dto.request.VooUpdateRequest;
 import sistema.aeroporto.dto.response.CompanhiaAereaResponse;
+import sistema.aeroporto.dto.response.PaginaResponse;
 import sistema.aeroporto.dto.response.PilotoResponse;
 import sistema.aeroporto.dto.response.VooResponse;
 import sistema.aeroporto.model.enums.VooStatus;
@@ -141,7 +143,7 @@ public class VooServiceIntegrationTest {
 
                 RuntimeException e = assertThrows(RuntimeException.class,
                                 () -> vooService.criarVoo(montarVooRequest(piloto.id(), companhia.id(),
-                                                "VOO001", "GRU", "LAX", LocalDateTime.now().plusHours(4))));
+                                                "VOO001", "GRU", "LAX", LocalDateTime.now().plusHours(8))));
 
                 assertEquals("Código de voo já existente", e.getMessage());
         }
@@ -311,4 +313,60 @@ public class VooServiceIntegrationTest {
 
                 assertEquals("Voo não encontrado", e.getMessage());
         }
-}
\ No newline at end of file
+
+        @Test
+        @DisplayName("Deve lançar erro quando voos do piloto se sobrepõem")
+        void deveLancarErroPorSobreposicaoDeHorario() {
+                var piloto = criarPilotoAtivo("Carlos", "111.444.777-35");
+                var companhia = criarCompanhiaAtiva("Gol", "05.451.308/0001-77");
+                LocalDateTime horario = LocalDateTime.now().plusHours(3);
+
+                vooService.criarVoo(montarVooRequest(piloto.id(), companhia.id(), "GL1001", "GRU", "REC", horario));
+
+                RuntimeException exception = assertThrows(RuntimeException.class,
+                                () -> vooService.criarVoo(montarVooRequest(
+                                                piloto.id(), companhia.id(), "GL2002", "GRU", "SSA", horario.plusHours(2))));
+
+                assertEquals("Piloto já está escalado para outro voo nesse horário", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Deve permitir voo logo após a chegada do anterior")
+        void devePermitirVooAposChegadaDoAnterior() {
+                var piloto = criarPilotoAtivo("Carlos", "111.444.777-35");
+                var companhia = criarCompanhiaAtiva("Gol", "05.451.308/0001-77");
+                LocalDateTime horario = LocalDateTime.now().plusHours(3);
+
+                vooService.criarVoo(montarVooRequest(piloto.id(), companhia.id(), "GL1001", "GRU", "REC", horario));
+                VooResponse seguinte = vooService.criarVoo(montarVooRequest(
+                                piloto.id(), companhia.id(), "GL2002", "REC", "GRU", horario.plusHours(4)));
+
+                assertEquals("GL2002", seguinte.codigo());
+        }
+
+        @Test
+        @DisplayName("Deve percorrer todos os voos por cursor sem repetir ou pular registros")
+        void devePaginarVoosPorCursor() {
+                List<Long> esperados = vooService.listarTodos().stream().map(VooResponse::id).toList();
+
+                List<Long> paginados = new ArrayList<>();
+                String cursor = null;
+                do {
+                        PaginaResponse<VooResponse> pagina = vooService.listarPaginado(cursor, 7);
+                        assertTrue(pagina.itens().size() <= 7);
+                        pagina.itens().forEach(v -> paginados.add(v.id()));
+                        cursor = pagina.proximoCursor();
+                } while (cursor != null);
+
+                assertEquals(esperados.stream().sorted().toList(), paginados);
+        }
+
+        @Test
+        @DisplayName("Deve lançar erro com cursor inválido")
+        void deveLancarErroCursorInvalido() {
+                RuntimeException e = assertThrows(RuntimeException.class,
+                                () -> vooService.listarPaginado("não-é-cursor", 10));
+
+                assertEquals("Cursor de paginação inválido", e.getMessage());
+        }
+}
@@ -2,17 +2,21 @@ package sistema.aeroporto.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import sistema.aeroporto.dto.request.VooRequest;
 import sistema.aeroporto.dto.request.VooUpdateRequest;
@@ -41,6 +45,24 @@ public class VooServiceTeste {
     @Mock
     private CompanhiaAereaRepository companhiaAereaRepository;
 
+    @Mock
+    private EscalaPilotoIndex escalaPilotoIndex;
+
+    @Mock
+    private PainelAeroportoIndex painelAeroportoIndex;
+
+    @Mock
+    private VooEventosService vooEventosService;
+
+    @Mock
+    private CadastroCache cadastroCache;
+
+    @Mock
+    private AgendadorVoos agendadorVoos;
+
+    @Mock
+    private PontualidadeContadores pontualidadeContadores;
+
     private Piloto pilotoAtivo;
     private Piloto pilotoInativo;
     private CompanhiaAerea companhiaAtiva;
@@ -54,6 +76,11 @@ public class VooServiceTeste {
     void setup() {
         MockitoAnnotations.openMocks(this);
 
+        // Cache repassa as buscas ao repositório mockado
+        when(cadastroCache.piloto(any())).thenAnswer(i -> pilotoRepository.findById(i.<Long>getArgument(0)));
+        when(cadastroCache.companhia(any()))
+                .thenAnswer(i -> companhiaAereaRepository.findById(i.<Long>getArgument(0)));
+
         pilotoAtivo = new Piloto();
         pilotoAtivo.setId(PILOTO_ID);
         pilotoAtivo.setNome("João");
@@ -88,10 +115,10 @@ public class VooServiceTeste {
         vooSalvo.setCompanhia(companhiaAtiva);
 
         when(pilotoRepository.findById(PILOTO_ID)).thenReturn(Optional.of(pilotoAtivo));
-        when(vooRepository.findByPiloto_Id(PILOTO_ID)).thenReturn(List.of());
         when(companhiaAereaRepository.findById(COMPANHIA_ID)).thenReturn(Optional.of(companhiaAtiva));
-        when(vooRepository.existsByCodigo(CODIGO_VOO)).thenReturn(false);
-        when(vooRepository.save(any(Voo.class))).thenReturn(vooSalvo);
+        when(vooRepository.saveAndFlush(any(Voo.class))).thenReturn(vooSalvo);
+        when(escalaPilotoIndex.reservar(eq(PILOTO_ID), any(), any(), any()))
+                .thenAnswer(i -> i.<Supplier<Voo>>getArgument(3).get());
 
         VooResponse criado = vooService.criarVoo(vooRequest);
 
@@ -136,11 +163,9 @@ public class VooServiceTeste {
 
     @Test
     void deveLancarErroConflitoDeHorario() {
-        Voo vooExistente = new Voo();
-        vooExistente.setHorarioPartidaPrevisto(vooRequest.horarioPartidaPrevisto());
-
         when(pilotoRepository.findById(PILOTO_ID)).thenReturn(Optional.of(pilotoAtivo));
-        when(vooRepository.findByPiloto_Id(PILOTO_ID)).thenReturn(List.of(vooExistente));
+        when(escalaPilotoIndex.temConflito(PILOTO_ID,
+                vooRequest.horarioPartidaPrevisto(), vooRequest.horarioChegadaPrevisto())).thenReturn(true);
 
         RuntimeException e = assertThrows(RuntimeException.class,
                 () -> vooService.criarVoo(vooRequest));
@@ -151,7 +176,6 @@ public class VooServiceTeste {
     @Test
     void deveLancarErroQuandoCompanhiaNaoExiste() {
         when(pilotoRepository.findById(PILOTO_ID)).thenReturn(Optional.of(pilotoAtivo));
-        when(vooRepository.findByPiloto_Id(PILOTO_ID)).thenReturn(List.of());
         when(companhiaAereaRepository.findById(COMPANHIA_ID)).thenReturn(Optional.empty());
 
         RuntimeException e = assertThrows(RuntimeException.class,
@@ -167,7 +191,6 @@ public class VooServiceTeste {
         inativa.setStatus(CompanhiaAereaStatus.INATIVA);
 
         when(pilotoRepository.findById(PILOTO_ID)).thenReturn(Optional.of(pilotoAtivo));
-        when(vooRepository.findByPiloto_Id(PILOTO_ID)).thenReturn(List.of());
         when(companhiaAereaRepository.findById(COMPANHIA_ID)).thenReturn(Optional.of(inativa));
 
         RuntimeException e = assertThrows(RuntimeException.class,
@@ -179,9 +202,11 @@ public class VooServiceTeste {
     @Test
     void deveLancarErroCodigoDuplicado() {
         when(pilotoRepository.findById(PILOTO_ID)).thenReturn(Optional.of(pilotoAtivo));
-        when(vooRepository.findByPiloto_Id(PILOTO_ID)).thenReturn(List.of());
         when(companhiaAereaRepository.findById(COMPANHIA_ID)).thenReturn(Optional.of(companhiaAtiva));
-        when(vooRepository.existsByCodigo(CODIGO_VOO)).thenReturn(true);
+        when(vooRepository.saveAndFlush(any(Voo.class))).thenThrow(new DataIntegrityViolationException("insert",
+                new ConstraintViolationException("duplicado", null, "PUBLIC.UK_VOO_CODIGO_INDEX_1")));
+        when(escalaPilotoIndex.reservar(eq(PILOTO_ID), any(), any(), any()))
+                .thenAnswer(i -> i.<Supplier<Voo>>getArgument(3).get());
 
         RuntimeException e = assertThrows(RuntimeException.class,
                 () -> vooService.criarVoo(vooRequest));
@@ -198,12 +223,31 @@ public class VooServiceTeste {
         voo.setCompanhia(companhiaAtiva);
 
         when(vooRepository.findById(5L)).thenReturn(Optional.of(voo));
-        when(vooRepository.save(any(Voo.class))).thenAnswer(i -> i.getArgument(0));
+        when(vooRepository.registrarPartida(eq(5L), any(LocalDateTime.class))).thenReturn(1);
 
         VooResponse iniciado = vooService.iniciarVoo(5L);
 
         assertEquals(VooStatus.VOANDO.name(), iniciado.status());
         assertNotNull(iniciado.horarioPartidaReal());
+        verify(vooRepository, never()).save(any(Voo.class));
+    }
+
+    @Test
+    void deveLancarErroQuandoOutraOperacaoIniciouAntes() {
+        Voo voo = new Voo();
+        voo.setId(5L);
+        voo.setStatus(VooStatus.AGENDADO);
+        voo.setPiloto(pilotoAtivo);
+        voo.setCompanhia(companhiaAtiva);
+
+        when(vooRepository.findById(5L)).thenReturn(Optional.of(voo));
+        when(vooRepository.registrarPartida(eq(5L), any(LocalDateTime.class))).thenReturn(0);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> vooService.iniciarVoo(5L));
+
+        assertEquals("Voo foi alterado por outra operação, tente novamente", e.getMessage());
+        verify(vooEventosService, never()).publicar(any(), any());
     }
 
     @Test
@@ -255,7 +299,7 @@ public class VooServiceTeste {
         voo.setCompanhia(companhiaAtiva);
 
         when(vooRepository.findById(5L)).thenReturn(Optional.of(voo));
-        when(vooRepository.save(any(Voo.class))).thenAnswer(i -> i.getArgument(0));
+        when(vooRepository.registrarCancelamento(5L, VooStatus.AGENDADO, "Mau tempo")).thenReturn(1);
 
         VooResponse cancelado = vooService.cancelarVoo(5L, "Mau tempo");
 
@@ -288,7 +332,7 @@ public class VooServiceTeste {
         voo.setCompanhia(companhiaAtiva);
         voo.setStatus(VooStatus.AGENDADO);
 
-        when(vooRepository.findAll()).thenReturn(List.of(voo, voo));
+        when(vooRepository.listarTodos()).thenReturn(List.of(vooService.toResponse(voo), vooService.toResponse(voo)));
 
         List<VooResponse> lista = vooService.listarTodos();
 
@@ -302,7 +346,7 @@ public class VooServiceTeste {
         voo.setPiloto(pilotoAtivo);
         voo.setCompanhia(companhiaAtiva);
 
-        when(vooRepository.findByStatus(VooStatus.AGENDADO)).thenReturn(List.of(voo));
+        when(vooRepository.listarPorStatus(VooStatus.AGENDADO)).thenReturn(List.of(vooService.toResponse(voo)));
 
         List<VooResponse> encontrados = vooService.buscarPorStatus("AGENDADO");
 
@@ -318,7 +362,7 @@ public class VooServiceTeste {
         voo.setStatus(VooStatus.AGENDADO);
 
         when(pilotoRepository.existsById(PILOTO_ID)).thenReturn(true);
-        when(vooRepository.findByPiloto_Id(PILOTO_ID)).thenReturn(List.of(voo));
+        when(vooRepository.listarPorPiloto(PILOTO_ID)).thenReturn(List.of(vooService.toResponse(voo)));
 
         List<VooResponse> encontrados = vooService.buscarPorPiloto(PILOTO_ID);
 
@@ -333,7 +377,7 @@ public class VooServiceTeste {
         voo.setStatus(VooStatus.AGENDADO);
 
         when(companhiaAereaRepository.existsById(COMPANHIA_ID)).thenReturn(true);
-        when(vooRepository.findByCompanhia_Id(COMPANHIA_ID)).thenReturn(List.of(voo));
+        when(vooRepository.listarPorCompanhia(COMPANHIA_ID)).thenReturn(List.of(vooService.toResponse(voo)));
 
         List<VooResponse> encontrados = vooService.buscarPorCompanhia(COMPANHIA_ID);
 
@@ -354,7 +398,7 @@ public class VooServiceTeste {
                 "CONCLUIDO");
 
         when(vooRepository.findById(5L)).thenReturn(Optional.of(vooExistente));
-        when(vooRepository.save(any(Voo.class))).thenAnswer(i -> i.getArgument(0));
+        when(vooRepository.saveAndFlush(any(Voo.class))).thenAnswer(i -> i.getArgument(0));
 
         VooResponse retorno = vooService.atualizarVoo(5L, request);
 
@@ -0,0 +1,223 @@
+package sistema.aeroporto.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import sistema.aeroporto.dto.request.VooRequest;
+import sistema.aeroporto.dto.request.VooUpdateRequest;
+import sistema.aeroporto.dto.response.VooResponse;
+import sistema.aeroporto.exception.SomenteAgendadoException;
+import sistema.aeroporto.exception.VooAlteradoException;
+import sistema.aeroporto.model.CompanhiaAerea;
+import sistema.aeroporto.model.Piloto;
+import sistema.aeroporto.model.Voo;
+import sistema.aeroporto.model.enums.CompanhiaAereaStatus;
+import sistema.aeroporto.model.enums.PilotoStatus;
+import sistema.aeroporto.model.enums.VooStatus;
+import sistema.aeroporto.repository.CompanhiaAereaRepository;
+import sistema.aeroporto.repository.PilotoRepository;
+import sistema.aeroporto.repository.VooRepository;
+
+// Sem @Transactional: reproduz a chamada vinda do controller, sem sessão aberta ao redor do serviço,
+// e permite que as threads dos testes de concorrência usem transações independentes
+@SpringBootTest
+public class VooServiceTransicoesIntegrationTest {
+
+        private static final int THREADS = 8;
+        private static final int RODADAS = 10;
+
+        @Autowired
+        private VooService vooService;
+
+        @Autowired
+        private VooRepository vooRepository;
+
+        @Autowired
+        private PilotoRepository pilotoRepository;
+
+        @Autowired
+        private CompanhiaAereaRepository companhiaAereaRepository;
+
+        private Piloto piloto;
+        private CompanhiaAerea companhia;
+        private Voo voo;
+        private final List<Long> criados = new ArrayList<>();
+
+        @BeforeEach
+        void setup() {
+                piloto = new Piloto();
+                piloto.setNome("Piloto Transições");
+                piloto.setCpf("98765432100");
+                piloto.setMatricula("PTRN1");
+                piloto.setStatus(PilotoStatus.ATIVO);
+                piloto = pilotoRepository.save(piloto);
+
+                companhia = new CompanhiaAerea();
+                companhia.setNome("Companhia Transições");
+                companhia.setCnpj("98765432000100");
+                companhia.setDataFundacao(LocalDate.of(2000, 1, 1));
+                companhia.setStatus(CompanhiaAereaStatus.ATIVA);
+                companhia = companhiaAereaRepository.save(companhia);
+
+                Voo v = new Voo();
+                v.setPiloto(piloto);
+                v.setCompanhia(companhia);
+                v.setCodigo("TR100");
+                v.setOrigem("SBGR");
+                v.setDestino("SBRJ");
+                v.setHorarioPartidaPrevisto(LocalDateTime.now().plusDays(30));
+                v.setHorarioChegadaPrevisto(LocalDateTime.now().plusDays(30).plusHours(1));
+                v.setStatus(VooStatus.AGENDADO);
+                voo = vooRepository.save(v);
+        }
+
+        @AfterEach
+        void limpar() {
+                criados.forEach(vooRepository::deleteById);
+                vooRepository.deleteById(voo.getId());
+                pilotoRepository.deleteById(piloto.getId());
+                companhiaAereaRepository.deleteById(companhia.getId());
+        }
+
+        private void assertAssociacoes(VooResponse response) {
+                assertEquals("Piloto Transições", response.piloto().nome());
+                assertEquals("Companhia Transições", response.companhia().nome());
+        }
+
+        @Test
+        @DisplayName("Deve iniciar e finalizar voo respondendo com piloto e companhia")
+        void deveIniciarEFinalizar() {
+                VooResponse iniciado = vooService.iniciarVoo(voo.getId());
+                assertEquals("VOANDO", iniciado.status());
+                assertAssociacoes(iniciado);
+
+                VooResponse finalizado = vooService.finalizarVoo(voo.getId());
+                assertEquals("CONCLUIDO", finalizado.status());
+                assertAssociacoes(finalizado);
+        }
+
+        // A escala só libera o horário depois do commit do cancelamento
+        @Test
+        @DisplayName("Deve liberar o horário do piloto ao cancelar o voo")
+        void deveLiberarHorarioAoCancelarVoo() {
+                vooService.cancelarVoo(voo.getId(), "Mau tempo");
+
+                VooResponse novo = vooService.criarVoo(new VooRequest(piloto.getId(), companhia.getId(), "TR200",
+                                "SBGR", "SBSP", voo.getHorarioPartidaPrevisto(), voo.getHorarioChegadaPrevisto()));
+                criados.add(novo.id());
+
+                assertEquals(VooStatus.AGENDADO.name(), novo.status());
+        }
+
+        @Test
+        @DisplayName("Deve cancelar voo respondendo com piloto e companhia")
+        void deveCancelar() {
+                VooResponse cancelado = vooService.cancelarVoo(voo.getId(), "Mau tempo");
+
+                assertEquals("CANCELADO", cancelado.status());
+                assertAssociacoes(cancelado);
+        }
+
+        @Test
+        @DisplayName("Deve atualizar voo respondendo com piloto e companhia")
+        void deveAtualizar() {
+                VooResponse atualizado = vooService.atualizarVoo(voo.getId(),
+                                new VooUpdateRequest(null, null, "VOANDO"));
+
+                assertEquals("VOANDO", atualizado.status());
+                assertAssociacoes(atualizado);
+        }
+
+        // Dispara as operações ao mesmo tempo; devolve true para as que tiveram sucesso
+        private List<Boolean> concorrer(List<Callable<?>> operacoes) throws Exception {
+                ExecutorService pool = Executors.newFixedThreadPool(operacoes.size());
+                try {
+                        CountDownLatch largada = new CountDownLatch(1);
+                        List<Future<Boolean>> futuros = new ArrayList<>();
+                        for (Callable<?> operacao : operacoes) {
+                                futuros.add(pool.submit(() -> {
+                                        largada.await();
+                                        try {
+                                                operacao.call();
+                                                return true;
+                                        } catch (VooAlteradoException | SomenteAgendadoException e) {
+                                                return false;
+                                        }
+                                }));
+                        }
+                        largada.countDown();
+                        List<Boolean> resultados = new ArrayList<>();
+                        for (Future<Boolean> futuro : futuros) {
+                                resultados.add(futuro.get(30, TimeUnit.SECONDS));
+                        }
+                        return resultados;
+                } finally {
+                        pool.shutdownNow();
+                }
+        }
+
+        @Test
+        @DisplayName("Deve iniciar o voo uma única vez quando vários consoles tentam ao mesmo tempo")
+        void deveIniciarUmaUnicaVezSobConcorrencia() throws Exception {
+                for (int rodada = 0; rodada < RODADAS; rodada++) {
+                        Voo agendado = vooRepository.findById(voo.getId()).orElseThrow();
+                        agendado.setStatus(VooStatus.AGENDADO);
+                        agendado.setHorarioPartidaReal(null);
+                        long versaoInicial = vooRepository.save(agendado).getVersao();
+
+                        List<Callable<?>> operacoes = new ArrayList<>();
+                        for (int i = 0; i < THREADS; i++) {
+                                operacoes.add(() -> vooService.iniciarVoo(voo.getId()));
+                        }
+                        List<Boolean> resultados = concorrer(operacoes);
+
+                        assertEquals(1, resultados.stream().filter(r -> r).count(), "rodada " + rodada);
+                        Voo atual = vooRepository.findById(voo.getId()).orElseThrow();
+                        assertEquals(VooStatus.VOANDO, atual.getStatus());
+                        assertEquals(versaoInicial + 1, atual.getVersao());
+                }
+        }
+
+        @Test
+        @DisplayName("Deve registrar cada transição concorrente exatamente uma vez")
+        void naoDevePerderTransicoesConcorrentes() throws Exception {
+                List<Callable<?>> operacoes = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                        String motivo = "Console " + i;
+                        operacoes.add(i % 2 == 0
+                                        ? () -> vooService.iniciarVoo(voo.getId())
+                                        : () -> vooService.cancelarVoo(voo.getId(), motivo));
+                }
+                List<Boolean> resultados = concorrer(operacoes);
+
+                long sucessos = resultados.stream().filter(r -> r).count();
+                long inicios = 0;
+                for (int i = 0; i < THREADS; i += 2) {
+                        inicios += resultados.get(i) ? 1 : 0;
+                }
+                Voo atual = vooRepository.findById(voo.getId()).orElseThrow();
+
+                assertTrue(sucessos >= 1);
+                assertTrue(inicios <= 1);
+                // Toda transição confirmada incrementou a versão uma vez: nenhuma sobrescreveu outra
+                assertEquals(sucessos, atual.getVersao());
+                assertTrue(atual.getStatus() == VooStatus.VOANDO || atual.getStatus() == VooStatus.CANCELADO);
+        }
+}
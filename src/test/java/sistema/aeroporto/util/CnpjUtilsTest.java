@@ -0,0 +1,87 @@
+package sistema.aeroporto.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class CnpjUtilsTest {
+
+    // Implementação anterior, baseada em regex, usada como referência
+    private static boolean validarPorRegex(String cnpj) {
+        cnpj = cnpj.replaceAll("\\D", "");
+        if (cnpj.length() != 14 || cnpj.chars().distinct().count() == 1) {
+            return false;
+        }
+        int[] peso1 = { 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+        int[] peso2 = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+        int soma = 0;
+        for (int i = 0; i < 12; i++) {
+            soma += Character.getNumericValue(cnpj.charAt(i)) * peso1[i];
+        }
+        int mod = soma % 11;
+        int digito1 = (mod < 2) ? 0 : 11 - mod;
+        soma = 0;
+        for (int i = 0; i < 13; i++) {
+            soma += Character.getNumericValue(cnpj.charAt(i)) * peso2[i];
+        }
+        mod = soma % 11;
+        int digito2 = (mod < 2) ? 0 : 11 - mod;
+        return digito1 == Character.getNumericValue(cnpj.charAt(12))
+                && digito2 == Character.getNumericValue(cnpj.charAt(13));
+    }
+
+    private static String formatarPorRegex(String cnpj) {
+        return cnpj.replaceAll("\\D", "")
+                .replaceAll("(\\d{2})(\\d{3})(\\d{3})(\\d{4})(\\d{2})", "$1.$2.$3/$4-$5");
+    }
+
+    // Dígitos com separadores e letras intercalados, de 0 a 31 dígitos
+    private static String aleatorio(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int digitos = random.nextInt(32);
+        for (int i = 0; i < digitos; i++) {
+            if (random.nextInt(5) == 0) {
+                sb.append(".-/ aé".charAt(random.nextInt(6)));
+            }
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void deveValidarCnpjsConhecidos() {
+        assertTrue(CnpjUtils.validarCnpj("47001880000184"));
+        assertTrue(CnpjUtils.validarCnpj("47.001.880/0001-84"));
+        assertFalse(CnpjUtils.validarCnpj("47001880000185"));
+        assertFalse(CnpjUtils.validarCnpj("00000000000000"));
+        assertFalse(CnpjUtils.validarCnpj("4700188000018"));
+        assertFalse(CnpjUtils.validarCnpj(null));
+    }
+
+    @Test
+    void deveFormatar() {
+        assertEquals("47.001.880/0001-84", CnpjUtils.formatar("47001880000184"));
+        assertEquals("47.001.880/0001-84", CnpjUtils.formatar("47.001.880/0001-84"));
+        assertEquals("", CnpjUtils.formatar(null));
+    }
+
+    @Test
+    void deveManterResultadoDaImplementacaoPorRegex() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String cnpj = aleatorio(random);
+            assertEquals(validarPorRegex(cnpj), CnpjUtils.validarCnpj(cnpj), cnpj);
+            assertEquals(formatarPorRegex(cnpj), CnpjUtils.formatar(cnpj), cnpj);
+        }
+    }
+
+    @Test
+    void deveValidarEmLote() {
+        boolean[] validos = CnpjUtils.validarCnpjs(List.of("47001880000184", "47001880000185"));
+
+        assertArrayEquals(new boolean[] { true, false }, validos);
+    }
+}
@@ -0,0 +1,89 @@
+package sistema.aeroporto.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class CpfUtilsTest {
+
+    // Implementação anterior, baseada em regex, usada como referência
+    private static boolean validarPorRegex(String cpf) {
+        cpf = cpf.replaceAll("\\D", "");
+        if (cpf.length() != 11 || cpf.matches("(\\d)\\1{10}")) {
+            return false;
+        }
+        int soma = 0;
+        for (int i = 0; i < 9; i++) {
+            soma += Character.getNumericValue(cpf.charAt(i)) * (10 - i);
+        }
+        int primeiroDV = 11 - (soma % 11);
+        primeiroDV = (primeiroDV > 9) ? 0 : primeiroDV;
+        soma = 0;
+        for (int i = 0; i < 10; i++) {
+            soma += Character.getNumericValue(cpf.charAt(i)) * (11 - i);
+        }
+        int segundoDV = 11 - (soma % 11);
+        segundoDV = (segundoDV > 9) ? 0 : segundoDV;
+        return cpf.charAt(9) == Character.forDigit(primeiroDV, 10)
+                && cpf.charAt(10) == Character.forDigit(segundoDV, 10);
+    }
+
+    private static String formatarPorRegex(String cpf) {
+        return cpf.replaceAll("\\D", "").replaceAll("(\\d{3})(\\d{3})(\\d{3})(\\d{2})", "$1.$2.$3-$4");
+    }
+
+    // Dígitos com separadores e letras intercalados, de 0 a 25 dígitos
+    private static String aleatorio(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int digitos = random.nextInt(26);
+        for (int i = 0; i < digitos; i++) {
+            if (random.nextInt(5) == 0) {
+                sb.append(".-/ aé".charAt(random.nextInt(6)));
+            }
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void deveValidarCpfsConhecidos() {
+        assertTrue(CpfUtils.validarCpf("52998224725"));
+        assertTrue(CpfUtils.validarCpf("529.982.247-25"));
+        assertFalse(CpfUtils.validarCpf("52998224726"));
+        assertFalse(CpfUtils.validarCpf("11111111111"));
+        assertFalse(CpfUtils.validarCpf("5299822472"));
+        assertFalse(CpfUtils.validarCpf("529982247250"));
+        assertFalse(CpfUtils.validarCpf(null));
+        assertFalse(CpfUtils.validarCpf(""));
+    }
+
+    @Test
+    void deveLimparEFormatar() {
+        assertEquals("52998224725", CpfUtils.limpar("529.982.247-25"));
+        assertEquals("529.982.247-25", CpfUtils.formatar("52998224725"));
+        assertEquals("529.982.247-25", CpfUtils.formatar("529.982.247-25"));
+        assertEquals("", CpfUtils.formatar(null));
+        assertNull(CpfUtils.limpar(null));
+    }
+
+    @Test
+    void deveManterResultadoDaImplementacaoPorRegex() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String cpf = aleatorio(random);
+            assertEquals(validarPorRegex(cpf), CpfUtils.validarCpf(cpf), cpf);
+            assertEquals(formatarPorRegex(cpf), CpfUtils.formatar(cpf), cpf);
+            assertEquals(cpf.replaceAll("\\D", ""), CpfUtils.limpar(cpf), cpf);
+        }
+    }
+
+    @Test
+    void deveValidarEmLote() {
+        boolean[] validos = CpfUtils.validarCpfs(List.of("52998224725", "123", new StringBuilder("529.982.247-25")));
+
+        assertArrayEquals(new boolean[] { true, false, true }, validos);
+    }
+}